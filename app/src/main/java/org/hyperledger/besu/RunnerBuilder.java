@@ -41,8 +41,10 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.DefaultAuthentic
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.EngineAuthService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.CachingJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcResultCache;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.LivenessCheck;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.ReadinessCheck;
@@ -63,6 +65,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.pending.
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.pending.PendingTransactionSubscriptionService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.syncing.SyncingSubscriptionService;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndex;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
@@ -104,6 +107,7 @@ import org.hyperledger.besu.ethereum.permissioning.node.InsufficientPeersPermiss
 import org.hyperledger.besu.ethereum.permissioning.node.NodePermissioningController;
 import org.hyperledger.besu.ethereum.permissioning.node.PeerPermissionsAdapter;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethstats.EthStatsService;
 import org.hyperledger.besu.ethstats.util.EthStatsConnectOptions;
@@ -187,6 +191,7 @@ public class RunnerBuilder {
   private Optional<String> identityString = Optional.empty();
   private BesuPluginContextImpl besuPluginContext;
   private boolean autoLogBloomCaching = true;
+  private boolean autoLogIndexing = false;
   private StorageProvider storageProvider;
   private RpcEndpointServiceImpl rpcEndpointServiceImpl;
   private JsonRpcIpcConfiguration jsonRpcIpcConfiguration;
@@ -533,6 +538,17 @@ public class RunnerBuilder {
     return this;
   }
 
+  /**
+   * Enable Auto log indexing.
+   *
+   * @param autoLogIndexing the auto log indexing
+   * @return the runner builder
+   */
+  public RunnerBuilder autoLogIndexing(final boolean autoLogIndexing) {
+    this.autoLogIndexing = autoLogIndexing;
+    return this;
+  }
+
   /**
    * Add Storage provider.
    *
@@ -784,8 +800,25 @@ public class RunnerBuilder {
             context.getWorldStateArchive(),
             Optional.of(dataDir.resolve(CACHE_PATH)),
             Optional.of(besuController.getProtocolManager().ethContext().getScheduler()),
+            autoLogIndexing
+                ? Optional.of(
+                    new TransactionLogIndex(
+                        storageProvider.getStorageBySegmentIdentifier(
+                            KeyValueSegmentIdentifier.TRANSACTION_LOG_INDEX)))
+                : Optional.empty(),
             apiConfiguration,
             miningConfiguration);
+    // keep the imported chain head, summarized for eth_feeHistory on first use
+    context.getBlockchain().observeBlockAdded(blockchainQueries.getFeeStatisticsService());
+
+    final Optional<JsonRpcResultCache> jsonRpcResultCache =
+        apiConfiguration.getFinalizedResultCacheSize() > 0
+            ? Optional.of(
+                new JsonRpcResultCache(
+                    context.getBlockchain(),
+                    apiConfiguration.getFinalizedResultCacheSize(),
+                    metricsSystem))
+            : Optional.empty();
 
     final FilterManager filterManager =
         new FilterManagerBuilder()
@@ -856,6 +889,8 @@ public class RunnerBuilder {
                   metricsSystem,
                   natService,
                   nonEngineMethods,
+                  DefaultAuthenticationService.create(vertx, jsonRpcConfiguration),
+                  jsonRpcResultCache,
                   new HealthService(new LivenessCheck()),
                   new HealthService(new ReadinessCheck(peerNetwork, synchronizer))));
     }
@@ -1007,6 +1042,7 @@ public class RunnerBuilder {
                   subscriptionManager,
                   nonEngineMethods,
                   DefaultAuthenticationService.create(vertx, webSocketConfiguration),
+                  jsonRpcResultCache,
                   metricsSystem));
     }
 
@@ -1130,6 +1166,7 @@ public class RunnerBuilder {
         dataDir,
         pidPath,
         autoLogBloomCaching ? blockchainQueries.getTransactionLogBloomCacher() : Optional.empty(),
+        blockchainQueries.getTransactionLogIndex(),
         context.getBlockchain());
   }
 
@@ -1377,6 +1414,7 @@ public class RunnerBuilder {
       final SubscriptionManager subscriptionManager,
       final Map<String, JsonRpcMethod> jsonRpcMethods,
       final Optional<AuthenticationService> authenticationService,
+      final Optional<JsonRpcResultCache> resultCache,
       final ObservableMetricsSystem metricsSystem) {
 
     final WebSocketMethodsFactory websocketMethodsFactory =
@@ -1387,15 +1425,18 @@ public class RunnerBuilder {
         .values()
         .forEach(websocketMethodsFactory::addMethods);
 
+    final JsonRpcProcessor baseProcessor =
+        resultCache
+            .<JsonRpcProcessor>map(
+                cache -> new CachingJsonRpcProcessor(new BaseJsonRpcProcessor(), cache))
+            .orElseGet(BaseJsonRpcProcessor::new);
     final JsonRpcProcessor jsonRpcProcessor;
     if (authenticationService.isPresent()) {
       jsonRpcProcessor =
           new AuthenticatedJsonRpcProcessor(
-              new BaseJsonRpcProcessor(),
-              authenticationService.get(),
-              configuration.getRpcApisNoAuth());
+              baseProcessor, authenticationService.get(), configuration.getRpcApisNoAuth());
     } else {
-      jsonRpcProcessor = new BaseJsonRpcProcessor();
+      jsonRpcProcessor = baseProcessor;
     }
     final JsonRpcExecutor jsonRpcExecutor =
         new JsonRpcExecutor(jsonRpcProcessor, websocketMethodsFactory.methods());
@@ -604,6 +604,13 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       arity = "1")
   private final Boolean autoLogBloomCachingEnabled = true;
 
+  @Option(
+      names = {"--auto-log-indexing-enabled"},
+      description =
+          "Enable an index of the logs by address and topic, built as blocks are imported and backfilled in the background, used to find the logs matching eth_getLogs queries (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean autoLogIndexingEnabled = false;
+
   @Option(
       names = {"--override-genesis-config"},
       paramLabel = "NAME=VALUE",
@@ -2432,6 +2439,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .identityString(identityString)
             .besuPluginContext(besuPluginContext)
             .autoLogBloomCaching(autoLogBloomCachingEnabled)
+            .autoLogIndexing(autoLogIndexingEnabled)
             .ethstatsOptions(ethstatsOptions)
             .storageProvider(keyValueStorageProvider(keyValueStorageName))
             .rpcEndpointService(rpcEndpointServiceImpl)
@@ -2791,6 +2799,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         && !dataStorageConfiguration.getHistoryExpiryPruneEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!autoLogIndexingEnabled) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.TRANSACTION_LOG_INDEX);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
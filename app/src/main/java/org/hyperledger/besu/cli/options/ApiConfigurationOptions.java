@@ -94,6 +94,30 @@ public class ApiConfigurationOptions {
           "Specifies the maximum number of blocks for the trace_filter method. Must be >=0. 0 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Long maxTraceFilterRange = 1000L;
 
+  @CommandLine.Option(
+      names = {"--rpc-trace-filter-parallelism"},
+      description =
+          "Specifies the number of blocks the trace_filter method replays in parallel, each on its own world state. Must be >=1  (default: ${DEFAULT-VALUE})")
+  private final Integer traceFilterParallelism = 1;
+
+  @CommandLine.Option(
+      names = {"--rpc-debug-trace-streaming-enabled"},
+      description =
+          "Set to stream the struct logs of debug_traceTransaction to the response while the transaction is replayed, instead of collecting them first  (default: ${DEFAULT-VALUE})")
+  private final Boolean debugTraceStreamingEnabled = false;
+
+  @CommandLine.Option(
+      names = {"--rpc-finalized-result-cache-size"},
+      description =
+          "Specifies the maximum size in bytes of the cache of the serialized results of eth_getBlockByNumber, eth_getBlockReceipts and eth_getTransactionReceipt for finalized blocks, shared by the HTTP and WebSocket JSON-RPC services. Must be >=0. 0 disables the cache  (default: ${DEFAULT-VALUE})")
+  private final Long finalizedResultCacheSize = 0L;
+
+  @CommandLine.Option(
+      names = {"--rpc-simulation-world-state-ttl"},
+      description =
+          "Specifies the time in milliseconds the world state of a block built for eth_call, eth_estimateGas and the other call simulations is kept to be shared by the next simulations at this block. Must be >=0. 0 builds a world state for each simulation  (default: ${DEFAULT-VALUE})")
+  private final Long simulationWorldStateTtl = 0L;
+
   /**
    * Validates the API options.
    *
@@ -108,6 +132,18 @@ public class ApiConfigurationOptions {
             "--api-gas-and-priority-fee-lower-bound-coefficient cannot be greater than the value of --api-gas-and-priority-fee-upper-bound-coefficient");
       }
     }
+    if (traceFilterParallelism < 1) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--rpc-trace-filter-parallelism must be greater than or equal to 1");
+    }
+    if (finalizedResultCacheSize < 0) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--rpc-finalized-result-cache-size must be greater than or equal to 0");
+    }
+    if (simulationWorldStateTtl < 0) {
+      throw new CommandLine.ParameterException(
+          commandLine, "--rpc-simulation-world-state-ttl must be greater than or equal to 0");
+    }
     checkApiOptionsDependencies(commandLine, logger);
   }
 
@@ -137,7 +173,11 @@ public class ApiConfigurationOptions {
             .maxLogsRange(rpcMaxLogsRange)
             .gasCap(rpcGasCap)
             .isGasAndPriorityFeeLimitingEnabled(apiGasAndPriorityFeeLimitingEnabled)
-            .maxTraceFilterRange(maxTraceFilterRange);
+            .maxTraceFilterRange(maxTraceFilterRange)
+            .traceFilterParallelism(traceFilterParallelism)
+            .isDebugTraceStreamingEnabled(debugTraceStreamingEnabled)
+            .finalizedResultCacheSize(finalizedResultCacheSize)
+            .simulationWorldStateTtl(simulationWorldStateTtl);
     if (apiGasAndPriorityFeeLimitingEnabled) {
       builder
           .lowerBoundGasAndPriorityFeeCoefficient(apiGasAndPriorityFeeLowerBoundCoefficient)
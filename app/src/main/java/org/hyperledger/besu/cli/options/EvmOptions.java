@@ -32,6 +32,15 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
   /** The constant OPTIMIZED_OP_CODES. */
   public static final String OPTIMIZED_OP_CODES = "--Xevm-optimized-opcodes";
 
+  /** The constant LONG_LIMB_STACK. */
+  public static final String LONG_LIMB_STACK = "--Xevm-long-limb-stack";
+
+  /** The constant ANALYZED_CODE_CACHE_WEIGHT. */
+  public static final String ANALYZED_CODE_CACHE_WEIGHT = "--Xevm-analyzed-code-cache-weight-kb";
+
+  /** The constant MEMORY_POOL. */
+  public static final String MEMORY_POOL = "--Xevm-memory-pool";
+
   /** Default constructor. */
   EvmOptions() {}
 
@@ -72,10 +81,41 @@ public class EvmOptions implements CLIOptions<EvmConfiguration> {
       arity = "1")
   private boolean enableOptimizedOpcodes = true;
 
+  @CommandLine.Option(
+      names = {LONG_LIMB_STACK},
+      description = "Keep the EVM operand stack as primitive long limbs instead of byte arrays",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "0..1")
+  private boolean enableLongLimbStack = false;
+
+  @CommandLine.Option(
+      names = {ANALYZED_CODE_CACHE_WEIGHT},
+      description =
+          "size in kilobytes to allow the cache of pre-decoded contract code to grow to, "
+              + "0 runs the EVM directly over the bytecode",
+      fallbackValue = "64000",
+      hidden = true,
+      arity = "0..1")
+  private Long analyzedCodeCacheWeightKilobytes = 0L;
+
+  @CommandLine.Option(
+      names = {MEMORY_POOL},
+      description = "Reuse the memory of completed EVM message frames for the following frames",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "0..1")
+  private boolean enableMemoryPool = false;
+
   @Override
   public EvmConfiguration toDomainObject() {
     return new EvmConfiguration(
-        jumpDestCacheWeightKilobytes, worldstateUpdateMode, enableOptimizedOpcodes);
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        enableLongLimbStack,
+        analyzedCodeCacheWeightKilobytes,
+        enableMemoryPool);
   }
 
   @Override
@@ -17,6 +17,7 @@ package org.hyperledger.besu.cli.options;
 import static java.util.Arrays.asList;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_JSON_RPC_HOST;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_JSON_RPC_PORT;
+import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_MAX_BATCH_CONCURRENCY;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.JsonRpcConfiguration.DEFAULT_PRETTY_JSON_ENABLED;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcApis.DEFAULT_RPC_APIS;
 import static org.hyperledger.besu.ethereum.api.jsonrpc.RpcApis.VALID_APIS;
@@ -204,6 +205,13 @@ public class JsonRpcHttpOptions {
           "Specifies the maximum number of requests in a single RPC batch request via RPC. -1 specifies no limit  (default: ${DEFAULT-VALUE})")
   private final Integer rpcHttpMaxBatchSize = DefaultCommandValues.DEFAULT_HTTP_MAX_BATCH_SIZE;
 
+  @CommandLine.Option(
+      names = {"--rpc-http-max-batch-concurrency"},
+      paramLabel = DefaultCommandValues.MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Specifies the maximum number of requests of a single RPC batch request executed concurrently. The responses are returned in request order, but the requests of a batch may execute in any order. 1 executes the requests one after another (default: ${DEFAULT-VALUE})")
+  private final Integer rpcHttpMaxBatchConcurrency = DEFAULT_MAX_BATCH_CONCURRENCY;
+
   @CommandLine.Option(
       names = {"--rpc-http-max-request-content-length"},
       paramLabel = DefaultCommandValues.MANDATORY_LONG_FORMAT_HELP,
@@ -246,6 +254,12 @@ public class JsonRpcHttpOptions {
           "Invalid value for option '--rpc-http-api-methods-no-auth', options must be valid RPC methods");
     }
 
+    if (rpcHttpMaxBatchConcurrency < 1) {
+      throw new CommandLine.ParameterException(
+          commandLine,
+          "Invalid value for option '--rpc-http-max-batch-concurrency', it must be at least 1");
+    }
+
     if (isRpcHttpAuthenticationEnabled) {
       CommandLineUtils.checkOptionDependencies(
           logger,
@@ -291,6 +305,7 @@ public class JsonRpcHttpOptions {
     jsonRpcConfiguration.setAuthenticationAlgorithm(rpcHttpAuthenticationAlgorithm);
     jsonRpcConfiguration.setTlsConfiguration(rpcHttpTlsConfiguration());
     jsonRpcConfiguration.setMaxBatchSize(rpcHttpMaxBatchSize);
+    jsonRpcConfiguration.setMaxBatchConcurrency(rpcHttpMaxBatchConcurrency);
     jsonRpcConfiguration.setMaxRequestContentLength(rpcHttpMaxRequestContentLength);
     jsonRpcConfiguration.setPrettyJsonEnabled(prettyJsonEnabled);
     return jsonRpcConfiguration;
@@ -22,6 +22,7 @@ import static org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConf
 import static org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration.Implementation.SEQUENCED;
 
 import org.hyperledger.besu.cli.converter.DurationMillisConverter;
+import org.hyperledger.besu.cli.converter.DurationSecondsConverter;
 import org.hyperledger.besu.cli.converter.FractionConverter;
 import org.hyperledger.besu.cli.converter.PercentageConverter;
 import org.hyperledger.besu.cli.util.CommandLineUtils;
@@ -50,6 +51,7 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
   private static final String TX_POOL_NO_LOCAL_PRIORITY = "--tx-pool-no-local-priority";
   private static final String TX_POOL_ENABLE_SAVE_RESTORE = "--tx-pool-enable-save-restore";
   private static final String TX_POOL_SAVE_FILE = "--tx-pool-save-file";
+  private static final String TX_POOL_SAVE_INTERVAL = "--tx-pool-save-interval";
   private static final String TX_POOL_PRICE_BUMP = "--tx-pool-price-bump";
   private static final String TX_POOL_BLOB_PRICE_BUMP = "--tx-pool-blob-price-bump";
   private static final String RPC_TX_FEECAP = "--rpc-tx-feecap";
@@ -92,6 +94,14 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
           "If saving the txpool content is enabled, define a custom path for the save file (default: ${DEFAULT-VALUE} in the data-dir)")
   private File saveFile = TransactionPoolConfiguration.DEFAULT_SAVE_FILE;
 
+  @CommandLine.Option(
+      names = {TX_POOL_SAVE_INTERVAL},
+      paramLabel = "<INTEGER>",
+      converter = DurationSecondsConverter.class,
+      description =
+          "If saving the txpool content is enabled, how often in seconds to save it while running, so it survives a crash, 0 to only save it on shutdown (default: 60)")
+  private Duration saveInterval = TransactionPoolConfiguration.DEFAULT_SAVE_INTERVAL;
+
   @CommandLine.Option(
       names = {TX_POOL_PRICE_BUMP},
       paramLabel = "<Percentage>",
@@ -329,6 +339,7 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
     options.blobPriceBump = config.getBlobPriceBump();
     options.txFeeCap = config.getTxFeeCap();
     options.saveFile = config.getSaveFile();
+    options.saveInterval = config.getSaveInterval();
     options.strictTxReplayProtectionEnabled = config.getStrictTransactionReplayProtectionEnabled();
     options.prioritySenders = config.getPrioritySenders();
     options.minGasPrice = config.getMinGasPrice();
@@ -394,6 +405,7 @@ public class TransactionPoolOptions implements CLIOptions<TransactionPoolConfigu
         .blobPriceBump(blobPriceBump)
         .txFeeCap(txFeeCap)
         .saveFile(saveFile)
+        .saveInterval(saveInterval)
         .strictTransactionReplayProtectionEnabled(strictTxReplayProtectionEnabled)
         .prioritySenders(prioritySenders)
         .minGasPrice(minGasPrice)
@@ -20,8 +20,11 @@ import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConf
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.DEFAULT_PARALLEL_TX_PROCESSING;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.DEFAULT_TRIE_LOG_PRUNING_WINDOW_SIZE;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.MINIMUM_TRIE_LOG_RETENTION_LIMIT;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_BLOCK_STM_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_CODE_USING_CODE_HASH_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_FULL_FLAT_DB_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_OFF_HEAP_TRIE_NODE_CACHE_SIZE_MB;
+import static org.hyperledger.besu.ethereum.worldstate.PathBasedExtraStorageConfiguration.PathBasedUnstable.DEFAULT_STATE_PREFETCH_ENABLED;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
 import org.hyperledger.besu.cli.util.CommandLineUtils;
@@ -117,6 +120,30 @@ public class PathBasedExtraStorageOptions
             "Enables code storage using code hash instead of by account hash. (default: ${DEFAULT-VALUE})")
     private boolean codeUsingCodeHashEnabled = DEFAULT_CODE_USING_CODE_HASH_ENABLED;
 
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-state-prefetch-enabled"},
+        arity = "1",
+        description =
+            "Enables loading the accounts, storage slots and code a block is known to access, in parallel, before executing it. (default: ${DEFAULT-VALUE})")
+    private boolean statePrefetchEnabled = DEFAULT_STATE_PREFETCH_ENABLED;
+
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-parallel-tx-processing-block-stm-enabled"},
+        arity = "1",
+        description =
+            "Enables the Block-STM engine for parallel transaction processing, which re-executes only the transactions that read a value written by a preceding transaction. Requires --bonsai-parallel-tx-processing-enabled. (default: ${DEFAULT-VALUE})")
+    private boolean blockStmEnabled = DEFAULT_BLOCK_STM_ENABLED;
+
+    @Option(
+        hidden = true,
+        names = {"--Xbonsai-off-heap-trie-node-cache-size-mb"},
+        paramLabel = "<LONG>",
+        description =
+            "Size in megabytes of the trie node cache kept outside of the heap, 0 keeps the trie node cache on the heap. Counts against -XX:MaxDirectMemorySize. (default: ${DEFAULT-VALUE})")
+    private long offHeapTrieNodeCacheSizeMb = DEFAULT_OFF_HEAP_TRIE_NODE_CACHE_SIZE_MB;
+
     /** Default Constructor. */
     Unstable() {}
   }
@@ -184,6 +211,12 @@ public class PathBasedExtraStorageOptions
         domainObject.getUnstable().getFullFlatDbEnabled();
     dataStorageOptions.unstableOptions.codeUsingCodeHashEnabled =
         domainObject.getUnstable().getCodeStoredByCodeHashEnabled();
+    dataStorageOptions.unstableOptions.statePrefetchEnabled =
+        domainObject.getUnstable().getStatePrefetchEnabled();
+    dataStorageOptions.unstableOptions.blockStmEnabled =
+        domainObject.getUnstable().getBlockStmEnabled();
+    dataStorageOptions.unstableOptions.offHeapTrieNodeCacheSizeMb =
+        domainObject.getUnstable().getOffHeapTrieNodeCacheSizeMb();
     dataStorageOptions.isParallelTxProcessingEnabled =
         domainObject.getParallelTxProcessingEnabled();
     dataStorageOptions.isParallelStateRootComputationEnabled =
@@ -204,6 +237,9 @@ public class PathBasedExtraStorageOptions
             ImmutablePathBasedExtraStorageConfiguration.PathBasedUnstable.builder()
                 .fullFlatDbEnabled(unstableOptions.fullFlatDbEnabled)
                 .codeStoredByCodeHashEnabled(unstableOptions.codeUsingCodeHashEnabled)
+                .statePrefetchEnabled(unstableOptions.statePrefetchEnabled)
+                .blockStmEnabled(unstableOptions.blockStmEnabled)
+                .offHeapTrieNodeCacheSizeMb(unstableOptions.offHeapTrieNodeCacheSizeMb)
                 .build())
         .build();
   }
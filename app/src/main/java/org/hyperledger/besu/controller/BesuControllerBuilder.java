@@ -87,6 +87,7 @@ import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.transaction.SimulationWorldStateCache;
 import org.hyperledger.besu.ethereum.transaction.TransactionSimulator;
 import org.hyperledger.besu.ethereum.trie.forest.ForestWorldStateArchive;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiArchiveWorldStateProvider;
@@ -116,6 +117,7 @@ import java.io.Closeable;
 import java.math.BigInteger;
 import java.nio.file.Path;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -123,6 +125,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
@@ -199,6 +202,9 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
   /** Manages a cache of bad blocks globally */
   protected final BadBlockManager badBlockManager = new BadBlockManager();
 
+  /** The executor loading the state of imported blocks, present if the state prefetch is on. */
+  protected Optional<ExecutorService> statePrefetchExecutor = Optional.empty();
+
   private int maxRemotelyInitiatedPeers;
 
   /** The Chain pruner configuration. */
@@ -661,10 +667,17 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
       preloadBlockHeaderCache(blockchain, scheduler);
     }
 
+    final long offHeapTrieNodeCacheSizeMb =
+        dataStorageConfiguration
+            .getPathBasedExtraStorageConfiguration()
+            .getUnstable()
+            .getOffHeapTrieNodeCacheSizeMb();
     final BonsaiCachedMerkleTrieLoader bonsaiCachedMerkleTrieLoader =
-        besuComponent
-            .map(BesuComponent::getCachedMerkleTrieLoader)
-            .orElseGet(() -> new BonsaiCachedMerkleTrieLoader(metricsSystem));
+        offHeapTrieNodeCacheSizeMb > 0
+            ? new BonsaiCachedMerkleTrieLoader(metricsSystem, offHeapTrieNodeCacheSizeMb)
+            : besuComponent
+                .map(BesuComponent::getCachedMerkleTrieLoader)
+                .orElseGet(() -> new BonsaiCachedMerkleTrieLoader(metricsSystem));
 
     final var worldStateHealerSupplier = new AtomicReference<WorldStateHealer>();
 
@@ -679,17 +692,29 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
       genesisState.writeStateTo(worldStateArchive.getWorldState());
     }
 
+    // only the Bonsai world states can be shared by concurrent simulations
+    final Optional<SimulationWorldStateCache> simulationWorldStateCache =
+        apiConfiguration.getSimulationWorldStateTtl() > 0
+                && worldStateArchive instanceof BonsaiWorldStateProvider
+            ? Optional.of(
+                new SimulationWorldStateCache(
+                    worldStateArchive,
+                    Duration.ofMillis(apiConfiguration.getSimulationWorldStateTtl()),
+                    metricsSystem))
+            : Optional.empty();
     transactionSimulator =
         new TransactionSimulator(
             blockchain,
             worldStateArchive,
             protocolSchedule,
             miningConfiguration,
-            apiConfiguration.getGasCap());
+            apiConfiguration.getGasCap(),
+            simulationWorldStateCache);
 
     final var consensusContext =
         createConsensusContext(blockchain, worldStateArchive, protocolSchedule);
 
+    statePrefetchExecutor = createStatePrefetchExecutor();
     final ProtocolContext protocolContext =
         createProtocolContext(
             blockchain,
@@ -899,6 +924,7 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
     }
 
     final List<Closeable> closeables = new ArrayList<>();
+    statePrefetchExecutor.ifPresent(executor -> closeables.add(executor::shutdownNow));
     closeables.add(protocolContext.getWorldStateArchive());
     closeables.add(storageProvider);
 
@@ -1251,13 +1277,28 @@ public abstract class BesuControllerBuilder implements MiningConfigurationOverri
       final WorldStateArchive worldStateArchive,
       final ConsensusContext consensusContext,
       final ServiceManager serviceManager) {
-    return new ProtocolContext.Builder()
-        .withBlockchain(blockchain)
-        .withWorldStateArchive(worldStateArchive)
-        .withConsensusContext(consensusContext)
-        .withBadBlockManager(badBlockManager)
-        .withServiceManager(serviceManager)
-        .build();
+    final ProtocolContext.Builder builder =
+        new ProtocolContext.Builder()
+            .withBlockchain(blockchain)
+            .withWorldStateArchive(worldStateArchive)
+            .withConsensusContext(consensusContext)
+            .withBadBlockManager(badBlockManager)
+            .withServiceManager(serviceManager);
+    statePrefetchExecutor.ifPresent(builder::withStatePrefetchExecutor);
+    return builder.build();
+  }
+
+  private Optional<ExecutorService> createStatePrefetchExecutor() {
+    if (!DataStorageFormat.BONSAI.equals(dataStorageConfiguration.getDataStorageFormat())
+        || !dataStorageConfiguration
+            .getPathBasedExtraStorageConfiguration()
+            .getUnstable()
+            .getStatePrefetchEnabled()) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        MonitoredExecutors.newFixedThreadPool(
+            "BlockStatePrefetcher", Runtime.getRuntime().availableProcessors(), metricsSystem));
   }
 
   private Optional<SnapProtocolManager> createSnapProtocolManager(
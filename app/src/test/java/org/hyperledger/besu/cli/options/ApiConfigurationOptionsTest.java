@@ -181,6 +181,100 @@ public class ApiConfigurationOptionsTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void rpcTraceFilterParallelismOptionMustBeUsed() {
+    final int traceFilterParallelism = 8;
+    parseCommand("--rpc-trace-filter-parallelism", Integer.toString(traceFilterParallelism));
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(
+            ImmutableApiConfiguration.builder()
+                .traceFilterParallelism(traceFilterParallelism)
+                .build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcTraceFilterParallelismMustBeAtLeastOne() {
+    parseCommand("--rpc-trace-filter-parallelism", "0");
+
+    Mockito.verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--rpc-trace-filter-parallelism must be greater than or equal to 1");
+  }
+
+  @Test
+  public void rpcDebugTraceStreamingEnabledOptionMustBeUsed() {
+    parseCommand("--rpc-debug-trace-streaming-enabled");
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(ImmutableApiConfiguration.builder().isDebugTraceStreamingEnabled(true).build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcFinalizedResultCacheSizeOptionMustBeUsed() {
+    final long finalizedResultCacheSize = 64L * 1024 * 1024;
+    parseCommand("--rpc-finalized-result-cache-size", Long.toString(finalizedResultCacheSize));
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(
+            ImmutableApiConfiguration.builder()
+                .finalizedResultCacheSize(finalizedResultCacheSize)
+                .build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcFinalizedResultCacheSizeMustNotBeNegative() {
+    parseCommand("--rpc-finalized-result-cache-size", "-1");
+
+    Mockito.verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--rpc-finalized-result-cache-size must be greater than or equal to 0");
+  }
+
+  @Test
+  public void rpcSimulationWorldStateTtlOptionMustBeUsed() {
+    parseCommand("--rpc-simulation-world-state-ttl", "2000");
+
+    verify(mockRunnerBuilder).apiConfiguration(apiConfigurationCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(apiConfigurationCaptor.getValue())
+        .isEqualTo(ImmutableApiConfiguration.builder().simulationWorldStateTtl(2000L).build());
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcSimulationWorldStateTtlMustNotBeNegative() {
+    parseCommand("--rpc-simulation-world-state-ttl", "-1");
+
+    Mockito.verifyNoInteractions(mockRunnerBuilder);
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--rpc-simulation-world-state-ttl must be greater than or equal to 0");
+  }
+
   @Test
   public void estimateGasToleranceRatioOptionMustBeUsed() {
     final double tolerance = 0.5d;
@@ -942,6 +942,34 @@ public class JsonRpcHttpOptionsTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
   }
 
+  @Test
+  public void rpcHttpMaxBatchConcurrencyOptionMustBeUsed() {
+    final int rpcHttpMaxBatchConcurrency = 8;
+    parseCommand(
+        "--rpc-http-max-batch-concurrency", Integer.toString(rpcHttpMaxBatchConcurrency));
+
+    verify(mockRunnerBuilder).jsonRpcConfiguration(jsonRpcConfigArgumentCaptor.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(jsonRpcConfigArgumentCaptor.getValue().getMaxBatchConcurrency())
+        .isEqualTo(rpcHttpMaxBatchConcurrency);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+  }
+
+  @Test
+  public void rpcHttpMaxBatchConcurrencyMustBeAtLeastOne() {
+    parseCommand("--rpc-http-max-batch-concurrency", "0");
+
+    Mockito.verifyNoInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString(UTF_8)).isEmpty();
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains(
+            "Invalid value for option '--rpc-http-max-batch-concurrency', it must be at least 1");
+  }
+
   @Test
   public void portInUseReportsError() throws IOException {
     final ServerSocket serverSocket = new ServerSocket(8545);
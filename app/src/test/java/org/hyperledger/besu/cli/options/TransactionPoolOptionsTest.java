@@ -131,6 +131,21 @@ public class TransactionPoolOptionsTest
         "--tx-pool-save-file=my.save.file");
   }
 
+  @Test
+  public void saveInterval() {
+    internalTestSuccess(
+        config -> assertThat(config.getSaveInterval()).isEqualTo(Duration.ofSeconds(300)),
+        "--tx-pool-enable-save-restore=true",
+        "--tx-pool-save-interval=300");
+  }
+
+  @Test
+  public void saveIntervalCannotBeNegative() {
+    internalTestFailure(
+        "Invalid value for option '--tx-pool-save-interval': cannot convert '-1' to Duration (org.hyperledger.besu.cli.converter.exception.DurationConversionException: negative value '-1' is not allowed)",
+        "--tx-pool-save-interval=-1");
+  }
+
   @Test
   public void senderLimited_derived() {
     internalTestSuccess(
@@ -15,7 +15,6 @@
 package org.hyperledger.besu.crypto;
 
 import static org.hyperledger.besu.crypto.MessageDigestFactory.BLAKE2BF_ALG;
-import static org.hyperledger.besu.crypto.MessageDigestFactory.KECCAK256_ALG;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.RIPEMD160_ALG;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.SHA256_ALG;
 
@@ -31,8 +30,6 @@ import org.apache.tuweni.bytes.Bytes32;
 public abstract class Hash {
   private Hash() {}
 
-  private static final Supplier<MessageDigest> KECCAK256_SUPPLIER =
-      Suppliers.memoize(() -> messageDigest(KECCAK256_ALG));
   private static final Supplier<MessageDigest> SHA256_SUPPLIER =
       Suppliers.memoize(() -> messageDigest(SHA256_ALG));
   private static final Supplier<MessageDigest> RIPEMD160_SUPPLIER =
@@ -83,7 +80,7 @@ public abstract class Hash {
    * @return A digest.
    */
   public static Bytes32 keccak256(final Bytes input) {
-    return Bytes32.wrap(digestUsingAlgorithm(input, KECCAK256_SUPPLIER));
+    return Keccak256.hash(input);
   }
 
   /**
@@ -0,0 +1,113 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+
+/**
+ * Keccak-256 hashing reusing the digest state of the calling thread.
+ *
+ * <p>Unlike a {@link java.security.MessageDigest}, which is cloned for each hash, the digest of a
+ * thread is reset after each hash and reused, and the hashes can be written to arrays supplied by
+ * the caller.
+ */
+public final class Keccak256 {
+  /** The size in bytes of a Keccak-256 hash. */
+  public static final int DIGEST_SIZE = 32;
+
+  private static final ThreadLocal<KeccakDigest> DIGEST =
+      ThreadLocal.withInitial(() -> new KeccakDigest(256));
+
+  private Keccak256() {}
+
+  /**
+   * Hashes a range of an array into another array.
+   *
+   * @param input the array holding the bytes to hash
+   * @param inputOffset the offset of the bytes to hash in the input array
+   * @param length the number of bytes to hash
+   * @param output the array to write the hash to
+   * @param outputOffset the offset of the hash in the output array
+   * @throws IndexOutOfBoundsException if a range is out of the bounds of its array
+   */
+  public static void hash(
+      final byte[] input,
+      final int inputOffset,
+      final int length,
+      final byte[] output,
+      final int outputOffset) {
+    Objects.checkFromIndexSize(inputOffset, length, input.length);
+    Objects.checkFromIndexSize(outputOffset, DIGEST_SIZE, output.length);
+    final KeccakDigest digest = DIGEST.get();
+    try {
+      digest.update(input, inputOffset, length);
+      // also resets the digest for the next hash
+      digest.doFinal(output, outputOffset);
+    } catch (final RuntimeException e) {
+      // never leave a partial state behind for the next hash of this thread
+      digest.reset();
+      throw e;
+    }
+  }
+
+  /**
+   * Hashes bytes into an array.
+   *
+   * @param input the bytes to hash
+   * @param output the array to write the hash to
+   * @param outputOffset the offset of the hash in the output array
+   */
+  public static void hash(final Bytes input, final byte[] output, final int outputOffset) {
+    // does not copy the bytes wrapping a whole array
+    final byte[] inputArray = input.toArrayUnsafe();
+    hash(inputArray, 0, inputArray.length, output, outputOffset);
+  }
+
+  /**
+   * Hashes bytes.
+   *
+   * @param input the bytes to hash
+   * @return the hash of the bytes
+   */
+  public static Bytes32 hash(final Bytes input) {
+    final byte[] output = new byte[DIGEST_SIZE];
+    hash(input, output, 0);
+    return Bytes32.wrap(output);
+  }
+
+  /**
+   * Hashes a list of bytes, writing all the hashes to a single array.
+   *
+   * @param inputs the bytes to hash
+   * @return the hashes of the bytes, in the order of the inputs
+   */
+  public static List<Bytes32> hashAll(final List<? extends Bytes> inputs) {
+    final int size = inputs.size();
+    final byte[] output = new byte[size * DIGEST_SIZE];
+    final List<Bytes32> hashes = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      final int outputOffset = i * DIGEST_SIZE;
+      hash(inputs.get(i), output, outputOffset);
+      hashes.add(Bytes32.wrap(output, outputOffset));
+    }
+    return hashes;
+  }
+}
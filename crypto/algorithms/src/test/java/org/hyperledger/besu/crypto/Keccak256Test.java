@@ -0,0 +1,112 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class Keccak256Test {
+
+  private final Random random = new Random(42);
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 32, 135, 136, 137, 272, 532, 4096})
+  public void hashesAsTheMessageDigest(final int size) throws Exception {
+    final Bytes input = randomBytes(size);
+
+    assertThat(Keccak256.hash(input)).isEqualTo(messageDigestHash(input));
+    // the digest of the thread is reset after each hash
+    assertThat(Keccak256.hash(input)).isEqualTo(messageDigestHash(input));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 33, 200})
+  public void hashesRangesIntoTheOutputArray(final int size) throws Exception {
+    final byte[] input = randomBytes(size + 10).toArray();
+    final byte[] output = new byte[Keccak256.DIGEST_SIZE + 7];
+
+    Keccak256.hash(input, 5, size, output, 7);
+
+    assertThat(Bytes.wrap(output, 7, Keccak256.DIGEST_SIZE))
+        .isEqualTo(messageDigestHash(Bytes.wrap(input, 5, size)));
+    assertThat(Arrays.copyOf(output, 7)).containsOnly(0);
+  }
+
+  @Test
+  public void rejectsRangesOutOfBounds() throws Exception {
+    final byte[] input = randomBytes(64).toArray();
+    final byte[] output = new byte[Keccak256.DIGEST_SIZE];
+
+    assertThatThrownBy(() -> Keccak256.hash(input, 60, 5, output, 0))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> Keccak256.hash(input, -1, 5, output, 0))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> Keccak256.hash(input, 0, 64, output, 1))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+    assertThatThrownBy(() -> Keccak256.hash(input, 0, 64, new byte[16], 0))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+
+    // the failed calls left nothing behind in the digest of the thread
+    Keccak256.hash(input, 0, 64, output, 0);
+    assertThat(Bytes.wrap(output)).isEqualTo(messageDigestHash(Bytes.wrap(input)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 64, 300})
+  public void hashesSlicedBytes(final int size) throws Exception {
+    final Bytes input = randomBytes(size + 2).slice(1, size);
+
+    assertThat(Keccak256.hash(input)).isEqualTo(messageDigestHash(input));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 17})
+  public void hashesAllTheInputs(final int count) throws Exception {
+    final List<Bytes> inputs = new ArrayList<>();
+    final List<Bytes32> expectedHashes = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      final Bytes input = randomBytes(i * 31);
+      inputs.add(input);
+      expectedHashes.add(messageDigestHash(input));
+    }
+
+    assertThat(Keccak256.hashAll(inputs)).containsExactlyElementsOf(expectedHashes);
+  }
+
+  private Bytes randomBytes(final int size) {
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return Bytes.wrap(bytes);
+  }
+
+  private static Bytes32 messageDigestHash(final Bytes input) throws Exception {
+    final MessageDigest digest =
+        MessageDigestFactory.create(MessageDigestFactory.KECCAK256_ALG);
+    input.update(digest);
+    return Bytes32.wrap(digest.digest());
+  }
+}
@@ -157,4 +157,48 @@ public abstract class ApiConfiguration {
   public Long getMaxTraceFilterRange() {
     return 1000L;
   }
+
+  /**
+   * Returns the number of blocks trace_filter replays in parallel. Default value is 1.
+   *
+   * @return the number of blocks trace_filter replays in parallel
+   */
+  @Value.Default
+  public Integer getTraceFilterParallelism() {
+    return 1;
+  }
+
+  /**
+   * Returns whether debug_traceTransaction streams the struct logs of the opcode tracer to the
+   * response while the transaction is replayed. Default value is false.
+   *
+   * @return true if the struct logs are streamed, false if they are collected before being written
+   */
+  @Value.Default
+  public boolean isDebugTraceStreamingEnabled() {
+    return false;
+  }
+
+  /**
+   * Returns the maximum size in bytes of the cache of the serialized results of the JSON-RPC reads
+   * of finalized blocks. Default value is 0, which disables the cache.
+   *
+   * @return the maximum size in bytes of the finalized result cache
+   */
+  @Value.Default
+  public Long getFinalizedResultCacheSize() {
+    return 0L;
+  }
+
+  /**
+   * Returns the time in milliseconds the world state of a block built for a call simulation is kept
+   * to be shared by the next simulations at this block. Default value is 0, which builds a world
+   * state for each simulation.
+   *
+   * @return the time to live in milliseconds of the world states of the simulations
+   */
+  @Value.Default
+  public Long getSimulationWorldStateTtl() {
+    return 0L;
+  }
 }
@@ -23,6 +23,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingOpCodeLoggerTracerResult;
 
 import java.io.IOException;
 import java.util.Optional;
@@ -126,6 +127,15 @@ public abstract class AbstractJsonRpcExecutor {
     T get() throws Exception;
   }
 
+  protected static void lazyTraceResponse(final Object response) {
+    // serializing a streaming result replays its transaction, so it is not serialized to be logged
+    lazyTraceLogger(
+        () ->
+            StreamingOpCodeLoggerTracerResult.isResultOf(response)
+                ? StreamingOpCodeLoggerTracerResult.TRACE_LOG_PLACEHOLDER
+                : getJsonObjectMapper().writeValueAsString(response));
+  }
+
   protected static void lazyTraceLogger(
       final ExceptionThrowingSupplier<String> logMessageSupplier) {
     if (LOG.isTraceEnabled()) {
@@ -55,4 +55,13 @@ public class HandlerFactory {
       final JsonRpcConfiguration jsonRpcConfiguration) {
     return JsonRpcExecutorHandler.handler(jsonRpcExecutor, tracer, jsonRpcConfiguration);
   }
+
+  public static Handler<RoutingContext> jsonRpcExecutor(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<JsonRpcBatchScheduler> batchScheduler) {
+    return JsonRpcExecutorHandler.handler(
+        jsonRpcExecutor, tracer, jsonRpcConfiguration, batchScheduler);
+  }
 }
@@ -23,9 +23,14 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingOpCodeLoggerTracerResult;
 import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.JsonGenerator;
 import io.opentelemetry.api.trace.Tracer;
@@ -35,12 +40,35 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 
 public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
+  private final Optional<JsonRpcBatchScheduler> batchScheduler;
+
   public JsonRpcArrayExecutor(
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    this(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, Optional.empty());
+  }
+
+  /**
+   * Creates a new JsonRpcArrayExecutor.
+   *
+   * @param jsonRpcExecutor The executor used to process the JSON RPC requests.
+   * @param tracer The tracer used for monitoring and debugging purposes.
+   * @param ctx The context of the routing, containing information about the HTTP request and
+   *     response.
+   * @param jsonRpcConfiguration The configuration for JSON RPC operations
+   * @param batchScheduler The scheduler executing the requests of the batch concurrently, if empty
+   *     the requests are executed one after another
+   */
+  public JsonRpcArrayExecutor(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final RoutingContext ctx,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<JsonRpcBatchScheduler> batchScheduler) {
     super(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration);
+    this.batchScheduler = batchScheduler;
   }
 
   /**
@@ -70,19 +98,66 @@ public class JsonRpcArrayExecutor extends AbstractJsonRpcExecutor {
    */
   public void executeRpcRequestBatch(
       final JsonArray rpcRequestBatch, final JsonResponseStreamer streamer) throws IOException {
+    if (batchScheduler.isPresent() && rpcRequestBatch.size() > 1) {
+      executeRpcRequestBatchConcurrently(rpcRequestBatch, streamer, batchScheduler.get());
+      return;
+    }
     try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer)) {
       generator.writeStartArray();
       for (int i = 0; i < rpcRequestBatch.size(); i++) {
         JsonRpcResponse response = processMaybeRequest(rpcRequestBatch.getValue(i));
-        if (response.getType() != RpcResponseType.NONE) {
-          generator.writeObject(response);
+        writeResponse(generator, streamer, response);
+      }
+      generator.writeEndArray();
+    }
+  }
+
+  /**
+   * Executes the requests of a batch concurrently, and streams the responses in request order as
+   * soon as all the preceding responses have been written.
+   *
+   * @param rpcRequestBatch the batch of RPC requests.
+   * @param streamer the JsonResponseStreamer to use.
+   * @param scheduler the scheduler executing the requests.
+   */
+  private void executeRpcRequestBatchConcurrently(
+      final JsonArray rpcRequestBatch,
+      final JsonResponseStreamer streamer,
+      final JsonRpcBatchScheduler scheduler)
+      throws IOException {
+    final List<Supplier<JsonRpcResponse>> requests = new ArrayList<>(rpcRequestBatch.size());
+    for (int i = 0; i < rpcRequestBatch.size(); i++) {
+      final Object maybeRequest = rpcRequestBatch.getValue(i);
+      requests.add(() -> processMaybeRequest(maybeRequest));
+    }
+    try (JsonGenerator generator = getJsonObjectMapper().getFactory().createGenerator(streamer);
+        JsonRpcBatchScheduler.Batch batch = scheduler.schedule(requests)) {
+      generator.writeStartArray();
+      for (int i = 0; i < requests.size(); i++) {
+        writeResponse(generator, streamer, batch.get(i));
+        // send the completed prefix before waiting for the next response
+        if (i + 1 < requests.size() && !batch.isDone(i + 1)) {
+          generator.flush();
         }
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(response));
       }
       generator.writeEndArray();
     }
   }
 
+  private void writeResponse(
+      final JsonGenerator generator,
+      final JsonResponseStreamer streamer,
+      final JsonRpcResponse response)
+      throws IOException {
+    if (StreamingOpCodeLoggerTracerResult.isResultOf(response)) {
+      streamer.enableBackpressure();
+    }
+    if (response.getType() != RpcResponseType.NONE) {
+      generator.writeObject(response);
+    }
+    lazyTraceResponse(response);
+  }
+
   /**
    * Processes a single RPC request.
    *
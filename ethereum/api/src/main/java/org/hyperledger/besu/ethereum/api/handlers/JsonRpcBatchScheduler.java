@@ -0,0 +1,171 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Supplier;
+
+/**
+ * Executes the requests of JSON-RPC batches concurrently on a pool of threads shared by all the
+ * connections.
+ *
+ * <p>A batch never has more than {@code maxBatchConcurrency} requests running on the pool. Each
+ * task of a batch executes a single request and then enqueues itself again at the back of the
+ * queue of the pool, so the batches of all the connections take turns on the pool instead of a
+ * large batch holding threads until all its requests are done.
+ *
+ * <p>The responses are read in request order by the thread writing them, which executes the next
+ * request itself when no thread of the pool has started it yet. So a batch always progresses, even
+ * if the pool is saturated or has been shut down.
+ */
+public class JsonRpcBatchScheduler {
+
+  private final ExecutorService executorService;
+  private final int maxBatchConcurrency;
+
+  /**
+   * Creates a new JsonRpcBatchScheduler.
+   *
+   * @param executorService the pool executing the requests of the batches
+   * @param maxBatchConcurrency the maximum number of requests of a batch executed concurrently by
+   *     the pool
+   */
+  public JsonRpcBatchScheduler(
+      final ExecutorService executorService, final int maxBatchConcurrency) {
+    checkArgument(maxBatchConcurrency > 0, "maxBatchConcurrency must be positive");
+    this.executorService = executorService;
+    this.maxBatchConcurrency = maxBatchConcurrency;
+  }
+
+  /**
+   * Starts executing the requests of a batch.
+   *
+   * @param requests the requests of the batch, in request order
+   * @return the batch, giving access to the responses in request order
+   */
+  Batch schedule(final List<Supplier<JsonRpcResponse>> requests) {
+    final Batch batch = new Batch(requests);
+    final int workers = Math.min(maxBatchConcurrency, requests.size());
+    for (int i = 0; i < workers; i++) {
+      batch.submitNext();
+    }
+    return batch;
+  }
+
+  /** The requests of a batch being executed. */
+  final class Batch implements AutoCloseable {
+    private final List<Supplier<JsonRpcResponse>> requests;
+    private final List<CompletableFuture<JsonRpcResponse>> responses;
+    private final AtomicIntegerArray claimed;
+    private final AtomicInteger nextRequest = new AtomicInteger();
+
+    private Batch(final List<Supplier<JsonRpcResponse>> requests) {
+      this.requests = requests;
+      this.responses = new ArrayList<>(requests.size());
+      for (int i = 0; i < requests.size(); i++) {
+        responses.add(new CompletableFuture<>());
+      }
+      this.claimed = new AtomicIntegerArray(requests.size());
+    }
+
+    /**
+     * Whether the response of a request is available without waiting.
+     *
+     * @param index the index of the request in the batch
+     * @return true if the request has been executed
+     */
+    boolean isDone(final int index) {
+      return responses.get(index).isDone();
+    }
+
+    /**
+     * Gets the response of a request, executing the request in the calling thread if the pool has
+     * not started it yet, or waiting for the pool to complete it otherwise.
+     *
+     * @param index the index of the request in the batch
+     * @return the response of the request
+     */
+    JsonRpcResponse get(final int index) {
+      if (claim(index)) {
+        execute(index);
+      }
+      try {
+        return responses.get(index).join();
+      } catch (final CompletionException e) {
+        if (e.getCause() instanceof RuntimeException runtimeException) {
+          throw runtimeException;
+        }
+        if (e.getCause() instanceof Error error) {
+          throw error;
+        }
+        throw e;
+      }
+    }
+
+    /** Prevents the pool from starting the requests not started yet. */
+    @Override
+    public void close() {
+      for (int i = 0; i < requests.size(); i++) {
+        if (claim(i)) {
+          responses.get(i).cancel(false);
+        }
+      }
+    }
+
+    private void submitNext() {
+      try {
+        executorService.execute(this::executeNext);
+      } catch (final RejectedExecutionException e) {
+        // the thread writing the responses executes the remaining requests
+      }
+    }
+
+    private void executeNext() {
+      int index;
+      while ((index = nextRequest.getAndIncrement()) < requests.size()) {
+        if (claim(index)) {
+          execute(index);
+          break;
+        }
+      }
+      if (nextRequest.get() < requests.size()) {
+        submitNext();
+      }
+    }
+
+    private boolean claim(final int index) {
+      return claimed.compareAndSet(index, 0, 1);
+    }
+
+    private void execute(final int index) {
+      try {
+        responses.get(index).complete(requests.get(index).get());
+      } catch (final RuntimeException | Error e) {
+        responses.get(index).completeExceptionally(e);
+      }
+    }
+  }
+}
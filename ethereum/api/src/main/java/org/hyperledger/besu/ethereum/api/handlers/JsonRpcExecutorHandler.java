@@ -39,6 +39,14 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final JsonRpcConfiguration jsonRpcConfiguration) {
+    return handler(jsonRpcExecutor, tracer, jsonRpcConfiguration, Optional.empty());
+  }
+
+  public static Handler<RoutingContext> handler(
+      final JsonRpcExecutor jsonRpcExecutor,
+      final Tracer tracer,
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<JsonRpcBatchScheduler> batchScheduler) {
     return ctx -> {
       long timeoutMillis = jsonRpcConfiguration.getHttpTimeoutSec() * 1000;
       final long timerId =
@@ -63,7 +71,7 @@ public class JsonRpcExecutorHandler {
       ctx.put("timerId", timerId);
 
       try {
-        createExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration)
+        createExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, batchScheduler)
             .ifPresentOrElse(
                 executor -> {
                   try {
@@ -128,14 +136,16 @@ public class JsonRpcExecutorHandler {
       final JsonRpcExecutor jsonRpcExecutor,
       final Tracer tracer,
       final RoutingContext ctx,
-      final JsonRpcConfiguration jsonRpcConfiguration) {
+      final JsonRpcConfiguration jsonRpcConfiguration,
+      final Optional<JsonRpcBatchScheduler> batchScheduler) {
     if (isJsonObjectRequest(ctx)) {
       return Optional.of(
           new JsonRpcObjectExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration));
     }
     if (isJsonArrayRequest(ctx)) {
       return Optional.of(
-          new JsonRpcArrayExecutor(jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration));
+          new JsonRpcArrayExecutor(
+              jsonRpcExecutor, tracer, ctx, jsonRpcConfiguration, batchScheduler));
     }
     return Optional.empty();
   }
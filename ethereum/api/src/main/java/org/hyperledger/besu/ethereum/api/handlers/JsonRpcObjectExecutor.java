@@ -23,6 +23,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingOpCodeLoggerTracerResult;
 import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
 
 import java.io.IOException;
@@ -75,8 +76,11 @@ public class JsonRpcObjectExecutor extends AbstractJsonRpcExecutor {
     } else {
       try (final JsonResponseStreamer streamer =
           new JsonResponseStreamer(response, ctx.request().remoteAddress())) {
+        if (StreamingOpCodeLoggerTracerResult.isResultOf(jsonRpcResponse)) {
+          streamer.enableBackpressure();
+        }
         // underlying output stream lifecycle is managed by the json object writer
-        lazyTraceLogger(() -> getJsonObjectMapper().writeValueAsString(jsonRpcResponse));
+        lazyTraceResponse(jsonRpcResponse);
         jsonObjectWriter.writeValue(streamer, jsonRpcResponse);
       }
     }
@@ -18,13 +18,15 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.context.ContextKey;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.vertx.core.Handler;
@@ -40,6 +42,9 @@ public class JsonRpcParserHandler {
 
   private static final JsonFactory JSON_FACTORY = new JsonFactory();
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(JSON_FACTORY);
+  private static final TypeReference<Map<String, Object>> JSON_OBJECT_TYPE =
+      new TypeReference<>() {};
+  private static final TypeReference<List<Object>> JSON_ARRAY_TYPE = new TypeReference<>() {};
 
   private JsonRpcParserHandler() {}
 
@@ -52,20 +57,21 @@ public class JsonRpcParserHandler {
         return;
       }
 
-      try (ByteArrayInputStream inputStream = new ByteArrayInputStream(buffer.getBytes());
-          JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+      try (JsonParser parser = JSON_FACTORY.createParser(buffer.getBytes())) {
 
         // Read multiple JSON objects from the stream, similar to Go's json.Decoder
         while (parser.nextToken() != null) {
           JsonToken token = parser.currentToken();
 
+          // the values are bound to the maps and lists backing the JsonObject and JsonArray, so
+          // large requests are parsed once instead of being printed and parsed again
           if (token == JsonToken.START_OBJECT) {
             // Parse JSON object
-            JsonObject obj = new JsonObject(OBJECT_MAPPER.readTree(parser).toString());
+            JsonObject obj = new JsonObject(OBJECT_MAPPER.readValue(parser, JSON_OBJECT_TYPE));
             onParsed.accept(obj, null);
           } else if (token == JsonToken.START_ARRAY) {
             // Parse JSON array
-            JsonArray arr = new JsonArray(OBJECT_MAPPER.readTree(parser).toString());
+            JsonArray arr = new JsonArray(OBJECT_MAPPER.readValue(parser, JSON_ARRAY_TYPE));
             onParsed.accept(null, arr);
           }
         }
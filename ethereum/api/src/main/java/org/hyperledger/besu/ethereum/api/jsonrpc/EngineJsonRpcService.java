@@ -76,7 +76,6 @@ import io.opentelemetry.extension.trace.propagation.JaegerPropagator;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.ClientAuth;
 import io.vertx.core.http.HttpConnection;
 import io.vertx.core.http.HttpMethod;
@@ -94,7 +93,6 @@ import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CorsHandler;
-import jakarta.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -348,17 +346,11 @@ public class EngineJsonRpcService {
                   if (user.isEmpty()) {
                     websocket.reject(403);
                   } else {
-                    final Handler<Buffer> socketHandler =
-                        handlerForUser(socketAddress, websocket, user);
-                    websocket.textMessageHandler(text -> socketHandler.handle(Buffer.buffer(text)));
-                    websocket.binaryMessageHandler(socketHandler);
+                    handleMessagesOfUser(socketAddress, websocket, user);
                   }
                 });
       } else {
-        final Handler<Buffer> socketHandler =
-            handlerForUser(socketAddress, websocket, Optional.empty());
-        websocket.textMessageHandler(text -> socketHandler.handle(Buffer.buffer(text)));
-        websocket.binaryMessageHandler(socketHandler);
+        handleMessagesOfUser(socketAddress, websocket, Optional.empty());
       }
       String addr = socketAddressAsString(socketAddress);
       LOG.debug("Websocket Connected ({})", addr);
@@ -382,22 +374,33 @@ public class EngineJsonRpcService {
     };
   }
 
-  @NotNull
-  private Handler<Buffer> handlerForUser(
+  private void handleMessagesOfUser(
       final SocketAddress socketAddress,
       final ServerWebSocket websocket,
       final Optional<User> user) {
-    return buffer -> {
-      String addr = socketAddressAsString(socketAddress);
-      LOG.debug("Received Websocket request (binary frame) {} ({})", buffer, addr);
-
-      if (webSocketMessageHandler.isPresent()) {
-        // if auth enabled and user empty will always 401
-        webSocketMessageHandler.get().handle(websocket, buffer, user);
-      } else {
-        LOG.error("No socket request handler configured");
-      }
-    };
+    // text messages are handed over as text, so they are not encoded again before being parsed
+    websocket.textMessageHandler(
+        text -> {
+          LOG.debug(
+              "Received Websocket request (text frame) {} ({})",
+              text,
+              socketAddressAsString(socketAddress));
+          webSocketMessageHandler.ifPresentOrElse(
+              // if auth enabled and user empty will always 401
+              handler -> handler.handle(websocket, text, user),
+              () -> LOG.error("No socket request handler configured"));
+        });
+    websocket.binaryMessageHandler(
+        buffer -> {
+          LOG.debug(
+              "Received Websocket request (binary frame) {} ({})",
+              buffer,
+              socketAddressAsString(socketAddress));
+          webSocketMessageHandler.ifPresentOrElse(
+              // if auth enabled and user empty will always 401
+              handler -> handler.handle(websocket, buffer, user),
+              () -> LOG.error("No socket request handler configured"));
+        });
   }
 
   private void validateConfig(final JsonRpcConfiguration config) {
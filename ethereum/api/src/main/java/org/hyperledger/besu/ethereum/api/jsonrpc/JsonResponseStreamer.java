@@ -15,9 +15,14 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.annotations.VisibleForTesting;
+import io.vertx.core.Context;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.net.SocketAddress;
@@ -27,18 +32,32 @@ import org.slf4j.LoggerFactory;
 public class JsonResponseStreamer extends OutputStream {
 
   private static final Logger LOG = LoggerFactory.getLogger(JsonResponseStreamer.class);
+  private static final long DRAIN_CHECK_INTERVAL_MILLIS = 100;
+  private static final long DEFAULT_MAX_DRAIN_WAIT_MILLIS = TimeUnit.MINUTES.toMillis(1);
 
   private final HttpServerResponse response;
   private final SocketAddress remoteAddress;
   private final byte[] singleByteBuf = new byte[1];
   private boolean chunked = false;
   private boolean closed = false;
+  private boolean backpressure = false;
+  private final long maxDrainWaitNanos;
+  private long drainWaitNanos = 0;
   private final AtomicReference<Throwable> failure = new AtomicReference<>();
 
   public JsonResponseStreamer(
       final HttpServerResponse response, final SocketAddress socketAddress) {
+    this(response, socketAddress, DEFAULT_MAX_DRAIN_WAIT_MILLIS);
+  }
+
+  @VisibleForTesting
+  JsonResponseStreamer(
+      final HttpServerResponse response,
+      final SocketAddress socketAddress,
+      final long maxDrainWaitMillis) {
     this.response = response;
     this.remoteAddress = socketAddress;
+    this.maxDrainWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxDrainWaitMillis);
     this.response.exceptionHandler(
         event -> {
           LOG.debug("Write to remote address {} failed", remoteAddress, event);
@@ -64,6 +83,56 @@ public class JsonResponseStreamer extends OutputStream {
     Buffer buf = Buffer.buffer(len);
     buf.appendBytes(bbuf, off, len);
     response.write(buf).onFailure(this::handleFailure);
+    awaitWriteQueueDrained();
+  }
+
+  /**
+   * Makes the following writes wait while the write queue of the connection is full. Only results
+   * produced while they are written, like the streamed struct logs of debug_traceTransaction, need
+   * it: the other responses are already in memory and are written without blocking.
+   */
+  public void enableBackpressure() {
+    backpressure = true;
+  }
+
+  /**
+   * Blocks the worker thread writing the response while the write queue of the connection is full,
+   * so a response produced faster than the client reads it is not buffered in memory. If the
+   * client has not read the response after waiting for a total of the max drain wait, the response
+   * fails and the connection is closed.
+   */
+  private void awaitWriteQueueDrained() throws IOException {
+    if (!backpressure || Context.isOnEventLoopThread()) {
+      return;
+    }
+    while (response.writeQueueFull()) {
+      if (drainWaitNanos >= maxDrainWaitNanos) {
+        failOnDrainTimeout();
+      }
+      final long waitStart = System.nanoTime();
+      final CountDownLatch drained = new CountDownLatch(1);
+      response.drainHandler(__ -> drained.countDown());
+      try {
+        // the queue may have been drained before the handler was set, so check it again later
+        drained.await(DRAIN_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while writing to " + remoteAddress);
+      }
+      drainWaitNanos += System.nanoTime() - waitStart;
+      stopOnFailureOrClosed();
+    }
+  }
+
+  private void failOnDrainTimeout() throws IOException {
+    final IOException timeout =
+        new IOException("Timed out waiting for " + remoteAddress + " to read the response");
+    LOG.debug("Closing the connection to remote address {}", remoteAddress, timeout);
+    failure.set(timeout);
+    // the response can not be completed, so drop the connection instead of ending the response
+    closed = true;
+    response.close();
+    throw timeout;
   }
 
   @Override
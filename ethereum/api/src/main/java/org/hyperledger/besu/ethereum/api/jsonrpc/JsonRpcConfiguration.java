@@ -37,6 +37,7 @@ public class JsonRpcConfiguration {
   public static final int DEFAULT_ENGINE_JSON_RPC_PORT = 8551;
   public static final int DEFAULT_MAX_ACTIVE_CONNECTIONS = 80;
   public static final int DEFAULT_MAX_BATCH_SIZE = 1024;
+  public static final int DEFAULT_MAX_BATCH_CONCURRENCY = 1;
   public static final long DEFAULT_HTTP_TIMEOUT_SEC =
       TimeoutOptions.defaultOptions().getTimeoutSeconds();
   public static final long DEFAULT_MAX_REQUEST_CONTENT_LENGTH = 128 * 1024 * 1024; // 128MB
@@ -57,6 +58,7 @@ public class JsonRpcConfiguration {
   private long httpTimeoutSec = DEFAULT_HTTP_TIMEOUT_SEC;
   private int maxActiveConnections;
   private int maxBatchSize;
+  private int maxBatchConcurrency;
   private long maxRequestContentLength;
   private boolean prettyJsonEnabled;
 
@@ -69,6 +71,7 @@ public class JsonRpcConfiguration {
     config.httpTimeoutSec = TimeoutOptions.defaultOptions().getTimeoutSeconds();
     config.setMaxActiveConnections(DEFAULT_MAX_ACTIVE_CONNECTIONS);
     config.setMaxBatchSize(DEFAULT_MAX_BATCH_SIZE);
+    config.setMaxBatchConcurrency(DEFAULT_MAX_BATCH_CONCURRENCY);
     config.setMaxRequestContentLength(DEFAULT_MAX_REQUEST_CONTENT_LENGTH);
     config.setPrettyJsonEnabled(DEFAULT_PRETTY_JSON_ENABLED);
     return config;
@@ -225,6 +228,7 @@ public class JsonRpcConfiguration {
         .add("httpTimeoutSec", httpTimeoutSec)
         .add("maxActiveConnections", maxActiveConnections)
         .add("maxBatchSize", maxBatchSize)
+        .add("maxBatchConcurrency", maxBatchConcurrency)
         .toString();
   }
 
@@ -246,7 +250,8 @@ public class JsonRpcConfiguration {
         && Objects.equals(hostsAllowlist, that.hostsAllowlist)
         && Objects.equals(authenticationCredentialsFile, that.authenticationCredentialsFile)
         && Objects.equals(authenticationPublicKeyFile, that.authenticationPublicKeyFile)
-        && maxBatchSize == that.maxBatchSize;
+        && maxBatchSize == that.maxBatchSize
+        && maxBatchConcurrency == that.maxBatchConcurrency;
   }
 
   @Override
@@ -261,7 +266,8 @@ public class JsonRpcConfiguration {
         authenticationEnabled,
         authenticationCredentialsFile,
         authenticationPublicKeyFile,
-        maxBatchSize);
+        maxBatchSize,
+        maxBatchConcurrency);
   }
 
   public int getMaxActiveConnections() {
@@ -280,6 +286,14 @@ public class JsonRpcConfiguration {
     this.maxBatchSize = maxBatchSize;
   }
 
+  public int getMaxBatchConcurrency() {
+    return maxBatchConcurrency;
+  }
+
+  public void setMaxBatchConcurrency(final int maxBatchConcurrency) {
+    this.maxBatchConcurrency = maxBatchConcurrency;
+  }
+
   public long getMaxRequestContentLength() {
     return maxRequestContentLength;
   }
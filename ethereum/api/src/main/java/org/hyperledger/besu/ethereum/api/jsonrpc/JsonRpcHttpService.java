@@ -18,12 +18,16 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.apache.tuweni.net.tls.VertxTrustOptions.allowlistClients;
 
 import org.hyperledger.besu.ethereum.api.handlers.HandlerFactory;
+import org.hyperledger.besu.ethereum.api.handlers.JsonRpcBatchScheduler;
 import org.hyperledger.besu.ethereum.api.handlers.TimeoutOptions;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.AuthenticationService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.authentication.DefaultAuthenticationService;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.AuthenticatedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.BaseJsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.CachingJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcProcessor;
+import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcResultCache;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TimedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.execution.TracedJsonRpcProcessor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.health.HealthService;
@@ -31,6 +35,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.exception.Logging403Er
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.tls.TlsClientAuthConfiguration;
 import org.hyperledger.besu.ethereum.api.tls.TlsConfiguration;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.opentelemetry.OpenTelemetrySystem;
 import org.hyperledger.besu.nat.NatMethod;
@@ -50,6 +55,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 import javax.annotation.Nullable;
 
@@ -130,8 +136,10 @@ public class JsonRpcHttpService {
   private final AtomicInteger activeConnectionsCount = new AtomicInteger();
 
   @VisibleForTesting public final Optional<AuthenticationService> authenticationService;
+  private final Optional<JsonRpcResultCache> resultCache;
 
   private HttpServer httpServer;
+  private Optional<ExecutorService> batchExecutorService = Optional.empty();
   private final HealthService livenessService;
   private final HealthService readinessService;
   private final MetricsSystem metricsSystem;
@@ -179,6 +187,44 @@ public class JsonRpcHttpService {
       final Optional<AuthenticationService> authenticationService,
       final HealthService livenessService,
       final HealthService readinessService) {
+    this(
+        vertx,
+        dataDir,
+        config,
+        metricsSystem,
+        natService,
+        methods,
+        authenticationService,
+        Optional.empty(),
+        livenessService,
+        readinessService);
+  }
+
+  /**
+   * Construct a JsonRpcHttpService handler
+   *
+   * @param vertx The vertx process that will be running this service
+   * @param dataDir The data directory where requests can be buffered
+   * @param config Configuration for the rpc methods being loaded
+   * @param metricsSystem The metrics service that activities should be reported to
+   * @param natService The NAT environment manager.
+   * @param methods The json rpc methods that should be enabled
+   * @param authenticationService The authentication service of the requests, if enabled
+   * @param resultCache The cache of the results of the reads of finalized blocks, if enabled
+   * @param livenessService A service responsible for reporting whether this node is live
+   * @param readinessService A service responsible for reporting whether this node has fully started
+   */
+  public JsonRpcHttpService(
+      final Vertx vertx,
+      final Path dataDir,
+      final JsonRpcConfiguration config,
+      final MetricsSystem metricsSystem,
+      final NatService natService,
+      final Map<String, JsonRpcMethod> methods,
+      final Optional<AuthenticationService> authenticationService,
+      final Optional<JsonRpcResultCache> resultCache,
+      final HealthService livenessService,
+      final HealthService readinessService) {
     this.dataDir = dataDir;
     requestTimer =
         metricsSystem.createLabelledTimer(
@@ -199,6 +245,7 @@ public class JsonRpcHttpService {
     this.natService = natService;
     this.rpcMethods = methods;
     this.authenticationService = authenticationService;
+    this.resultCache = resultCache;
     this.livenessService = livenessService;
     this.readinessService = readinessService;
     this.maxActiveConnections = config.getMaxActiveConnections();
@@ -333,6 +380,7 @@ public class JsonRpcHttpService {
         .method(HttpMethod.GET)
         .handler(readinessService::handleRequest);
     Route mainRoute = router.route("/").method(HttpMethod.POST).produces(APPLICATION_JSON);
+    final Optional<JsonRpcBatchScheduler> batchScheduler = createBatchScheduler();
     authenticationService.ifPresent(
         service ->
             mainRoute.handler(HandlerFactory.authentication(service, config.getNoAuthRpcApis())));
@@ -345,25 +393,21 @@ public class JsonRpcHttpService {
           HandlerFactory.jsonRpcExecutor(
               new JsonRpcExecutor(
                   new AuthenticatedJsonRpcProcessor(
-                      new TimedJsonRpcProcessor(
-                          new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem),
-                          requestTimer),
+                      createJsonRpcProcessor(),
                       authenticationService.get(),
                       config.getNoAuthRpcApis()),
                   rpcMethods),
               tracer,
-              config),
+              config,
+              batchScheduler),
           false);
     } else {
       mainRoute.blockingHandler(
           HandlerFactory.jsonRpcExecutor(
-              new JsonRpcExecutor(
-                  new TimedJsonRpcProcessor(
-                      new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem),
-                      requestTimer),
-                  rpcMethods),
+              new JsonRpcExecutor(createJsonRpcProcessor(), rpcMethods),
               tracer,
-              config),
+              config,
+              batchScheduler),
           false);
     }
 
@@ -530,7 +574,33 @@ public class JsonRpcHttpService {
     }
   }
 
+  private JsonRpcProcessor createJsonRpcProcessor() {
+    final JsonRpcProcessor tracedProcessor =
+        new TracedJsonRpcProcessor(new BaseJsonRpcProcessor(), metricsSystem);
+    return new TimedJsonRpcProcessor(
+        resultCache
+            .<JsonRpcProcessor>map(cache -> new CachingJsonRpcProcessor(tracedProcessor, cache))
+            .orElse(tracedProcessor),
+        requestTimer);
+  }
+
+  private Optional<JsonRpcBatchScheduler> createBatchScheduler() {
+    final int maxBatchConcurrency = config.getMaxBatchConcurrency();
+    if (maxBatchConcurrency <= 1) {
+      return Optional.empty();
+    }
+    final ExecutorService executorService =
+        MonitoredExecutors.newFixedThreadPool(
+            "JsonRpc-Batch",
+            Math.max(maxBatchConcurrency, Runtime.getRuntime().availableProcessors()),
+            metricsSystem);
+    batchExecutorService = Optional.of(executorService);
+    return Optional.of(new JsonRpcBatchScheduler(executorService, maxBatchConcurrency));
+  }
+
   public CompletableFuture<?> stop() {
+    batchExecutorService.ifPresent(ExecutorService::shutdown);
+    batchExecutorService = Optional.empty();
     if (httpServer == null) {
       return CompletableFuture.completedFuture(null);
     }
@@ -0,0 +1,66 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.opentelemetry.api.trace.Span;
+
+/** Answers the requests whose results are in the {@link JsonRpcResultCache} from the cache. */
+public class CachingJsonRpcProcessor implements JsonRpcProcessor {
+
+  private final JsonRpcProcessor rpcProcessor;
+  private final JsonRpcResultCache resultCache;
+
+  public CachingJsonRpcProcessor(
+      final JsonRpcProcessor rpcProcessor, final JsonRpcResultCache resultCache) {
+    this.rpcProcessor = rpcProcessor;
+    this.resultCache = resultCache;
+  }
+
+  @Override
+  public JsonRpcResponse process(
+      final JsonRpcRequestId id,
+      final JsonRpcMethod method,
+      final Span metricSpan,
+      final JsonRpcRequestContext request) {
+    final Optional<JsonRpcResultCache.Key> key = resultCache.key(request);
+    if (key.isEmpty()) {
+      return rpcProcessor.process(id, method, metricSpan, request);
+    }
+    final Optional<RawValue> cachedResult = resultCache.get(key.get());
+    if (cachedResult.isPresent()) {
+      return new JsonRpcSuccessResponse(request.getRequest().getId(), cachedResult.get());
+    }
+    final JsonRpcResponse response = rpcProcessor.process(id, method, metricSpan, request);
+    if (response instanceof JsonRpcSuccessResponse successResponse
+        && successResponse.getResult() != null) {
+      // return the serialized result, so that it is not serialized again
+      return resultCache
+          .put(key.get(), request, successResponse.getResult())
+          .<JsonRpcResponse>map(
+              result -> new JsonRpcSuccessResponse(successResponse.getId(), result))
+          .orElse(response);
+    }
+    return response;
+  }
+}
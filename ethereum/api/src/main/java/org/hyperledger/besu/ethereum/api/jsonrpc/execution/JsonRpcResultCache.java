@@ -0,0 +1,226 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.BlockParameterOrBlockHash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.JsonRpcParameter.JsonRpcParameterException;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.TransactionReceiptResult;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the serialized results of the JSON-RPC reads of finalized blocks, shared by the
+ * JSON-RPC services and bounded by the size of the serialized results.
+ *
+ * <p>Only the results of eth_getBlockByNumber, eth_getBlockReceipts and eth_getTransactionReceipt
+ * are cached, when their parameters designate a block or transaction independently of the chain
+ * head and the block they are read from is finalized. These results cannot change anymore, except
+ * on a chain reorg below the finalized block, such as the ones of debug_setHead, which clear the
+ * cache.
+ */
+public class JsonRpcResultCache {
+  private static final Logger LOG = LoggerFactory.getLogger(JsonRpcResultCache.class);
+
+  private static final ObjectMapper jsonObjectMapper =
+      new ObjectMapper().registerModule(new Jdk8Module()); // Handle JDK8 Optionals serialization
+
+  private final Blockchain blockchain;
+  private final Cache<String, String> cache;
+  private final AtomicLong generation = new AtomicLong();
+  private final LabelledMetric<Counter> hitsCounter;
+  private final LabelledMetric<Counter> missesCounter;
+
+  public JsonRpcResultCache(
+      final Blockchain blockchain, final long maximumSize, final MetricsSystem metricsSystem) {
+    this.blockchain = blockchain;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(maximumSize)
+            .<String, String>weigher((key, value) -> key.length() + value.length())
+            .build();
+    this.hitsCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.RPC,
+            "result_cache_hits",
+            "Number of JSON-RPC requests answered from the finalized result cache",
+            "methodName");
+    this.missesCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.RPC,
+            "result_cache_misses",
+            "Number of cacheable JSON-RPC requests not found in the finalized result cache",
+            "methodName");
+    blockchain.observeBlockAdded(this::onBlockAdded);
+  }
+
+  private void onBlockAdded(final BlockAddedEvent event) {
+    // a reorg, or a rewind of the chain head, can replace blocks below the finalized one
+    if (event.getEventType() == BlockAddedEvent.EventType.CHAIN_REORG) {
+      invalidateAll();
+    }
+  }
+
+  /** Removes all the cached results. */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    cache.invalidateAll();
+    LOG.debug("Invalidated the JSON-RPC result cache");
+  }
+
+  /**
+   * Returns the key of the result of a request, if its result may be cached. Its result is only
+   * cached if it is read from a finalized block, see {@link #put(Key, JsonRpcRequestContext,
+   * Object)}.
+   *
+   * @param request the request
+   * @return the key of the result of the request, or empty if its result is never cached
+   */
+  public Optional<Key> key(final JsonRpcRequestContext request) {
+    final String method = request.getRequest().getMethod();
+    try {
+      final Optional<String> params;
+      if (RpcMethod.ETH_GET_BLOCK_BY_NUMBER.getMethodName().equals(method)) {
+        final Optional<Long> number =
+            request.getRequiredParameter(0, BlockParameter.class).getNumber();
+        final boolean completeTransactions = request.getRequiredParameter(1, Boolean.class);
+        params = number.map(n -> n + "/" + completeTransactions);
+      } else if (RpcMethod.ETH_GET_BLOCK_RECEIPTS.getMethodName().equals(method)) {
+        final BlockParameterOrBlockHash block =
+            request.getRequiredParameter(0, BlockParameterOrBlockHash.class);
+        if (block.getNumber().isPresent()) {
+          params = Optional.of(Long.toString(block.getNumber().getAsLong()));
+        } else {
+          params =
+              block.getHash().map(hash -> hash.toHexString() + "/" + block.getRequireCanonical());
+        }
+      } else if (RpcMethod.ETH_GET_TRANSACTION_RECEIPT.getMethodName().equals(method)) {
+        params = Optional.of(request.getRequiredParameter(0, Hash.class).toHexString());
+      } else {
+        params = Optional.empty();
+      }
+      return params.map(p -> new Key(method, method + "/" + p, generation.get()));
+    } catch (final JsonRpcParameterException | RuntimeException e) {
+      // the method reports the invalid parameters
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Returns the cached serialized result of a request.
+   *
+   * @param key the key of the result of the request
+   * @return the serialized result, written as is when serializing the response
+   */
+  public Optional<RawValue> get(final Key key) {
+    final String result = cache.getIfPresent(key.value());
+    if (result == null) {
+      missesCounter.labels(key.method()).inc();
+      return Optional.empty();
+    }
+    hitsCounter.labels(key.method()).inc();
+    return Optional.of(new RawValue(result));
+  }
+
+  /**
+   * Caches the result of a request if it is read from a finalized block.
+   *
+   * @param key the key of the result of the request
+   * @param request the request
+   * @param result the result of the request
+   * @return the serialized result if it has been cached, or empty otherwise
+   */
+  public Optional<RawValue> put(
+      final Key key, final JsonRpcRequestContext request, final Object result) {
+    final OptionalLong blockNumber = blockNumber(request, result);
+    final Optional<Long> finalizedBlockNumber =
+        blockchain.getFinalized().flatMap(blockchain::getBlockHeader).map(BlockHeader::getNumber);
+    if (blockNumber.isEmpty()
+        || finalizedBlockNumber.isEmpty()
+        || blockNumber.getAsLong() > finalizedBlockNumber.get()) {
+      return Optional.empty();
+    }
+    final String serializedResult;
+    try {
+      serializedResult = jsonObjectMapper.writeValueAsString(result);
+    } catch (final JsonProcessingException e) {
+      LOG.debug("Unable to serialize the result of {}", key.method(), e);
+      return Optional.empty();
+    }
+    cache.put(key.value(), serializedResult);
+    if (generation.get() != key.generation()) {
+      // the cache was invalidated while the result was read, which may be stale
+      cache.invalidate(key.value());
+    }
+    return Optional.of(new RawValue(serializedResult));
+  }
+
+  private OptionalLong blockNumber(final JsonRpcRequestContext request, final Object result) {
+    if (result instanceof BlockResult blockResult) {
+      return OptionalLong.of(Long.decode(blockResult.getNumber()));
+    } else if (result instanceof TransactionReceiptResult receiptResult) {
+      return OptionalLong.of(Long.decode(receiptResult.getBlockNumber()));
+    }
+    try {
+      final String method = request.getRequest().getMethod();
+      if (RpcMethod.ETH_GET_BLOCK_RECEIPTS.getMethodName().equals(method)) {
+        final BlockParameterOrBlockHash block =
+            request.getRequiredParameter(0, BlockParameterOrBlockHash.class);
+        if (block.getNumber().isPresent()) {
+          return block.getNumber();
+        }
+        return block
+            .getHash()
+            .flatMap(blockchain::getBlockHeader)
+            .map(header -> OptionalLong.of(header.getNumber()))
+            .orElse(OptionalLong.empty());
+      }
+    } catch (final JsonRpcParameterException e) {
+      // not cached
+    }
+    return OptionalLong.empty();
+  }
+
+  /**
+   * The key of the result of a request.
+   *
+   * @param method the method of the request
+   * @param value the method and its normalized parameters
+   * @param generation the number of invalidations of the cache when the key was created
+   */
+  public record Key(String method, String value, long generation) {}
+}
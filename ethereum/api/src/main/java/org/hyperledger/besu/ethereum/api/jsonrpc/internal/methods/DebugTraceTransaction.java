@@ -26,9 +26,11 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcRespon
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.DebugTraceTransactionResult;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingOpCodeLoggerTracerResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.api.query.TransactionWithMetadata;
 import org.hyperledger.besu.ethereum.debug.TraceOptions;
+import org.hyperledger.besu.ethereum.debug.TracerType;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.vm.DebugOperationTracer;
 
@@ -39,14 +41,33 @@ public class DebugTraceTransaction implements JsonRpcMethod {
   private final TransactionTracer transactionTracer;
   private final BlockchainQueries blockchain;
   private final ProtocolSchedule protocolSchedule;
+  private final boolean streamingEnabled;
 
   public DebugTraceTransaction(
       final BlockchainQueries blockchain,
       final TransactionTracer transactionTracer,
       final ProtocolSchedule protocolSchedule) {
+    this(blockchain, transactionTracer, protocolSchedule, false);
+  }
+
+  /**
+   * Creates the debug_traceTransaction method.
+   *
+   * @param blockchain the blockchain queries
+   * @param transactionTracer the tracer replaying the transactions
+   * @param protocolSchedule the protocol schedule
+   * @param streamingEnabled whether the struct logs of the opcode tracer are written to the
+   *     response while the transaction is replayed, instead of being collected first
+   */
+  public DebugTraceTransaction(
+      final BlockchainQueries blockchain,
+      final TransactionTracer transactionTracer,
+      final ProtocolSchedule protocolSchedule,
+      final boolean streamingEnabled) {
     this.blockchain = blockchain;
     this.transactionTracer = transactionTracer;
     this.protocolSchedule = protocolSchedule;
+    this.streamingEnabled = streamingEnabled;
   }
 
   @Override
@@ -85,6 +106,11 @@ public class DebugTraceTransaction implements JsonRpcMethod {
         throw new InvalidJsonRpcParameters(
             e.getMessage(), RpcErrorType.INVALID_TRANSACTION_TRACE_PARAMS, e);
       }
+      if (streamingEnabled && traceOptions.tracerType() == TracerType.OPCODE_TRACER) {
+        return new JsonRpcSuccessResponse(
+            requestContext.getRequest().getId(),
+            streamingOpCodeLoggerTracerResult(hash, transactionWithMetadata.get(), traceOptions));
+      }
       final DebugTraceTransactionResult debugResult =
           debugTraceTransactionResult(hash, transactionWithMetadata.get(), traceOptions);
 
@@ -95,6 +121,22 @@ public class DebugTraceTransaction implements JsonRpcMethod {
     }
   }
 
+  private StreamingOpCodeLoggerTracerResult streamingOpCodeLoggerTracerResult(
+      final Hash txHash,
+      final TransactionWithMetadata transactionWithMetadata,
+      final TraceOptions traceOptions) {
+    final Hash blockHash = transactionWithMetadata.getBlockHash().get();
+    return new StreamingOpCodeLoggerTracerResult(
+        traceOptions.opCodeTracerConfig(),
+        tracer ->
+            Tracer.processTracing(
+                blockchain,
+                blockHash,
+                mutableWorldState ->
+                    transactionTracer.streamTransaction(
+                        mutableWorldState, blockHash, txHash, tracer)));
+  }
+
   private DebugTraceTransactionResult debugTraceTransactionResult(
       final Hash txHash,
       final TransactionWithMetadata transactionWithMetadata,
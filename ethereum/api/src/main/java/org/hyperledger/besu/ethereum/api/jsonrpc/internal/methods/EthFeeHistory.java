@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods;
 
 import static org.hyperledger.besu.ethereum.mainnet.feemarket.ExcessBlobGasCalculator.calculateExcessBlobGasForParent;
 
-import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.datatypes.parameters.UnsignedIntParameter;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
@@ -31,32 +30,26 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSucces
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.FeeHistory;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.ImmutableFeeHistory;
+import org.hyperledger.besu.ethereum.api.query.BlockFeeSummary;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
-import org.hyperledger.besu.ethereum.core.Transaction;
-import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.BaseFeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.annotations.VisibleForTesting;
-import com.google.common.collect.Streams;
 import org.apache.tuweni.units.bigints.UInt256s;
 
 public class EthFeeHistory implements JsonRpcMethod {
@@ -65,12 +58,8 @@ public class EthFeeHistory implements JsonRpcMethod {
   private final Blockchain blockchain;
   private final MiningCoordinator miningCoordinator;
   private final ApiConfiguration apiConfiguration;
-  private final Cache<RewardCacheKey, List<Wei>> cache;
-  private static final int MAXIMUM_CACHE_SIZE = 100_000;
   private static final int MAXIMUM_QUERY_PERCENTILES = 100;
 
-  record RewardCacheKey(Hash blockHash, List<Double> rewardPercentiles) {}
-
   public EthFeeHistory(
       final ProtocolSchedule protocolSchedule,
       final BlockchainQueries blockchainQueries,
@@ -81,7 +70,6 @@ public class EthFeeHistory implements JsonRpcMethod {
     this.miningCoordinator = miningCoordinator;
     this.apiConfiguration = apiConfiguration;
     this.blockchain = blockchainQueries.getBlockchain();
-    this.cache = Caffeine.newBuilder().maximumSize(MAXIMUM_CACHE_SIZE).build();
   }
 
   @Override
@@ -222,43 +210,25 @@ public class EthFeeHistory implements JsonRpcMethod {
 
   private Optional<List<Wei>> calculateBlockHeaderReward(
       final List<Double> sortedPercentiles, final BlockHeader blockHeader, final Wei nextBaseFee) {
-
-    // Create a new key for the reward cache
-    final RewardCacheKey key = new RewardCacheKey(blockHeader.getBlockHash(), sortedPercentiles);
-
-    // Try to get the rewards from the cache
-    return Optional.ofNullable(cache.getIfPresent(key))
-        .or(
-            () -> {
-              // If the rewards are not in the cache, compute them
-              Optional<Block> block = blockchain.getBlockByHash(blockHeader.getBlockHash());
-              return block.map(
-                  b -> {
-                    List<Wei> rewards = computeRewards(sortedPercentiles, b, nextBaseFee);
-                    // Put the computed rewards in the cache for future use
-                    cache.put(key, rewards);
-                    return rewards;
-                  });
-            });
+    // the fee summary of the block is usually computed when it was imported
+    return blockchainQueries
+        .getFeeStatisticsService()
+        .getSummary(blockHeader.getBlockHash())
+        .flatMap(summary -> summary.getRewards(sortedPercentiles))
+        .map(rewards -> boundRewardsIfEnabled(rewards, nextBaseFee));
   }
 
-  record TransactionInfo(Transaction transaction, Long gasUsed, Wei effectivePriorityFeePerGas) {}
-
   @VisibleForTesting
   public List<Wei> computeRewards(
       final List<Double> rewardPercentiles, final Block block, final Wei nextBaseFee) {
-    final List<Transaction> transactions = block.getBody().getTransactions();
-    if (transactions.isEmpty()) {
-      // all 0's for empty block
-      return generateZeroWeiList(rewardPercentiles.size());
-    }
-    final Optional<Wei> baseFee = block.getHeader().getBaseFee();
-    final List<Long> transactionsGasUsed = calculateTransactionsGasUsed(block);
-    final List<TransactionInfo> transactionsInfo =
-        generateTransactionsInfo(transactions, transactionsGasUsed, baseFee);
-
-    var realRewards = calculateRewards(rewardPercentiles, block, transactionsInfo);
+    final List<Wei> realRewards =
+        BlockFeeSummary.create(block, blockchain.getTxReceipts(block.getHash()))
+            .getRewards(rewardPercentiles)
+            .orElseThrow();
+    return boundRewardsIfEnabled(realRewards, nextBaseFee);
+  }
 
+  private List<Wei> boundRewardsIfEnabled(final List<Wei> realRewards, final Wei nextBaseFee) {
     // If the priority fee boundary is set, return the bounded rewards. Otherwise, return the real
     // rewards.
     if (apiConfiguration.isGasAndPriorityFeeLimitingEnabled()) {
@@ -268,35 +238,6 @@ public class EthFeeHistory implements JsonRpcMethod {
     }
   }
 
-  private List<Wei> calculateRewards(
-      final List<Double> rewardPercentiles,
-      final Block block,
-      final List<TransactionInfo> sortedTransactionsInfo) {
-    final ArrayList<Wei> rewards = new ArrayList<>(rewardPercentiles.size());
-
-    // Start with the gas used by the first transaction
-    double cumulativeGasUsed = sortedTransactionsInfo.get(0).gasUsed();
-    var transactionIndex = 0;
-    // Iterate over each reward percentile
-    for (double rewardPercentile : rewardPercentiles) {
-      // Calculate the threshold gas used for the current reward percentile
-      // This is the amount of gas that needs to be used to reach this percentile
-      var thresholdGasUsed = rewardPercentile * block.getHeader().getGasUsed() / 100;
-
-      // Update cumulativeGasUsed by adding the gas used by each transaction
-      // Stop when cumulativeGasUsed reaches the threshold or there are no more transactions
-      while (cumulativeGasUsed < thresholdGasUsed
-          && transactionIndex < sortedTransactionsInfo.size() - 1) {
-        transactionIndex++;
-        cumulativeGasUsed += sortedTransactionsInfo.get(transactionIndex).gasUsed();
-      }
-      // Add the effective priority fee per gas of the transaction that reached the percentile to
-      // the rewards list
-      rewards.add(sortedTransactionsInfo.get(transactionIndex).effectivePriorityFeePerGas);
-    }
-    return rewards;
-  }
-
   /**
    * This method returns a list of bounded rewards.
    *
@@ -335,31 +276,6 @@ public class EthFeeHistory implements JsonRpcMethod {
         : reward.compareTo(upperBound) >= 0 ? upperBound : reward;
   }
 
-  private List<Long> calculateTransactionsGasUsed(final Block block) {
-    final List<Long> transactionsGasUsed = new ArrayList<>();
-    long cumulativeGasUsed = 0L;
-    for (final TransactionReceipt transactionReceipt :
-        blockchain.getTxReceipts(block.getHash()).get()) {
-      transactionsGasUsed.add(transactionReceipt.getCumulativeGasUsed() - cumulativeGasUsed);
-      cumulativeGasUsed = transactionReceipt.getCumulativeGasUsed();
-    }
-    return transactionsGasUsed;
-  }
-
-  private List<TransactionInfo> generateTransactionsInfo(
-      final List<Transaction> transactions,
-      final List<Long> transactionsGasUsed,
-      final Optional<Wei> baseFee) {
-    return Streams.zip(
-            transactions.stream(),
-            transactionsGasUsed.stream(),
-            (transaction, gasUsed) ->
-                new TransactionInfo(
-                    transaction, gasUsed, transaction.getEffectivePriorityFeePerGas(baseFee)))
-        .sorted(Comparator.comparing(TransactionInfo::effectivePriorityFeePerGas))
-        .toList();
-  }
-
   private boolean isInvalidBlockCount(final int blockCount) {
     return blockCount < 1 || blockCount > 1024;
   }
@@ -458,8 +374,4 @@ public class EthFeeHistory implements JsonRpcMethod {
             .reward(maybeRewards)
             .build());
   }
-
-  private List<Wei> generateZeroWeiList(final int size) {
-    return Stream.generate(() -> Wei.ZERO).limit(size).toList();
-  }
 }
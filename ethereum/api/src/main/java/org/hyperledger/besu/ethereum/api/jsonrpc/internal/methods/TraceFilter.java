@@ -51,11 +51,13 @@ import org.hyperledger.besu.services.pipeline.Pipeline;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Stream;
 
@@ -68,6 +70,7 @@ import org.slf4j.LoggerFactory;
 public class TraceFilter extends TraceBlock {
   private static final Logger LOG = LoggerFactory.getLogger(TraceFilter.class);
   private final Long maxRange;
+  private final int parallelism;
   private final LabelledMetric<Counter> outputCounter;
 
   public TraceFilter(
@@ -76,8 +79,19 @@ public class TraceFilter extends TraceBlock {
       final Long maxRange,
       final MetricsSystem metricsSystem,
       final EthScheduler ethScheduler) {
+    this(protocolSchedule, blockchainQueries, maxRange, 1, metricsSystem, ethScheduler);
+  }
+
+  public TraceFilter(
+      final ProtocolSchedule protocolSchedule,
+      final BlockchainQueries blockchainQueries,
+      final Long maxRange,
+      final int parallelism,
+      final MetricsSystem metricsSystem,
+      final EthScheduler ethScheduler) {
     super(protocolSchedule, blockchainQueries, metricsSystem, ethScheduler);
     this.maxRange = maxRange;
+    this.parallelism = parallelism;
     this.outputCounter =
         metricsSystem.createLabelledCounter(
             BesuMetricCategory.BLOCKCHAIN,
@@ -156,6 +170,12 @@ public class TraceFilter extends TraceBlock {
 
     List<Block> blockList = getBlockList(currentBlockNumber, toBlock, block);
 
+    if (parallelism > 1 && blockList.size() > 1) {
+      return new JsonRpcSuccessResponse(
+          requestContext.getRequest().getId(),
+          traceBlocksInParallel(blockList, filterParameter, resultArrayNode).getArrayNode());
+    }
+
     ArrayNodeWrapper result =
         Tracer.processTracing(
                 getBlockchainQueries(),
@@ -167,14 +187,7 @@ public class TraceFilter extends TraceBlock {
                   final MainnetTransactionProcessor transactionProcessor =
                       protocolSpec.getTransactionProcessor();
                   final ChainUpdater chainUpdater = new ChainUpdater(traceableState);
-                  DebugOperationTracer debugOperationTracer =
-                      new DebugOperationTracer(
-                          OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
-                              .traceStorage(false)
-                              .traceMemory(false)
-                              .traceStack(true)
-                              .build(),
-                          false);
+                  DebugOperationTracer debugOperationTracer = createDebugOperationTracer();
                   ExecuteTransactionStep executeTransactionStep =
                       new ExecuteTransactionStep(
                           chainUpdater,
@@ -217,6 +230,113 @@ public class TraceFilter extends TraceBlock {
     return new JsonRpcSuccessResponse(requestContext.getRequest().getId(), result.getArrayNode());
   }
 
+  /**
+   * Traces the blocks in parallel, each on its own world state at its parent block, and adds their
+   * traces to the result in block order. No more than {@code parallelism} blocks are traced at the
+   * same time, and no more blocks are traced once the result holds the requested number of traces.
+   *
+   * @param blockList the blocks to trace, in block order
+   * @param filterParameter the filter of the traces
+   * @param resultArrayNode the result
+   * @return the result, or an empty result if the world state of a block is not available
+   */
+  private ArrayNodeWrapper traceBlocksInParallel(
+      final List<Block> blockList,
+      final FilterParameter filterParameter,
+      final ArrayNodeWrapper resultArrayNode) {
+    final Iterator<Block> blocks = blockList.iterator();
+    final Iterator<Block> blockSource =
+        new Iterator<>() {
+          @Override
+          public boolean hasNext() {
+            return !resultArrayNode.isFull() && blocks.hasNext();
+          }
+
+          @Override
+          public Block next() {
+            return blocks.next();
+          }
+        };
+    final AtomicBoolean missingWorldState = new AtomicBoolean(false);
+
+    final Pipeline<Block> traceBlocksPipeline =
+        createPipelineFrom(
+                "getBlocks", blockSource, parallelism, outputCounter, false, "trace_filter_blocks")
+            .thenProcessAsyncOrdered(
+                "traceBlock",
+                block ->
+                    ethScheduler.scheduleComputationTask(
+                        () -> traceBlockTransactions(block, filterParameter)),
+                parallelism)
+            .andFinishWith(
+                "buildArrayNode",
+                blockTraces ->
+                    blockTraces.ifPresentOrElse(
+                        traces -> traces.forEach(resultArrayNode::addPOJO),
+                        () -> missingWorldState.set(true)));
+
+    try {
+      ethScheduler.startPipeline(traceBlocksPipeline).get();
+    } catch (InterruptedException | ExecutionException e) {
+      throw new RuntimeException(e);
+    }
+    return missingWorldState.get() ? emptyResult() : resultArrayNode;
+  }
+
+  /**
+   * Replays the transactions of a block on the world state at its parent block.
+   *
+   * @param block the block to trace
+   * @param filterParameter the filter of the traces
+   * @return the filtered traces of the transactions and rewards of the block, or empty if the
+   *     world state at its parent block is not available
+   */
+  private Optional<List<FlatTrace>> traceBlockTransactions(
+      final Block block, final FilterParameter filterParameter) {
+    final BlockHeader header = block.getHeader();
+    return Tracer.processTracing(
+        getBlockchainQueries(),
+        Optional.of(header),
+        traceableState -> {
+          final ProtocolSpec protocolSpec = protocolSchedule.getByBlockHeader(header);
+          final ExecuteTransactionStep executeTransactionStep =
+              new ExecuteTransactionStep(
+                  new ChainUpdater(traceableState),
+                  protocolSpec.getTransactionProcessor(),
+                  getBlockchainQueries().getBlockchain(),
+                  createDebugOperationTracer(),
+                  protocolSpec,
+                  block);
+          final TraceFlatTransactionStep traceFlatTransactionStep =
+              new TraceFlatTransactionStep(protocolSchedule, block, Optional.of(filterParameter));
+
+          final List<FlatTrace> traces = new ArrayList<>();
+          for (final Transaction transaction : block.getBody().getTransactions()) {
+            traceFlatTransactionStep
+                .apply(
+                    executeTransactionStep.apply(
+                        new TransactionTrace(transaction, Optional.of(block))))
+                .join()
+                .forEachOrdered(traces::add);
+          }
+          traceFlatTransactionStep
+              .apply(new TransactionTrace(Optional.of(block)))
+              .join()
+              .forEachOrdered(traces::add);
+          return Optional.of(traces);
+        });
+  }
+
+  private static DebugOperationTracer createDebugOperationTracer() {
+    return new DebugOperationTracer(
+        OpCodeTracerConfigBuilder.createFrom(OpCodeTracerConfig.DEFAULT)
+            .traceStorage(false)
+            .traceMemory(false)
+            .traceStack(true)
+            .build(),
+        false);
+  }
+
   @NotNull
   private List<Block> getBlockList(
       final long fromBlock, final long toBlock, final Optional<Block> block) {
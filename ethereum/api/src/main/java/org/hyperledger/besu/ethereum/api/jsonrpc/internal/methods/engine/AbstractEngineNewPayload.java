@@ -51,6 +51,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.Request;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionSenderRecovery;
 import org.hyperledger.besu.ethereum.core.Withdrawal;
 import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
 import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
@@ -410,20 +411,15 @@ public abstract class AbstractEngineNewPayload extends ExecutionEngineJsonRpcMet
   }
 
   private void precomputeSenders(final List<Transaction> transactions) {
+    TransactionSenderRecovery.recoverSendersAsync(transactions)
+        .thenRun(
+            () ->
+                LOG.atTrace()
+                    .setMessage("The senders of {} transactions are calculated")
+                    .addArgument(transactions::size)
+                    .log());
     transactions.forEach(
         transaction -> {
-          mergeCoordinator
-              .getEthScheduler()
-              .scheduleComputationTask(
-                  () -> {
-                    final var sender = transaction.getSender();
-                    LOG.atTrace()
-                        .setMessage("The sender for transaction {} is calculated : {}")
-                        .addArgument(transaction::getHash)
-                        .addArgument(sender)
-                        .log();
-                    return sender;
-                  });
           if (transaction.getType().supportsDelegateCode()) {
             precomputeAuthorities(transaction);
           }
@@ -0,0 +1,375 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor;
+
+import org.hyperledger.besu.evm.ModificationNotAllowedException;
+import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.operation.AbstractCallOperation;
+import org.hyperledger.besu.evm.operation.Operation;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * An operation tracer writing the result of the struct log (opcode) tracer to a JSON generator as
+ * the transaction is executed.
+ *
+ * <p>Like the {@link org.hyperledger.besu.evm.tracing.StreamingOperationTracer}, this tracer reads
+ * the state of each step from the message frame and does not keep the steps once they are written,
+ * so the memory used does not depend on the length of the trace. The JSON is the same as the one of
+ * {@link org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.OpCodeLoggerTracerResult},
+ * except that the {@code structLogs} are written before the summary of the transaction.
+ *
+ * <p>The steps are captured the way the {@link
+ * org.hyperledger.besu.ethereum.vm.DebugOperationTracer} captures its trace frames. As the halt
+ * reason of a precompile call or of a failed contract creation is reported after the step that
+ * triggered it, the last step, and the {@code RETURN} steps following the last other step, are
+ * only written once a later step makes them final.
+ */
+public class StreamingStructLogTracer implements OperationTracer {
+
+  private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+  private final JsonGenerator generator;
+  private final OpCodeTracerConfig options;
+  private final Deque<Step> pendingSteps = new ArrayDeque<>();
+  private char[] hexBuffer = new char[66];
+  private boolean hasSteps;
+  private boolean started;
+  private IOException failure;
+
+  private Bytes[] preExecutionStack;
+  private long gasRemaining;
+  private int pc;
+  private int depth;
+
+  // Flags used for implementing traceOpcodes functionality
+  private boolean traceOpcode;
+  private Operation previousOpcode = null;
+
+  /**
+   * Creates the tracer.
+   *
+   * @param generator the generator the result of the tracer is written to
+   * @param options the options, as passed in through the RPC
+   */
+  public StreamingStructLogTracer(final JsonGenerator generator, final OpCodeTracerConfig options) {
+    this.generator = generator;
+    this.options = options;
+  }
+
+  @Override
+  public void tracePreExecution(final MessageFrame frame) {
+    if (failure != null || !(traceOpcode = traceOpcode(frame.getCurrentOperation()))) {
+      return;
+    }
+    preExecutionStack = captureStack(frame);
+    gasRemaining = frame.getRemainingGas();
+    pc = frame.getPC();
+    depth = frame.getDepth();
+  }
+
+  private boolean traceOpcode(final Operation currentOpcode) {
+    if (options.traceOpcodes().isEmpty()) {
+      return true;
+    }
+    final boolean traceCurrentOpcode =
+        options.traceOpcodes().contains(currentOpcode.getName().toLowerCase(Locale.ROOT));
+    final boolean tracePreviousOpcode =
+        previousOpcode != null
+            && options.traceOpcodes().contains(previousOpcode.getName().toLowerCase(Locale.ROOT));
+
+    if (!traceCurrentOpcode && !tracePreviousOpcode) {
+      return false;
+    }
+    previousOpcode = currentOpcode;
+    return true;
+  }
+
+  @Override
+  public void tracePostExecution(final MessageFrame frame, final OperationResult operationResult) {
+    if (failure != null || !traceOpcode) {
+      return;
+    }
+    final Operation currentOperation = frame.getCurrentOperation();
+    long gasCost = operationResult.getGasCost();
+    if (currentOperation instanceof AbstractCallOperation) {
+      gasCost += frame.getMessageFrameStack().getFirst().getRemainingGas();
+    }
+    final Step step = new Step(pc, currentOperation.getName(), gasRemaining, depth);
+    step.gasCost = gasCost;
+    step.stack = preExecutionStack;
+    step.memory = captureMemory(frame);
+    step.storage = captureStorage(frame);
+    step.revertReason = frame.getRevertReason().orElse(null);
+    step.haltReason =
+        Optional.ofNullable(operationResult.getHaltReason())
+            .or(frame::getExceptionalHaltReason)
+            .orElse(null);
+    addStep(step);
+    frame.reset();
+  }
+
+  @Override
+  public void tracePrecompileCall(
+      final MessageFrame frame, final long gasRequirement, final Bytes output) {
+    if (failure != null) {
+      return;
+    }
+    if (!hasSteps) {
+      addStep(new Step(frame.getPC(), null, frame.getRemainingGas(), frame.getDepth()));
+    } else if (!pendingSteps.isEmpty()) {
+      final Step lastStep = pendingSteps.getLast();
+      lastStep.haltReason = frame.getExceptionalHaltReason().orElse(null);
+      lastStep.revertReason = frame.getRevertReason().orElse(null);
+    }
+  }
+
+  @Override
+  public void traceAccountCreationResult(
+      final MessageFrame frame, final Optional<ExceptionalHaltReason> haltReason) {
+    if (failure != null || haltReason.isEmpty()) {
+      return;
+    }
+    if (!hasSteps) {
+      final Step step = new Step(frame.getPC(), null, frame.getRemainingGas(), frame.getDepth());
+      step.haltReason = haltReason.get();
+      addStep(step);
+      return;
+    }
+    final Iterator<Step> steps = pendingSteps.descendingIterator();
+    while (steps.hasNext()) {
+      final Step step = steps.next();
+      if (!"RETURN".equals(step.op)) {
+        step.haltReason = haltReason.get();
+        break;
+      }
+    }
+  }
+
+  /**
+   * Writes the steps not written yet and the summary of the traced transaction, completing the
+   * result of the tracer.
+   *
+   * <p>Writes {@code null} if the transaction could not be traced before any step was written.
+   *
+   * @param transactionTrace the trace of the transaction, empty if it could not be traced
+   * @throws IOException if writing to the generator failed, now or during the trace, or if the
+   *     transaction could not be traced after some steps were written
+   */
+  public void writeResult(final Optional<TransactionTrace> transactionTrace) throws IOException {
+    if (failure != null) {
+      throw failure;
+    }
+    if (transactionTrace.isEmpty()) {
+      if (started) {
+        throw new IOException("Transaction trace interrupted after its first struct logs");
+      }
+      generator.writeNull();
+      return;
+    }
+    writePendingSteps();
+    startResult();
+    generator.writeEndArray();
+    generator.writeNumberField("gas", transactionTrace.get().getGas());
+    generator.writeBooleanField("failed", !transactionTrace.get().getResult().isSuccessful());
+    generator.writeStringField(
+        "returnValue", transactionTrace.get().getResult().getOutput().toUnprefixedHexString());
+    generator.writeEndObject();
+  }
+
+  private void addStep(final Step step) {
+    hasSteps = true;
+    if (!"RETURN".equals(step.op)) {
+      try {
+        writePendingSteps();
+      } catch (final IOException e) {
+        // the transaction is executed to the end, but its remaining steps are not traced
+        failure = e;
+        pendingSteps.clear();
+        return;
+      }
+    }
+    pendingSteps.addLast(step);
+  }
+
+  private void writePendingSteps() throws IOException {
+    Step step;
+    while ((step = pendingSteps.pollFirst()) != null) {
+      startResult();
+      writeStep(step);
+    }
+  }
+
+  private void startResult() throws IOException {
+    if (!started) {
+      started = true;
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("structLogs");
+    }
+  }
+
+  private void writeStep(final Step step) throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField("pc", step.pc);
+    generator.writeStringField("op", step.op);
+    generator.writeNumberField("gas", step.gas);
+    generator.writeNumberField("gasCost", step.gasCost);
+    generator.writeNumberField("depth", step.depth + 1);
+    if (step.stack != null) {
+      generator.writeArrayFieldStart("stack");
+      for (final Bytes item : step.stack) {
+        writeCompactHex(item, 0, item.size());
+      }
+      generator.writeEndArray();
+    }
+    if (step.memory != null) {
+      generator.writeArrayFieldStart("memory");
+      for (int offset = 0; offset < step.memory.size(); offset += 32) {
+        writeCompactHex(step.memory, offset, 32);
+      }
+      generator.writeEndArray();
+    }
+    if (step.storage != null) {
+      generator.writeObjectFieldStart("storage");
+      for (final Map.Entry<UInt256, UInt256> entry : step.storage.entrySet()) {
+        final UInt256 key = entry.getKey();
+        final UInt256 value = entry.getValue();
+        generator.writeFieldName(new String(hexBuffer, 0, compactHex(key, 0, key.size(), false)));
+        generator.writeString(hexBuffer, 0, compactHex(value, 0, value.size(), false));
+      }
+      generator.writeEndObject();
+    }
+    if (step.revertReason != null) {
+      generator.writeFieldName("reason");
+      writeCompactHex(step.revertReason, 0, step.revertReason.size());
+    }
+    if (step.haltReason != null) {
+      generator.writeArrayFieldStart("error");
+      generator.writeString(step.haltReason.name());
+      generator.writeEndArray();
+    }
+    generator.writeEndObject();
+  }
+
+  private void writeCompactHex(final Bytes bytes, final int offset, final int length)
+      throws IOException {
+    generator.writeString(hexBuffer, 0, compactHex(bytes, offset, length, true));
+  }
+
+  /**
+   * Writes the bytes in the hex buffer without their leading zeros, as {@link
+   * org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StructLog#toCompactHex} does.
+   *
+   * @return the number of characters written in the hex buffer
+   */
+  private int compactHex(
+      final Bytes bytes, final int offset, final int length, final boolean prefix) {
+    final int capacity = length * 2 + 3;
+    if (hexBuffer.length < capacity) {
+      hexBuffer = new char[capacity];
+    }
+    int size = 0;
+    if (prefix) {
+      hexBuffer[size++] = '0';
+      hexBuffer[size++] = 'x';
+    }
+    if (length == 0) {
+      hexBuffer[size++] = '0';
+      return size;
+    }
+    boolean leadingZero = true;
+    for (int i = 0; i < length; i++) {
+      final int b = bytes.get(offset + i);
+      final int highNibble = (b >> 4) & 0xF;
+      if (!leadingZero || highNibble != 0) {
+        hexBuffer[size++] = HEX_CHARS[highNibble];
+        leadingZero = false;
+      }
+      final int lowNibble = b & 0xF;
+      if (!leadingZero || lowNibble != 0 || i == length - 1) {
+        hexBuffer[size++] = HEX_CHARS[lowNibble];
+        leadingZero = false;
+      }
+    }
+    return size;
+  }
+
+  private Map<UInt256, UInt256> captureStorage(final MessageFrame frame) {
+    if (!options.traceStorage()) {
+      return null;
+    }
+    try {
+      final Map<UInt256, UInt256> updatedStorage =
+          frame.getWorldUpdater().getAccount(frame.getRecipientAddress()).getUpdatedStorage();
+      return updatedStorage.isEmpty() ? null : new TreeMap<>(updatedStorage);
+    } catch (final ModificationNotAllowedException e) {
+      return new TreeMap<>();
+    }
+  }
+
+  private Bytes captureMemory(final MessageFrame frame) {
+    if (!options.traceMemory() || frame.memoryWordSize() == 0) {
+      return null;
+    }
+    return frame.readMemory(0, frame.memoryWordSize() * 32L);
+  }
+
+  private Bytes[] captureStack(final MessageFrame frame) {
+    if (!options.traceStack()) {
+      return null;
+    }
+    final Bytes[] stackContents = new Bytes[frame.stackSize()];
+    for (int i = 0; i < stackContents.length; i++) {
+      // Record stack contents in reverse
+      stackContents[i] = frame.getStackItem(stackContents.length - i - 1);
+    }
+    return stackContents;
+  }
+
+  private static final class Step {
+    private final int pc;
+    private final String op;
+    private final long gas;
+    private final int depth;
+    private long gasCost;
+    private Bytes[] stack;
+    private Bytes memory;
+    private Map<UInt256, UInt256> storage;
+    private Bytes revertReason;
+    private ExceptionalHaltReason haltReason;
+
+    private Step(final int pc, final String op, final long gas, final int depth) {
+      this.pc = pc;
+      this.op = op;
+      this.gas = gas;
+      this.depth = depth;
+    }
+  }
+}
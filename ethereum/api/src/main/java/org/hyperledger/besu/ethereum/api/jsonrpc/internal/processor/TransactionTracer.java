@@ -33,6 +33,7 @@ import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder;
 import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.tracing.StreamingOperationTracer;
+import org.hyperledger.besu.evm.tracing.TraceFrame;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 
 import java.io.File;
@@ -46,6 +47,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
@@ -69,6 +71,34 @@ public class TransactionTracer {
       final Hash blockHash,
       final Hash transactionHash,
       final DebugOperationTracer tracer) {
+    return replayTransaction(
+        mutableWorldState, blockHash, transactionHash, tracer, tracer::getTraceFrames);
+  }
+
+  /**
+   * Replays a transaction with a tracer consuming the operations as they are executed, so the
+   * returned trace has no trace frames.
+   *
+   * @param mutableWorldState the world state before the block of the transaction
+   * @param blockHash the hash of the block of the transaction
+   * @param transactionHash the hash of the transaction
+   * @param tracer the tracer of the operations of the transaction
+   * @return the trace of the transaction, empty if the transaction is not in the block
+   */
+  public Optional<TransactionTrace> streamTransaction(
+      final Tracer.TraceableState mutableWorldState,
+      final Hash blockHash,
+      final Hash transactionHash,
+      final OperationTracer tracer) {
+    return replayTransaction(mutableWorldState, blockHash, transactionHash, tracer, List::of);
+  }
+
+  private Optional<TransactionTrace> replayTransaction(
+      final Tracer.TraceableState mutableWorldState,
+      final Hash blockHash,
+      final Hash transactionHash,
+      final OperationTracer tracer,
+      final Supplier<List<TraceFrame>> traceFrames) {
     return blockReplay.beforeTransactionInBlock(
         mutableWorldState,
         blockHash,
@@ -83,7 +113,7 @@ public class TransactionTracer {
                   transactionProcessor,
                   tracer,
                   blobGasPrice);
-          return new TransactionTrace(transaction, result, tracer.getTraceFrames());
+          return new TransactionTrace(transaction, result, traceFrames.get());
         });
   }
 
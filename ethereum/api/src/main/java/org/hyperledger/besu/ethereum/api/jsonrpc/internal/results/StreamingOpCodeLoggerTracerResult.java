@@ -0,0 +1,99 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.StreamingStructLogTracer;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.processor.TransactionTrace;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * The result of the struct log (opcode) tracer, traced while it is serialized.
+ *
+ * <p>Instead of collecting the trace frames of the transaction before the response is written, the
+ * {@link Serializer} replays the transaction with a {@link StreamingStructLogTracer} writing each
+ * struct log to the response as it is executed. The transaction is replayed each time the result
+ * is serialized.
+ */
+@JsonSerialize(using = StreamingOpCodeLoggerTracerResult.Serializer.class)
+public class StreamingOpCodeLoggerTracerResult {
+
+  /** Logged instead of a response with a streaming result, which is not replayed to be logged. */
+  public static final String TRACE_LOG_PLACEHOLDER =
+      "JSON-RPC response with a streamed struct log result, not logged";
+
+  private final OpCodeTracerConfig opCodeTracerConfig;
+  private final Function<OperationTracer, Optional<TransactionTrace>> transactionReplay;
+
+  /**
+   * Creates a new {@link StreamingOpCodeLoggerTracerResult}.
+   *
+   * @param opCodeTracerConfig the options of the tracer
+   * @param transactionReplay replays the traced transaction with the given tracer, returning an
+   *     empty trace if the transaction could not be replayed
+   */
+  public StreamingOpCodeLoggerTracerResult(
+      final OpCodeTracerConfig opCodeTracerConfig,
+      final Function<OperationTracer, Optional<TransactionTrace>> transactionReplay) {
+    this.opCodeTracerConfig = opCodeTracerConfig;
+    this.transactionReplay = transactionReplay;
+  }
+
+  /**
+   * Whether a response, or one of the responses of a batch, has a streaming result. It is produced
+   * while it is written, so the writer must wait for the client to read what was already written.
+   *
+   * @param response the response, or the array of responses of a batch
+   * @return true if the response has a streaming result
+   */
+  public static boolean isResultOf(final Object response) {
+    if (response instanceof JsonRpcResponse[] responses) {
+      return Arrays.stream(responses).anyMatch(StreamingOpCodeLoggerTracerResult::isResultOf);
+    }
+    return response instanceof JsonRpcSuccessResponse successResponse
+        && successResponse.getResult() instanceof StreamingOpCodeLoggerTracerResult;
+  }
+
+  /** Serializes the result by tracing the transaction to the JSON generator. */
+  public static class Serializer extends StdSerializer<StreamingOpCodeLoggerTracerResult> {
+
+    public Serializer() {
+      super(StreamingOpCodeLoggerTracerResult.class);
+    }
+
+    @Override
+    public void serialize(
+        final StreamingOpCodeLoggerTracerResult result,
+        final JsonGenerator gen,
+        final SerializerProvider provider)
+        throws IOException {
+      final StreamingStructLogTracer tracer =
+          new StreamingStructLogTracer(gen, result.opCodeTracerConfig);
+      tracer.writeResult(result.transactionReplay.apply(tracer));
+    }
+  }
+}
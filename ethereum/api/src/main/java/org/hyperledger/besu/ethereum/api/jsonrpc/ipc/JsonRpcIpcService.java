@@ -220,7 +220,7 @@ public class JsonRpcIpcService {
                                     jsonRpcResponse.getType() != RpcResponseType.NONE)
                             .toArray(JsonRpcResponse[]::new);
 
-                    socket.write(JSON_OBJECT_WRITER.writeValueAsString(completed) + '\n');
+                    socket.write(toLine(completed));
                   } catch (JsonProcessingException e) {
                     LOG.error("Error streaming JSON-RPC response", e);
                   }
@@ -237,12 +237,18 @@ public class JsonRpcIpcService {
 
   private void writeResponse(final NetSocket socket, final JsonRpcResponse response) {
     try {
-      socket.write(JSON_OBJECT_WRITER.writeValueAsString(response) + '\n');
+      socket.write(toLine(response));
     } catch (JsonProcessingException e) {
       LOG.error("Error streaming JSON-RPC response", e);
     }
   }
 
+  private static Buffer toLine(final Object response) throws JsonProcessingException {
+    // write the UTF-8 encoded response to the buffer, without building an intermediate string
+    final byte[] json = JSON_OBJECT_WRITER.writeValueAsBytes(response);
+    return Buffer.buffer(json.length + 1).appendBytes(json).appendByte((byte) '\n');
+  }
+
   public Future<Void> stop() {
     if (netServer == null) {
       return Future.succeededFuture();
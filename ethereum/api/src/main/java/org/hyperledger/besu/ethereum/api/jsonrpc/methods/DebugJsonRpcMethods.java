@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.methods;
 
 import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.jsonrpc.RpcApis;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.DebugReplayBlock;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.DebugAccountAt;
@@ -65,6 +66,7 @@ public class DebugJsonRpcMethods extends ApiGroupJsonRpcMethods {
   private final Path dataDir;
   private final TransactionSimulator transactionSimulator;
   private final EthScheduler ethScheduler;
+  private final ApiConfiguration apiConfiguration;
 
   DebugJsonRpcMethods(
       final BlockchainQueries blockchainQueries,
@@ -75,7 +77,8 @@ public class DebugJsonRpcMethods extends ApiGroupJsonRpcMethods {
       final Synchronizer synchronizer,
       final Path dataDir,
       final TransactionSimulator transactionSimulator,
-      final EthScheduler ethScheduler) {
+      final EthScheduler ethScheduler,
+      final ApiConfiguration apiConfiguration) {
     this.blockchainQueries = blockchainQueries;
     this.protocolContext = protocolContext;
     this.protocolSchedule = protocolSchedule;
@@ -85,6 +88,7 @@ public class DebugJsonRpcMethods extends ApiGroupJsonRpcMethods {
     this.dataDir = dataDir;
     this.transactionSimulator = transactionSimulator;
     this.ethScheduler = ethScheduler;
+    this.apiConfiguration = apiConfiguration;
   }
 
   @Override
@@ -99,7 +103,10 @@ public class DebugJsonRpcMethods extends ApiGroupJsonRpcMethods {
 
     return mapOf(
         new DebugTraceTransaction(
-            blockchainQueries, new TransactionTracer(blockReplay), protocolSchedule),
+            blockchainQueries,
+            new TransactionTracer(blockReplay),
+            protocolSchedule,
+            apiConfiguration.isDebugTraceStreamingEnabled()),
         new DebugAccountRange(blockchainQueries),
         new DebugStorageRangeAt(blockchainQueries, blockReplay),
         new DebugMetrics(metricsSystem),
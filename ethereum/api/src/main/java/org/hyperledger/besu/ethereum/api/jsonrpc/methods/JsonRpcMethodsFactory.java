@@ -116,7 +116,8 @@ public class JsonRpcMethodsFactory {
                   synchronizer,
                   dataDir,
                   transactionSimulator,
-                  ethScheduler),
+                  ethScheduler,
+                  apiConfiguration),
               new ExecutionEngineJsonRpcMethods(
                   miningCoordinator,
                   protocolSchedule,
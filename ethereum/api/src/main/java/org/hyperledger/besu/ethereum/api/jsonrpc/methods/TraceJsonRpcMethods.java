@@ -79,6 +79,7 @@ public class TraceJsonRpcMethods extends ApiGroupJsonRpcMethods {
             protocolSchedule,
             blockchainQueries,
             apiConfiguration.getMaxTraceFilterRange(),
+            apiConfiguration.getTraceFilterParallelism(),
             metricsSystem,
             ethScheduler),
         new TraceGet(() -> new BlockTracer(blockReplay), blockchainQueries, protocolSchedule),
@@ -15,9 +15,14 @@
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
+import com.google.common.annotations.VisibleForTesting;
+import io.vertx.core.Context;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.http.WebSocketFrame;
@@ -28,16 +33,27 @@ class JsonResponseStreamer extends OutputStream {
 
   private static final Logger LOG = LoggerFactory.getLogger(JsonResponseStreamer.class);
   private static final Buffer EMPTY_BUFFER = Buffer.buffer();
+  private static final long DRAIN_CHECK_INTERVAL_MILLIS = 100;
+  private static final long DEFAULT_MAX_DRAIN_WAIT_MILLIS = TimeUnit.MINUTES.toMillis(1);
 
   private final ServerWebSocket response;
   private final byte[] singleByteBuf = new byte[1];
   private boolean firstFrame = true;
   private boolean closed = false;
   private Buffer buffer = EMPTY_BUFFER;
+  private boolean backpressure = false;
+  private final long maxDrainWaitNanos;
+  private long drainWaitNanos = 0;
   private final AtomicReference<Throwable> failure = new AtomicReference<>();
 
   public JsonResponseStreamer(final ServerWebSocket response) {
+    this(response, DEFAULT_MAX_DRAIN_WAIT_MILLIS);
+  }
+
+  @VisibleForTesting
+  JsonResponseStreamer(final ServerWebSocket response, final long maxDrainWaitMillis) {
     this.response = response;
+    this.maxDrainWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxDrainWaitMillis);
     this.response.exceptionHandler(
         event -> {
           LOG.debug("Write to remote address {} failed", response.remoteAddress(), event);
@@ -57,6 +73,7 @@ class JsonResponseStreamer extends OutputStream {
 
     if (buffer != EMPTY_BUFFER) {
       writeFrame(buffer, false);
+      awaitWriteQueueDrained();
     }
     Buffer buf = Buffer.buffer(len);
     buf.appendBytes(bbuf, off, len);
@@ -85,6 +102,56 @@ class JsonResponseStreamer extends OutputStream {
     }
   }
 
+  /**
+   * Makes the following writes wait while the write queue of the websocket is full. Only results
+   * produced while they are written, like the streamed struct logs of debug_traceTransaction, need
+   * it: the other responses are already in memory and are written without blocking.
+   */
+  void enableBackpressure() {
+    backpressure = true;
+  }
+
+  /**
+   * Blocks the worker thread writing the response while the write queue of the websocket is full,
+   * so a response produced faster than the client reads it is not buffered in memory. If the
+   * client has not read the response after waiting for a total of the max drain wait, the response
+   * fails and the websocket is closed.
+   */
+  private void awaitWriteQueueDrained() throws IOException {
+    if (!backpressure || Context.isOnEventLoopThread()) {
+      return;
+    }
+    while (response.writeQueueFull()) {
+      if (drainWaitNanos >= maxDrainWaitNanos) {
+        failOnDrainTimeout();
+      }
+      final long waitStart = System.nanoTime();
+      final CountDownLatch drained = new CountDownLatch(1);
+      response.drainHandler(__ -> drained.countDown());
+      try {
+        // the queue may have been drained before the handler was set, so check it again later
+        drained.await(DRAIN_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException(
+            "Interrupted while writing to " + response.remoteAddress());
+      }
+      drainWaitNanos += System.nanoTime() - waitStart;
+      stopOnFailureOrClosed();
+    }
+  }
+
+  private void failOnDrainTimeout() throws IOException {
+    final IOException timeout =
+        new IOException(
+            "Timed out waiting for " + response.remoteAddress() + " to read the response");
+    LOG.debug("Closing the websocket to remote address {}", response.remoteAddress(), timeout);
+    // the last frame is not written once the response has failed
+    failure.set(timeout);
+    response.close();
+    throw timeout;
+  }
+
   private void stopOnFailureOrClosed() throws IOException {
     if (closed) {
       throw new IOException("Stream closed");
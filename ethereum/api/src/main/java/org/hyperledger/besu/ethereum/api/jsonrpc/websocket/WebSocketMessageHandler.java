@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.execution.JsonRpcExecutor;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingOpCodeLoggerTracerResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.methods.WebSocketRpcRequest;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.plugin.services.rpc.RpcResponseType;
@@ -29,6 +30,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.core.JsonGenerator.Feature;
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -39,6 +41,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.ServerWebSocket;
 import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.auth.User;
@@ -80,96 +83,138 @@ public class WebSocketMessageHandler {
     if (buffer.length() == 0) {
       replyToClient(websocket, errorResponse(null, RpcErrorType.INVALID_REQUEST));
     } else {
-      try {
-        final JsonObject jsonRpcRequest = buffer.toJsonObject();
-        vertx
-            .<JsonRpcResponse>executeBlocking(
-                promise -> {
-                  try {
-                    final JsonRpcResponse jsonRpcResponse =
-                        jsonRpcExecutor.execute(
-                            user,
-                            null,
-                            null,
-                            new IsAliveHandler(ethScheduler, timeoutSec),
-                            jsonRpcRequest,
-                            req -> {
-                              final WebSocketRpcRequest websocketRequest =
-                                  req.mapTo(WebSocketRpcRequest.class);
-                              websocketRequest.setConnectionId(websocket.textHandlerID());
-                              return websocketRequest;
-                            });
-                    promise.complete(jsonRpcResponse);
-                  } catch (RuntimeException e) {
-                    promise.fail(e);
-                  }
-                })
-            .onSuccess(jsonRpcResponse -> replyToClient(websocket, jsonRpcResponse))
-            .onFailure(
-                throwable -> {
-                  try {
-                    final Integer id = jsonRpcRequest.getInteger("id", null);
-                    replyToClient(websocket, errorResponse(id, RpcErrorType.INTERNAL_ERROR));
-                  } catch (ClassCastException idNotIntegerException) {
-                    replyToClient(websocket, errorResponse(null, RpcErrorType.INTERNAL_ERROR));
-                  }
-                });
-      } catch (DecodeException jsonObjectDecodeException) {
-        try {
-          final JsonArray batchJsonRpcRequest = buffer.toJsonArray();
-          vertx
-              .<List<JsonRpcResponse>>executeBlocking(
-                  promise -> {
-                    List<JsonRpcResponse> responses = new ArrayList<>();
-                    for (int i = 0; i < batchJsonRpcRequest.size(); i++) {
-                      final JsonObject jsonRequest;
-                      try {
-                        jsonRequest = batchJsonRpcRequest.getJsonObject(i);
-                      } catch (ClassCastException e) {
-                        responses.add(new JsonRpcErrorResponse(null, INVALID_REQUEST));
-                        continue;
-                      }
-                      responses.add(
-                          jsonRpcExecutor.execute(
-                              user,
-                              null,
-                              null,
-                              new IsAliveHandler(ethScheduler, timeoutSec),
-                              jsonRequest,
-                              req -> {
-                                final WebSocketRpcRequest websocketRequest =
-                                    req.mapTo(WebSocketRpcRequest.class);
-                                websocketRequest.setConnectionId(websocket.textHandlerID());
-                                return websocketRequest;
-                              }));
-                    }
-                    promise.complete(responses);
-                  })
-              .onSuccess(
-                  jsonRpcBatchResponse -> {
-                    final JsonRpcResponse[] completed =
-                        jsonRpcBatchResponse.stream()
-                            .filter(
-                                jsonRpcResponse ->
-                                    jsonRpcResponse.getType() != RpcResponseType.NONE)
-                            .toArray(JsonRpcResponse[]::new);
-                    replyToClient(websocket, completed);
-                  })
-              .onFailure(
-                  throwable ->
-                      replyToClient(websocket, errorResponse(null, RpcErrorType.INTERNAL_ERROR)));
-        } catch (RuntimeException jsonArrayDecodeException) {
-          replyToClient(websocket, errorResponse(null, RpcErrorType.INTERNAL_ERROR));
-        }
-      }
+      handleDecoded(websocket, () -> Json.decodeValue(buffer), user);
+    }
+  }
+
+  /**
+   * Handles a request received in a text message. The request is decoded from the text itself
+   * rather than from the text encoded again to UTF-8.
+   *
+   * @param websocket the websocket the request was received on
+   * @param text the text of the message
+   * @param user the authenticated user, if any
+   */
+  public void handle(
+      final ServerWebSocket websocket, final String text, final Optional<User> user) {
+    if (text.isEmpty()) {
+      replyToClient(websocket, errorResponse(null, RpcErrorType.INVALID_REQUEST));
+    } else {
+      handleDecoded(websocket, () -> Json.decodeValue(text), user);
+    }
+  }
+
+  private void handleDecoded(
+      final ServerWebSocket websocket,
+      final Supplier<Object> decoder,
+      final Optional<User> user) {
+    // single requests and batches are told apart in one decoding of the message
+    final Object decoded;
+    try {
+      decoded = decoder.get();
+    } catch (final DecodeException e) {
+      replyToClient(websocket, errorResponse(null, RpcErrorType.INTERNAL_ERROR));
+      return;
+    }
+    if (decoded instanceof JsonObject jsonRpcRequest) {
+      handleRequest(websocket, jsonRpcRequest, user);
+    } else if (decoded instanceof JsonArray batchJsonRpcRequest) {
+      handleBatchRequest(websocket, batchJsonRpcRequest, user);
+    } else {
+      replyToClient(websocket, errorResponse(null, RpcErrorType.INTERNAL_ERROR));
     }
   }
 
+  private void handleRequest(
+      final ServerWebSocket websocket,
+      final JsonObject jsonRpcRequest,
+      final Optional<User> user) {
+    // responses are written by the worker thread, as some results are computed while written
+    vertx
+        .<Void>executeBlocking(
+            promise -> {
+              try {
+                final JsonRpcResponse jsonRpcResponse =
+                    jsonRpcExecutor.execute(
+                        user,
+                        null,
+                        null,
+                        new IsAliveHandler(ethScheduler, timeoutSec),
+                        jsonRpcRequest,
+                        req -> {
+                          final WebSocketRpcRequest websocketRequest =
+                              req.mapTo(WebSocketRpcRequest.class);
+                          websocketRequest.setConnectionId(websocket.textHandlerID());
+                          return websocketRequest;
+                        });
+                replyToClient(websocket, jsonRpcResponse);
+                promise.complete();
+              } catch (RuntimeException e) {
+                promise.fail(e);
+              }
+            })
+        .onFailure(
+            throwable -> {
+              try {
+                final Integer id = jsonRpcRequest.getInteger("id", null);
+                replyToClient(websocket, errorResponse(id, RpcErrorType.INTERNAL_ERROR));
+              } catch (ClassCastException idNotIntegerException) {
+                replyToClient(websocket, errorResponse(null, RpcErrorType.INTERNAL_ERROR));
+              }
+            });
+  }
+
+  private void handleBatchRequest(
+      final ServerWebSocket websocket,
+      final JsonArray batchJsonRpcRequest,
+      final Optional<User> user) {
+    vertx
+        .<Void>executeBlocking(
+            promise -> {
+              List<JsonRpcResponse> responses = new ArrayList<>();
+              for (int i = 0; i < batchJsonRpcRequest.size(); i++) {
+                final JsonObject jsonRequest;
+                try {
+                  jsonRequest = batchJsonRpcRequest.getJsonObject(i);
+                } catch (ClassCastException e) {
+                  responses.add(new JsonRpcErrorResponse(null, INVALID_REQUEST));
+                  continue;
+                }
+                responses.add(
+                    jsonRpcExecutor.execute(
+                        user,
+                        null,
+                        null,
+                        new IsAliveHandler(ethScheduler, timeoutSec),
+                        jsonRequest,
+                        req -> {
+                          final WebSocketRpcRequest websocketRequest =
+                              req.mapTo(WebSocketRpcRequest.class);
+                          websocketRequest.setConnectionId(websocket.textHandlerID());
+                          return websocketRequest;
+                        }));
+              }
+              final JsonRpcResponse[] completed =
+                  responses.stream()
+                      .filter(jsonRpcResponse -> jsonRpcResponse.getType() != RpcResponseType.NONE)
+                      .toArray(JsonRpcResponse[]::new);
+              replyToClient(websocket, completed);
+              promise.complete();
+            })
+        .onFailure(
+            throwable ->
+                replyToClient(websocket, errorResponse(null, RpcErrorType.INTERNAL_ERROR)));
+  }
+
   private void replyToClient(final ServerWebSocket websocket, final Object result) {
     traceResponse(result);
     try {
       // underlying output stream lifecycle is managed by the json object writer
-      JSON_OBJECT_WRITER.writeValue(new JsonResponseStreamer(websocket), result);
+      final JsonResponseStreamer streamer = new JsonResponseStreamer(websocket);
+      if (StreamingOpCodeLoggerTracerResult.isResultOf(result)) {
+        streamer.enableBackpressure();
+      }
+      JSON_OBJECT_WRITER.writeValue(streamer, result);
     } catch (IOException ex) {
       LOG.error("Error streaming JSON-RPC response", ex);
     }
@@ -180,6 +225,14 @@ public class WebSocketMessageHandler {
   }
 
   private void traceResponse(final Object response) {
+    if (!LOG.isTraceEnabled()) {
+      return;
+    }
+    if (StreamingOpCodeLoggerTracerResult.isResultOf(response)) {
+      // logging the result itself would replay the traced transaction once more
+      LOG.trace(StreamingOpCodeLoggerTracerResult.TRACE_LOG_PLACEHOLDER);
+      return;
+    }
     try {
       LOG.trace(jsonObjectMapper.writeValueAsString(response));
     } catch (JsonProcessingException e) {
@@ -32,8 +32,10 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.annotation.JsonValue;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.eventbus.Message;
@@ -55,6 +57,7 @@ public class SubscriptionManager extends AbstractVerticle {
       "SubscriptionManager::removeSubscriptions";
 
   private final AtomicLong subscriptionCounter = new AtomicLong(0);
+  private final AtomicLong subscriptionsGeneration = new AtomicLong(0);
   private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
   private final SubscriptionBuilder subscriptionBuilder = new SubscriptionBuilder();
   private final LabelledMetric<Counter> subscribeCounter;
@@ -93,6 +96,7 @@ public class SubscriptionManager extends AbstractVerticle {
     final Subscription subscription =
         subscriptionBuilder.build(subscriptionId, request.getConnectionId(), request);
     subscriptions.put(subscription.getSubscriptionId(), subscription);
+    subscriptionsGeneration.incrementAndGet();
 
     return subscription.getSubscriptionId();
   }
@@ -116,6 +120,7 @@ public class SubscriptionManager extends AbstractVerticle {
   private void destroySubscription(final long subscriptionId) {
     final Subscription removed = subscriptions.remove(subscriptionId);
     if (removed != null) {
+      subscriptionsGeneration.incrementAndGet();
       unsubscribeCounter.labels(removed.getSubscriptionType().getCode()).inc();
     }
   }
@@ -137,6 +142,16 @@ public class SubscriptionManager extends AbstractVerticle {
     return subscriptions.get(subscriptionId);
   }
 
+  /**
+   * Returns a number which changes whenever a subscription is added or removed, so that the
+   * services indexing the subscriptions know when to index them again.
+   *
+   * @return the generation of the subscriptions
+   */
+  public long subscriptionsGeneration() {
+    return subscriptionsGeneration.get();
+  }
+
   public <T> List<T> subscriptionsOfType(final SubscriptionType type, final Class<T> clazz) {
     return subscriptions.values().stream()
         .filter(subscription -> subscription.isType(type))
@@ -159,6 +174,23 @@ public class SubscriptionManager extends AbstractVerticle {
     }
   }
 
+  /**
+   * Sends the same message to several subscriptions, serializing it once for all of them.
+   *
+   * @param subscriptionIds the ids of the subscriptions
+   * @param msg the message
+   */
+  public void sendMessage(final List<Long> subscriptionIds, final JsonRpcResult msg) {
+    final JsonRpcResult serializedMsg;
+    try {
+      serializedMsg = new SerializedResult(new RawValue(jsonObjectMapper.writeValueAsString(msg)));
+    } catch (JsonProcessingException e) {
+      LOG.error("Error streaming websocket JSON-RPC response", e);
+      return;
+    }
+    subscriptionIds.forEach(subscriptionId -> sendMessage(subscriptionId, serializedMsg));
+  }
+
   public <T> void notifySubscribersOnWorkerThread(
       final SubscriptionType subscriptionType,
       final Class<T> clazz,
@@ -175,4 +207,6 @@ public class SubscriptionManager extends AbstractVerticle {
           }
         });
   }
+
+  private record SerializedResult(@JsonValue RawValue json) implements JsonRpcResult {}
 }
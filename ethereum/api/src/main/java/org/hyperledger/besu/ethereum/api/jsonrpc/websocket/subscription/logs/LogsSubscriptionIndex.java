@@ -0,0 +1,128 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.LogWithMetadata;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * An index of the logs subscriptions by the address and the first topic they filter on, so that a
+ * log is only checked against the subscriptions which could match it.
+ *
+ * <p>A subscription is indexed under each of its addresses, or as matching any address when it has
+ * none, and then under each of its first topics, or as matching any first topic when it does not
+ * filter on it. As a log has one address and one first topic, a subscription is found at most once
+ * for a log, and the candidates are then checked against the complete filter.
+ */
+final class LogsSubscriptionIndex {
+
+  private final Map<Address, TopicIndex> byAddress = new HashMap<>();
+  private final TopicIndex anyAddress = new TopicIndex();
+
+  LogsSubscriptionIndex(final List<LogsSubscription> subscriptions) {
+    subscriptions.forEach(this::add);
+  }
+
+  private void add(final LogsSubscription subscription) {
+    final LogsQuery logsQuery = subscription.getFilterParameter().getLogsQuery();
+    final List<Address> addresses = logsQuery.getAddresses();
+    if (addresses.isEmpty()) {
+      anyAddress.add(subscription, logsQuery.getTopics());
+      return;
+    }
+    // null addresses never match a log
+    addresses.stream()
+        .filter(Objects::nonNull)
+        .distinct()
+        .forEach(
+            address ->
+                byAddress
+                    .computeIfAbsent(address, __ -> new TopicIndex())
+                    .add(subscription, logsQuery.getTopics()));
+  }
+
+  /**
+   * Passes the subscriptions matching a log to a consumer.
+   *
+   * @param log the log
+   * @param consumer the consumer of the matching subscriptions
+   */
+  void forEachMatch(final LogWithMetadata log, final Consumer<LogsSubscription> consumer) {
+    final TopicIndex addressIndex = byAddress.get(log.getLogger());
+    if (addressIndex != null) {
+      addressIndex.forEachMatch(log, consumer);
+    }
+    anyAddress.forEachMatch(log, consumer);
+  }
+
+  private static boolean matches(final LogsSubscription subscription, final LogWithMetadata log) {
+    final FilterParameter filterParameter = subscription.getFilterParameter();
+    final long blockNumber = log.getBlockNumber();
+    return filterParameter.getFromBlock().getNumber().orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
+            <= blockNumber
+        && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE) >= blockNumber
+        && filterParameter.getLogsQuery().matches(log);
+  }
+
+  private static class TopicIndex {
+    private final Map<LogTopic, List<LogsSubscription>> byFirstTopic = new HashMap<>();
+    private final List<LogsSubscription> anyFirstTopic = new ArrayList<>();
+
+    void add(final LogsSubscription subscription, final List<List<LogTopic>> topics) {
+      final List<LogTopic> firstTopics = topics.isEmpty() ? List.of() : topics.get(0);
+      if (firstTopics.isEmpty() || firstTopics.contains(null)) {
+        anyFirstTopic.add(subscription);
+        return;
+      }
+      final Set<LogTopic> distinctFirstTopics = new LinkedHashSet<>(firstTopics);
+      distinctFirstTopics.forEach(
+          topic -> byFirstTopic.computeIfAbsent(topic, __ -> new ArrayList<>()).add(subscription));
+    }
+
+    void forEachMatch(final LogWithMetadata log, final Consumer<LogsSubscription> consumer) {
+      if (!log.getTopics().isEmpty()) {
+        final List<LogsSubscription> candidates = byFirstTopic.get(log.getTopics().get(0));
+        if (candidates != null) {
+          forEachMatch(candidates, log, consumer);
+        }
+      }
+      forEachMatch(anyFirstTopic, log, consumer);
+    }
+
+    private static void forEachMatch(
+        final List<LogsSubscription> candidates,
+        final LogWithMetadata log,
+        final Consumer<LogsSubscription> consumer) {
+      for (final LogsSubscription candidate : candidates) {
+        if (matches(candidate, log)) {
+          consumer.accept(candidate);
+        }
+      }
+    }
+  }
+}
@@ -14,18 +14,19 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
 
-import org.hyperledger.besu.ethereum.api.jsonrpc.internal.parameters.FilterParameter;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.LogResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.SubscriptionManager;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.request.SubscriptionType;
-import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
 
   private final SubscriptionManager subscriptionManager;
+  private volatile IndexedSubscriptions indexedSubscriptions = new IndexedSubscriptions(-1, null);
 
   public LogsSubscriptionService(final SubscriptionManager subscriptionManager) {
     this.subscriptionManager = subscriptionManager;
@@ -33,25 +34,32 @@ public class LogsSubscriptionService implements Consumer<LogWithMetadata> {
 
   @Override
   public void accept(final LogWithMetadata logWithMetadata) {
-    subscriptionManager.subscriptionsOfType(SubscriptionType.LOGS, LogsSubscription.class).stream()
-        .filter(
-            logsSubscription -> {
-              final FilterParameter filterParameter = logsSubscription.getFilterParameter();
-              final long blockNumber = logWithMetadata.getBlockNumber();
-              return filterParameter
-                          .getFromBlock()
-                          .getNumber()
-                          .orElse(BlockHeader.GENESIS_BLOCK_NUMBER)
-                      <= blockNumber
-                  && filterParameter.getToBlock().getNumber().orElse(Long.MAX_VALUE) >= blockNumber
-                  && filterParameter.getLogsQuery().matches(logWithMetadata);
-            })
-        .forEach(logsSubscription -> sendLogToSubscription(logWithMetadata, logsSubscription));
+    final List<Long> subscriptionIds = new ArrayList<>();
+    subscriptionIndex()
+        .forEachMatch(
+            logWithMetadata,
+            logsSubscription -> subscriptionIds.add(logsSubscription.getSubscriptionId()));
+    if (!subscriptionIds.isEmpty()) {
+      subscriptionManager.sendMessage(subscriptionIds, new LogResult(logWithMetadata));
+    }
   }
 
-  private void sendLogToSubscription(
-      final LogWithMetadata logWithMetadata, final LogsSubscription subscription) {
-    subscriptionManager.sendMessage(
-        subscription.getSubscriptionId(), new LogResult(logWithMetadata));
+  private LogsSubscriptionIndex subscriptionIndex() {
+    final long generation = subscriptionManager.subscriptionsGeneration();
+    IndexedSubscriptions current = indexedSubscriptions;
+    if (current.generation() != generation) {
+      // a subscription changing while indexing changes the generation again, so it is indexed on
+      // the next log
+      current =
+          new IndexedSubscriptions(
+              generation,
+              new LogsSubscriptionIndex(
+                  subscriptionManager.subscriptionsOfType(
+                      SubscriptionType.LOGS, LogsSubscription.class)));
+      indexedSubscriptions = current;
+    }
+    return current.index();
   }
+
+  private record IndexedSubscriptions(long generation, LogsSubscriptionIndex index) {}
 }
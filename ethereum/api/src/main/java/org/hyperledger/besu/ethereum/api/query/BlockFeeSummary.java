@@ -0,0 +1,137 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The fees paid by the transactions of a block, as used by the reward percentiles of {@code
+ * eth_feeHistory}: the effective priority fees per gas of the transactions sorted by fee, with the
+ * gas they used.
+ */
+public class BlockFeeSummary {
+
+  private final long gasUsed;
+  // null when the receipts of the block were not available
+  private final Wei[] sortedEffectivePriorityFeesPerGas;
+  private final long[] sortedTransactionsGasUsed;
+
+  private BlockFeeSummary(
+      final long gasUsed,
+      final Wei[] sortedEffectivePriorityFeesPerGas,
+      final long[] sortedTransactionsGasUsed) {
+    this.gasUsed = gasUsed;
+    this.sortedEffectivePriorityFeesPerGas = sortedEffectivePriorityFeesPerGas;
+    this.sortedTransactionsGasUsed = sortedTransactionsGasUsed;
+  }
+
+  /**
+   * Summarizes the fees paid by the transactions of a block.
+   *
+   * @param block the block
+   * @param maybeReceipts the receipts of the transactions of the block, if available, without which
+   *     the summary has no rewards
+   * @return the summary of the fees of the block
+   */
+  public static BlockFeeSummary create(
+      final Block block, final Optional<List<TransactionReceipt>> maybeReceipts) {
+    if (maybeReceipts.isEmpty()) {
+      return new BlockFeeSummary(block.getHeader().getGasUsed(), null, null);
+    }
+
+    final List<Transaction> transactions = block.getBody().getTransactions();
+
+    final Optional<Wei> baseFee = block.getHeader().getBaseFee();
+    final List<TransactionReceipt> receipts = maybeReceipts.get();
+    final int size = Math.min(transactions.size(), receipts.size());
+    final List<TransactionFee> transactionFees = new ArrayList<>(size);
+    long cumulativeGasUsed = 0L;
+    for (int i = 0; i < size; i++) {
+      final long receiptCumulativeGasUsed = receipts.get(i).getCumulativeGasUsed();
+      transactionFees.add(
+          new TransactionFee(
+              transactions.get(i).getEffectivePriorityFeePerGas(baseFee),
+              receiptCumulativeGasUsed - cumulativeGasUsed));
+      cumulativeGasUsed = receiptCumulativeGasUsed;
+    }
+    // stable, so transactions paying the same fee keep their order
+    transactionFees.sort(Comparator.comparing(TransactionFee::effectivePriorityFeePerGas));
+
+    final Wei[] sortedEffectivePriorityFeesPerGas = new Wei[size];
+    final long[] sortedTransactionsGasUsed = new long[size];
+    for (int i = 0; i < size; i++) {
+      sortedEffectivePriorityFeesPerGas[i] = transactionFees.get(i).effectivePriorityFeePerGas();
+      sortedTransactionsGasUsed[i] = transactionFees.get(i).gasUsed();
+    }
+    return new BlockFeeSummary(
+        block.getHeader().getGasUsed(),
+        sortedEffectivePriorityFeesPerGas,
+        sortedTransactionsGasUsed);
+  }
+
+  /**
+   * Returns whether the summary was created with the receipts of the block, and so has rewards.
+   *
+   * @return true if the summary has rewards
+   */
+  public boolean hasRewards() {
+    return sortedEffectivePriorityFeesPerGas != null;
+  }
+
+  /**
+   * Returns the effective priority fee per gas paid at each percentile of the gas used by the
+   * block, the transactions being ordered by effective priority fee per gas.
+   *
+   * @param sortedRewardPercentiles the reward percentiles, in ascending order
+   * @return the rewards at the percentiles, or empty if the summary has no rewards
+   */
+  public Optional<List<Wei>> getRewards(final List<Double> sortedRewardPercentiles) {
+    if (!hasRewards()) {
+      return Optional.empty();
+    }
+    if (sortedEffectivePriorityFeesPerGas.length == 0) {
+      // all 0's for empty block
+      return Optional.of(
+          Stream.generate(() -> Wei.ZERO).limit(sortedRewardPercentiles.size()).toList());
+    }
+    final List<Wei> rewards = new ArrayList<>(sortedRewardPercentiles.size());
+
+    // Start with the gas used by the first transaction
+    double cumulativeGasUsed = sortedTransactionsGasUsed[0];
+    int transactionIndex = 0;
+    for (final double rewardPercentile : sortedRewardPercentiles) {
+      // The amount of gas that needs to be used to reach this percentile
+      final double thresholdGasUsed = rewardPercentile * gasUsed / 100;
+      while (cumulativeGasUsed < thresholdGasUsed
+          && transactionIndex < sortedTransactionsGasUsed.length - 1) {
+        transactionIndex++;
+        cumulativeGasUsed += sortedTransactionsGasUsed[transactionIndex];
+      }
+      rewards.add(sortedEffectivePriorityFeesPerGas[transactionIndex]);
+    }
+    return Optional.of(rewards);
+  }
+
+  private record TransactionFee(Wei effectivePriorityFeePerGas, long gasUsed) {}
+}
@@ -25,7 +25,9 @@ import org.hyperledger.besu.datatypes.LogsBloomFilter;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.api.ApiConfiguration;
 import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.query.cache.LogBloomIndex;
 import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher;
+import org.hyperledger.besu.ethereum.api.query.cache.TransactionLogIndex;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.TransactionLocation;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -79,6 +81,9 @@ public class BlockchainQueries {
   private final Blockchain blockchain;
   private final Optional<Path> cachePath;
   private final Optional<TransactionLogBloomCacher> transactionLogBloomCacher;
+  private final Optional<LogBloomIndex> logBloomIndex;
+  private final Optional<TransactionLogIndex> transactionLogIndex;
+  private final FeeStatisticsService feeStatisticsService;
   private final Optional<EthScheduler> ethScheduler;
   private final ApiConfiguration apiConfig;
   private final MiningConfiguration miningConfiguration;
@@ -137,6 +142,26 @@ public class BlockchainQueries {
       final Optional<EthScheduler> scheduler,
       final ApiConfiguration apiConfig,
       final MiningConfiguration miningConfiguration) {
+    this(
+        protocolSchedule,
+        blockchain,
+        worldStateArchive,
+        cachePath,
+        scheduler,
+        Optional.empty(),
+        apiConfig,
+        miningConfiguration);
+  }
+
+  public BlockchainQueries(
+      final ProtocolSchedule protocolSchedule,
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final Optional<Path> cachePath,
+      final Optional<EthScheduler> scheduler,
+      final Optional<TransactionLogIndex> transactionLogIndex,
+      final ApiConfiguration apiConfig,
+      final MiningConfiguration miningConfiguration) {
     this.protocolSchedule = protocolSchedule;
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
@@ -145,8 +170,16 @@ public class BlockchainQueries {
     this.transactionLogBloomCacher =
         (cachePath.isPresent() && scheduler.isPresent())
             ? Optional.of(
-                new TransactionLogBloomCacher(blockchain, cachePath.get(), scheduler.get()))
+                new TransactionLogBloomCacher(
+                    blockchain,
+                    cachePath.get(),
+                    scheduler.get(),
+                    Optional.of(new LogBloomIndex(cachePath.get()))))
             : Optional.empty();
+    this.logBloomIndex =
+        transactionLogBloomCacher.flatMap(TransactionLogBloomCacher::getLogBloomIndex);
+    this.transactionLogIndex = transactionLogIndex;
+    this.feeStatisticsService = new FeeStatisticsService(blockchain);
     this.apiConfig = apiConfig;
     this.miningConfiguration = miningConfiguration;
   }
@@ -163,6 +196,14 @@ public class BlockchainQueries {
     return transactionLogBloomCacher;
   }
 
+  public Optional<TransactionLogIndex> getTransactionLogIndex() {
+    return transactionLogIndex;
+  }
+
+  public FeeStatisticsService getFeeStatisticsService() {
+    return feeStatisticsService;
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -830,6 +871,43 @@ public class BlockchainQueries {
       final long toBlockNumber,
       final LogsQuery query,
       final Supplier<Boolean> isQueryAlive) {
+    if (transactionLogIndex.isPresent()) {
+      final TransactionLogIndex index = transactionLogIndex.get();
+      final long indexedFrom = Math.max(fromBlockNumber, index.getLowestIndexedBlock());
+      final long indexedTo = Math.min(toBlockNumber, index.getHighestIndexedBlock());
+      if (indexedFrom <= indexedTo) {
+        final Optional<List<Hash>> indexedBlocks =
+            index.lookUp(
+                query.getAddresses(),
+                query.getTopics(),
+                indexedFrom,
+                indexedTo,
+                blockchain::getBlockHashByNumber);
+        if (indexedBlocks.isPresent()) {
+          final List<LogWithMetadata> result = new ArrayList<>();
+          if (fromBlockNumber < indexedFrom) {
+            result.addAll(
+                matchingLogsFromBlooms(fromBlockNumber, indexedFrom - 1, query, isQueryAlive));
+          }
+          for (final Hash blockHash : indexedBlocks.get()) {
+            result.addAll(matchingLogs(blockHash, query, isQueryAlive));
+          }
+          if (indexedTo < toBlockNumber) {
+            result.addAll(
+                matchingLogsFromBlooms(indexedTo + 1, toBlockNumber, query, isQueryAlive));
+          }
+          return result;
+        }
+      }
+    }
+    return matchingLogsFromBlooms(fromBlockNumber, toBlockNumber, query, isQueryAlive);
+  }
+
+  private List<LogWithMetadata> matchingLogsFromBlooms(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LogsQuery query,
+      final Supplier<Boolean> isQueryAlive) {
     try {
       final List<LogWithMetadata> result = new ArrayList<>();
       final long startSegment = fromBlockNumber / BLOCKS_PER_BLOOM_CACHE;
@@ -840,6 +918,20 @@ public class BlockchainQueries {
         final long thisStep = currentStep;
         final long nextStep = (segment + 1) * BLOCKS_PER_BLOOM_CACHE;
         BackendQuery.stopIfExpired(isQueryAlive);
+        final Optional<LogBloomIndex.Segment> indexSegment =
+            logBloomIndex.flatMap(index -> index.getSegment(thisSegment));
+        if (indexSegment.isPresent()) {
+          result.addAll(
+              matchingLogsIndexed(
+                  thisSegment * BLOCKS_PER_BLOOM_CACHE,
+                  (int) (thisStep % BLOCKS_PER_BLOOM_CACHE),
+                  (int) (Math.min(toBlockNumber, nextStep - 1) % BLOCKS_PER_BLOOM_CACHE),
+                  query,
+                  indexSegment.get(),
+                  isQueryAlive));
+          currentStep = nextStep;
+          continue;
+        }
         result.addAll(
             cachePath
                 .map(path -> path.resolve("logBloom-" + thisSegment + ".cache"))
@@ -891,6 +983,39 @@ public class BlockchainQueries {
         .collect(Collectors.toList());
   }
 
+  private List<LogWithMetadata> matchingLogsIndexed(
+      final long segmentStart,
+      final int offset,
+      final int endOffset,
+      final LogsQuery query,
+      final LogBloomIndex.Segment indexSegment,
+      final Supplier<Boolean> isQueryAlive)
+      throws Exception {
+    final List<LogWithMetadata> results = new ArrayList<>();
+    final LogBloomIndex.MatchingBlocks blocks =
+        indexSegment.matchingBlocks(query.bloomConditions(), offset, endOffset);
+    for (int pos = blocks.nextBlock(offset); pos >= 0; pos = blocks.nextBlock(pos + 1)) {
+      BackendQuery.stopIfExpired(isQueryAlive);
+      if (blocks.isIndexed(pos)) {
+        results.addAll(
+            matchingLogs(
+                blockchain.getBlockHashByNumber(segmentStart + pos).orElseThrow(),
+                query,
+                isQueryAlive));
+      } else {
+        // blocks which are not indexed yet are checked against the bloom of their header
+        final Optional<BlockHeader> header = blockchain.getBlockHeader(segmentStart + pos);
+        if (header.isEmpty()) {
+          break;
+        }
+        if (query.couldMatch(header.get().getLogsBloom())) {
+          results.addAll(matchingLogs(header.get().getHash(), query, isQueryAlive));
+        }
+      }
+    }
+    return results;
+  }
+
   private List<LogWithMetadata> matchingLogsCached(
       final long segmentStart,
       final long offset,
@@ -0,0 +1,85 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Keeps the {@link BlockFeeSummary} of the recent blocks, so that {@code eth_feeHistory} does not
+ * load the transactions and receipts of the blocks it samples again.
+ *
+ * <p>When observing the blockchain, the last chain head is kept as it is imported and summarized
+ * from its block added event on first use, so block import does not pay for it. The summaries of
+ * the other blocks are computed from the stored block and receipts on first use.
+ */
+public class FeeStatisticsService implements BlockAddedObserver {
+  // the maximum block count of eth_feeHistory
+  private static final int MAXIMUM_CACHE_SIZE = 1_024;
+
+  private final Blockchain blockchain;
+  private final Cache<Hash, BlockFeeSummary> summaries;
+  private final AtomicReference<BlockAddedEvent> unsummarizedHead = new AtomicReference<>();
+
+  public FeeStatisticsService(final Blockchain blockchain) {
+    this.blockchain = blockchain;
+    this.summaries = Caffeine.newBuilder().maximumSize(MAXIMUM_CACHE_SIZE).build();
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (event.isNewCanonicalHead()) {
+      unsummarizedHead.set(event);
+    }
+  }
+
+  /**
+   * Returns the fee summary of a block, computing it if it is not known yet.
+   *
+   * @param blockHash the hash of the block
+   * @return the fee summary of the block, or empty if the block is not found
+   */
+  public Optional<BlockFeeSummary> getSummary(final Hash blockHash) {
+    final BlockFeeSummary cachedSummary = summaries.getIfPresent(blockHash);
+    if (cachedSummary != null) {
+      return Optional.of(cachedSummary);
+    }
+    final BlockAddedEvent head = unsummarizedHead.get();
+    if (head != null && head.getHeader().getBlockHash().equals(blockHash)) {
+      final BlockFeeSummary headSummary =
+          BlockFeeSummary.create(head.getBlock(), Optional.of(head.getTransactionReceipts()));
+      summaries.put(blockHash, headSummary);
+      unsummarizedHead.compareAndSet(head, null);
+      return Optional.of(headSummary);
+    }
+    final Optional<BlockFeeSummary> summary =
+        blockchain
+            .getBlockByHash(blockHash)
+            .map(block -> BlockFeeSummary.create(block, blockchain.getTxReceipts(blockHash)));
+    // without receipts, the summary is computed again once they are available
+    summary
+        .filter(BlockFeeSummary::hasRewards)
+        .ifPresent(blockFeeSummary -> summaries.put(blockHash, blockFeeSummary));
+    return summary;
+  }
+}
@@ -77,6 +77,14 @@ public class LogsQuery {
             .collect(toUnmodifiableList());
   }
 
+  public List<Address> getAddresses() {
+    return addresses;
+  }
+
+  public List<List<LogTopic>> getTopics() {
+    return topics;
+  }
+
   public boolean couldMatch(final LogsBloomFilter bloom) {
     return (addressBlooms.isEmpty() || addressBlooms.stream().anyMatch(bloom::couldContain))
         && (topicsBlooms.isEmpty()
@@ -85,6 +93,21 @@ public class LogsQuery {
                     topics -> topics.isEmpty() || topics.stream().anyMatch(bloom::couldContain)));
   }
 
+  /**
+   * Returns the conditions checked by {@link #couldMatch(LogsBloomFilter)}: a bloom could match the
+   * query if, for each of the returned lists, it contains one of the blooms of the list.
+   *
+   * @return the lists of blooms a matching bloom must contain one of
+   */
+  public List<List<LogsBloomFilter>> bloomConditions() {
+    final List<List<LogsBloomFilter>> conditions = new ArrayList<>();
+    if (!addressBlooms.isEmpty()) {
+      conditions.add(addressBlooms);
+    }
+    topicsBlooms.stream().filter(topics -> !topics.isEmpty()).forEach(conditions::add);
+    return conditions;
+  }
+
   public boolean matches(final Log log) {
     return matchesAddresses(log.getLogger()) && matchesTopics(log.getTopics());
   }
@@ -0,0 +1,144 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link TransactionLogIndex} up to date with the chain: indexes the blocks added to the
+ * canonical chain, including the blocks of the new chain on a reorg, and backfills the blocks
+ * preceding the indexed range in the background.
+ */
+public class AutoTransactionLogIndexingService {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(AutoTransactionLogIndexingService.class);
+  private static final int BACKFILL_BATCH_SIZE = 1_000;
+
+  private final Blockchain blockchain;
+  private final TransactionLogIndex transactionLogIndex;
+  private final EthScheduler scheduler;
+  private OptionalLong blockAddedSubscriptionId = OptionalLong.empty();
+  private OptionalLong chainReorgSubscriptionId = OptionalLong.empty();
+  private volatile boolean stopped = false;
+
+  public AutoTransactionLogIndexingService(
+      final Blockchain blockchain,
+      final TransactionLogIndex transactionLogIndex,
+      final EthScheduler scheduler) {
+    this.blockchain = blockchain;
+    this.transactionLogIndex = transactionLogIndex;
+    this.scheduler = scheduler;
+  }
+
+  public void start() {
+    LOG.info("Starting auto transaction log indexing service.");
+    blockAddedSubscriptionId =
+        OptionalLong.of(
+            blockchain.observeBlockAdded(
+                event -> {
+                  // the blocks of a reorg are indexed by the chain reorg observer
+                  if (event.getEventType() == BlockAddedEvent.EventType.HEAD_ADVANCED) {
+                    indexBlock(event.getHeader(), event.getTransactionReceipts());
+                  }
+                }));
+    chainReorgSubscriptionId =
+        OptionalLong.of(
+            blockchain.observeChainReorg(
+                (blockWithReceipts, chain) ->
+                    indexBlock(blockWithReceipts.getHeader(), blockWithReceipts.getReceipts())));
+
+    scheduler.scheduleFutureTask(
+        () ->
+            // run long tasks in the computation executor
+            scheduler.scheduleComputationTask(
+                () -> {
+                  backfill();
+                  return null;
+                }),
+        Duration.ofMinutes(1));
+  }
+
+  public void stop() {
+    LOG.info("Shutting down auto transaction log indexing service.");
+    stopped = true;
+    blockAddedSubscriptionId.ifPresent(blockchain::removeObserver);
+    chainReorgSubscriptionId.ifPresent(blockchain::removeChainReorgObserver);
+  }
+
+  private void indexBlock(final BlockHeader header, final List<TransactionReceipt> receipts) {
+    try {
+      transactionLogIndex.indexBlock(header, receipts);
+    } catch (final Exception e) {
+      LOG.error("Unable to index the logs of block {}", header.getNumber(), e);
+    }
+  }
+
+  void backfill() {
+    try {
+      long nextBlock =
+          transactionLogIndex.isEmpty()
+              ? blockchain.getChainHeadBlockNumber()
+              : transactionLogIndex.getLowestIndexedBlock() - 1;
+      LOG.debug("Backfilling the transaction log index from block {}", nextBlock);
+      while (nextBlock >= 0 && !stopped) {
+        final List<TransactionLogIndex.BlockLogs> batch = new ArrayList<>(BACKFILL_BATCH_SIZE);
+        while (batch.size() < BACKFILL_BATCH_SIZE && nextBlock >= 0) {
+          final Optional<TransactionLogIndex.BlockLogs> block = getBlockLogs(nextBlock);
+          if (block.isEmpty()) {
+            break;
+          }
+          batch.add(block.get());
+          nextBlock--;
+        }
+        if (batch.isEmpty()) {
+          // the receipts of the older blocks are not available
+          LOG.debug("Transaction log index backfill stopped at block {}", nextBlock);
+          break;
+        }
+        transactionLogIndex.indexBlocks(batch);
+        // continues below the indexed range, which a block added after a gap may have restarted
+        nextBlock = transactionLogIndex.getLowestIndexedBlock() - 1;
+        if (batch.size() < BACKFILL_BATCH_SIZE) {
+          break;
+        }
+      }
+    } catch (final Exception e) {
+      LOG.error("Unhandled transaction log indexing exception.", e);
+    }
+  }
+
+  private Optional<TransactionLogIndex.BlockLogs> getBlockLogs(final long blockNumber) {
+    return blockchain
+        .getBlockHeader(blockNumber)
+        .flatMap(
+            header ->
+                blockchain
+                    .getTxReceipts(header.getHash())
+                    .map(receipts -> new TransactionLogIndex.BlockLogs(header, receipts)));
+  }
+}
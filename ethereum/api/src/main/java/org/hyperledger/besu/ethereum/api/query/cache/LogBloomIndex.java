@@ -0,0 +1,333 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+
+import org.hyperledger.besu.datatypes.LogsBloomFilter;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A bit-sliced index of the logs blooms of the blocks, stored in one memory-mapped file per
+ * segment of {@link TransactionLogBloomCacher#BLOCKS_PER_BLOOM_CACHE} blocks.
+ *
+ * <p>Where the log bloom cache files store the bloom of each block after the other, a segment of
+ * the index stores, for each of the 2048 bits of a bloom, a column holding that bit for every block
+ * of the segment. The blocks whose bloom contains the 3 bits set by an address or a topic are found
+ * by combining 3 columns 64 blocks at a time, instead of reading the bloom of each block. An extra
+ * column records which blocks of the segment are indexed.
+ */
+public class LogBloomIndex {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LogBloomIndex.class);
+
+  static final int BLOOM_BITS = LogsBloomFilter.BYTE_SIZE * Byte.SIZE;
+  private static final int INDEXED_COLUMN = BLOOM_BITS;
+  static final int WORDS_PER_COLUMN = (BLOCKS_PER_BLOOM_CACHE + Long.SIZE - 1) / Long.SIZE;
+  static final long SEGMENT_FILE_SIZE = (long) (BLOOM_BITS + 1) * WORDS_PER_COLUMN * Long.BYTES;
+
+  private final Path cacheDir;
+  private final Map<Long, Segment> segments = new ConcurrentHashMap<>();
+
+  public LogBloomIndex(final Path cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  /**
+   * Returns the segment of the index holding the blooms of the given segment of blocks.
+   *
+   * @param segmentNumber the number of the segment
+   * @return the segment, or empty if no block of the segment was indexed
+   */
+  public Optional<Segment> getSegment(final long segmentNumber) {
+    final Segment segment = segments.get(segmentNumber);
+    if (segment != null) {
+      return Optional.of(segment);
+    }
+    try {
+      return openSegment(segmentNumber, false);
+    } catch (final IOException e) {
+      LOG.error("Unable to open log bloom index segment {}", segmentNumber, e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Indexes the blooms of consecutive blocks of a segment, replacing the blooms they had.
+   *
+   * @param firstBlockNumber the number of the block of the first bloom
+   * @param blooms the blooms of the blocks
+   * @throws IOException if the segment file could not be created
+   */
+  public void setBlooms(final long firstBlockNumber, final List<Bytes> blooms) throws IOException {
+    if (blooms.isEmpty()) {
+      return;
+    }
+    final long segmentNumber = firstBlockNumber / BLOCKS_PER_BLOOM_CACHE;
+    checkArgument(
+        (firstBlockNumber + blooms.size() - 1) / BLOCKS_PER_BLOOM_CACHE == segmentNumber,
+        "Blooms must belong to a single segment");
+    openSegment(segmentNumber, true)
+        .orElseThrow()
+        .setBlooms((int) (firstBlockNumber % BLOCKS_PER_BLOOM_CACHE), blooms);
+  }
+
+  /**
+   * Removes from the index the given block and the following blocks of its segment.
+   *
+   * @param blockNumber the number of the first block to remove
+   */
+  public void removeBlocksFrom(final long blockNumber) {
+    final int offset = (int) (blockNumber % BLOCKS_PER_BLOOM_CACHE);
+    getSegment(blockNumber / BLOCKS_PER_BLOOM_CACHE)
+        .ifPresent(segment -> segment.removeBlocksFrom(offset));
+  }
+
+  public boolean isSegmentComplete(final long segmentNumber) {
+    return getSegment(segmentNumber).map(Segment::isComplete).orElse(false);
+  }
+
+  public synchronized boolean removeSegment(final long segmentNumber) throws IOException {
+    segments.remove(segmentNumber);
+    return Files.deleteIfExists(segmentFile(segmentNumber));
+  }
+
+  private Path segmentFile(final long segmentNumber) {
+    return cacheDir.resolve("logBloomIndex-" + segmentNumber + ".cache");
+  }
+
+  private synchronized Optional<Segment> openSegment(
+      final long segmentNumber, final boolean create) throws IOException {
+    Segment segment = segments.get(segmentNumber);
+    if (segment == null) {
+      final Path file = segmentFile(segmentNumber);
+      if (!create && !Files.isRegularFile(file)) {
+        return Optional.empty();
+      }
+      try (final FileChannel channel =
+          FileChannel.open(
+              file,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE)) {
+        if (channel.size() != SEGMENT_FILE_SIZE) {
+          if (!create) {
+            return Optional.empty();
+          }
+          // mapping an empty file extends it with zeros, i.e. with no indexed block
+          channel.truncate(0);
+        }
+        segment =
+            new Segment(
+                channel
+                    .map(FileChannel.MapMode.READ_WRITE, 0, SEGMENT_FILE_SIZE)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asLongBuffer());
+      }
+      segments.put(segmentNumber, segment);
+    }
+    return Optional.of(segment);
+  }
+
+  /** The columns of the blooms of a segment of blocks, each holding one bit per block. */
+  public static final class Segment {
+
+    private final LongBuffer words;
+
+    private Segment(final LongBuffer words) {
+      this.words = words;
+    }
+
+    /**
+     * Finds the blocks of the segment whose bloom could match the given conditions, as returned by
+     * {@link org.hyperledger.besu.ethereum.api.query.LogsQuery#bloomConditions()}.
+     *
+     * @param conditions the lists of blooms a matching bloom must contain one of
+     * @param fromOffset the offset in the segment of the first block to check
+     * @param toOffset the offset in the segment of the last block to check
+     * @return the matching blocks and the blocks which are not indexed
+     */
+    public MatchingBlocks matchingBlocks(
+        final List<List<LogsBloomFilter>> conditions, final int fromOffset, final int toOffset) {
+      checkArgument(
+          fromOffset >= 0 && toOffset < BLOCKS_PER_BLOOM_CACHE, "Offsets must be in the segment");
+      if (fromOffset > toOffset) {
+        return new MatchingBlocks(0, new long[0], new long[0]);
+      }
+      final int firstWord = fromOffset >>> 6;
+      final int wordCount = (toOffset >>> 6) - firstWord + 1;
+      final long[] matches = new long[wordCount];
+      final long[] notIndexed = new long[wordCount];
+      readColumn(INDEXED_COLUMN, firstWord, matches);
+      for (int i = 0; i < wordCount; i++) {
+        notIndexed[i] = ~matches[i];
+      }
+      final long firstWordMask = -1L << fromOffset;
+      final long lastWordMask = -1L >>> (Long.SIZE - 1 - (toOffset & 63));
+      matches[0] &= firstWordMask;
+      notIndexed[0] &= firstWordMask;
+      matches[wordCount - 1] &= lastWordMask;
+      notIndexed[wordCount - 1] &= lastWordMask;
+
+      final long[] column = new long[wordCount];
+      final long[] containsBloom = new long[wordCount];
+      final long[] containsAnyBloom = new long[wordCount];
+      for (final List<LogsBloomFilter> condition : conditions) {
+        Arrays.fill(containsAnyBloom, 0L);
+        for (final LogsBloomFilter bloom : condition) {
+          Arrays.fill(containsBloom, -1L);
+          final Bytes bloomBytes = bloom.getBytes();
+          for (int i = 0; i < LogsBloomFilter.BYTE_SIZE; i++) {
+            int bits = bloomBytes.get(i) & 0xFF;
+            while (bits != 0) {
+              readColumn(i * Byte.SIZE + Integer.numberOfTrailingZeros(bits), firstWord, column);
+              for (int w = 0; w < wordCount; w++) {
+                containsBloom[w] &= column[w];
+              }
+              bits &= bits - 1;
+            }
+          }
+          for (int w = 0; w < wordCount; w++) {
+            containsAnyBloom[w] |= containsBloom[w];
+          }
+        }
+        for (int w = 0; w < wordCount; w++) {
+          matches[w] &= containsAnyBloom[w];
+        }
+      }
+      return new MatchingBlocks(firstWord, matches, notIndexed);
+    }
+
+    synchronized void setBlooms(final int firstOffset, final List<Bytes> blooms) {
+      checkArgument(
+          firstOffset >= 0 && firstOffset + blooms.size() <= BLOCKS_PER_BLOOM_CACHE,
+          "Blooms must belong to the segment");
+      final long[] bloomBits = new long[BLOOM_BITS];
+      int i = 0;
+      while (i < blooms.size()) {
+        final int word = (firstOffset + i) >>> 6;
+        Arrays.fill(bloomBits, 0L);
+        long blocksMask = 0L;
+        for (; i < blooms.size() && (firstOffset + i) >>> 6 == word; i++) {
+          final long blockBit = 1L << (firstOffset + i);
+          blocksMask |= blockBit;
+          final Bytes bloom = blooms.get(i);
+          checkArgument(bloom.size() == LogsBloomFilter.BYTE_SIZE, "Invalid bloom size");
+          for (int b = 0; b < LogsBloomFilter.BYTE_SIZE; b++) {
+            int bits = bloom.get(b) & 0xFF;
+            while (bits != 0) {
+              bloomBits[b * Byte.SIZE + Integer.numberOfTrailingZeros(bits)] |= blockBit;
+              bits &= bits - 1;
+            }
+          }
+        }
+        // the blocks are not reported as indexed while their bits are being replaced
+        put(INDEXED_COLUMN, word, get(INDEXED_COLUMN, word) & ~blocksMask);
+        for (int column = 0; column < BLOOM_BITS; column++) {
+          put(column, word, (get(column, word) & ~blocksMask) | bloomBits[column]);
+        }
+        put(INDEXED_COLUMN, word, get(INDEXED_COLUMN, word) | blocksMask);
+      }
+    }
+
+    synchronized void removeBlocksFrom(final int offset) {
+      for (int word = offset >>> 6; word < WORDS_PER_COLUMN; word++) {
+        final long removedBlocks = word == offset >>> 6 ? -1L << offset : -1L;
+        put(INDEXED_COLUMN, word, get(INDEXED_COLUMN, word) & ~removedBlocks);
+      }
+    }
+
+    boolean isComplete() {
+      final long[] indexed = new long[WORDS_PER_COLUMN];
+      readColumn(INDEXED_COLUMN, 0, indexed);
+      for (int word = 0; word < WORDS_PER_COLUMN - 1; word++) {
+        if (indexed[word] != -1L) {
+          return false;
+        }
+      }
+      final int lastWordBlocks = BLOCKS_PER_BLOOM_CACHE - (WORDS_PER_COLUMN - 1) * Long.SIZE;
+      final long lastWordMask = -1L >>> (Long.SIZE - lastWordBlocks);
+      return (indexed[WORDS_PER_COLUMN - 1] & lastWordMask) == lastWordMask;
+    }
+
+    private void readColumn(final int column, final int firstWord, final long[] destination) {
+      words.get(column * WORDS_PER_COLUMN + firstWord, destination, 0, destination.length);
+    }
+
+    private long get(final int column, final int word) {
+      return words.get(column * WORDS_PER_COLUMN + word);
+    }
+
+    private void put(final int column, final int word, final long value) {
+      words.put(column * WORDS_PER_COLUMN + word, value);
+    }
+  }
+
+  /** The blocks of a range of a segment which could match a query, or which are not indexed. */
+  public static final class MatchingBlocks {
+
+    private final int firstWord;
+    private final long[] matches;
+    private final long[] notIndexed;
+
+    private MatchingBlocks(final int firstWord, final long[] matches, final long[] notIndexed) {
+      this.firstWord = firstWord;
+      this.matches = matches;
+      this.notIndexed = notIndexed;
+    }
+
+    /**
+     * Returns the offset of the next block which could match or is not indexed.
+     *
+     * @param fromOffset the offset in the segment to start from
+     * @return the offset of the block, or -1 if there is none
+     */
+    public int nextBlock(final int fromOffset) {
+      int word = (fromOffset >>> 6) - firstWord;
+      if (word >= matches.length) {
+        return -1;
+      }
+      long blocks = (matches[word] | notIndexed[word]) & (-1L << fromOffset);
+      while (blocks == 0) {
+        if (++word >= matches.length) {
+          return -1;
+        }
+        blocks = matches[word] | notIndexed[word];
+      }
+      return (firstWord + word) * Long.SIZE + Long.numberOfTrailingZeros(blocks);
+    }
+
+    public boolean isIndexed(final int offset) {
+      return (notIndexed[(offset >>> 6) - firstWord] & (1L << offset)) == 0;
+    }
+  }
+}
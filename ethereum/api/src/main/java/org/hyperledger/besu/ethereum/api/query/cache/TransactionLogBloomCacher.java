@@ -23,7 +23,10 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -32,6 +35,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
@@ -41,6 +46,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
+import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,16 +68,31 @@ public class TransactionLogBloomCacher {
 
   private final Path cacheDir;
 
+  private final Optional<LogBloomIndex> logBloomIndex;
+
   private final CachingStatus cachingStatus = new CachingStatus();
 
   public TransactionLogBloomCacher(
       final Blockchain blockchain, final Path cacheDir, final EthScheduler scheduler) {
+    this(blockchain, cacheDir, scheduler, Optional.empty());
+  }
+
+  public TransactionLogBloomCacher(
+      final Blockchain blockchain,
+      final Path cacheDir,
+      final EthScheduler scheduler,
+      final Optional<LogBloomIndex> logBloomIndex) {
     this.blockchain = blockchain;
     this.cacheDir = cacheDir;
     this.scheduler = scheduler;
+    this.logBloomIndex = logBloomIndex;
     this.cachedSegments = new TreeMap<>();
   }
 
+  public Optional<LogBloomIndex> getLogBloomIndex() {
+    return logBloomIndex;
+  }
+
   public CachingStatus getCachingStatus() {
     return cachingStatus;
   }
@@ -129,6 +150,7 @@ public class TransactionLogBloomCacher {
   private void fillCacheFile(final long startBlock, final long stopBlock, final File currentFile)
       throws IOException {
     long blockNum = startBlock;
+    final List<Bytes> blooms = new ArrayList<>(Long.SIZE);
     try (final OutputStream out = new FileOutputStream(currentFile)) {
       while (blockNum < stopBlock) {
         final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNum);
@@ -138,6 +160,20 @@ public class TransactionLogBloomCacher {
         fillCacheFileWithBlock(maybeHeader.get(), out);
         cachingStatus.currentBlock = blockNum;
         blockNum++;
+        if (logBloomIndex.isPresent()) {
+          blooms.add(maybeHeader.get().getLogsBloom().getBytes());
+          if (blooms.size() == Long.SIZE) {
+            logBloomIndex.get().setBlooms(blockNum - blooms.size(), blooms);
+            blooms.clear();
+          }
+        }
+      }
+      if (logBloomIndex.isPresent()) {
+        logBloomIndex.get().setBlooms(blockNum - blooms.size(), blooms);
+        // the cache file was rewritten, so the blocks past its end are no longer cached
+        if (blockNum / BLOCKS_PER_BLOOM_CACHE == startBlock / BLOCKS_PER_BLOOM_CACHE) {
+          logBloomIndex.get().removeBlocksFrom(blockNum);
+        }
       }
     } catch (final IOException e) {
       if (e.getMessage().contains(NO_SPACE_LEFT_ON_DEVICE)) {
@@ -218,6 +254,12 @@ public class TransactionLogBloomCacher {
         writer.setLength(validCacheSize);
       }
     }
+    if (logBloomIndex.isPresent()) {
+      logBloomIndex
+          .get()
+          .setBlooms(blockHeader.getNumber(), List.of(blockHeader.getLogsBloom().getBytes()));
+      logBloomIndex.get().removeBlocksFrom(blockHeader.getNumber() + 1);
+    }
   }
 
   private boolean populateLatestSegment(final long eventBlockNumber) {
@@ -261,6 +303,9 @@ public class TransactionLogBloomCacher {
           final long fromBlock = segmentNumber * BLOCKS_PER_BLOOM_CACHE;
           final File cacheFile = calculateCacheFileName(fromBlock, cacheDir);
           cachedSegments.remove(segmentNumber);
+          if (logBloomIndex.isPresent()) {
+            logBloomIndex.get().removeSegment(segmentNumber);
+          }
           if (Files.deleteIfExists(cacheFile.toPath())) {
             LOG.info(
                 "Deleted transaction log bloom cache file: {}/{}", cacheDir, cacheFile.getName());
@@ -300,6 +345,9 @@ public class TransactionLogBloomCacher {
                               || !cacheFile.isFile()
                               || cacheFile.length() != EXPECTED_BLOOM_FILE_SIZE) {
                             generateLogBloomCache(startBlock, startBlock + BLOCKS_PER_BLOOM_CACHE);
+                          } else if (logBloomIndex.isPresent()
+                              && !logBloomIndex.get().isSegmentComplete(currentSegment)) {
+                            indexCacheFile(startBlock, cacheFile, logBloomIndex.get());
                           }
                           cachedSegments.put(currentSegment, true);
                         }
@@ -313,6 +361,29 @@ public class TransactionLogBloomCacher {
     }
   }
 
+  private void indexCacheFile(
+      final long startBlock, final File cacheFile, final LogBloomIndex index) {
+    LOG.debug("Indexing transaction log bloom cache file {}", cacheFile.getName());
+    try (final DataInputStream in =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+      final List<Bytes> blooms = new ArrayList<>(Long.SIZE);
+      for (long blockNum = startBlock;
+          blockNum < startBlock + BLOCKS_PER_BLOOM_CACHE;
+          blockNum += blooms.size()) {
+        blooms.clear();
+        while (blooms.size() < Long.SIZE
+            && blockNum + blooms.size() < startBlock + BLOCKS_PER_BLOOM_CACHE) {
+          final byte[] bloom = new byte[BLOOM_BITS_LENGTH];
+          in.readFully(bloom);
+          blooms.add(Bytes.wrap(bloom));
+        }
+        index.setBlooms(blockNum, blooms);
+      }
+    } catch (final IOException e) {
+      LOG.error("Unable to index transaction log bloom cache file {}", cacheFile.getName(), e);
+    }
+  }
+
   private void fillCacheFileWithBlock(final BlockHeader blockHeader, final OutputStream fos)
       throws IOException {
     fos.write(ensureBloomBitsAreCorrectLength(blockHeader.getLogsBloom().getBytes().toArray()));
@@ -0,0 +1,321 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An inverted index of the logs of the blocks, mapping each address and each topic at each
+ * position to the logs holding it.
+ *
+ * <p>An entry is stored per term and per block, keyed by the term followed by the block number so
+ * the entries of a term over a range of blocks are read with a single iteration. Its value is the
+ * hash of the indexed block followed by the indexes in the block of the logs holding the term,
+ * delta and variable length encoded. Entries written for blocks which are no longer canonical are
+ * not removed, they are skipped when the block hash does not match the canonical one.
+ *
+ * <p>The index covers a single range of consecutive blocks, extended by the blocks added to the
+ * chain and by the backfill of the blocks preceding it.
+ */
+public class TransactionLogIndex {
+
+  private static final Bytes VARIABLES_PREFIX = Bytes.of(0);
+  private static final byte ADDRESS_PREFIX = 1;
+  private static final byte TOPIC_PREFIX = 2;
+  private static final Bytes LOWEST_INDEXED_BLOCK_KEY =
+      Bytes.concatenate(
+          VARIABLES_PREFIX, Bytes.wrap("lowestIndexedBlock".getBytes(StandardCharsets.UTF_8)));
+  private static final Bytes HIGHEST_INDEXED_BLOCK_KEY =
+      Bytes.concatenate(
+          VARIABLES_PREFIX, Bytes.wrap("highestIndexedBlock".getBytes(StandardCharsets.UTF_8)));
+
+  private final KeyValueStorage storage;
+  private volatile long lowestIndexedBlock;
+  private volatile long highestIndexedBlock;
+
+  public TransactionLogIndex(final KeyValueStorage storage) {
+    this.storage = storage;
+    this.lowestIndexedBlock = getLong(LOWEST_INDEXED_BLOCK_KEY).orElse(Long.MAX_VALUE);
+    this.highestIndexedBlock = getLong(HIGHEST_INDEXED_BLOCK_KEY).orElse(-1L);
+  }
+
+  /**
+   * Returns the number of the first block of the indexed range, greater than the highest indexed
+   * block when no block is indexed.
+   *
+   * @return the number of the lowest indexed block
+   */
+  public long getLowestIndexedBlock() {
+    return lowestIndexedBlock;
+  }
+
+  public long getHighestIndexedBlock() {
+    return highestIndexedBlock;
+  }
+
+  public boolean isEmpty() {
+    return lowestIndexedBlock > highestIndexedBlock;
+  }
+
+  public void indexBlock(final BlockHeader header, final List<TransactionReceipt> receipts) {
+    indexBlocks(List.of(new BlockLogs(header, receipts)));
+  }
+
+  /**
+   * Indexes the logs of the given blocks, extending the indexed range with the blocks adjacent to
+   * it. A block past the end of the range, leaving a gap, starts a new range.
+   *
+   * @param blocks the blocks to index, in the order they are added to the range
+   */
+  public synchronized void indexBlocks(final List<BlockLogs> blocks) {
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    long lowest = lowestIndexedBlock;
+    long highest = highestIndexedBlock;
+    for (final BlockLogs block : blocks) {
+      putEntries(transaction, block.header(), block.receipts());
+      final long number = block.header().getNumber();
+      if (lowest > highest || number > highest + 1) {
+        lowest = number;
+        highest = number;
+      } else if (number == lowest - 1) {
+        lowest = number;
+      } else if (number >= lowest) {
+        highest = Math.max(highest, number);
+      }
+    }
+    transaction.put(
+        LOWEST_INDEXED_BLOCK_KEY.toArrayUnsafe(), Bytes.ofUnsignedLong(lowest).toArrayUnsafe());
+    transaction.put(
+        HIGHEST_INDEXED_BLOCK_KEY.toArrayUnsafe(), Bytes.ofUnsignedLong(highest).toArrayUnsafe());
+    transaction.commit();
+    lowestIndexedBlock = lowest;
+    highestIndexedBlock = highest;
+  }
+
+  /**
+   * Looks up the blocks of a range holding logs which match the given addresses and topics.
+   *
+   * @param addresses the addresses of the logs, any address matching when empty
+   * @param topics for each position, the topics of the logs at that position, any topic matching
+   *     when the list is empty or contains null
+   * @param fromBlockNumber the first block of the range
+   * @param toBlockNumber the last block of the range
+   * @param canonicalBlockHash returns the hash of the canonical block with the given number
+   * @return the hashes of the canonical blocks holding matching logs, in block order, or empty if
+   *     the query does not constrain the logs, in which case the index cannot be used
+   */
+  public Optional<List<Hash>> lookUp(
+      final List<Address> addresses,
+      final List<List<LogTopic>> topics,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final LongFunction<Optional<Hash>> canonicalBlockHash) {
+    final List<List<Bytes>> conditions = new ArrayList<>();
+    if (!addresses.isEmpty()) {
+      conditions.add(addresses.stream().map(TransactionLogIndex::addressTerm).toList());
+    }
+    for (int position = 0; position < topics.size(); position++) {
+      final List<LogTopic> positionTopics = topics.get(position);
+      if (!positionTopics.isEmpty() && !positionTopics.contains(null)) {
+        final int topicPosition = position;
+        conditions.add(
+            positionTopics.stream().map(topic -> topicTerm(topicPosition, topic)).toList());
+      }
+    }
+    if (conditions.isEmpty()) {
+      return Optional.empty();
+    }
+
+    final Map<Long, Optional<Hash>> canonicalHashes = new HashMap<>();
+    TreeMap<Long, BitSet> matches = null;
+    for (final List<Bytes> condition : conditions) {
+      final TreeMap<Long, BitSet> conditionMatches = new TreeMap<>();
+      for (final Bytes term : condition) {
+        readEntries(term, fromBlockNumber, toBlockNumber, canonicalHashes, canonicalBlockHash)
+            .forEach(
+                (number, logs) -> conditionMatches.merge(number, logs, TransactionLogIndex::or));
+      }
+      if (matches == null) {
+        matches = conditionMatches;
+      } else {
+        matches.keySet().retainAll(conditionMatches.keySet());
+        for (final Map.Entry<Long, BitSet> match : matches.entrySet()) {
+          match.getValue().and(conditionMatches.get(match.getKey()));
+        }
+        matches.values().removeIf(BitSet::isEmpty);
+      }
+      if (matches.isEmpty()) {
+        break;
+      }
+    }
+    return Optional.of(
+        matches.keySet().stream()
+            .map(number -> canonicalHashes.get(number).orElseThrow())
+            .toList());
+  }
+
+  private Map<Long, BitSet> readEntries(
+      final Bytes term,
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final Map<Long, Optional<Hash>> canonicalHashes,
+      final LongFunction<Optional<Hash>> canonicalBlockHash) {
+    final Map<Long, BitSet> entries = new LinkedHashMap<>();
+    try (final Stream<Pair<byte[], byte[]>> stream =
+        storage.streamFromKey(
+            entryKey(term, fromBlockNumber).toArrayUnsafe(),
+            entryKey(term, toBlockNumber).toArrayUnsafe())) {
+      stream.forEach(
+          entry -> {
+            final Bytes key = Bytes.wrap(entry.getKey());
+            if (key.size() != term.size() + Long.BYTES || !key.slice(0, term.size()).equals(term)) {
+              return;
+            }
+            final long number = key.getLong(term.size());
+            final Bytes value = Bytes.wrap(entry.getValue());
+            final Hash blockHash = Hash.wrap(Bytes32.wrap(value, 0));
+            final boolean canonical =
+                canonicalHashes
+                    .computeIfAbsent(number, canonicalBlockHash::apply)
+                    .map(blockHash::equals)
+                    .orElse(false);
+            if (canonical) {
+              entries.put(number, decodeLogIndexes(value.slice(Bytes32.SIZE)));
+            }
+          });
+    }
+    return entries;
+  }
+
+  private void putEntries(
+      final KeyValueStorageTransaction transaction,
+      final BlockHeader header,
+      final List<TransactionReceipt> receipts) {
+    final Map<Bytes, List<Integer>> logIndexesByTerm = new LinkedHashMap<>();
+    int logIndex = 0;
+    for (final TransactionReceipt receipt : receipts) {
+      for (final Log log : receipt.getLogsList()) {
+        addLogIndex(logIndexesByTerm, addressTerm(log.getLogger()), logIndex);
+        final List<LogTopic> topics = log.getTopics();
+        for (int position = 0; position < topics.size(); position++) {
+          addLogIndex(logIndexesByTerm, topicTerm(position, topics.get(position)), logIndex);
+        }
+        logIndex++;
+      }
+    }
+    logIndexesByTerm.forEach(
+        (term, logIndexes) ->
+            transaction.put(
+                entryKey(term, header.getNumber()).toArrayUnsafe(),
+                Bytes.concatenate(header.getHash().getBytes(), encodeLogIndexes(logIndexes))
+                    .toArrayUnsafe()));
+  }
+
+  private static void addLogIndex(
+      final Map<Bytes, List<Integer>> logIndexesByTerm, final Bytes term, final int logIndex) {
+    final List<Integer> logIndexes = logIndexesByTerm.computeIfAbsent(term, t -> new ArrayList<>());
+    // a log may hold the same topic at several positions, or its address as a topic
+    if (logIndexes.isEmpty() || logIndexes.get(logIndexes.size() - 1) != logIndex) {
+      logIndexes.add(logIndex);
+    }
+  }
+
+  private static Bytes encodeLogIndexes(final List<Integer> logIndexes) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream(logIndexes.size());
+    int previous = 0;
+    for (final int logIndex : logIndexes) {
+      int delta = logIndex - previous;
+      while ((delta & ~0x7F) != 0) {
+        out.write((delta & 0x7F) | 0x80);
+        delta >>>= 7;
+      }
+      out.write(delta);
+      previous = logIndex;
+    }
+    return Bytes.wrap(out.toByteArray());
+  }
+
+  private static BitSet decodeLogIndexes(final Bytes encoded) {
+    final BitSet logIndexes = new BitSet();
+    int logIndex = 0;
+    int i = 0;
+    while (i < encoded.size()) {
+      int delta = 0;
+      int shift = 0;
+      int b;
+      do {
+        b = encoded.get(i++) & 0xFF;
+        delta |= (b & 0x7F) << shift;
+        shift += 7;
+      } while ((b & 0x80) != 0);
+      logIndex += delta;
+      logIndexes.set(logIndex);
+    }
+    return logIndexes;
+  }
+
+  private static BitSet or(final BitSet a, final BitSet b) {
+    a.or(b);
+    return a;
+  }
+
+  private static Bytes addressTerm(final Address address) {
+    return Bytes.concatenate(Bytes.of(ADDRESS_PREFIX), address.getBytes());
+  }
+
+  private static Bytes topicTerm(final int position, final LogTopic topic) {
+    return Bytes.concatenate(Bytes.of(TOPIC_PREFIX, (byte) position), topic.getBytes());
+  }
+
+  private static Bytes entryKey(final Bytes term, final long blockNumber) {
+    return Bytes.concatenate(term, Bytes.ofUnsignedLong(blockNumber));
+  }
+
+  private Optional<Long> getLong(final Bytes key) {
+    return storage.get(key.toArrayUnsafe()).map(value -> Bytes.wrap(value).toLong());
+  }
+
+  /**
+   * A block to index, with the receipts holding its logs.
+   *
+   * @param header the header of the block
+   * @param receipts the receipts of the transactions of the block
+   */
+  public record BlockLogs(BlockHeader header, List<TransactionReceipt> receipts) {}
+}
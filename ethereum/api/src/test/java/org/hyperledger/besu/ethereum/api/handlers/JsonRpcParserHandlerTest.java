@@ -0,0 +1,103 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class JsonRpcParserHandlerTest {
+
+  private static final String NEW_PAYLOAD_REQUEST =
+      "{\"jsonrpc\":\"2.0\",\"id\":67,\"method\":\"engine_newPayloadV3\",\"params\":[{"
+          + "\"parentHash\":\"0x"
+          + "11".repeat(32)
+          + "\",\"blockNumber\":\"0x1b4\",\"gasLimit\":\"0x1c9c380\",\"baseFeePerGas\":\"0x7\","
+          + "\"transactions\":[\""
+          + Bytes.repeat((byte) 0x2a, 128 * 1024).toHexString()
+          + "\"],\"withdrawals\":[{\"index\":\"0x0\",\"amount\":\"0x1\"}],"
+          + "\"blobGasUsed\":\"0x0\",\"excessBlobGas\":\"0x0\",\"nested\":{\"value\":1.5}},"
+          + "[\"0x"
+          + "01".repeat(32)
+          + "\"],\"0x"
+          + "02".repeat(32)
+          + "\"]}";
+
+  @Test
+  public void ipcRequestsAreParsedAsTheHttpRequests() {
+    final List<JsonObject> parsedObjects = new ArrayList<>();
+    JsonRpcParserHandler.ipcHandler(
+            (jsonObject, jsonArray) -> parsedObjects.add(jsonObject), noError())
+        .handle(Buffer.buffer(NEW_PAYLOAD_REQUEST));
+
+    final JsonObject expected = new JsonObject(NEW_PAYLOAD_REQUEST);
+    assertThat(parsedObjects).hasSize(1);
+    assertThat(parsedObjects.get(0).encode()).isEqualTo(expected.encode());
+    assertThat(parsedObjects.get(0).mapTo(JsonRpcRequest.class))
+        .isEqualTo(expected.mapTo(JsonRpcRequest.class));
+  }
+
+  @Test
+  public void ipcBatchRequestsAreParsedAsTheHttpRequests() {
+    final String batchRequest = "[" + NEW_PAYLOAD_REQUEST + "," + NEW_PAYLOAD_REQUEST + "]";
+    final List<JsonArray> parsedArrays = new ArrayList<>();
+    JsonRpcParserHandler.ipcHandler(
+            (jsonObject, jsonArray) -> parsedArrays.add(jsonArray), noError())
+        .handle(Buffer.buffer(batchRequest));
+
+    final JsonArray expected = new JsonArray(batchRequest);
+    assertThat(parsedArrays).hasSize(1);
+    assertThat(parsedArrays.get(0).encode()).isEqualTo(expected.encode());
+    assertThat(parsedArrays.get(0).getJsonObject(1).mapTo(JsonRpcRequest.class))
+        .isEqualTo(expected.getJsonObject(1).mapTo(JsonRpcRequest.class));
+  }
+
+  @Test
+  public void concatenatedIpcRequestsAreParsedIndependently() {
+    final List<JsonObject> parsedObjects = new ArrayList<>();
+    JsonRpcParserHandler.ipcHandler(
+            (jsonObject, jsonArray) -> parsedObjects.add(jsonObject), noError())
+        .handle(Buffer.buffer(NEW_PAYLOAD_REQUEST + "\n" + NEW_PAYLOAD_REQUEST));
+
+    assertThat(parsedObjects).hasSize(2);
+    assertThat(parsedObjects.get(1).encode())
+        .isEqualTo(new JsonObject(NEW_PAYLOAD_REQUEST).encode());
+  }
+
+  @Test
+  public void invalidIpcRequestIsAParseError() {
+    final AtomicBoolean failed = new AtomicBoolean(false);
+    JsonRpcParserHandler.ipcHandler((jsonObject, jsonArray) -> {}, () -> failed.set(true))
+        .handle(Buffer.buffer("{\"method\":"));
+
+    assertThat(failed).isTrue();
+  }
+
+  private static Runnable noError() {
+    return () -> {
+      throw new AssertionError("unexpected parse error");
+    };
+  }
+}
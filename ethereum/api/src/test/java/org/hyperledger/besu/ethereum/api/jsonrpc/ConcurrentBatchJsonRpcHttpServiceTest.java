@@ -0,0 +1,110 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.json.JsonArray;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentBatchJsonRpcHttpServiceTest extends JsonRpcHttpServiceTestBase {
+
+  @BeforeAll
+  public static void initServerAndClientWithConcurrentBatches() throws Exception {
+    maxBatchConcurrency = 4;
+    initServerAndClient();
+  }
+
+  @AfterAll
+  public static void resetMaxBatchConcurrency() {
+    maxBatchConcurrency = 1;
+  }
+
+  @Test
+  public void requestsOfABatchAreExecutedConcurrently() throws Exception {
+    final String methodName = "test_awaitOtherRequest";
+    final CountDownLatch bothRequestsStarted = new CountDownLatch(2);
+    final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
+    when(jsonRpcMethod.getName()).thenReturn(methodName);
+    when(jsonRpcMethod.response(any()))
+        .thenAnswer(
+            invocation -> {
+              final JsonRpcRequestContext request = invocation.getArgument(0);
+              bothRequestsStarted.countDown();
+              return new JsonRpcSuccessResponse(
+                  request.getRequest().getId(), bothRequestsStarted.await(10, TimeUnit.SECONDS));
+            });
+
+    try (var unused = addRpcMethod(methodName, jsonRpcMethod)) {
+      final RequestBody body =
+          RequestBody.create(
+              "[{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\""
+                  + methodName
+                  + "\"},"
+                  + "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\""
+                  + methodName
+                  + "\"}]",
+              JSON);
+
+      try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+        assertThat(resp.code()).isEqualTo(200);
+        final JsonArray json = new JsonArray(resp.body().string());
+        assertThat(json.size()).isEqualTo(2);
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(0), 1);
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(1), 2);
+        assertThat(json.getJsonObject(0).getBoolean("result")).isTrue();
+        assertThat(json.getJsonObject(1).getBoolean("result")).isTrue();
+      }
+    }
+  }
+
+  @Test
+  public void responsesAreReturnedInRequestOrder() throws Exception {
+    final int requestCount = maxBatchSize;
+    final List<String> requests = new ArrayList<>();
+    for (int i = 0; i < requestCount; i++) {
+      final String method = i % 2 == 0 ? "web3_clientVersion" : "net_version";
+      requests.add("{\"jsonrpc\":\"2.0\",\"id\":" + i + ",\"method\":\"" + method + "\"}");
+    }
+    final RequestBody body = RequestBody.create("[" + String.join(",", requests) + "]", JSON);
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      final JsonArray json = new JsonArray(resp.body().string());
+      assertThat(json.size()).isEqualTo(requestCount);
+      for (int i = 0; i < requestCount; i++) {
+        testHelper.assertValidJsonRpcResult(json.getJsonObject(i), i);
+        assertThat(json.getJsonObject(i).getString("result"))
+            .isEqualTo(i % 2 == 0 ? CLIENT_NODE_NAME : String.valueOf(CHAIN_ID));
+      }
+    }
+  }
+}
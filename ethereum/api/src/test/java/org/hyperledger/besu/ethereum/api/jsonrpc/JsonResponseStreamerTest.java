@@ -111,6 +111,47 @@ public class JsonResponseStreamerTest {
     verify(failedResponse).end();
   }
 
+  @Test
+  public void doNotWaitForFullWriteQueueWithoutBackpressure() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    try (JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress)) {
+      streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+    }
+
+    verify(httpResponse, never()).drainHandler(any());
+    verify(httpResponse).end();
+  }
+
+  @Test
+  public void waitForFullWriteQueueWithBackpressure() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true, false);
+    try (JsonResponseStreamer streamer = new JsonResponseStreamer(httpResponse, testAddress)) {
+      streamer.enableBackpressure();
+      streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+    }
+
+    verify(httpResponse).drainHandler(any());
+    verify(httpResponse).end();
+  }
+
+  @Test
+  public void closeConnectionWhenWriteQueueIsNotDrainedInTime() throws IOException {
+    when(httpResponse.writeQueueFull()).thenReturn(true);
+    try (JsonResponseStreamer streamer =
+        new JsonResponseStreamer(httpResponse, testAddress, 250)) {
+      streamer.enableBackpressure();
+      assertThatThrownBy(() -> streamer.write("xyz".getBytes(StandardCharsets.UTF_8)))
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("Timed out");
+      assertThatThrownBy(() -> streamer.write("abc".getBytes(StandardCharsets.UTF_8)))
+          .isInstanceOf(IOException.class);
+    }
+
+    verify(httpResponse, never()).write(argThat(bufferContains("abc")));
+    verify(httpResponse).close();
+    verify(httpResponse, never()).end();
+  }
+
   private ArgumentMatcher<Buffer> bufferContains(final String text) {
     return buf -> buf.toString().equals(text);
   }
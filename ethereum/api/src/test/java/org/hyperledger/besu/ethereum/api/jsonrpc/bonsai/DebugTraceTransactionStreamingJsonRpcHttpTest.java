@@ -0,0 +1,88 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.bonsai;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.api.ApiConfiguration;
+import org.hyperledger.besu.ethereum.api.ImmutableApiConfiguration;
+import org.hyperledger.besu.ethereum.api.jsonrpc.AbstractJsonRpcHttpBySpecTest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.AbstractJsonRpcHttpServiceTest;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Iterators;
+import com.google.common.io.Resources;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Runs the debug_traceTransaction specs with the struct logs streamed to the response. The streamed
+ * result has the same fields as the specs, but writes the struct logs first, so the results are
+ * compared as JSON trees rather than as documents.
+ */
+public class DebugTraceTransactionStreamingJsonRpcHttpTest extends AbstractJsonRpcHttpServiceTest {
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Override
+  @BeforeEach
+  public void setup() throws Exception {
+    setupBonsaiBlockchain();
+    startService();
+  }
+
+  @Override
+  protected ApiConfiguration createApiConfiguration() {
+    return ImmutableApiConfiguration.builder()
+        .gasCap(0L)
+        .isDebugTraceStreamingEnabled(true)
+        .build();
+  }
+
+  public static Object[][] specs() {
+    return AbstractJsonRpcHttpBySpecTest.findSpecFiles(new String[] {"debug/trace-transaction"});
+  }
+
+  @ParameterizedTest(name = "{index}: {0}")
+  @MethodSource("specs")
+  public void streamedResultMatchesSpec(final String specName, final URL specURL)
+      throws Exception {
+    final JsonNode specNode =
+        objectMapper.readTree(Resources.toString(specURL, StandardCharsets.UTF_8));
+    final RequestBody requestBody = RequestBody.create(specNode.get("request").toString(), JSON);
+    final Request request = new Request.Builder().post(requestBody).url(baseUrl).build();
+
+    try (final Response resp = client.newCall(request).execute()) {
+      assertThat(resp.code()).isEqualTo(specNode.get("statusCode").asInt());
+      final JsonNode responseBody =
+          objectMapper.readTree(Objects.requireNonNull(resp.body()).string());
+      final JsonNode expectedResult = specNode.get("response").get("result");
+
+      assertThat(responseBody.get("id")).isEqualTo(specNode.get("response").get("id"));
+      assertThat(responseBody.get("result")).isEqualTo(expectedResult);
+      assertThat(Iterators.getNext(responseBody.get("result").fieldNames(), null))
+          .isEqualTo("structLogs");
+    }
+  }
+}
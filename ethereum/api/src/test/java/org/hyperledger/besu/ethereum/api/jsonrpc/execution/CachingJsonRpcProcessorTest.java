@@ -0,0 +1,147 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.api.jsonrpc.RpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequest;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestContext;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.JsonRpcRequestId;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.BlockReceiptsResult;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.opentelemetry.api.trace.Span;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+public class CachingJsonRpcProcessorTest {
+
+  private static final long FINALIZED_BLOCK_NUMBER = 10L;
+
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final JsonRpcProcessor delegate = mock(JsonRpcProcessor.class);
+  private final JsonRpcMethod method = mock(JsonRpcMethod.class);
+  private BlockAddedObserver blockAddedObserver;
+  private CachingJsonRpcProcessor processor;
+  private int requestId = 0;
+
+  @BeforeEach
+  public void setUp() {
+    final Hash finalizedBlockHash = Hash.hash(Bytes.of(1));
+    when(blockchain.getFinalized()).thenReturn(Optional.of(finalizedBlockHash));
+    when(blockchain.getBlockHeader(finalizedBlockHash))
+        .thenReturn(
+            Optional.of(new BlockHeaderTestFixture().number(FINALIZED_BLOCK_NUMBER).buildHeader()));
+    when(delegate.process(any(), any(), any(), any()))
+        .thenAnswer(
+            invocation ->
+                new JsonRpcSuccessResponse(
+                    invocation.<JsonRpcRequestContext>getArgument(3).getRequest().getId(),
+                    new BlockReceiptsResult(List.of())));
+
+    final JsonRpcResultCache resultCache =
+        new JsonRpcResultCache(blockchain, 1024 * 1024, new NoOpMetricsSystem());
+    final ArgumentCaptor<BlockAddedObserver> observerCaptor =
+        ArgumentCaptor.forClass(BlockAddedObserver.class);
+    verify(blockchain).observeBlockAdded(observerCaptor.capture());
+    blockAddedObserver = observerCaptor.getValue();
+    processor = new CachingJsonRpcProcessor(delegate, resultCache);
+  }
+
+  @Test
+  public void answersReadsOfFinalizedBlocksFromTheCache() {
+    process("0x5");
+    final JsonRpcResponse response = process("0x5");
+
+    verify(delegate, times(1)).process(any(), any(), any(), any());
+    assertThat(response).isInstanceOf(JsonRpcSuccessResponse.class);
+    final Object result = ((JsonRpcSuccessResponse) response).getResult();
+    assertThat(result).isInstanceOf(RawValue.class);
+    assertThat(((RawValue) result).rawValue()).isEqualTo("[]");
+  }
+
+  @Test
+  public void doesNotCacheReadsOfBlocksAboveTheFinalizedBlock() {
+    process("0xb");
+    final JsonRpcResponse response = process("0xb");
+
+    verify(delegate, times(2)).process(any(), any(), any(), any());
+    assertThat(((JsonRpcSuccessResponse) response).getResult())
+        .isInstanceOf(BlockReceiptsResult.class);
+  }
+
+  @Test
+  public void doesNotCacheReadsDependingOnTheChainHead() {
+    process("latest");
+    process("latest");
+
+    verify(delegate, times(2)).process(any(), any(), any(), any());
+  }
+
+  @Test
+  public void doesNotCacheWithoutFinalizedBlock() {
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+
+    process("0x5");
+    process("0x5");
+
+    verify(delegate, times(2)).process(any(), any(), any(), any());
+  }
+
+  @Test
+  public void clearsTheCacheOnChainReorg() {
+    process("0x5");
+    final BlockAddedEvent reorgEvent = mock(BlockAddedEvent.class);
+    when(reorgEvent.getEventType()).thenReturn(BlockAddedEvent.EventType.CHAIN_REORG);
+    blockAddedObserver.onBlockAdded(reorgEvent);
+    process("0x5");
+
+    verify(delegate, times(2)).process(any(), any(), any(), any());
+  }
+
+  private JsonRpcResponse process(final String blockParameter) {
+    requestId++;
+    final JsonRpcRequest request =
+        new JsonRpcRequest(
+            "2.0",
+            RpcMethod.ETH_GET_BLOCK_RECEIPTS.getMethodName(),
+            new Object[] {blockParameter});
+    return processor.process(
+        new JsonRpcRequestId(requestId),
+        method,
+        Span.getInvalid(),
+        new JsonRpcRequestContext(request));
+  }
+}
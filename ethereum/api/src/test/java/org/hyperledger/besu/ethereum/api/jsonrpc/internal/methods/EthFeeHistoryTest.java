@@ -40,6 +40,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.FeeHistory;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.ImmutableFeeHistory;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.ImmutableFeeHistoryResult;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.api.query.FeeStatisticsService;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
@@ -494,6 +495,8 @@ public class EthFeeHistoryTest {
     final var blockchainQueries = mock(BlockchainQueries.class);
     when(blockchainQueries.getBlockchain()).thenReturn(blockchain);
     when(blockchainQueries.gasPriceLowerBound()).thenReturn(gasPriceLowerBound);
+    when(blockchainQueries.getFeeStatisticsService())
+        .thenReturn(new FeeStatisticsService(blockchain));
     return blockchainQueries;
   }
 }
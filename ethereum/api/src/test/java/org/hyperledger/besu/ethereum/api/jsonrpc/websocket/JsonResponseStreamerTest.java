@@ -103,6 +103,47 @@ public class JsonResponseStreamerTest {
     verify(failedResponse, never()).writeFrame(argThat(frameContains("\n", true)));
   }
 
+  @Test
+  public void doNotWaitForFullWriteQueueWithoutBackpressure() throws IOException {
+    when(response.writeQueueFull()).thenReturn(true);
+    try (JsonResponseStreamer streamer = new JsonResponseStreamer(response)) {
+      streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+      streamer.write('\n');
+    }
+
+    verify(response, never()).drainHandler(any());
+    verify(response).writeFrame(argThat(frameContains("\n", true)));
+  }
+
+  @Test
+  public void waitForFullWriteQueueWithBackpressure() throws IOException {
+    when(response.writeQueueFull()).thenReturn(true, false);
+    try (JsonResponseStreamer streamer = new JsonResponseStreamer(response)) {
+      streamer.enableBackpressure();
+      streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+      streamer.write('\n');
+    }
+
+    verify(response).drainHandler(any());
+    verify(response).writeFrame(argThat(frameContains("\n", true)));
+  }
+
+  @Test
+  public void closeWebSocketWhenWriteQueueIsNotDrainedInTime() throws IOException {
+    when(response.writeQueueFull()).thenReturn(true);
+    try (JsonResponseStreamer streamer = new JsonResponseStreamer(response, 250)) {
+      streamer.enableBackpressure();
+      streamer.write("xyz".getBytes(StandardCharsets.UTF_8));
+      assertThatThrownBy(() -> streamer.write('\n'))
+          .isInstanceOf(IOException.class)
+          .hasMessageContaining("Timed out");
+    }
+
+    verify(response).writeFrame(argThat(frameContains("xyz", false)));
+    verify(response, never()).writeFrame(argThat(frameContains("\n", true)));
+    verify(response).close();
+  }
+
   private ArgumentMatcher<WebSocketFrame> frameContains(final String text, final boolean isFinal) {
     return frame -> frame.textData().equals(text) && frame.isFinal() == isFinal;
   }
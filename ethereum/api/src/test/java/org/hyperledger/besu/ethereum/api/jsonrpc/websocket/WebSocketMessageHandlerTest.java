@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.websocket;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -31,8 +32,11 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.StreamingOpCodeLoggerTracerResult;
 import org.hyperledger.besu.ethereum.api.jsonrpc.websocket.methods.WebSocketRpcRequest;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.evm.tracing.OpCodeTracerConfigBuilder.OpCodeTracerConfig;
+import org.hyperledger.besu.util.LogConfigurator;
 
 import java.util.HashMap;
 import java.util.List;
@@ -40,6 +44,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
@@ -59,6 +64,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
+import org.slf4j.LoggerFactory;
 
 @ExtendWith(VertxExtension.class)
 public class WebSocketMessageHandlerTest {
@@ -150,6 +156,34 @@ public class WebSocketMessageHandlerTest {
     verify(jsonRpcMethodMock, Mockito.times(2)).response(eq(expectedRequest));
   }
 
+  @Test
+  public void handlerDeliversResponseToTextBatchRequestSuccessfully() throws InterruptedException {
+
+    final JsonObject requestJson = new JsonObject().put("id", 1).put("method", "eth_x");
+    final JsonArray arrayJson = new JsonArray(List.of(requestJson, requestJson));
+    final JsonRpcRequest requestBody = requestJson.mapTo(WebSocketRpcRequest.class);
+    final JsonRpcRequestContext expectedRequest = new JsonRpcRequestContext(requestBody);
+    final JsonRpcSuccessResponse expectedSingleResponse =
+        new JsonRpcSuccessResponse(requestBody.getId(), null);
+
+    final JsonArray expectedBatchResponse =
+        new JsonArray(List.of(expectedSingleResponse, expectedSingleResponse));
+
+    when(jsonRpcMethodMock.response(eq(expectedRequest))).thenReturn(expectedSingleResponse);
+
+    when(websocketMock.writeFrame(argThat(this::isFinalFrame)))
+        .then(completeOnLastFrame(testContext));
+
+    handler.handle(websocketMock, arrayJson.encode(), Optional.empty());
+
+    testContext.awaitCompletion(
+        WebSocketMessageHandlerTest.VERTX_AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    // can verify only after async not before
+    verify(websocketMock).writeFrame(argThat(isFrameWithText(Json.encode(expectedBatchResponse))));
+    verify(websocketMock).writeFrame(argThat(this::isFinalFrame));
+    verify(jsonRpcMethodMock, Mockito.times(2)).response(eq(expectedRequest));
+  }
+
   @Test
   public void handlerBatchRequestContainingErrorsShouldRespondWithBatchErrors()
       throws InterruptedException {
@@ -297,6 +331,44 @@ public class WebSocketMessageHandlerTest {
     verify(websocketMock).writeFrame(argThat(this::isFinalFrame));
   }
 
+  @Test
+  public void streamingResultIsNotReplayedToBeTraceLogged() throws InterruptedException {
+
+    final AtomicInteger replays = new AtomicInteger();
+    final JsonObject requestJson = new JsonObject().put("id", 1).put("method", "eth_x");
+    final JsonRpcRequestContext expectedRequest =
+        new JsonRpcRequestContext(requestJson.mapTo(WebSocketRpcRequest.class));
+    when(jsonRpcMethodMock.response(eq(expectedRequest)))
+        .thenReturn(
+            new JsonRpcSuccessResponse(
+                1,
+                new StreamingOpCodeLoggerTracerResult(
+                    OpCodeTracerConfig.DEFAULT,
+                    tracer -> {
+                      replays.incrementAndGet();
+                      return Optional.empty();
+                    })));
+
+    when(websocketMock.writeFrame(argThat(this::isFinalFrame)))
+        .then(completeOnLastFrame(testContext));
+
+    final String loggerName = WebSocketMessageHandler.class.getName();
+    LogConfigurator.setLevel(loggerName, "TRACE");
+    try {
+      assertThat(LoggerFactory.getLogger(loggerName).isTraceEnabled()).isTrue();
+      handler.handle(websocketMock, requestJson.toBuffer(), Optional.empty());
+
+      testContext.awaitCompletion(
+          WebSocketMessageHandlerTest.VERTX_AWAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } finally {
+      LogConfigurator.setLevel(loggerName, "INFO");
+    }
+
+    // can verify only after async not before
+    verify(websocketMock).writeFrame(argThat(this::isFinalFrame));
+    assertThat(replays).hasValue(1);
+  }
+
   private ArgumentMatcher<WebSocketFrame> isFrameWithText(final String text) {
     return f -> f.isText() && f.textData().equals(text);
   }
@@ -16,10 +16,11 @@ package org.hyperledger.besu.ethereum.api.jsonrpc.websocket.subscription.logs;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mockingDetails;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.BytesHolder;
@@ -54,6 +55,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -68,6 +70,8 @@ public class LogsSubscriptionServiceTest {
   private final AtomicLong nextSubscriptionId = new AtomicLong();
 
   @Mock private SubscriptionManager subscriptionManager;
+  @Captor private ArgumentCaptor<List<Long>> subscriptionIdsCaptor;
+  @Captor private ArgumentCaptor<LogResult> logResultCaptor;
 
   @BeforeEach
   public void before() {
@@ -90,10 +94,7 @@ public class LogsSubscriptionServiceTest {
     registerSubscriptions(subscription);
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager).sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-
-    final List<LogResult> logResults = captor.getAllValues();
+    final List<LogResult> logResults = sentLogResults(subscription);
 
     assertThat(logResults).hasSize(1);
     final LogResult result = logResults.get(0);
@@ -124,11 +125,7 @@ public class LogsSubscriptionServiceTest {
       blockchain.appendBlock(newBlock.getBlock(), newBlock.getReceipts());
     }
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(2))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-
-    final List<LogResult> logResults = captor.getAllValues();
+    final List<LogResult> logResults = sentLogResults(subscription);
 
     assertThat(logResults).hasSize(2);
     final LogResult firstLog = logResults.get(0);
@@ -169,11 +166,7 @@ public class LogsSubscriptionServiceTest {
     // Sanity check
     assertThat(blockchain.getChainHeadHash()).isEqualTo(newBlockWithLog.getBlock().getHash());
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(3))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-
-    final List<LogResult> logResults = captor.getAllValues();
+    final List<LogResult> logResults = sentLogResults(subscription);
 
     assertThat(logResults).hasSize(3);
     final LogResult originalLog = logResults.get(0);
@@ -207,10 +200,7 @@ public class LogsSubscriptionServiceTest {
       blockchain.appendBlock(otherBlock.getBlock(), otherBlock.getReceipts());
     }
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(targetBlocks.size() * txCount))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-    final List<LogResult> logResults = captor.getAllValues();
+    final List<LogResult> logResults = sentLogResults(subscription);
 
     // Verify all logs are emitted
     assertThat(logResults).hasSize(targetBlocks.size() * txCount);
@@ -251,11 +241,7 @@ public class LogsSubscriptionServiceTest {
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
     for (LogsSubscription subscription : subscriptions) {
-      final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-      verify(subscriptionManager)
-          .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
-
-      final List<LogResult> logResults = captor.getAllValues();
+      final List<LogResult> logResults = sentLogResults(subscription);
 
       assertThat(logResults).hasSize(1);
       final LogResult result = logResults.get(0);
@@ -263,6 +249,65 @@ public class LogsSubscriptionServiceTest {
     }
   }
 
+  @Test
+  public void logSentOnceToAllMatchingSubscriptions() {
+    final BlockWithReceipts blockWithReceipts = generateBlock(2, 2, 2);
+    final Log targetLog = blockWithReceipts.getReceipts().get(1).getLogsList().get(1);
+
+    registerSubscriptions(
+        createSubscription(targetLog.getLogger()),
+        createSubscription(targetLog.getLogger()),
+        createSubscription(Collections.emptyList(), Collections.emptyList()));
+    blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
+
+    // the subscription to all logs receives the 4 logs of the block
+    verify(subscriptionManager, times(4))
+        .sendMessage(subscriptionIdsCaptor.capture(), logResultCaptor.capture());
+    assertThat(subscriptionIdsCaptor.getAllValues().get(3)).containsExactlyInAnyOrder(1L, 2L, 3L);
+    assertThat(logResultCaptor.getAllValues().get(3).getLogIndex()).isEqualTo(Quantity.create(3));
+  }
+
+  @Test
+  public void singleMatchingLogEventForFirstTopic() {
+    final BlockWithReceipts blockWithReceipts = generateBlock(2, 2, 2);
+    final Block block = blockWithReceipts.getBlock();
+    final List<TransactionReceipt> receipts = blockWithReceipts.getReceipts();
+    final Log targetLog = receipts.get(1).getLogsList().get(1);
+
+    final LogsSubscription subscription =
+        createSubscription(
+            Collections.emptyList(), List.of(List.of(targetLog.getTopics().get(0))));
+    final LogsSubscription otherSubscription =
+        createSubscription(
+            List.of(targetLog.getLogger()), List.of(List.of(gen.log(1).getTopics().get(0))));
+    registerSubscriptions(subscription, otherSubscription);
+    blockchain.appendBlock(block, receipts);
+
+    final List<LogResult> logResults = sentLogResults(subscription);
+    assertThat(logResults).hasSize(1);
+    assertLogResultMatches(logResults.get(0), block, receipts, 1, 1, 3, false);
+    assertThat(sentLogResults(otherSubscription)).isEmpty();
+  }
+
+  @Test
+  public void subscriptionsIndexedAgainWhenChanged() {
+    final BlockWithReceipts firstBlock = generateBlock(2, 2, 2);
+    final Log firstTargetLog = firstBlock.getReceipts().get(0).getLogsList().get(0);
+    final LogsSubscription subscription = createSubscription(firstTargetLog.getLogger());
+    registerSubscriptions(subscription);
+    blockchain.appendBlock(firstBlock.getBlock(), firstBlock.getReceipts());
+
+    final BlockWithReceipts secondBlock = generateBlock(2, 2, 2);
+    final Log secondTargetLog = secondBlock.getReceipts().get(0).getLogsList().get(0);
+    final LogsSubscription newSubscription = createSubscription(secondTargetLog.getLogger());
+    registerSubscriptions(subscription, newSubscription);
+    when(subscriptionManager.subscriptionsGeneration()).thenReturn(1L);
+    blockchain.appendBlock(secondBlock.getBlock(), secondBlock.getReceipts());
+
+    assertThat(sentLogResults(subscription)).hasSize(1);
+    assertThat(sentLogResults(newSubscription)).hasSize(1);
+  }
+
   @Test
   public void noLogsEmitted() {
     final Address address = Address.fromHexString("0x0");
@@ -272,9 +317,7 @@ public class LogsSubscriptionServiceTest {
     final BlockWithReceipts blockWithReceipts = generateBlock(2, 0, 0);
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(0))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+    assertThat(sentLogResults(subscription)).isEmpty();
   }
 
   @Test
@@ -286,9 +329,7 @@ public class LogsSubscriptionServiceTest {
     final BlockWithReceipts blockWithReceipts = generateBlock(2, 2, 2);
     blockchain.appendBlock(blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
 
-    final ArgumentCaptor<LogResult> captor = ArgumentCaptor.forClass(LogResult.class);
-    verify(subscriptionManager, times(0))
-        .sendMessage(eq(subscription.getSubscriptionId()), captor.capture());
+    assertThat(sentLogResults(subscription)).isEmpty();
   }
 
   private void assertLogResultMatches(
@@ -358,6 +399,17 @@ public class LogsSubscriptionServiceTest {
     return new BlockWithReceipts(block, receipts);
   }
 
+  private List<LogResult> sentLogResults(final LogsSubscription subscription) {
+    return mockingDetails(subscriptionManager).getInvocations().stream()
+        .filter(invocation -> invocation.getMethod().getName().equals("sendMessage"))
+        .filter(
+            invocation ->
+                invocation.getArgument(0) instanceof List<?> subscriptionIds
+                    && subscriptionIds.contains(subscription.getSubscriptionId()))
+        .map(invocation -> invocation.<LogResult>getArgument(1))
+        .collect(Collectors.toList());
+  }
+
   private LogsSubscription createSubscription(final Address address) {
     return createSubscription(Arrays.asList(address), Collections.emptyList());
   }
@@ -0,0 +1,110 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+public class FeeStatisticsServiceTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final Blockchain blockchain = mock(Blockchain.class);
+  private final FeeStatisticsService feeStatisticsService = new FeeStatisticsService(blockchain);
+
+  @Test
+  public void summarizesTheBlocksAddedToTheChainHead() {
+    final Block block = gen.block();
+    final List<TransactionReceipt> receipts = gen.receipts(block);
+
+    feeStatisticsService.onBlockAdded(
+        BlockAddedEvent.createForHeadAdvancement(block, List.of(), receipts));
+    final Optional<BlockFeeSummary> summary = feeStatisticsService.getSummary(block.getHash());
+
+    assertThat(summary).isPresent();
+    assertThat(summary.get().hasRewards()).isTrue();
+    verify(blockchain, never()).getBlockByHash(any());
+    verify(blockchain, never()).getTxReceipts(any());
+  }
+
+  @Test
+  public void onlyTheLastChainHeadIsKeptUntilUsed() {
+    final Block block = gen.block();
+    final Block nextBlock = gen.block();
+    when(blockchain.getBlockByHash(block.getHash())).thenReturn(Optional.of(block));
+    when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.of(gen.receipts(block)));
+
+    feeStatisticsService.onBlockAdded(
+        BlockAddedEvent.createForHeadAdvancement(block, List.of(), gen.receipts(block)));
+    feeStatisticsService.onBlockAdded(
+        BlockAddedEvent.createForHeadAdvancement(nextBlock, List.of(), gen.receipts(nextBlock)));
+
+    assertThat(feeStatisticsService.getSummary(nextBlock.getHash())).isPresent();
+    assertThat(feeStatisticsService.getSummary(block.getHash())).isPresent();
+
+    verify(blockchain, never()).getBlockByHash(nextBlock.getHash());
+    verify(blockchain).getBlockByHash(block.getHash());
+  }
+
+  @Test
+  public void summarizesOtherBlocksOnFirstUse() {
+    final Block block = gen.block();
+    when(blockchain.getBlockByHash(block.getHash())).thenReturn(Optional.of(block));
+    when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.of(gen.receipts(block)));
+
+    assertThat(feeStatisticsService.getSummary(block.getHash())).isPresent();
+    assertThat(feeStatisticsService.getSummary(block.getHash())).isPresent();
+
+    verify(blockchain, times(1)).getBlockByHash(block.getHash());
+  }
+
+  @Test
+  public void doesNotKeepSummariesWithoutReceipts() {
+    final Block block = gen.block();
+    when(blockchain.getBlockByHash(block.getHash())).thenReturn(Optional.of(block));
+    when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.empty());
+
+    assertThat(feeStatisticsService.getSummary(block.getHash()).map(BlockFeeSummary::hasRewards))
+        .contains(false);
+    assertThat(feeStatisticsService.getSummary(block.getHash())).isPresent();
+
+    verify(blockchain, times(2)).getBlockByHash(block.getHash());
+  }
+
+  @Test
+  public void rewardsOfEmptyBlocksAreZero() {
+    final Block block = gen.block(BlockDataGenerator.BlockOptions.create().hasTransactions(false));
+
+    final BlockFeeSummary summary = BlockFeeSummary.create(block, Optional.of(List.of()));
+
+    assertThat(summary.getRewards(List.of(10.0, 50.0))).contains(List.of(Wei.ZERO, Wei.ZERO));
+  }
+}
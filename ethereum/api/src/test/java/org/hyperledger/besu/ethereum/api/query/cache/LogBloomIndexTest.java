@@ -0,0 +1,166 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.datatypes.LogsBloomFilter;
+import org.hyperledger.besu.ethereum.api.query.LogsQuery;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LogBloomIndexTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x123456");
+  private static final Address OTHER_ADDRESS = Address.fromHexString("0x654321");
+  private static final LogTopic TOPIC = LogTopic.of(Bytes32.repeat((byte) 1));
+
+  @TempDir private Path cacheDir;
+
+  @Test
+  public void noSegmentBeforeFirstBloomIsIndexed() {
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+
+    assertThat(index.getSegment(0)).isEmpty();
+    assertThat(Files.exists(cacheDir.resolve("logBloomIndex-0.cache"))).isFalse();
+  }
+
+  @Test
+  public void findsBlocksWhoseBloomCouldMatch() throws IOException {
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+    final List<Bytes> blooms = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      blooms.add(i % 3 == 0 ? bloom(ADDRESS, TOPIC) : bloom(OTHER_ADDRESS));
+    }
+    index.setBlooms(BLOCKS_PER_BLOOM_CACHE + 10, blooms);
+
+    final List<Integer> matches =
+        matchingBlocks(index, 1, new LogsQuery(List.of(ADDRESS), List.of(List.of(TOPIC))), 0, 300);
+
+    final List<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 200; i += 3) {
+      expected.add(10 + i);
+    }
+    assertThat(matches).isEqualTo(expected);
+  }
+
+  @Test
+  public void matchesAnyBloomOfACondition() throws IOException {
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+    index.setBlooms(0, List.of(bloom(ADDRESS), bloom(OTHER_ADDRESS), bloom(ADDRESS, TOPIC)));
+
+    assertThat(
+            matchingBlocks(
+                index, 0, new LogsQuery(List.of(ADDRESS, OTHER_ADDRESS), List.of()), 0, 2))
+        .containsExactly(0, 1, 2);
+    assertThat(
+            matchingBlocks(
+                index, 0, new LogsQuery(List.of(), List.of(List.of(), List.of(TOPIC))), 0, 2))
+        .containsExactly(2);
+  }
+
+  @Test
+  public void reportsBlocksWhichAreNotIndexed() throws IOException {
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+    index.setBlooms(0, Collections.nCopies(100, bloom(OTHER_ADDRESS)));
+    index.removeBlocksFrom(70);
+
+    final LogBloomIndex.MatchingBlocks blocks =
+        index
+            .getSegment(0)
+            .orElseThrow()
+            .matchingBlocks(new LogsQuery(List.of(ADDRESS), List.of()).bloomConditions(), 50, 80);
+
+    assertThat(blocks.nextBlock(50)).isEqualTo(70);
+    assertThat(blocks.isIndexed(70)).isFalse();
+    assertThat(blocks.nextBlock(80)).isEqualTo(80);
+    assertThat(blocks.nextBlock(81)).isEqualTo(-1);
+  }
+
+  @Test
+  public void replacesTheBloomOfAReorganizedBlock() throws IOException {
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+    index.setBlooms(0, List.of(bloom(ADDRESS), bloom(ADDRESS)));
+    index.setBlooms(1, List.of(bloom(OTHER_ADDRESS)));
+
+    assertThat(matchingBlocks(index, 0, new LogsQuery(List.of(ADDRESS), List.of()), 0, 1))
+        .containsExactly(0);
+    assertThat(matchingBlocks(index, 0, new LogsQuery(List.of(OTHER_ADDRESS), List.of()), 0, 1))
+        .containsExactly(1);
+  }
+
+  @Test
+  public void segmentIsCompleteWhenAllItsBlocksAreIndexed() throws IOException {
+    final LogBloomIndex index = new LogBloomIndex(cacheDir);
+    final List<Bytes> blooms = Collections.nCopies(BLOCKS_PER_BLOOM_CACHE, bloom(ADDRESS));
+    index.setBlooms(0, blooms.subList(0, BLOCKS_PER_BLOOM_CACHE - 1));
+    assertThat(index.isSegmentComplete(0)).isFalse();
+
+    index.setBlooms(BLOCKS_PER_BLOOM_CACHE - 1, blooms.subList(0, 1));
+    assertThat(index.isSegmentComplete(0)).isTrue();
+  }
+
+  @Test
+  public void indexIsReadBackFromDisk() throws IOException {
+    new LogBloomIndex(cacheDir).setBlooms(5, List.of(bloom(ADDRESS)));
+
+    final LogBloomIndex reopened = new LogBloomIndex(cacheDir);
+    assertThat(matchingBlocks(reopened, 0, new LogsQuery(List.of(ADDRESS), List.of()), 0, 5))
+        .containsExactly(5);
+    assertThat(reopened.removeSegment(0)).isTrue();
+    assertThat(reopened.getSegment(0)).isEmpty();
+  }
+
+  private static List<Integer> matchingBlocks(
+      final LogBloomIndex index,
+      final long segmentNumber,
+      final LogsQuery query,
+      final int fromOffset,
+      final int toOffset) {
+    final LogBloomIndex.MatchingBlocks blocks =
+        index
+            .getSegment(segmentNumber)
+            .orElseThrow()
+            .matchingBlocks(query.bloomConditions(), fromOffset, toOffset);
+    final List<Integer> matches = new ArrayList<>();
+    for (int pos = blocks.nextBlock(fromOffset); pos >= 0; pos = blocks.nextBlock(pos + 1)) {
+      if (blocks.isIndexed(pos)) {
+        matches.add(pos);
+      }
+    }
+    return matches;
+  }
+
+  private static Bytes bloom(final Address address, final LogTopic... topics) {
+    return LogsBloomFilter.builder()
+        .insertLog(new Log(address, Bytes.EMPTY, List.of(topics)))
+        .build()
+        .getBytes();
+  }
+}
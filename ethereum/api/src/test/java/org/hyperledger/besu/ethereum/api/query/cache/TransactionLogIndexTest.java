@@ -0,0 +1,173 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.query.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Log;
+import org.hyperledger.besu.datatypes.LogTopic;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class TransactionLogIndexTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x123456");
+  private static final Address OTHER_ADDRESS = Address.fromHexString("0x654321");
+  private static final LogTopic TOPIC = LogTopic.of(Bytes32.repeat((byte) 1));
+  private static final LogTopic OTHER_TOPIC = LogTopic.of(Bytes32.repeat((byte) 2));
+
+  private final InMemoryKeyValueStorage storage = new InMemoryKeyValueStorage();
+  private final Map<Long, Hash> canonicalChain = new HashMap<>();
+  private TransactionLogIndex index;
+
+  @BeforeEach
+  public void setUp() {
+    index = new TransactionLogIndex(storage);
+  }
+
+  @Test
+  public void indexIsEmptyUntilABlockIsIndexed() {
+    assertThat(index.isEmpty()).isTrue();
+
+    indexBlock(5, log(ADDRESS));
+
+    assertThat(index.isEmpty()).isFalse();
+    assertThat(index.getLowestIndexedBlock()).isEqualTo(5);
+    assertThat(index.getHighestIndexedBlock()).isEqualTo(5);
+  }
+
+  @Test
+  public void findsTheBlocksHoldingLogsOfAnAddress() {
+    final Hash block1 = indexBlock(1, log(ADDRESS));
+    indexBlock(2, log(OTHER_ADDRESS));
+    final Hash block3 = indexBlock(3, log(OTHER_ADDRESS), log(ADDRESS, TOPIC));
+
+    assertThat(lookUp(List.of(ADDRESS), List.of(), 0, 10)).contains(List.of(block1, block3));
+    assertThat(lookUp(List.of(ADDRESS), List.of(), 2, 2)).contains(List.of());
+  }
+
+  @Test
+  public void requiresTheAddressAndTopicsInTheSameLog() {
+    indexBlock(1, log(ADDRESS), log(OTHER_ADDRESS, TOPIC));
+    final Hash block2 = indexBlock(2, log(ADDRESS, TOPIC));
+
+    assertThat(lookUp(List.of(ADDRESS), List.of(List.of(TOPIC)), 0, 10))
+        .contains(List.of(block2));
+  }
+
+  @Test
+  public void matchesTopicsAtTheirPosition() {
+    indexBlock(1, log(ADDRESS, TOPIC, OTHER_TOPIC));
+    final Hash block2 = indexBlock(2, log(ADDRESS, OTHER_TOPIC, TOPIC));
+
+    assertThat(lookUp(List.of(), List.of(List.of(), List.of(TOPIC)), 0, 10))
+        .contains(List.of(block2));
+    assertThat(lookUp(List.of(), List.of(Arrays.asList(null, TOPIC), List.of(TOPIC)), 0, 10))
+        .contains(List.of(block2));
+  }
+
+  @Test
+  public void cannotLookUpQueriesMatchingAllLogs() {
+    indexBlock(1, log(ADDRESS));
+
+    assertThat(lookUp(List.of(), List.of(), 0, 10)).isEmpty();
+    assertThat(lookUp(List.of(), List.of(Arrays.asList((LogTopic) null)), 0, 10)).isEmpty();
+  }
+
+  @Test
+  public void skipsBlocksWhichAreNoLongerCanonical() {
+    indexBlock(1, log(ADDRESS));
+    indexBlock(2, log(ADDRESS));
+    // reorg replacing block 2 with a block without logs of the address
+    indexBlock(2, log(OTHER_ADDRESS));
+
+    assertThat(lookUp(List.of(ADDRESS), List.of(), 0, 10))
+        .contains(List.of(canonicalChain.get(1L)));
+    assertThat(lookUp(List.of(OTHER_ADDRESS), List.of(), 0, 10))
+        .contains(List.of(canonicalChain.get(2L)));
+  }
+
+  @Test
+  public void extendsTheIndexedRangeWithAdjacentBlocks() {
+    indexBlock(10);
+    indexBlock(11);
+    indexBlock(9);
+    assertThat(index.getLowestIndexedBlock()).isEqualTo(9);
+    assertThat(index.getHighestIndexedBlock()).isEqualTo(11);
+
+    // a gap restarts the range
+    indexBlock(20);
+    assertThat(index.getLowestIndexedBlock()).isEqualTo(20);
+    assertThat(index.getHighestIndexedBlock()).isEqualTo(20);
+  }
+
+  @Test
+  public void indexedRangeIsReadBackFromStorage() {
+    indexBlock(3);
+    indexBlock(4);
+
+    final TransactionLogIndex reopened = new TransactionLogIndex(storage);
+    assertThat(reopened.getLowestIndexedBlock()).isEqualTo(3);
+    assertThat(reopened.getHighestIndexedBlock()).isEqualTo(4);
+  }
+
+  private Optional<List<Hash>> lookUp(
+      final List<Address> addresses,
+      final List<List<LogTopic>> topics,
+      final long fromBlockNumber,
+      final long toBlockNumber) {
+    return index.lookUp(
+        addresses,
+        topics,
+        fromBlockNumber,
+        toBlockNumber,
+        number -> Optional.ofNullable(canonicalChain.get(number)));
+  }
+
+  private Hash indexBlock(final long number, final Log... logs) {
+    final BlockHeader header =
+        new BlockHeaderTestFixture()
+            .number(number)
+            .extraData(Bytes.of(canonicalChain.size()))
+            .buildHeader();
+    final List<TransactionReceipt> receipts = new ArrayList<>();
+    for (final Log log : logs) {
+      receipts.add(new TransactionReceipt(1, 21_000L, List.of(log), Optional.empty()));
+    }
+    index.indexBlock(header, receipts);
+    canonicalChain.put(number, header.getHash());
+    return header.getHash();
+  }
+
+  private static Log log(final Address address, final LogTopic... topics) {
+    return new Log(address, Bytes.EMPTY, List.of(topics));
+  }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.vm.operations;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.LongLimbOperandStack;
+import org.hyperledger.besu.evm.operation.LongLimbStackOperations;
+import org.hyperledger.besu.evm.operation.Operation;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Counterpart of {@link AddOperationBenchmark} for frames using the long limb operand stack.
+ *
+ * <p>{@code executeOperation} keeps the harness of {@link BinaryOperationBenchmark}, so operands
+ * still cross the Bytes boundary on push and pop. {@code executeInPlace} feeds the operands from
+ * PUSH32 immediates and drops the result with POP, the way the interpreter loop does.
+ */
+public class AddOperationLongLimbStackBenchmark extends BinaryOperationBenchmark {
+
+  private static final int ADD = 0x01;
+
+  private byte[][] aCode;
+  private byte[][] bCode;
+  private LongLimbOperandStack stack;
+
+  @Override
+  public void setUp() {
+    super.setUp();
+    frame = BenchmarkHelper.createMessageCallFrame(true);
+    stack = frame.getLongLimbStack();
+    aCode = toPush32Code(aPool);
+    bCode = toPush32Code(bPool);
+  }
+
+  @Override
+  protected Operation.OperationResult invoke(final MessageFrame frame) {
+    return LongLimbStackOperations.execute(frame, stack, aCode[index], 0, ADD, true);
+  }
+
+  @Benchmark
+  public void executeInPlace(final Blackhole blackhole) {
+    stack.pushImmediate(bCode[index], 1, 32);
+    stack.pushImmediate(aCode[index], 1, 32);
+
+    blackhole.consume(LongLimbStackOperations.execute(frame, stack, aCode[index], 0, ADD, true));
+
+    stack.bulkPop(1);
+
+    index = (index + 1) % SAMPLE_SIZE;
+  }
+
+  private static byte[][] toPush32Code(final Bytes[] pool) {
+    final byte[][] code = new byte[pool.length][];
+    for (int i = 0; i < pool.length; i++) {
+      code[i] = Bytes.concatenate(Bytes.of(0x7f), Bytes32.leftPad(pool[i])).toArray();
+    }
+    return code;
+  }
+}
@@ -35,7 +35,12 @@ import org.apache.tuweni.units.bigints.UInt256;
 
 public class BenchmarkHelper {
   public static MessageFrame createMessageCallFrame() {
+    return createMessageCallFrame(false);
+  }
+
+  public static MessageFrame createMessageCallFrame(final boolean longLimbStack) {
     return MessageFrame.builder()
+        .longLimbStack(longLimbStack)
         .worldUpdater(mock(WorldUpdater.class))
         .originator(Address.ZERO)
         .gasPrice(Wei.ONE)
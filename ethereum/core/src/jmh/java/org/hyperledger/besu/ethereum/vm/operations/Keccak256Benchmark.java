@@ -15,15 +15,22 @@
 package org.hyperledger.besu.ethereum.vm.operations;
 
 import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.crypto.Keccak256;
+import org.hyperledger.besu.crypto.MessageDigestFactory;
 
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
 import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
@@ -38,21 +45,55 @@ import org.openjdk.jmh.annotations.Warmup;
 @BenchmarkMode(Mode.AverageTime)
 public class Keccak256Benchmark {
 
-  @Param({"32", "64", "128", "256", "512"})
+  private static final int BATCH_SIZE = 64;
+
+  @Param({"32", "64", "128", "256", "512", "1024", "4096"})
   private String inputSize;
 
   public Bytes bytes;
+  public List<Bytes> batch;
+  private MessageDigest prototypeDigest;
+  private final byte[] output = new byte[Keccak256.DIGEST_SIZE];
 
   @Setup
-  public void setUp() {
+  public void setUp() throws Exception {
     final Random random = new Random();
+    bytes = randomBytes(random);
+    batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      batch.add(randomBytes(random));
+    }
+    prototypeDigest = MessageDigestFactory.create(MessageDigestFactory.KECCAK256_ALG);
+  }
+
+  private Bytes randomBytes(final Random random) {
     final byte[] byteArray = new byte[Integer.parseInt(inputSize)];
     random.nextBytes(byteArray);
-    bytes = Bytes.wrap(byteArray);
+    return Bytes.wrap(byteArray);
   }
 
   @Benchmark
   public void executeOperation() {
     Hash.keccak256(bytes);
   }
+
+  /** The previous implementation, cloning a message digest for each hash. */
+  @Benchmark
+  public Bytes32 clonedMessageDigest() throws CloneNotSupportedException {
+    final MessageDigest digest = (MessageDigest) prototypeDigest.clone();
+    bytes.update(digest);
+    return Bytes32.wrap(digest.digest());
+  }
+
+  @Benchmark
+  public byte[] intoPreallocatedArray() {
+    Keccak256.hash(bytes, output, 0);
+    return output;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public List<Bytes32> hashAll() {
+    return Keccak256.hashAll(batch);
+  }
 }
@@ -20,6 +20,7 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.plugin.ServiceManager;
 
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 /**
  * Holds the mutable state used to track the current context of the protocol. This is primarily the
@@ -32,6 +33,7 @@ public class ProtocolContext {
   private final ConsensusContext consensusContext;
   private final BadBlockManager badBlockManager;
   private final ServiceManager serviceManager;
+  private final Optional<Executor> statePrefetchExecutor;
 
   /**
    * Constructs a new ProtocolContext with the given blockchain, world state archive, consensus
@@ -49,11 +51,39 @@ public class ProtocolContext {
       final ConsensusContext consensusContext,
       final BadBlockManager badBlockManager,
       final ServiceManager serviceManager) {
+    this(
+        blockchain,
+        worldStateArchive,
+        consensusContext,
+        badBlockManager,
+        serviceManager,
+        Optional.empty());
+  }
+
+  /**
+   * Constructs a new ProtocolContext with the given blockchain, world state archive, consensus
+   * context, bad block manager and state prefetch executor.
+   *
+   * @param blockchain the blockchain of the protocol context
+   * @param worldStateArchive the world state archive of the protocol context
+   * @param consensusContext the consensus context
+   * @param badBlockManager the bad block manager of the protocol context
+   * @param serviceManager plugin service manager
+   * @param statePrefetchExecutor the executor loading the state of imported blocks, if enabled
+   */
+  protected ProtocolContext(
+      final MutableBlockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final ConsensusContext consensusContext,
+      final BadBlockManager badBlockManager,
+      final ServiceManager serviceManager,
+      final Optional<Executor> statePrefetchExecutor) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.consensusContext = consensusContext;
     this.badBlockManager = badBlockManager;
     this.serviceManager = serviceManager;
+    this.statePrefetchExecutor = statePrefetchExecutor;
   }
 
   /**
@@ -92,6 +122,15 @@ public class ProtocolContext {
     return serviceManager;
   }
 
+  /**
+   * Gets the executor loading the state of imported blocks ahead of their execution.
+   *
+   * @return the state prefetch executor, empty when the state prefetch is disabled
+   */
+  public Optional<Executor> getStatePrefetchExecutor() {
+    return statePrefetchExecutor;
+  }
+
   /**
    * Gets the consensus context of the protocol context.
    *
@@ -152,6 +191,7 @@ public class ProtocolContext {
     private ConsensusContext consensusContext;
     private BadBlockManager badBlockManager = new BadBlockManager();
     private ServiceManager serviceManager = new ServiceManager.SimpleServiceManager();
+    private Optional<Executor> statePrefetchExecutor = Optional.empty();
 
     /** Default constructor. linter requires javadoc. */
     public Builder() {}
@@ -211,6 +251,18 @@ public class ProtocolContext {
       return this;
     }
 
+    /**
+     * Sets the {@link Executor} loading the state of imported blocks for the {@link
+     * ProtocolContext}.
+     *
+     * @param statePrefetchExecutor the state prefetch executor to be used in the protocol context.
+     * @return the builder instance for chaining.
+     */
+    public Builder withStatePrefetchExecutor(final Executor statePrefetchExecutor) {
+      this.statePrefetchExecutor = Optional.of(statePrefetchExecutor);
+      return this;
+    }
+
     /**
      * Constructs a new {@link ProtocolContext} using the currently configured properties.
      *
@@ -218,7 +270,12 @@ public class ProtocolContext {
      */
     public ProtocolContext build() {
       return new ProtocolContext(
-          blockchain, worldStateArchive, consensusContext, badBlockManager, serviceManager);
+          blockchain,
+          worldStateArchive,
+          consensusContext,
+          badBlockManager,
+          serviceManager,
+          statePrefetchExecutor);
     }
   }
 }
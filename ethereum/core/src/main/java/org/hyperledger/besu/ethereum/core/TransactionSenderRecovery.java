@@ -0,0 +1,114 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recovers the senders of batches of transactions in parallel, so that they are already known when
+ * the transactions are validated or executed.
+ *
+ * <p>The batches are split across a shared work-stealing pool, each task recovering the senders of
+ * a range of transactions. A transaction whose sender cannot be recovered is left as is, the
+ * failure being reported when its sender is next requested.
+ */
+public final class TransactionSenderRecovery {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionSenderRecovery.class);
+
+  /** Below this number of transactions, a range is not split any further. */
+  static final int MIN_TRANSACTIONS_PER_TASK = 16;
+
+  private static final ForkJoinPool POOL =
+      new ForkJoinPool(
+          Runtime.getRuntime().availableProcessors(),
+          pool -> {
+            final ForkJoinWorkerThread thread =
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("SenderRecovery-" + thread.getPoolIndex());
+            return thread;
+          },
+          null,
+          false);
+
+  private TransactionSenderRecovery() {}
+
+  /**
+   * Recovers the senders of the transactions, returning once they are all recovered.
+   *
+   * @param transactions the transactions
+   */
+  public static void recoverSenders(final List<? extends Transaction> transactions) {
+    if (transactions.size() <= MIN_TRANSACTIONS_PER_TASK) {
+      recoverSenders(transactions, 0, transactions.size());
+    } else {
+      POOL.invoke(new RecoverSendersTask(transactions, 0, transactions.size()));
+    }
+  }
+
+  /**
+   * Recovers the senders of the transactions in the background.
+   *
+   * @param transactions the transactions
+   * @return a future completed once the senders are all recovered
+   */
+  public static CompletableFuture<Void> recoverSendersAsync(
+      final List<? extends Transaction> transactions) {
+    return CompletableFuture.runAsync(() -> recoverSenders(transactions), POOL);
+  }
+
+  private static void recoverSenders(
+      final List<? extends Transaction> transactions, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      final Transaction transaction = transactions.get(i);
+      try {
+        transaction.getSender();
+      } catch (final RuntimeException e) {
+        LOG.trace("Cannot recover the sender of transaction {}", transaction.getHash(), e);
+      }
+    }
+  }
+
+  private static class RecoverSendersTask extends RecursiveAction {
+    private final List<? extends Transaction> transactions;
+    private final int from;
+    private final int to;
+
+    RecoverSendersTask(
+        final List<? extends Transaction> transactions, final int from, final int to) {
+      this.transactions = transactions;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= MIN_TRANSACTIONS_PER_TASK) {
+        recoverSenders(transactions, from, to);
+      } else {
+        final int middle = (from + to) >>> 1;
+        invokeAll(
+            new RecoverSendersTask(transactions, from, middle),
+            new RecoverSendersTask(transactions, middle, to));
+      }
+    }
+  }
+}
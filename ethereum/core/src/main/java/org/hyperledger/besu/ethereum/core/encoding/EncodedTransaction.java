@@ -0,0 +1,121 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core.encoding;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A transaction as it has been received, that is decoded only when it is needed.
+ *
+ * <p>It keeps a slice of the RLP encoded list the transaction was read from, without copying it.
+ * The hash of the transaction is computed from that slice, so that a transaction that has already
+ * been seen can be dropped without decoding its fields. The transaction is decoded on the first
+ * call to {@link #decode()}, and the decoded transaction is kept for the following calls.
+ */
+public final class EncodedTransaction {
+
+  private final Bytes encoded;
+  private final EncodingContext context;
+  private volatile Hash hash;
+  private volatile Transaction transaction;
+
+  private EncodedTransaction(final Bytes encoded, final EncodingContext context) {
+    this.encoded = encoded;
+    this.context = context;
+  }
+
+  /**
+   * Reads the next item of the RLP input as an encoded transaction. Only the boundaries of the item
+   * are checked, its content is checked when the hash is computed or the transaction decoded.
+   *
+   * @param rlpInput the RLP input, positioned on a transaction
+   * @param context the encoding context of the transaction
+   * @return the encoded transaction
+   */
+  public static EncodedTransaction readFrom(
+      final RLPInput rlpInput, final EncodingContext context) {
+    return new EncodedTransaction(rlpInput.readAsRlp().raw(), context);
+  }
+
+  /**
+   * The RLP encoding of the transaction, as it appeared in its list: an RLP list for a legacy
+   * transaction, or an RLP string wrapping the EIP-2718 envelope for a typed transaction.
+   *
+   * @return the encoded transaction
+   */
+  public Bytes getEncoded() {
+    return encoded;
+  }
+
+  /**
+   * Returns the transaction hash, computed from the encoded transaction without decoding it.
+   *
+   * @return the transaction hash
+   * @throws RLPException if the encoded transaction is malformed
+   * @throws IllegalArgumentException if the transaction type is not supported
+   */
+  public Hash getHash() {
+    if (hash == null) {
+      hash = computeHash();
+    }
+    return hash;
+  }
+
+  private Hash computeHash() {
+    final RLPInput input = RLP.input(encoded);
+    if (input.nextIsList()) {
+      // legacy transaction, hashed as is
+      return Hash.hash(encoded);
+    }
+
+    final Bytes opaqueBytes = input.readBytes();
+    if (opaqueBytes.isEmpty()) {
+      throw new RLPException("Empty typed transaction");
+    }
+    final TransactionType type =
+        TransactionType.fromOpaque(opaqueBytes.get(0))
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported transaction type"));
+    if (type.supportsBlob() && context == EncodingContext.POOLED_TRANSACTION) {
+      // the network representation wraps the transaction payload with the blobs, and only the
+      // payload is hashed: type || rlp([tx_payload_body, ...]) is hashed as type || tx_payload_body
+      final RLPInput networkInput = RLP.input(opaqueBytes.slice(1));
+      networkInput.enterList();
+      final Bytes payloadBody = networkInput.readAsRlp().raw();
+      return Hash.hash(Bytes.concatenate(opaqueBytes.slice(0, 1), payloadBody));
+    }
+    return Hash.hash(opaqueBytes);
+  }
+
+  /**
+   * Decodes the transaction, the first time this method is called.
+   *
+   * @return the decoded transaction
+   * @throws RLPException if the encoded transaction is malformed
+   * @throws IllegalArgumentException if the transaction type is not supported
+   */
+  public Transaction decode() {
+    if (transaction == null) {
+      transaction = TransactionDecoder.decodeRLP(RLP.input(encoded), context);
+    }
+    return transaction;
+  }
+}
@@ -31,6 +31,7 @@ import org.hyperledger.besu.ethereum.core.Request;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.AbstractBlockProcessor.PreprocessingFunction.NoPreprocessing;
+import org.hyperledger.besu.ethereum.mainnet.BlockStatePrefetcher.Prefetch;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
@@ -46,6 +47,7 @@ import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.common.StateRootMismatchException;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.PathBasedWorldStateProvider;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
 import org.hyperledger.besu.evm.worldstate.StackedUpdater;
 import org.hyperledger.besu.evm.worldstate.WorldState;
@@ -60,6 +62,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -90,6 +93,7 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
   private final ProtocolSchedule protocolSchedule;
   protected final BalConfiguration balConfiguration;
   private final BlockProcessingMetrics blockProcessingMetrics;
+  private BlockStatePrefetcher blockStatePrefetcher;
 
   protected final MiningBeneficiaryCalculator miningBeneficiaryCalculator;
   private BlockImportTracerProvider blockImportTracerProvider = null;
@@ -130,6 +134,12 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     this.protocolSchedule = protocolSchedule;
     this.balConfiguration = balConfiguration;
     this.blockProcessingMetrics = new BlockProcessingMetrics(metricsSystem);
+    this.blockStatePrefetcher = new BlockStatePrefetcher(metricsSystem);
+  }
+
+  @VisibleForTesting
+  void setBlockStatePrefetcher(final BlockStatePrefetcher blockStatePrefetcher) {
+    this.blockStatePrefetcher = blockStatePrefetcher;
   }
 
   private BlockAwareOperationTracer getBlockImportTracer(
@@ -249,6 +259,15 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
     Optional<BlockAccessListBuilder> blockAccessListBuilder =
         maybeBalFactory.map(BlockAccessListFactory::newBlockAccessListBuilder);
 
+    final Optional<Prefetch> statePrefetch =
+        startStatePrefetch(
+            protocolContext,
+            worldState,
+            blockHeader,
+            transactions,
+            miningBeneficiary,
+            blockAccessList);
+
     try {
       final Optional<AccessLocationTracker> preExecutionAccessLocationTracker =
           blockAccessListBuilder.map(
@@ -294,6 +313,8 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
 
       for (int i = 0; i < transactions.size(); i++) {
         final WorldUpdater blockUpdater = worldState.updater();
+        statePrefetch.ifPresent(
+            prefetch -> prefetch.importIfDone((BonsaiWorldStateUpdateAccumulator) blockUpdater));
         final Transaction transaction = transactions.get(i);
         WorldUpdater transactionUpdater = blockUpdater.updater();
         if (!(transactionUpdater instanceof StackedUpdater<?, ?>)) {
@@ -372,6 +393,8 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
           nbParallelTx++;
         }
       }
+      statePrefetch.ifPresent(
+          prefetch -> prefetch.finish((BonsaiWorldStateUpdateAccumulator) worldState.updater()));
       final var optionalHeaderBlobGasUsed = blockHeader.getBlobGasUsed();
       if (optionalHeaderBlobGasUsed.isPresent()) {
         final long headerBlobGasUsed = optionalHeaderBlobGasUsed.get();
@@ -549,10 +572,27 @@ public abstract class AbstractBlockProcessor implements BlockProcessor {
                   cumulativeBlockGasUsed)),
           parallelizedTxFound ? Optional.of(nbParallelTx) : Optional.empty());
     } finally {
+      statePrefetch.ifPresent(Prefetch::cancel);
       stateRootCommitter.cancel();
     }
   }
 
+  private Optional<Prefetch> startStatePrefetch(
+      final ProtocolContext protocolContext,
+      final MutableWorldState worldState,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final Optional<BlockAccessList> blockAccessList) {
+    if (!(worldState instanceof BonsaiWorldState)
+        || !(protocolContext.getWorldStateArchive() instanceof PathBasedWorldStateProvider provider)
+        || !provider.getWorldStateSharedSpec().isStatePrefetchEnabled()) {
+      return Optional.empty();
+    }
+    return blockStatePrefetcher.start(
+        protocolContext, blockHeader, transactions, miningBeneficiary, blockAccessList);
+  }
+
   @SuppressWarnings("unused") // preProcessingContext and location are used by subclasses
   protected TransactionProcessingResult getTransactionProcessingResult(
       final Optional<PreprocessingContext> preProcessingContext,
@@ -0,0 +1,396 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import org.hyperledger.besu.datatypes.AccessListEntry;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.CodeDelegation;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.AccountChanges;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.SlotChanges;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.SlotRead;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the state a block is known to access in parallel, ahead of its sequential execution.
+ *
+ * <p>The accounts and storage slots to load are taken from the block itself: the sender and the
+ * recipient of each transaction, its EIP-2930 access list, the authorities and targets of its
+ * EIP-7702 code delegations, the mining beneficiary and, when one is provided, the block access
+ * list. They are read from a separate world state at the parent block, which fills the database
+ * caches, the cached merkle trie loader and the code cache, and leaves their values in the
+ * accumulator of that world state.
+ *
+ * <p>Once all the loads are done the values are imported, between two transactions, in the block
+ * accumulator as prior state. Only the entries the block execution has not loaded yet are imported,
+ * so a value the execution has read or modified is never overridden.
+ */
+public class BlockStatePrefetcher {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BlockStatePrefetcher.class);
+
+  private static final int TRANSACTIONS_PER_TASK = 8;
+  private static final int ACCOUNTS_PER_TASK = 16;
+
+  private final Counter completedBlocksCounter;
+  private final Counter unfinishedBlocksCounter;
+  private final Counter accountHitCounter;
+  private final Counter accountLateCounter;
+  private final Counter accountMissCounter;
+  private final Counter slotHitCounter;
+  private final Counter slotLateCounter;
+  private final Counter slotMissCounter;
+
+  public BlockStatePrefetcher(final MetricsSystem metricsSystem) {
+    final LabelledMetric<Counter> blocksCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "state_prefetch_blocks_total",
+            "Count of blocks whose state was prefetched, by whether the prefetch was done before"
+                + " the last transaction of the block",
+            "result");
+    completedBlocksCounter = blocksCounter.labels("completed");
+    unfinishedBlocksCounter = blocksCounter.labels("unfinished");
+
+    final LabelledMetric<Counter> accountsCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "state_prefetch_accounts_total",
+            "Count of accounts prefetched before the execution loaded them (hit), after (late),"
+                + " or loaded by the execution without being prefetched (miss)",
+            "result");
+    accountHitCounter = accountsCounter.labels("hit");
+    accountLateCounter = accountsCounter.labels("late");
+    accountMissCounter = accountsCounter.labels("miss");
+
+    final LabelledMetric<Counter> slotsCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "state_prefetch_storage_slots_total",
+            "Count of storage slots prefetched before the execution loaded them (hit), after"
+                + " (late), or loaded by the execution without being prefetched (miss)",
+            "result");
+    slotHitCounter = slotsCounter.labels("hit");
+    slotLateCounter = slotsCounter.labels("late");
+    slotMissCounter = slotsCounter.labels("miss");
+  }
+
+  /**
+   * Starts loading the state the block is known to access, on the state prefetch executor of the
+   * protocol context. Nothing is loaded when the protocol context has no such executor, or when the
+   * parent of the block is not the chain head, as its world state cannot be cheaply opened.
+   *
+   * @param protocolContext the protocol context
+   * @param blockHeader the header of the block about to be executed
+   * @param transactions the transactions of the block
+   * @param miningBeneficiary the mining beneficiary of the block
+   * @param blockAccessList the block access list, if one was provided with the block
+   * @return the running prefetch, empty if nothing is loaded
+   */
+  public Optional<Prefetch> start(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final Optional<BlockAccessList> blockAccessList) {
+    final Optional<Executor> maybeExecutor = protocolContext.getStatePrefetchExecutor();
+    if (maybeExecutor.isEmpty()) {
+      return Optional.empty();
+    }
+    final Executor executor = maybeExecutor.get();
+    final BonsaiWorldState worldState = getParentWorldState(protocolContext, blockHeader);
+    if (worldState == null) {
+      return Optional.empty();
+    }
+    final BonsaiWorldStateUpdateAccumulator accumulator =
+        (BonsaiWorldStateUpdateAccumulator) worldState.getAccumulator();
+    final AtomicBoolean cancelled = new AtomicBoolean();
+
+    final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    boolean rejected = false;
+    try {
+      tasks.add(
+          CompletableFuture.runAsync(
+              () -> loadAccountQuietly(accumulator, miningBeneficiary), executor));
+      for (int from = 0; from < transactions.size(); from += TRANSACTIONS_PER_TASK) {
+        final List<Transaction> batch =
+            transactions.subList(from, Math.min(from + TRANSACTIONS_PER_TASK, transactions.size()));
+        tasks.add(
+            CompletableFuture.runAsync(
+                () -> {
+                  for (final Transaction transaction : batch) {
+                    if (cancelled.get()) {
+                      return;
+                    }
+                    loadTransactionState(accumulator, transaction);
+                  }
+                },
+                executor));
+      }
+      blockAccessList.ifPresent(
+          bal -> {
+            final List<AccountChanges> accountChanges = bal.accountChanges();
+            for (int from = 0; from < accountChanges.size(); from += ACCOUNTS_PER_TASK) {
+              final List<AccountChanges> batch =
+                  accountChanges.subList(
+                      from, Math.min(from + ACCOUNTS_PER_TASK, accountChanges.size()));
+              tasks.add(
+                  CompletableFuture.runAsync(
+                      () -> {
+                        for (final AccountChanges changes : batch) {
+                          if (cancelled.get()) {
+                            return;
+                          }
+                          loadAccountChanges(accumulator, changes);
+                        }
+                      },
+                      executor));
+            }
+          });
+    } catch (final RejectedExecutionException e) {
+      // the executor is shut down with the node, the loads already started still close the state
+      cancelled.set(true);
+      rejected = true;
+    }
+
+    final CompletableFuture<Void> loads =
+        CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]))
+            .whenComplete((result, error) -> worldState.close());
+    return rejected ? Optional.empty() : Optional.of(new Prefetch(accumulator, loads, cancelled));
+  }
+
+  private static BonsaiWorldState getParentWorldState(
+      final ProtocolContext protocolContext, final BlockHeader blockHeader) {
+    final BlockHeader chainHeadHeader = protocolContext.getBlockchain().getChainHeadHeader();
+    if (!chainHeadHeader.getHash().equals(blockHeader.getParentHash())) {
+      return null;
+    }
+    return (BonsaiWorldState)
+        protocolContext
+            .getWorldStateArchive()
+            .getWorldState(
+                WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead(chainHeadHeader))
+            .orElse(null);
+  }
+
+  private static void loadTransactionState(
+      final BonsaiWorldStateUpdateAccumulator accumulator, final Transaction transaction) {
+    try {
+      loadAccount(accumulator, transaction.getSender());
+      transaction.getTo().ifPresent(to -> loadAccount(accumulator, to));
+      transaction
+          .getAccessList()
+          .ifPresent(
+              accessList -> {
+                for (final AccessListEntry entry : accessList) {
+                  loadAccount(accumulator, entry.address());
+                  for (final Bytes32 storageKey : entry.storageKeys()) {
+                    accumulator.getStorageValueByStorageSlotKey(
+                        entry.address(), new StorageSlotKey(UInt256.fromBytes(storageKey)));
+                  }
+                }
+              });
+      transaction
+          .getCodeDelegationList()
+          .ifPresent(
+              codeDelegations -> {
+                for (final CodeDelegation codeDelegation : codeDelegations) {
+                  codeDelegation.authorizer().ifPresent(a -> loadAccount(accumulator, a));
+                  loadAccount(accumulator, codeDelegation.address());
+                }
+              });
+    } catch (final Exception e) {
+      // the execution will load what is missing, and surface the error if there is one
+      LOG.debug("Failed to prefetch the state of transaction {}", transaction.getHash(), e);
+    }
+  }
+
+  private static void loadAccountChanges(
+      final BonsaiWorldStateUpdateAccumulator accumulator, final AccountChanges changes) {
+    try {
+      loadAccount(accumulator, changes.address());
+      for (final SlotChanges slotChanges : changes.storageChanges()) {
+        accumulator.getStorageValueByStorageSlotKey(changes.address(), slotChanges.slot());
+      }
+      for (final SlotRead slotRead : changes.storageReads()) {
+        accumulator.getStorageValueByStorageSlotKey(changes.address(), slotRead.slot());
+      }
+    } catch (final Exception e) {
+      LOG.debug("Failed to prefetch the state of account {}", changes.address(), e);
+    }
+  }
+
+  private static void loadAccountQuietly(
+      final BonsaiWorldStateUpdateAccumulator accumulator, final Address address) {
+    try {
+      loadAccount(accumulator, address);
+    } catch (final Exception e) {
+      LOG.debug("Failed to prefetch account {}", address, e);
+    }
+  }
+
+  private static void loadAccount(
+      final BonsaiWorldStateUpdateAccumulator accumulator, final Address address) {
+    final Account account = accumulator.get(address);
+    if (account != null && account.hasCode()) {
+      // fills the code cache shared with the accounts of the block world state
+      account.getOrCreateCachedCode();
+    }
+  }
+
+  /** The loads started for a block. */
+  public class Prefetch {
+
+    private final BonsaiWorldStateUpdateAccumulator accumulator;
+    private final CompletableFuture<Void> loads;
+    private final AtomicBoolean cancelled;
+
+    private boolean imported = false;
+    private final Set<Address> prefetchedAccounts = new HashSet<>();
+    private final Map<Address, Set<StorageSlotKey>> prefetchedSlots = new HashMap<>();
+
+    private Prefetch(
+        final BonsaiWorldStateUpdateAccumulator accumulator,
+        final CompletableFuture<Void> loads,
+        final AtomicBoolean cancelled) {
+      this.accumulator = accumulator;
+      this.loads = loads;
+      this.cancelled = cancelled;
+    }
+
+    /**
+     * Imports the prefetched state in the block accumulator, if all the loads are done and it was
+     * not imported yet. Must be called between two transactions.
+     *
+     * @param blockAccumulator the accumulator of the block world state
+     */
+    public void importIfDone(final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+      if (imported || !loads.isDone()) {
+        return;
+      }
+      imported = true;
+
+      // the execution already cleared the storage of these accounts, their prior slots are stale
+      blockAccumulator.getStorageToClear().forEach(accumulator.getStorageToUpdate()::remove);
+
+      accumulator
+          .getAccountsToUpdate()
+          .keySet()
+          .forEach(
+              address -> {
+                prefetchedAccounts.add(address);
+                if (blockAccumulator.getAccountsToUpdate().containsKey(address)) {
+                  accountLateCounter.inc();
+                } else {
+                  accountHitCounter.inc();
+                }
+              });
+      accumulator
+          .getStorageToUpdate()
+          .forEach(
+              (address, slots) -> {
+                final Map<StorageSlotKey, ?> loadedSlots =
+                    blockAccumulator.getStorageToUpdate().get(address);
+                final Set<StorageSlotKey> prefetched =
+                    prefetchedSlots.computeIfAbsent(address, key -> new HashSet<>());
+                slots
+                    .keySet()
+                    .forEach(
+                        slot -> {
+                          prefetched.add(slot);
+                          if (loadedSlots != null && loadedSlots.containsKey(slot)) {
+                            slotLateCounter.inc();
+                          } else {
+                            slotHitCounter.inc();
+                          }
+                        });
+              });
+
+      blockAccumulator.importPriorStateFromSource(accumulator);
+    }
+
+    /**
+     * Records the outcome of the prefetch once the transactions of the block are executed, and
+     * stops the loads that are still running.
+     *
+     * @param blockAccumulator the accumulator of the block world state
+     */
+    public void finish(final BonsaiWorldStateUpdateAccumulator blockAccumulator) {
+      cancel();
+      if (!imported) {
+        unfinishedBlocksCounter.inc();
+        return;
+      }
+      completedBlocksCounter.inc();
+      blockAccumulator
+          .getAccountsToUpdate()
+          .keySet()
+          .forEach(
+              address -> {
+                if (!prefetchedAccounts.contains(address)) {
+                  accountMissCounter.inc();
+                }
+              });
+      blockAccumulator
+          .getStorageToUpdate()
+          .forEach(
+              (address, slots) -> {
+                final Set<StorageSlotKey> prefetched =
+                    prefetchedSlots.getOrDefault(address, Set.of());
+                slots
+                    .keySet()
+                    .forEach(
+                        slot -> {
+                          if (!prefetched.contains(slot)) {
+                            slotMissCounter.inc();
+                          }
+                        });
+              });
+    }
+
+    /** Stops the loads that are still running, without importing anything. */
+    public void cancel() {
+      cancelled.set(true);
+    }
+  }
+}
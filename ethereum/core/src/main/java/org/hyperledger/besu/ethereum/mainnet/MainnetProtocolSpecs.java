@@ -193,6 +193,9 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(false)
                     .warmCoinbase(false)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .longLimbStack(evmConfiguration.enableLongLimbStack())
+                    .memoryPool(evmConfiguration.enableMemoryPool())
+                    .metricsSystem(metricsSystem)
                     .feeMarket(FeeMarket.legacy())
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.frontier())
                     .build())
@@ -405,6 +408,9 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(false)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .longLimbStack(evmConfiguration.enableLongLimbStack())
+                    .memoryPool(evmConfiguration.enableMemoryPool())
+                    .metricsSystem(metricsSystem)
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.frontier())
                     .build())
@@ -621,6 +627,9 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(false)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .longLimbStack(evmConfiguration.enableLongLimbStack())
+                    .memoryPool(evmConfiguration.enableMemoryPool())
+                    .metricsSystem(metricsSystem)
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                     .build())
@@ -763,6 +772,9 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(true)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .longLimbStack(evmConfiguration.enableLongLimbStack())
+                    .memoryPool(evmConfiguration.enableMemoryPool())
+                    .metricsSystem(metricsSystem)
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                     .build())
@@ -854,6 +866,9 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(true)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .longLimbStack(evmConfiguration.enableLongLimbStack())
+                    .memoryPool(evmConfiguration.enableMemoryPool())
+                    .metricsSystem(metricsSystem)
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                     .build())
@@ -950,6 +965,9 @@ public abstract class MainnetProtocolSpecs {
                         .clearEmptyAccounts(true)
                         .warmCoinbase(true)
                         .maxStackSize(evmConfiguration.evmStackSize())
+                        .longLimbStack(evmConfiguration.enableLongLimbStack())
+                        .memoryPool(evmConfiguration.enableMemoryPool())
+                        .metricsSystem(metricsSystem)
                         .feeMarket(feeMarket)
                         .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                         .codeDelegationProcessor(
@@ -1211,6 +1229,9 @@ public abstract class MainnetProtocolSpecs {
                     .clearEmptyAccounts(true)
                     .warmCoinbase(true)
                     .maxStackSize(evmConfiguration.evmStackSize())
+                    .longLimbStack(evmConfiguration.enableLongLimbStack())
+                    .memoryPool(evmConfiguration.enableMemoryPool())
+                    .metricsSystem(metricsSystem)
                     .feeMarket(feeMarket)
                     .coinbaseFeePriceCalculator(CoinbaseFeePriceCalculator.eip1559())
                     .codeDelegationProcessor(
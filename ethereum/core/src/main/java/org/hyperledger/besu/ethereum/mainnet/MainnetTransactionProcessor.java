@@ -36,6 +36,7 @@ import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.frame.MemoryArena;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.log.TransferLogEmitter;
@@ -45,6 +46,11 @@ import org.hyperledger.besu.evm.processor.MessageCallProcessor;
 import org.hyperledger.besu.evm.tracing.OperationTracer;
 import org.hyperledger.besu.evm.worldstate.CodeDelegationHelper;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
 
 import java.util.Deque;
 import java.util.HashSet;
@@ -65,6 +71,10 @@ public class MainnetTransactionProcessor {
 
   private static final Set<Address> EMPTY_ADDRESS_SET = Set.of();
 
+  private static final double[] MEMORY_PEAK_BUCKETS = {
+    1024, 4096, 16384, 65536, 262144, 1048576, 4194304, 16777216, 67108864
+  };
+
   protected final GasCalculator gasCalculator;
 
   protected final TransactionValidatorFactory transactionValidatorFactory;
@@ -75,6 +85,16 @@ public class MainnetTransactionProcessor {
 
   private final int maxStackSize;
 
+  private final boolean longLimbStack;
+
+  private final boolean memoryPool;
+  private final MetricsSystem metricsSystem;
+
+  // one arena per executing thread, null when frame memory is not pooled
+  private final ThreadLocal<MemoryArena> memoryArenas;
+  private final Histogram memoryPeakHistogram;
+  private final Counter reusedMemoryCounter;
+
   private final boolean clearEmptyAccounts;
 
   protected final boolean warmCoinbase;
@@ -94,6 +114,9 @@ public class MainnetTransactionProcessor {
       final boolean clearEmptyAccounts,
       final boolean warmCoinbase,
       final int maxStackSize,
+      final boolean longLimbStack,
+      final boolean memoryPool,
+      final MetricsSystem metricsSystem,
       final FeeMarket feeMarket,
       final CoinbaseFeePriceCalculator coinbaseFeePriceCalculator,
       final CodeDelegationProcessor maybeCodeDelegationProcessor,
@@ -105,6 +128,27 @@ public class MainnetTransactionProcessor {
     this.clearEmptyAccounts = clearEmptyAccounts;
     this.warmCoinbase = warmCoinbase;
     this.maxStackSize = maxStackSize;
+    this.longLimbStack = longLimbStack;
+    this.memoryPool = memoryPool;
+    this.metricsSystem = metricsSystem;
+    if (memoryPool) {
+      this.memoryArenas = ThreadLocal.withInitial(MemoryArena::new);
+      this.memoryPeakHistogram =
+          metricsSystem.createHistogram(
+              BesuMetricCategory.BLOCK_PROCESSING,
+              "evm_memory_transaction_peak_bytes",
+              "Peak EVM memory held at once by the message frames of a transaction",
+              MEMORY_PEAK_BUCKETS);
+      this.reusedMemoryCounter =
+          metricsSystem.createCounter(
+              BesuMetricCategory.BLOCK_PROCESSING,
+              "evm_memory_reused_buffers_total",
+              "Number of EVM memory buffers reused instead of allocated");
+    } else {
+      this.memoryArenas = null;
+      this.memoryPeakHistogram = null;
+      this.reusedMemoryCounter = null;
+    }
     this.feeMarket = feeMarket;
     this.coinbaseFeePriceCalculator = coinbaseFeePriceCalculator;
     this.maybeCodeDelegationProcessor = Optional.ofNullable(maybeCodeDelegationProcessor);
@@ -321,9 +365,16 @@ public class MainnetTransactionProcessor {
 
       operationTracer.traceStartTransaction(worldUpdater, transaction);
 
+      final MemoryArena memoryArena = memoryArenas == null ? null : memoryArenas.get();
+      if (memoryArena != null) {
+        memoryArena.startTransaction();
+      }
+
       final MessageFrame.Builder commonMessageFrameBuilder =
           MessageFrame.builder()
               .maxStackSize(maxStackSize)
+              .longLimbStack(longLimbStack)
+              .memoryArena(memoryArena)
               .worldUpdater(worldUpdater.updater())
               .initialGas(gasAvailable)
               .originator(senderAddress)
@@ -388,6 +439,11 @@ public class MainnetTransactionProcessor {
         process(messageFrameStack.peekFirst(), operationTracer);
       }
 
+      if (memoryArena != null) {
+        memoryPeakHistogram.observe(memoryArena.getPeakActiveBytes());
+        reusedMemoryCounter.inc(memoryArena.getReusedArrays());
+      }
+
       if (initialFrame.getState() == MessageFrame.State.COMPLETED_SUCCESS) {
         worldUpdater.commit();
       } else {
@@ -656,6 +712,9 @@ public class MainnetTransactionProcessor {
     private boolean clearEmptyAccounts;
     private boolean warmCoinbase;
     private int maxStackSize;
+    private boolean longLimbStack;
+    private boolean memoryPool;
+    private MetricsSystem metricsSystem = new NoOpMetricsSystem();
     private FeeMarket feeMarket;
     private CoinbaseFeePriceCalculator coinbaseFeePriceCalculator;
     private CodeDelegationProcessor codeDelegationProcessor;
@@ -698,6 +757,21 @@ public class MainnetTransactionProcessor {
       return this;
     }
 
+    public Builder longLimbStack(final boolean longLimbStack) {
+      this.longLimbStack = longLimbStack;
+      return this;
+    }
+
+    public Builder memoryPool(final boolean memoryPool) {
+      this.memoryPool = memoryPool;
+      return this;
+    }
+
+    public Builder metricsSystem(final MetricsSystem metricsSystem) {
+      this.metricsSystem = metricsSystem;
+      return this;
+    }
+
     public Builder feeMarket(final FeeMarket feeMarket) {
       this.feeMarket = feeMarket;
       return this;
@@ -728,6 +802,9 @@ public class MainnetTransactionProcessor {
       this.clearEmptyAccounts = processor.clearEmptyAccounts;
       this.warmCoinbase = processor.warmCoinbase;
       this.maxStackSize = processor.maxStackSize;
+      this.longLimbStack = processor.longLimbStack;
+      this.memoryPool = processor.memoryPool;
+      this.metricsSystem = processor.metricsSystem;
       this.feeMarket = processor.feeMarket;
       this.coinbaseFeePriceCalculator = processor.coinbaseFeePriceCalculator;
       this.codeDelegationProcessor = processor.maybeCodeDelegationProcessor.orElse(null);
@@ -744,6 +821,9 @@ public class MainnetTransactionProcessor {
           clearEmptyAccounts,
           warmCoinbase,
           maxStackSize,
+          longLimbStack,
+          memoryPool,
+          metricsSystem,
           feeMarket,
           coinbaseFeePriceCalculator,
           codeDelegationProcessor,
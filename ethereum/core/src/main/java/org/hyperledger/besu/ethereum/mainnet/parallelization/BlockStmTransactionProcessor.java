@@ -0,0 +1,511 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.AccessLocationTracker;
+import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.ReadWriteSet;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.PathBasedWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Executes the transactions of a block in parallel following the Block-STM approach.
+ *
+ * <p>Every transaction is executed speculatively on top of the values written by the latest
+ * executions of the preceding transactions, which are kept in a {@link MultiVersionMemory}. When an
+ * execution finishes, the keys it read and wrote are compared with the ones of the other
+ * executions, and only the transactions that may have read a stale value are executed again, up to
+ * a bounded number of times.
+ *
+ * <p>The results are then committed in the order of the block. Before being applied, every value
+ * read by the latest execution of a transaction, each field of the accounts and each storage slot,
+ * is compared with the current state of the block. If one of them differs, the transaction is
+ * replayed sequentially by the block processor, as with {@link
+ * ParallelizedConcurrentTransactionProcessor}.
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class BlockStmTransactionProcessor extends ParallelBlockTransactionProcessor {
+
+  private static final int MAX_INCARNATIONS = 3;
+
+  private final MainnetTransactionProcessor transactionProcessor;
+  private final TransactionCollisionDetector transactionCollisionDetector;
+  private final Counter reExecutedTransactionCounter;
+  private final Histogram speedupHistogram;
+
+  private final MultiVersionMemory multiVersionMemory = new MultiVersionMemory();
+  // orders the start and the end of the executions, to find the ones that ran concurrently
+  private final AtomicLong clock = new AtomicLong();
+  private final AtomicInteger lastCommittedLocation = new AtomicInteger(-1);
+  private AtomicReferenceArray<Execution> executions;
+  private AtomicIntegerArray incarnations;
+  private AtomicIntegerArray pendingReExecutions;
+  private BlockContext blockContext;
+  private long blockStartNanos;
+  private long committedExecutionNanos;
+
+  private record BlockContext(
+      ProtocolContext protocolContext,
+      BlockHeader blockHeader,
+      List<Transaction> transactions,
+      Address miningBeneficiary,
+      BlockHashLookup blockHashLookup,
+      Wei blobGasPrice,
+      Executor executor,
+      Optional<BlockAccessListBuilder> blockAccessListBuilder) {}
+
+  private record Execution(
+      ParallelizedTransactionContext context,
+      ReadWriteSet readWriteSet,
+      boolean hasReadFromMultiVersionMemory,
+      long startSequence,
+      long finishSequence,
+      long durationNanos) {}
+
+  /**
+   * Constructs a BlockStmTransactionProcessor.
+   *
+   * @param transactionProcessor The transaction processor for processing individual transactions.
+   * @param reExecutedTransactionCounter Metric counter for re-executed transactions
+   * @param speedupHistogram Metric histogram of the estimated speedup of each block
+   */
+  public BlockStmTransactionProcessor(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Counter reExecutedTransactionCounter,
+      final Histogram speedupHistogram) {
+    this.transactionProcessor = transactionProcessor;
+    this.transactionCollisionDetector = new TransactionCollisionDetector();
+    this.reExecutedTransactionCounter = reExecutedTransactionCounter;
+    this.speedupHistogram = speedupHistogram;
+  }
+
+  @Override
+  public void runAsyncBlock(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Executor executor,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    executions = new AtomicReferenceArray<>(transactions.size());
+    incarnations = new AtomicIntegerArray(transactions.size());
+    pendingReExecutions = new AtomicIntegerArray(transactions.size());
+    blockContext =
+        new BlockContext(
+            protocolContext,
+            blockHeader,
+            transactions,
+            miningBeneficiary,
+            blockHashLookup,
+            blobGasPrice,
+            executor,
+            blockAccessListBuilder);
+    blockStartNanos = System.nanoTime();
+    super.runAsyncBlock(
+        protocolContext,
+        blockHeader,
+        transactions,
+        miningBeneficiary,
+        blockHashLookup,
+        blobGasPrice,
+        executor,
+        blockAccessListBuilder);
+  }
+
+  @Override
+  protected ParallelizedTransactionContext runTransaction(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final int transactionLocation,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+    return execute(
+            protocolContext,
+            blockHeader,
+            transactionLocation,
+            transaction,
+            miningBeneficiary,
+            blockHashLookup,
+            blobGasPrice,
+            blockAccessListBuilder)
+        .map(Execution::context)
+        .orElse(null);
+  }
+
+  private Optional<Execution> execute(
+      final ProtocolContext protocolContext,
+      final BlockHeader blockHeader,
+      final int transactionLocation,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final BlockHashLookup blockHashLookup,
+      final Wei blobGasPrice,
+      final Optional<BlockAccessListBuilder> blockAccessListBuilder) {
+
+    final BonsaiWorldState ws = getWorldState(protocolContext, blockHeader);
+    if (ws == null) return Optional.empty();
+
+    try {
+      ws.disableCacheMerkleTrieLoader();
+      final long startSequence = clock.incrementAndGet();
+      final long startNanos = System.nanoTime();
+      final ParallelizedTransactionContext.Builder contextBuilder =
+          new ParallelizedTransactionContext.Builder();
+      final MultiVersionWorldStateUpdateAccumulator roundWorldStateUpdater =
+          new MultiVersionWorldStateUpdateAccumulator(ws, multiVersionMemory, transactionLocation);
+      final WorldUpdater transactionUpdater = roundWorldStateUpdater.updater();
+      final Optional<AccessLocationTracker> transactionLocationTracker =
+          blockAccessListBuilder.map(
+              b ->
+                  BlockAccessListBuilder.createTransactionAccessLocationTracker(
+                      transactionLocation));
+      final TransactionProcessingResult result =
+          transactionProcessor.processTransaction(
+              transactionUpdater,
+              blockHeader,
+              transaction.detachedCopy(),
+              miningBeneficiary,
+              new OperationTracer() {
+                @Override
+                public void traceBeforeRewardTransaction(
+                    final WorldView worldView,
+                    final org.hyperledger.besu.datatypes.Transaction tx,
+                    final Wei miningReward) {
+                  // same as ParallelizedConcurrentTransactionProcessor: the reward alone does not
+                  // make the mining beneficiary part of the values read by the transaction
+                  if (transactionCollisionDetector
+                      .getAddressesTouchedByTransaction(
+                          transaction, Optional.of(roundWorldStateUpdater))
+                      .contains(miningBeneficiary)) {
+                    contextBuilder.isMiningBeneficiaryTouchedPreRewardByTransaction(true);
+                  }
+                  contextBuilder.miningBeneficiaryReward(miningReward);
+                }
+              },
+              blockHashLookup,
+              TransactionValidationParams.processingBlock(),
+              blobGasPrice,
+              transactionLocationTracker);
+
+      // commit the accumulator in order to apply all the modifications
+      transactionUpdater.commit();
+      roundWorldStateUpdater.commit();
+
+      contextBuilder
+          .transactionAccumulator(roundWorldStateUpdater)
+          .transactionProcessingResult(result);
+
+      final ParallelizedTransactionContext parallelizedTransactionContext = contextBuilder.build();
+      if (!parallelizedTransactionContext.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+        // the balance will be increased during the sequential commit
+        roundWorldStateUpdater.getAccountsToUpdate().remove(miningBeneficiary);
+      }
+      return publish(
+          transactionLocation,
+          parallelizedTransactionContext,
+          roundWorldStateUpdater,
+          startSequence,
+          System.nanoTime() - startNanos);
+    } catch (Exception ex) {
+      // no op as failing to get worldstate
+      return Optional.empty();
+    } finally {
+      ws.close();
+    }
+  }
+
+  private Optional<Execution> publish(
+      final int transactionLocation,
+      final ParallelizedTransactionContext context,
+      final MultiVersionWorldStateUpdateAccumulator accumulator,
+      final long startSequence,
+      final long durationNanos) {
+    final ReadWriteSet readWriteSet = ReadWriteSet.from(accumulator);
+    final Optional<Execution> previous;
+    final Execution execution;
+    synchronized (multiVersionMemory) {
+      previous = Optional.ofNullable(executions.get(transactionLocation));
+      if (transactionLocation <= lastCommittedLocation.get()
+          || previous.map(p -> p.startSequence() > startSequence).orElse(false)) {
+        // the transaction is already committed, or a more recent execution is already published
+        return Optional.empty();
+      }
+      multiVersionMemory.record(
+          transactionLocation, previous.map(Execution::readWriteSet), accumulator, readWriteSet);
+      execution =
+          new Execution(
+              context,
+              readWriteSet,
+              accumulator.hasReadFromMultiVersionMemory(),
+              startSequence,
+              clock.incrementAndGet(),
+              durationNanos);
+      executions.set(transactionLocation, execution);
+    }
+    scheduleDependentReExecutions(transactionLocation, previous, execution);
+    return Optional.of(execution);
+  }
+
+  private void scheduleDependentReExecutions(
+      final int transactionLocation,
+      final Optional<Execution> previous,
+      final Execution execution) {
+    // a preceding transaction published after this execution started may have written a value
+    // that this execution read
+    for (int i = 0; i < transactionLocation; i++) {
+      final Execution preceding = executions.get(i);
+      if (preceding != null
+          && preceding.finishSequence() > execution.startSequence()
+          && preceding.readWriteSet().writesReadBy(execution.readWriteSet())) {
+        scheduleReExecution(transactionLocation);
+        break;
+      }
+    }
+    // the following transactions that started before this execution was published may have read
+    // a value that it, or its previous execution, wrote
+    for (int i = transactionLocation + 1; i < executions.length(); i++) {
+      final Execution following = executions.get(i);
+      if (following != null
+          && following.startSequence() < execution.finishSequence()
+          && (execution.readWriteSet().writesReadBy(following.readWriteSet())
+              || previous
+                  .map(p -> p.readWriteSet().writesReadBy(following.readWriteSet()))
+                  .orElse(false))) {
+        scheduleReExecution(i);
+      }
+    }
+  }
+
+  private void scheduleReExecution(final int transactionLocation) {
+    if (transactionLocation <= lastCommittedLocation.get()
+        || !pendingReExecutions.compareAndSet(transactionLocation, 0, 1)) {
+      return;
+    }
+    if (incarnations.incrementAndGet(transactionLocation) >= MAX_INCARNATIONS) {
+      // the pending flag is left set, so that the transaction is not scheduled anymore
+      return;
+    }
+    final BlockContext context = blockContext;
+    CompletableFuture.runAsync(
+        () -> {
+          pendingReExecutions.set(transactionLocation, 0);
+          if (transactionLocation > lastCommittedLocation.get()) {
+            reExecutedTransactionCounter.inc();
+            execute(
+                context.protocolContext(),
+                context.blockHeader(),
+                transactionLocation,
+                context.transactions().get(transactionLocation),
+                context.miningBeneficiary(),
+                context.blockHashLookup(),
+                context.blobGasPrice(),
+                context.blockAccessListBuilder());
+          }
+        },
+        context.executor());
+  }
+
+  /**
+   * Applies the result of the latest execution of a transaction to the world state, if every value
+   * it read is still the current value of the block.
+   *
+   * <p>If a value differs, the transaction is replayed sequentially. The values read by the
+   * execution are then cached in the block state to speed up the replay, but only if they all come
+   * from the parent state.
+   *
+   * @param worldState Mutable world state intended for applying transaction results.
+   * @param miningBeneficiary Address of the beneficiary for mining rewards.
+   * @param transaction Transaction for which the result is to be applied.
+   * @param transactionLocation Index of the transaction within the block.
+   * @param confirmedParallelizedTransactionCounter Metric counter for confirmed parallelized
+   *     transactions
+   * @param conflictingButCachedTransactionCounter Metric counter for conflicting transactions
+   * @return Optional containing the transaction processing result if applied, or empty if the
+   *     transaction needs to be replayed.
+   */
+  @Override
+  public Optional<TransactionProcessingResult> getProcessingResult(
+      final MutableWorldState worldState,
+      final Address miningBeneficiary,
+      final Transaction transaction,
+      final int transactionLocation,
+      final Optional<Counter> confirmedParallelizedTransactionCounter,
+      final Optional<Counter> conflictingButCachedTransactionCounter) {
+
+    // no execution of this transaction is scheduled anymore
+    lastCommittedLocation.set(transactionLocation);
+    try {
+      final CompletableFuture<ParallelizedTransactionContext> future =
+          futures[transactionLocation];
+      if (future != null && !future.isDone()) {
+        future.cancel(true);
+      }
+
+      final Execution execution = executions.get(transactionLocation);
+      if (execution == null) {
+        return Optional.empty();
+      }
+
+      final PathBasedWorldState pathBasedWorldState = (PathBasedWorldState) worldState;
+      final PathBasedWorldStateUpdateAccumulator blockAccumulator =
+          (PathBasedWorldStateUpdateAccumulator) pathBasedWorldState.updater();
+      final ParallelizedTransactionContext parallelizedTransactionContext = execution.context();
+      final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator =
+          parallelizedTransactionContext.transactionAccumulator();
+      final TransactionProcessingResult transactionProcessingResult =
+          parallelizedTransactionContext.transactionProcessingResult();
+
+      if (transactionProcessingResult.isSuccessful()
+          && hasReadCurrentValues(parallelizedTransactionContext, blockAccumulator)) {
+        final MutableAccount miningBeneficiaryAccount =
+            blockAccumulator.getOrCreate(miningBeneficiary);
+        Wei reward = parallelizedTransactionContext.miningBeneficiaryReward();
+        if (!reward.isZero() || !transactionProcessor.getClearEmptyAccounts()) {
+          miningBeneficiaryAccount.incrementBalance(reward);
+        }
+
+        final Wei miningBeneficiaryPostBalance = miningBeneficiaryAccount.getBalance();
+        transactionProcessingResult
+            .getPartialBlockAccessView()
+            .ifPresent(
+                partialBlockAccessView ->
+                    partialBlockAccessView.accountChanges().stream()
+                        .filter(
+                            accountChanges -> accountChanges.getAddress().equals(miningBeneficiary))
+                        .findFirst()
+                        .ifPresent(
+                            accountChanges ->
+                                accountChanges.setPostBalance(miningBeneficiaryPostBalance)));
+
+        blockAccumulator.importValidatedStateChangesFromSource(transactionAccumulator);
+        committedExecutionNanos += execution.durationNanos();
+
+        if (confirmedParallelizedTransactionCounter.isPresent()) {
+          confirmedParallelizedTransactionCounter.get().inc();
+          transactionProcessingResult.setIsProcessedInParallel(Optional.of(Boolean.TRUE));
+          transactionProcessingResult.accumulator = transactionAccumulator;
+        }
+        return Optional.of(transactionProcessingResult);
+      }
+
+      if (!execution.hasReadFromMultiVersionMemory()
+          && Collections.disjoint(
+              blockAccumulator.getStorageToClear(),
+              transactionAccumulator.getStorageToUpdate().keySet())) {
+        blockAccumulator.importPriorStateFromSource(transactionAccumulator);
+      }
+      conflictingButCachedTransactionCounter.ifPresent(Counter::inc);
+      // return an empty result to signal the block processor to re-execute the transaction
+      return Optional.empty();
+    } finally {
+      if (transactionLocation == executions.length() - 1) {
+        recordSpeedup();
+      }
+    }
+  }
+
+  private boolean hasReadCurrentValues(
+      final ParallelizedTransactionContext parallelizedTransactionContext,
+      final PathBasedWorldStateUpdateAccumulator<?> blockAccumulator) {
+    if (parallelizedTransactionContext.isMiningBeneficiaryTouchedPreRewardByTransaction()) {
+      // the balance read by the transaction does not include the reward of the transaction
+      return false;
+    }
+    final PathBasedWorldStateUpdateAccumulator<?> transactionAccumulator =
+        parallelizedTransactionContext.transactionAccumulator();
+    for (final Address address : transactionAccumulator.getStorageToClear()) {
+      // only the storage of an account created by the transaction can be cleared
+      final var value = transactionAccumulator.getAccountsToUpdate().get(address);
+      if (value == null || value.getPrior() != null) {
+        return false;
+      }
+    }
+    for (final var entry : transactionAccumulator.getAccountsToUpdate().entrySet()) {
+      if (!isSameAccount(entry.getValue().getPrior(), blockAccumulator.get(entry.getKey()))) {
+        return false;
+      }
+    }
+    for (final var entry : transactionAccumulator.getStorageToUpdate().entrySet()) {
+      final Address address = entry.getKey();
+      if (blockAccumulator.getStorageToClear().contains(address)) {
+        return false;
+      }
+      for (final var slot : entry.getValue().entrySet()) {
+        final UInt256 read = Optional.ofNullable(slot.getValue().getPrior()).orElse(UInt256.ZERO);
+        final UInt256 current =
+            blockAccumulator
+                .getStorageValueByStorageSlotKey(address, slot.getKey())
+                .orElse(UInt256.ZERO);
+        if (!read.equals(current)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean isSameAccount(final PathBasedAccount read, final Account current) {
+    if (read == null || current == null) {
+      return read == null && current == null;
+    }
+    return read.getNonce() == current.getNonce()
+        && read.getBalance().equals(current.getBalance())
+        && read.getCodeHash().equals(current.getCodeHash());
+  }
+
+  private void recordSpeedup() {
+    // the committed executions are the work the block processor did not have to do sequentially
+    final long wallNanos = System.nanoTime() - blockStartNanos;
+    if (wallNanos > 0) {
+      speedupHistogram.observe((double) (wallNanos + committedExecutionNanos) / wallNanos);
+    }
+  }
+}
@@ -40,6 +40,7 @@ import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
 
 import java.util.Optional;
 import java.util.concurrent.Executor;
@@ -54,6 +55,8 @@ public class MainnetParallelBlockProcessor extends MainnetBlockProcessor {
 
   private final Optional<Counter> confirmedParallelizedTransactionCounter;
   private final Optional<Counter> conflictingButCachedTransactionCounter;
+  private final Counter blockStmReExecutedTransactionCounter;
+  private final Histogram blockStmSpeedupHistogram;
 
   private static final int NCPU = Runtime.getRuntime().availableProcessors();
   private static final Executor executor = Executors.newFixedThreadPool(NCPU);
@@ -89,6 +92,19 @@ public class MainnetParallelBlockProcessor extends MainnetBlockProcessor {
                 BesuMetricCategory.BLOCK_PROCESSING,
                 "conflicted_transactions_counter",
                 "Counter for the number of conflicted transactions during block processing"));
+
+    this.blockStmReExecutedTransactionCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "block_stm_reexecuted_transactions_counter",
+            "Counter for the number of speculative re-executions of transactions by Block-STM");
+
+    this.blockStmSpeedupHistogram =
+        metricsSystem.createHistogram(
+            BesuMetricCategory.BLOCK_PROCESSING,
+            "block_stm_estimated_speedup",
+            "Estimated speedup of a block executed by Block-STM over a sequential execution",
+            new double[] {1.0, 1.25, 1.5, 2.0, 3.0, 4.0, 6.0, 8.0});
   }
 
   @Override
@@ -150,7 +166,12 @@ public class MainnetParallelBlockProcessor extends MainnetBlockProcessor {
             worldState,
             block,
             blockAccessList,
-            new ParallelTransactionPreprocessing(transactionProcessor, executor, balConfiguration));
+            new ParallelTransactionPreprocessing(
+                transactionProcessor,
+                executor,
+                balConfiguration,
+                blockStmReExecutedTransactionCounter,
+                blockStmSpeedupHistogram));
 
     if (blockProcessingResult.isFailed()) {
       // Fallback to non-parallel processing if there is a block processing exception .
@@ -0,0 +1,240 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.PathBasedWorldStateUpdateAccumulator;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Multi-version store of the values written by the transactions of a block, keyed by account and
+ * by storage slot, and versioned by the index of the transaction in the block.
+ *
+ * <p>An execution of a transaction reads, for every key, the value written by the closest
+ * preceding transaction, or the value of the parent state if no preceding transaction wrote it.
+ * Each transaction only keeps the values of its latest execution: when a transaction is executed
+ * again, the values it no longer writes are removed.
+ */
+final class MultiVersionMemory {
+
+  private final Map<Address, ConcurrentNavigableMap<Integer, Version<BonsaiAccount>>> accounts =
+      new ConcurrentHashMap<>();
+  private final Map<Address, ConcurrentNavigableMap<Integer, Version<Bytes>>> codes =
+      new ConcurrentHashMap<>();
+  private final Map<SlotKey, ConcurrentNavigableMap<Integer, Version<UInt256>>> slots =
+      new ConcurrentHashMap<>();
+
+  /**
+   * A value written by a transaction. The value of an account is null when the account was
+   * deleted.
+   *
+   * @param value the written value
+   */
+  record Version<T>(T value) {}
+
+  /**
+   * The key of a storage slot of an account.
+   *
+   * @param address the address of the account
+   * @param slotKey the storage slot
+   */
+  record SlotKey(Address address, StorageSlotKey slotKey) {}
+
+  /**
+   * The keys read and written by an execution of a transaction. An account is read as a whole, so
+   * every field of an account is read when the account is loaded.
+   *
+   * @param readAccounts the accounts read by the execution
+   * @param readSlots the storage slots read by the execution
+   * @param writtenAccounts the accounts whose nonce, balance or code was changed by the execution
+   * @param writtenSlots the storage slots changed by the execution
+   */
+  record ReadWriteSet(
+      Set<Address> readAccounts,
+      Set<SlotKey> readSlots,
+      Set<Address> writtenAccounts,
+      Set<SlotKey> writtenSlots) {
+
+    static ReadWriteSet from(final PathBasedWorldStateUpdateAccumulator<?> accumulator) {
+      final Set<Address> readAccounts = new HashSet<>(accumulator.getAccountsToUpdate().keySet());
+      final Set<Address> writtenAccounts = new HashSet<>();
+      accumulator
+          .getAccountsToUpdate()
+          .forEach(
+              (address, value) -> {
+                if (isAccountChanged(value)) {
+                  writtenAccounts.add(address);
+                }
+              });
+      final Set<SlotKey> readSlots = new HashSet<>();
+      final Set<SlotKey> writtenSlots = new HashSet<>();
+      accumulator
+          .getStorageToUpdate()
+          .forEach(
+              (address, storage) ->
+                  storage.forEach(
+                      (slotKey, value) -> {
+                        final SlotKey key = new SlotKey(address, slotKey);
+                        readSlots.add(key);
+                        if (!value.isUnchanged()) {
+                          writtenSlots.add(key);
+                        }
+                      }));
+      return new ReadWriteSet(readAccounts, readSlots, writtenAccounts, writtenSlots);
+    }
+
+    /**
+     * Whether this execution wrote a key that the other execution read.
+     *
+     * @param other the other execution
+     * @return true if the other execution read a key written by this execution
+     */
+    boolean writesReadBy(final ReadWriteSet other) {
+      return writtenAccounts.stream().anyMatch(other.readAccounts::contains)
+          || writtenSlots.stream().anyMatch(other.readSlots::contains);
+    }
+  }
+
+  /**
+   * Replaces the values written by the previous execution of a transaction with the values written
+   * by its new execution.
+   *
+   * @param txIndex the index of the transaction in the block
+   * @param previous the keys of the previous execution, if any
+   * @param execution the accumulator of the new execution
+   * @param readWriteSet the keys of the new execution
+   */
+  void record(
+      final int txIndex,
+      final Optional<ReadWriteSet> previous,
+      final PathBasedWorldStateUpdateAccumulator<BonsaiAccount> execution,
+      final ReadWriteSet readWriteSet) {
+    previous.ifPresent(
+        keys -> {
+          keys.writtenAccounts().stream()
+              .filter(address -> !readWriteSet.writtenAccounts().contains(address))
+              .forEach(
+                  address -> {
+                    removeVersion(accounts, address, txIndex);
+                    removeVersion(codes, address, txIndex);
+                  });
+          keys.writtenSlots().stream()
+              .filter(slot -> !readWriteSet.writtenSlots().contains(slot))
+              .forEach(slot -> removeVersion(slots, slot, txIndex));
+        });
+
+    for (final Address address : readWriteSet.writtenAccounts()) {
+      final PathBasedValue<BonsaiAccount> value = execution.getAccountsToUpdate().get(address);
+      versions(accounts, address).put(txIndex, new Version<>(value.getUpdated()));
+      final PathBasedValue<Bytes> code = execution.getCodeToUpdate().get(address);
+      if (code != null) {
+        versions(codes, address).put(txIndex, new Version<>(code.getUpdated()));
+      } else {
+        removeVersion(codes, address, txIndex);
+      }
+    }
+    for (final SlotKey slot : readWriteSet.writtenSlots()) {
+      final PathBasedValue<UInt256> value =
+          execution.getStorageToUpdate().get(slot.address()).get(slot.slotKey());
+      versions(slots, slot).put(txIndex, new Version<>(value.getUpdated()));
+    }
+  }
+
+  /**
+   * Gets the account written by the closest transaction preceding a transaction.
+   *
+   * @param address the address of the account
+   * @param txIndex the index of the reading transaction
+   * @return the written account, or empty if no preceding transaction wrote it
+   */
+  Optional<Version<BonsaiAccount>> readAccount(final Address address, final int txIndex) {
+    return read(accounts, address, txIndex);
+  }
+
+  /**
+   * Gets the code written by the closest transaction preceding a transaction.
+   *
+   * @param address the address of the account
+   * @param txIndex the index of the reading transaction
+   * @return the written code, or empty if no preceding transaction wrote it
+   */
+  Optional<Version<Bytes>> readCode(final Address address, final int txIndex) {
+    return read(codes, address, txIndex);
+  }
+
+  /**
+   * Gets the storage value written by the closest transaction preceding a transaction.
+   *
+   * @param address the address of the account
+   * @param slotKey the storage slot
+   * @param txIndex the index of the reading transaction
+   * @return the written value, or empty if no preceding transaction wrote it
+   */
+  Optional<Version<UInt256>> readSlot(
+      final Address address, final StorageSlotKey slotKey, final int txIndex) {
+    return read(slots, new SlotKey(address, slotKey), txIndex);
+  }
+
+  private static boolean isAccountChanged(final PathBasedValue<? extends PathBasedAccount> value) {
+    final PathBasedAccount prior = value.getPrior();
+    final PathBasedAccount updated = value.getUpdated();
+    if (prior == null || updated == null) {
+      return prior != updated;
+    }
+    return prior.getNonce() != updated.getNonce()
+        || !prior.getBalance().equals(updated.getBalance())
+        || !prior.getCodeHash().equals(updated.getCodeHash());
+  }
+
+  private static <K, T> ConcurrentNavigableMap<Integer, Version<T>> versions(
+      final Map<K, ConcurrentNavigableMap<Integer, Version<T>>> store, final K key) {
+    return store.computeIfAbsent(key, __ -> new ConcurrentSkipListMap<>());
+  }
+
+  private static <K, T> void removeVersion(
+      final Map<K, ConcurrentNavigableMap<Integer, Version<T>>> store,
+      final K key,
+      final int txIndex) {
+    final ConcurrentNavigableMap<Integer, Version<T>> versions = store.get(key);
+    if (versions != null) {
+      versions.remove(txIndex);
+    }
+  }
+
+  private static <K, T> Optional<Version<T>> read(
+      final Map<K, ConcurrentNavigableMap<Integer, Version<T>>> store,
+      final K key,
+      final int txIndex) {
+    final ConcurrentNavigableMap<Integer, Version<T>> versions = store.get(key);
+    if (versions == null) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(versions.lowerEntry(txIndex)).map(Map.Entry::getValue);
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.Version;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.preload.StorageConsumingMap;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Accumulator of a speculative execution of a transaction, that reads the values written by the
+ * preceding transactions of the block from a {@link MultiVersionMemory} before falling back to the
+ * parent state.
+ *
+ * <p>The values read from the multi-version memory are recorded as read values, so the prior
+ * values of this accumulator are the values the execution saw, which are not necessarily the
+ * values of the parent state.
+ */
+class MultiVersionWorldStateUpdateAccumulator extends BonsaiWorldStateUpdateAccumulator {
+
+  private final MultiVersionMemory multiVersionMemory;
+  private final int txIndex;
+  private boolean hasReadFromMultiVersionMemory;
+
+  MultiVersionWorldStateUpdateAccumulator(
+      final BonsaiWorldState worldState,
+      final MultiVersionMemory multiVersionMemory,
+      final int txIndex) {
+    super(
+        worldState,
+        (__, ___) -> {},
+        (__, ___) -> {},
+        worldState.getAccumulator().getEvmConfiguration(),
+        worldState.codeCache());
+    this.multiVersionMemory = multiVersionMemory;
+    this.txIndex = txIndex;
+  }
+
+  /**
+   * Whether the execution read a value written by a preceding transaction of the block. If not,
+   * the prior values of this accumulator are the values of the parent state.
+   *
+   * @return true if a value was read from the multi-version memory
+   */
+  boolean hasReadFromMultiVersionMemory() {
+    return hasReadFromMultiVersionMemory;
+  }
+
+  @Override
+  protected BonsaiAccount loadAccount(
+      final Address address,
+      final Function<PathBasedValue<BonsaiAccount>, BonsaiAccount> accountFunction) {
+    if (!getAccountsToUpdate().containsKey(address)) {
+      multiVersionMemory
+          .readAccount(address, txIndex)
+          .ifPresent(
+              version -> {
+                final BonsaiAccount account = version.value();
+                getAccountsToUpdate()
+                    .put(
+                        address,
+                        account == null
+                            ? new PathBasedValue<>(null, null)
+                            : new PathBasedValue<>(
+                                copyAccount(account, this, false),
+                                copyAccount(account, this, true)));
+                hasReadFromMultiVersionMemory = true;
+              });
+    }
+    return super.loadAccount(address, accountFunction);
+  }
+
+  @Override
+  public Optional<Bytes> getCode(final Address address, final Hash codeHash) {
+    if (!getCodeToUpdate().containsKey(address)) {
+      final Optional<Bytes> code =
+          multiVersionMemory
+              .readCode(address, txIndex)
+              .map(Version::value)
+              // the code is put in the shared code cache, so it has to match the requested hash
+              .filter(bytes -> bytes != null && Hash.hash(bytes).equals(codeHash));
+      if (code.isPresent()) {
+        getCodeToUpdate().put(address, new PathBasedValue<>(code.get(), code.get()));
+        hasReadFromMultiVersionMemory = true;
+        return code;
+      }
+    }
+    return super.getCode(address, codeHash);
+  }
+
+  @Override
+  public Optional<UInt256> getStorageValueByStorageSlotKey(
+      final Address address, final StorageSlotKey storageSlotKey) {
+    final Map<StorageSlotKey, PathBasedValue<UInt256>> localAccountStorage =
+        getStorageToUpdate().get(address);
+    if (localAccountStorage == null || !localAccountStorage.containsKey(storageSlotKey)) {
+      final Optional<Version<UInt256>> version =
+          multiVersionMemory.readSlot(address, storageSlotKey, txIndex);
+      if (version.isPresent()) {
+        final UInt256 value = version.get().value();
+        getStorageToUpdate()
+            .computeIfAbsent(
+                address,
+                key ->
+                    new StorageConsumingMap<>(
+                        address, new ConcurrentHashMap<>(), getStoragePreloader()))
+            .put(storageSlotKey, new PathBasedValue<>(value, value));
+        hasReadFromMultiVersionMemory = true;
+        return Optional.ofNullable(value);
+      }
+    }
+    return super.getStorageValueByStorageSlotKey(address, storageSlotKey);
+  }
+}
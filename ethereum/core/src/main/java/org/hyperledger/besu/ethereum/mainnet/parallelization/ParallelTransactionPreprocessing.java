@@ -26,6 +26,9 @@ import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList;
 import org.hyperledger.besu.ethereum.mainnet.block.access.list.BlockAccessList.BlockAccessListBuilder;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.PathBasedWorldStateProvider;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.Histogram;
 
 import java.util.List;
 import java.util.Optional;
@@ -36,14 +39,32 @@ public class ParallelTransactionPreprocessing implements PreprocessingFunction {
   private final MainnetTransactionProcessor transactionProcessor;
   private final Executor executor;
   private final BalConfiguration balConfiguration;
+  private final Counter blockStmReExecutedTransactionCounter;
+  private final Histogram blockStmSpeedupHistogram;
 
   public ParallelTransactionPreprocessing(
       final MainnetTransactionProcessor transactionProcessor,
       final Executor executor,
       final BalConfiguration balConfiguration) {
+    this(
+        transactionProcessor,
+        executor,
+        balConfiguration,
+        NoOpMetricsSystem.NO_OP_COUNTER,
+        NoOpMetricsSystem.NO_OP_HISTOGRAM);
+  }
+
+  public ParallelTransactionPreprocessing(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Executor executor,
+      final BalConfiguration balConfiguration,
+      final Counter blockStmReExecutedTransactionCounter,
+      final Histogram blockStmSpeedupHistogram) {
     this.transactionProcessor = transactionProcessor;
     this.executor = executor;
     this.balConfiguration = balConfiguration;
+    this.blockStmReExecutedTransactionCounter = blockStmReExecutedTransactionCounter;
+    this.blockStmSpeedupHistogram = blockStmSpeedupHistogram;
   }
 
   @Override
@@ -56,7 +77,8 @@ public class ParallelTransactionPreprocessing implements PreprocessingFunction {
       final Wei blobGasPrice,
       final Optional<BlockAccessListBuilder> blockAccessListBuilder,
       final Optional<BlockAccessList> maybeBlockBal) {
-    if (!(protocolContext.getWorldStateArchive() instanceof PathBasedWorldStateProvider)) {
+    if (!(protocolContext.getWorldStateArchive()
+        instanceof PathBasedWorldStateProvider worldStateProvider)) {
       return Optional.empty();
     }
 
@@ -66,6 +88,12 @@ public class ParallelTransactionPreprocessing implements PreprocessingFunction {
       parallelProcessor =
           new BalConcurrentTransactionProcessor(
               transactionProcessor, maybeBlockBal.get(), balConfiguration);
+    } else if (worldStateProvider.getWorldStateSharedSpec().isBlockStmEnabled()) {
+      parallelProcessor =
+          new BlockStmTransactionProcessor(
+              transactionProcessor,
+              blockStmReExecutedTransactionCounter,
+              blockStmSpeedupHistogram);
     } else {
       parallelProcessor = new ParallelizedConcurrentTransactionProcessor(transactionProcessor);
     }
@@ -0,0 +1,185 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.transaction;
+
+import static org.hyperledger.besu.ethereum.trie.pathbased.common.provider.WorldStateQueryParams.withBlockHeaderAndNoUpdateNodeHead;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares the world state of a block between the simulations executed at this block, so that a
+ * burst of calls against the same block builds the world state once, and reads the accounts,
+ * storage and code it already loaded for the previous calls.
+ *
+ * <p>The simulations never modify the shared world state: each of them executes in its own child
+ * updater of the world state updater, which is only ever read from. A world state is kept for a
+ * short time after it was built, and closed once it left the cache and the last simulation using it
+ * completed.
+ */
+public class SimulationWorldStateCache {
+  private static final Logger LOG = LoggerFactory.getLogger(SimulationWorldStateCache.class);
+  private static final int MAXIMUM_SIZE = 16;
+
+  private final WorldStateArchive worldStateArchive;
+  private final Cache<Hash, SharedWorldState> worldStates;
+  private final Counter createdCounter;
+  private final Counter reusedCounter;
+
+  public SimulationWorldStateCache(
+      final WorldStateArchive worldStateArchive,
+      final Duration timeToLive,
+      final MetricsSystem metricsSystem) {
+    this.worldStateArchive = worldStateArchive;
+    this.worldStates =
+        Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(timeToLive)
+            // close the expired world states even when no simulation is executed
+            .scheduler(Scheduler.systemScheduler())
+            .<Hash, SharedWorldState>removalListener(
+                (hash, sharedWorldState, cause) -> {
+                  if (sharedWorldState != null) {
+                    sharedWorldState.release();
+                  }
+                })
+            .build();
+    this.createdCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC,
+            "simulation_world_states_created_total",
+            "Number of world states built for simulations at a block");
+    this.reusedCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.RPC,
+            "simulation_world_states_reused_total",
+            "Number of simulations which reused the world state of a previous simulation");
+  }
+
+  /**
+   * Returns the world state of a block, building it if no simulation at this block is recent
+   * enough. The returned lease must be closed once the simulation completed.
+   *
+   * @param header the header of the block
+   * @return a lease on the shared world state of the block
+   * @throws IllegalArgumentException if the world state of the block is not available
+   */
+  public Lease acquire(final BlockHeader header) {
+    while (true) {
+      final AtomicBoolean created = new AtomicBoolean(false);
+      final SharedWorldState sharedWorldState =
+          worldStates.get(
+              header.getBlockHash(),
+              hash -> {
+                created.set(true);
+                return new SharedWorldState(getWorldState(header));
+              });
+      if (sharedWorldState.retain()) {
+        (created.get() ? createdCounter : reusedCounter).inc();
+        return new Lease(sharedWorldState);
+      }
+      // the world state was closed after being evicted concurrently, build it again
+      worldStates.asMap().remove(header.getBlockHash(), sharedWorldState);
+    }
+  }
+
+  private MutableWorldState getWorldState(final BlockHeader header) {
+    final MutableWorldState worldState =
+        worldStateArchive
+            .getWorldState(withBlockHeaderAndNoUpdateNodeHead(header))
+            .orElseThrow(
+                () ->
+                    new IllegalArgumentException(
+                        "Public world state not available for block " + header.toLogString()));
+    if (worldState instanceof BonsaiWorldState bonsaiWorldState) {
+      bonsaiWorldState.disableCacheMerkleTrieLoader();
+    }
+    return worldState;
+  }
+
+  /** A world state shared by the cache and the simulations using it. */
+  private static class SharedWorldState {
+    private final MutableWorldState worldState;
+    // one reference held by the cache, and one per simulation using the world state
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    SharedWorldState(final MutableWorldState worldState) {
+      this.worldState = worldState;
+    }
+
+    boolean retain() {
+      int count;
+      do {
+        count = references.get();
+        if (count == 0) {
+          return false;
+        }
+      } while (!references.compareAndSet(count, count + 1));
+      return true;
+    }
+
+    void release() {
+      if (references.decrementAndGet() == 0) {
+        try {
+          worldState.close();
+        } catch (final Exception e) {
+          LOG.warn("Failed to close the world state of a simulation", e);
+        }
+      }
+    }
+  }
+
+  /** The use of a shared world state by a simulation. */
+  public static class Lease implements AutoCloseable {
+    private final SharedWorldState sharedWorldState;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private Lease(final SharedWorldState sharedWorldState) {
+      this.sharedWorldState = sharedWorldState;
+    }
+
+    /**
+     * Returns the shared world state, which must not be modified.
+     *
+     * @return the shared world state
+     */
+    public MutableWorldState getWorldState() {
+      return sharedWorldState.worldState;
+    }
+
+    @Override
+    public void close() {
+      if (closed.compareAndSet(false, true)) {
+        sharedWorldState.release();
+      }
+    }
+  }
+}
@@ -97,6 +97,7 @@ public class TransactionSimulator {
   private final MiningConfiguration miningConfiguration;
   private final SimulationTransactionProcessorFactory simulationTransactionProcessorFactory;
   private final long rpcGasCap;
+  private final Optional<SimulationWorldStateCache> worldStateCache;
 
   public TransactionSimulator(
       final Blockchain blockchain,
@@ -104,11 +105,28 @@ public class TransactionSimulator {
       final ProtocolSchedule protocolSchedule,
       final MiningConfiguration miningConfiguration,
       final long rpcGasCap) {
+    this(
+        blockchain,
+        worldStateArchive,
+        protocolSchedule,
+        miningConfiguration,
+        rpcGasCap,
+        Optional.empty());
+  }
+
+  public TransactionSimulator(
+      final Blockchain blockchain,
+      final WorldStateArchive worldStateArchive,
+      final ProtocolSchedule protocolSchedule,
+      final MiningConfiguration miningConfiguration,
+      final long rpcGasCap,
+      final Optional<SimulationWorldStateCache> worldStateCache) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.protocolSchedule = protocolSchedule;
     this.miningConfiguration = miningConfiguration;
     this.rpcGasCap = rpcGasCap;
+    this.worldStateCache = worldStateCache;
     this.simulationTransactionProcessorFactory =
         new SimulationTransactionProcessorFactory(protocolSchedule);
   }
@@ -285,41 +303,77 @@ public class TransactionSimulator {
       return Optional.empty();
     }
 
-    try (final MutableWorldState ws = getWorldState(header)) {
+    if (worldStateCache.isPresent()) {
+      try (final SimulationWorldStateCache.Lease lease = worldStateCache.get().acquire(header)) {
+        final MutableWorldState ws = lease.getWorldState();
+        // the shared world state is only read from, the simulation writes to its own updater
+        return processWithWorldState(
+            callParams,
+            maybeStateOverrides,
+            transactionValidationParams,
+            operationTracer,
+            preWorldStateCloseGuard,
+            header,
+            ws,
+            ws.updater().updater());
+      } catch (final Exception e) {
+        return Optional.empty();
+      }
+    }
 
-      WorldUpdater updater = getEffectiveWorldStateUpdater(ws);
+    try (final MutableWorldState ws = getWorldState(header)) {
       if (ws instanceof BonsaiWorldState bonsaiWorldState) {
         bonsaiWorldState.disableCacheMerkleTrieLoader();
       }
-      // in order to trace the state diff we need to make sure that
-      // the world updater always has a parent
-      if (TracerAggregator.hasTracer(operationTracer, DebugOperationTracer.class)) {
-        updater = updater.parentUpdater().isPresent() ? updater : updater.updater();
-      }
-
-      final var miningBeneficiary =
-          protocolSchedule
-              .getByBlockHeader(header)
-              .getMiningBeneficiaryCalculator()
-              .calculateBeneficiary(header);
-
-      return preWorldStateCloseGuard.apply(
+      return processWithWorldState(
+          callParams,
+          maybeStateOverrides,
+          transactionValidationParams,
+          operationTracer,
+          preWorldStateCloseGuard,
+          header,
           ws,
-          processWithWorldUpdater(
-              callParams,
-              maybeStateOverrides,
-              transactionValidationParams,
-              operationTracer,
-              header,
-              updater,
-              miningBeneficiary,
-              Optional.empty()));
-
+          getEffectiveWorldStateUpdater(ws));
     } catch (final Exception e) {
       return Optional.empty();
     }
   }
 
+  private <U> Optional<U> processWithWorldState(
+      final CallParameter callParams,
+      final Optional<StateOverrideMap> maybeStateOverrides,
+      final TransactionValidationParams transactionValidationParams,
+      final OperationTracer operationTracer,
+      final PreCloseStateHandler<U> preWorldStateCloseGuard,
+      final BlockHeader header,
+      final MutableWorldState ws,
+      final WorldUpdater worldUpdater) {
+    WorldUpdater updater = worldUpdater;
+    // in order to trace the state diff we need to make sure that
+    // the world updater always has a parent
+    if (TracerAggregator.hasTracer(operationTracer, DebugOperationTracer.class)) {
+      updater = updater.parentUpdater().isPresent() ? updater : updater.updater();
+    }
+
+    final var miningBeneficiary =
+        protocolSchedule
+            .getByBlockHeader(header)
+            .getMiningBeneficiaryCalculator()
+            .calculateBeneficiary(header);
+
+    return preWorldStateCloseGuard.apply(
+        ws,
+        processWithWorldUpdater(
+            callParams,
+            maybeStateOverrides,
+            transactionValidationParams,
+            operationTracer,
+            header,
+            updater,
+            miningBeneficiary,
+            Optional.empty()));
+  }
+
   public Optional<TransactionSimulatorResult> process(
       final CallParameter callParams, final Hash blockHeaderHash) {
     final BlockHeader header = blockchain.getBlockHeader(blockHeaderHash).orElse(null);
@@ -19,13 +19,18 @@ import static org.hyperledger.besu.metrics.BesuMetricCategory.BLOCKCHAIN;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.trie.pathbased.common.StorageSubscriber;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.LabelledSuppliedMetric;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -44,14 +49,83 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
 
   private static final int ACCOUNT_CACHE_SIZE = 100_000;
   private static final int STORAGE_CACHE_SIZE = 200_000;
-  private final Cache<Bytes, Bytes> accountNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
-  private final Cache<Bytes, Bytes> storageNodes =
-      CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+  // Bonsai stores trie nodes by location, so the nodes on the way to a leaf all sit at prefixes of
+  // the path of the leaf: the upper levels of that path are read in a single batch before walking
+  private static final int BATCHED_PATH_LEVELS = 10;
+  private static final long BYTES_PER_MB = 1024L * 1024L;
+  private final TrieNodeCache accountNodes;
+  private final TrieNodeCache storageNodes;
 
   public BonsaiCachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "accountsNodes", accountNodes);
-    metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "storageNodes", storageNodes);
+    this(metricsSystem, 0);
+  }
+
+  /**
+   * Instantiates a trie loader.
+   *
+   * @param metricsSystem the metrics system
+   * @param offHeapCacheSizeMb the size of the off heap trie node cache, shared by the account and
+   *     the storage nodes, or 0 to keep a bounded number of nodes on the heap instead
+   */
+  public BonsaiCachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem, final long offHeapCacheSizeMb) {
+    if (offHeapCacheSizeMb > 0) {
+      final long cacheSizeBytes = offHeapCacheSizeMb * BYTES_PER_MB;
+      // storage tries outnumber the account trie, as with the on heap cache sizes
+      final OffHeapTrieNodeCache offHeapAccountNodes = new OffHeapTrieNodeCache(cacheSizeBytes / 3);
+      final OffHeapTrieNodeCache offHeapStorageNodes =
+          new OffHeapTrieNodeCache(cacheSizeBytes - cacheSizeBytes / 3);
+      createOffHeapCacheMetrics(
+          metricsSystem,
+          Map.of("accountsNodes", offHeapAccountNodes, "storageNodes", offHeapStorageNodes));
+      accountNodes = offHeapAccountNodes;
+      storageNodes = offHeapStorageNodes;
+    } else {
+      final Cache<Bytes, Bytes> onHeapAccountNodes =
+          CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
+      final Cache<Bytes, Bytes> onHeapStorageNodes =
+          CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+      metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "accountsNodes", onHeapAccountNodes);
+      metricsSystem.createGuavaCacheCollector(BLOCKCHAIN, "storageNodes", onHeapStorageNodes);
+      accountNodes = TrieNodeCache.byHash(onHeapAccountNodes);
+      storageNodes = TrieNodeCache.byHash(onHeapStorageNodes);
+    }
+  }
+
+  private static void createOffHeapCacheMetrics(
+      final ObservableMetricsSystem metricsSystem, final Map<String, OffHeapTrieNodeCache> caches) {
+    final LabelledSuppliedMetric hits =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCKCHAIN, "off_heap_cache_hit", "Number of off heap trie node cache hits", "cache");
+    final LabelledSuppliedMetric misses =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCKCHAIN,
+            "off_heap_cache_miss",
+            "Number of off heap trie node cache misses",
+            "cache");
+    final LabelledSuppliedMetric evictions =
+        metricsSystem.createLabelledSuppliedCounter(
+            BLOCKCHAIN,
+            "off_heap_cache_eviction",
+            "Number of off heap trie node cache evictions",
+            "cache");
+    final LabelledSuppliedMetric sizes =
+        metricsSystem.createLabelledSuppliedGauge(
+            BLOCKCHAIN, "off_heap_cache_size", "Number of off heap cached trie nodes", "cache");
+    final LabelledSuppliedMetric usedBytes =
+        metricsSystem.createLabelledSuppliedGauge(
+            BLOCKCHAIN,
+            "off_heap_cache_bytes",
+            "Bytes taken by the off heap cached trie nodes",
+            "cache");
+    caches.forEach(
+        (name, cache) -> {
+          hits.labels(cache::hitCount, name);
+          misses.labels(cache::missCount, name);
+          evictions.labels(cache::evictionCount, name);
+          sizes.labels(cache::size, name);
+          usedBytes.labels(cache::usedBytes, name);
+        });
   }
 
   public void preLoadAccount(
@@ -70,12 +144,14 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
       final Address account) {
     final long storageSubscriberId = worldStateKeyValueStorage.subscribe(this);
     try {
+      final Bytes accountPath = account.addressHash().getBytes();
+      batchLoadPathNodes(worldStateKeyValueStorage, Bytes.EMPTY, accountPath, accountNodes);
       final StoredMerklePatriciaTrie<Bytes, Bytes> accountTrie =
           new StoredMerklePatriciaTrie<>(
               (location, hash) -> {
                 Optional<Bytes> node =
                     getAccountStateTrieNode(worldStateKeyValueStorage, location, hash);
-                node.ifPresent(bytes -> accountNodes.put(Hash.hash(bytes).getBytes(), bytes));
+                node.ifPresent(bytes -> accountNodes.put(location, hash, bytes));
                 return node;
               },
               Bytes32.wrap(worldStateRootHash.getBytes()),
@@ -110,6 +186,11 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
           .ifPresent(
               storageRoot -> {
                 try {
+                  batchLoadPathNodes(
+                      worldStateKeyValueStorage,
+                      accountHash.getBytes(),
+                      slotKey.getSlotHash().getBytes(),
+                      storageNodes);
                   final StoredMerklePatriciaTrie<Bytes, Bytes> storageTrie =
                       new StoredMerklePatriciaTrie<Bytes, Bytes>(
                           (location, hash) -> {
@@ -117,7 +198,11 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
                                 getAccountStorageTrieNode(
                                     worldStateKeyValueStorage, accountHash, location, hash);
                             node.ifPresent(
-                                bytes -> storageNodes.put(Hash.hash(bytes).getBytes(), bytes));
+                                bytes ->
+                                    storageNodes.put(
+                                        Bytes.concatenate(accountHash.getBytes(), location),
+                                        hash,
+                                        bytes));
                             return node;
                           },
                           Bytes32.wrap(Hash.hash(storageRoot).getBytes()),
@@ -133,6 +218,29 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     }
   }
 
+  private void batchLoadPathNodes(
+      final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
+      final Bytes locationPrefix,
+      final Bytes key,
+      final TrieNodeCache nodes) {
+    final Bytes path = CompactEncoding.bytesToPath(key);
+    final int levels = Math.min(BATCHED_PATH_LEVELS, path.size() - 1);
+    final List<Bytes> locations = new ArrayList<>(levels + 1);
+    for (int depth = 0; depth <= levels; depth++) {
+      locations.add(Bytes.concatenate(locationPrefix, path.slice(0, depth)));
+    }
+    // nodes are cached with their hash, so a node read at a location it no longer belongs to is
+    // harmless
+    final List<Optional<Bytes>> loaded = worldStateKeyValueStorage.getTrieNodesUnsafe(locations);
+    for (int i = 0; i < locations.size(); i++) {
+      final Bytes location = locations.get(i);
+      loaded
+          .get(i)
+          .ifPresent(
+              bytes -> nodes.put(location, Bytes32.wrap(Hash.hash(bytes).getBytes()), bytes));
+    }
+  }
+
   public Optional<Bytes> getAccountStateTrieNode(
       final BonsaiWorldStateKeyValueStorage worldStateKeyValueStorage,
       final Bytes location,
@@ -140,7 +248,8 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
     } else {
-      return Optional.ofNullable(accountNodes.getIfPresent(nodeHash))
+      return accountNodes
+          .get(location, nodeHash)
           .or(() -> worldStateKeyValueStorage.getAccountStateTrieNode(location, nodeHash));
     }
   }
@@ -153,7 +262,8 @@ public class BonsaiCachedMerkleTrieLoader implements StorageSubscriber {
     if (nodeHash.equals(MerkleTrie.EMPTY_TRIE_NODE_HASH)) {
       return Optional.of(MerkleTrie.EMPTY_TRIE_NODE);
     } else {
-      return Optional.ofNullable(storageNodes.getIfPresent(nodeHash))
+      return storageNodes
+          .get(Bytes.concatenate(accountHash.getBytes(), location), nodeHash)
           .or(
               () ->
                   worldStateKeyValueStorage.getAccountStorageTrieNode(
@@ -0,0 +1,410 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A trie node cache keeping the nodes outside of the Java heap, bounded by the bytes they take.
+ *
+ * <p>Nodes are keyed by their location, and the hash of each node is kept next to it: a lookup
+ * only hits when the hash matches, so a location whose node changed since it was cached misses,
+ * and its stale node is dropped.
+ *
+ * <p>The cache is split in segments, each with its own lock. A segment appends its entries to a
+ * direct buffer used as a ring, and indexes them in an open addressing table that is also held in
+ * a direct buffer, so the heap usage does not depend on the number of entries. When the ring is
+ * full the entries at its tail are evicted following CLOCK: an entry read since it was written is
+ * given a second chance and moved to the head of the ring instead.
+ *
+ * <p>Both the nodes and the index count against {@code -XX:MaxDirectMemorySize}.
+ */
+final class OffHeapTrieNodeCache implements TrieNodeCache {
+
+  private static final int SEGMENT_BITS = 6;
+  private static final int SEGMENTS = 1 << SEGMENT_BITS;
+  // a segment is a single buffer, its positions must fit in an int
+  private static final long MAX_SEGMENT_CAPACITY = Integer.MAX_VALUE - 8;
+
+  // entry: int size, short key length, key, node hash, node
+  private static final int KEY_OFFSET = Integer.BYTES + Short.BYTES;
+  private static final int ENTRY_OVERHEAD = KEY_OFFSET + Bytes32.SIZE;
+  private static final int WRAP = -1;
+  private static final int MAX_ENTRY_FRACTION = 8;
+  private static final int MAX_SECOND_CHANCES = 16;
+
+  // index slot: long fingerprint (0 when free), int entry offset, int referenced flag
+  private static final int SLOT_SIZE = 16;
+  private static final int MIN_SLOTS = 1024;
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private final Segment[] segments = new Segment[SEGMENTS];
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  OffHeapTrieNodeCache(final long capacityBytes) {
+    final int segmentCapacity = (int) Math.min(capacityBytes / SEGMENTS, MAX_SEGMENT_CAPACITY);
+    for (int i = 0; i < SEGMENTS; i++) {
+      segments[i] = new Segment(segmentCapacity);
+    }
+  }
+
+  @Override
+  public Optional<Bytes> get(final Bytes location, final Bytes32 nodeHash) {
+    final long fingerprint = fingerprint(location);
+    final Bytes node = segment(fingerprint).get(location, fingerprint, nodeHash);
+    if (node == null) {
+      misses.increment();
+      return Optional.empty();
+    }
+    hits.increment();
+    return Optional.of(node);
+  }
+
+  @Override
+  public void put(final Bytes location, final Bytes32 nodeHash, final Bytes node) {
+    final long fingerprint = fingerprint(location);
+    segment(fingerprint).put(location, fingerprint, nodeHash, node);
+  }
+
+  long hitCount() {
+    return hits.sum();
+  }
+
+  long missCount() {
+    return misses.sum();
+  }
+
+  long evictionCount() {
+    return evictions.sum();
+  }
+
+  long size() {
+    long size = 0;
+    for (final Segment segment : segments) {
+      size += segment.count;
+    }
+    return size;
+  }
+
+  long usedBytes() {
+    long usedBytes = 0;
+    for (final Segment segment : segments) {
+      usedBytes += segment.used;
+    }
+    return usedBytes;
+  }
+
+  private Segment segment(final long fingerprint) {
+    return segments[(int) (fingerprint >>> (Long.SIZE - SEGMENT_BITS))];
+  }
+
+  private static long fingerprint(final Bytes key) {
+    long hash = FNV_OFFSET;
+    for (int i = 0; i < key.size(); i++) {
+      hash = (hash ^ (key.get(i) & 0xff)) * FNV_PRIME;
+    }
+    return mix(hash);
+  }
+
+  private static long fingerprint(final ByteBuffer data, final int offset, final int length) {
+    long hash = FNV_OFFSET;
+    for (int i = 0; i < length; i++) {
+      hash = (hash ^ (data.get(offset + i) & 0xff)) * FNV_PRIME;
+    }
+    return mix(hash);
+  }
+
+  private static long mix(final long hash) {
+    long h = hash;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    // zero marks the free index slots
+    return h == 0 ? 1 : h;
+  }
+
+  private final class Segment {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int capacity;
+
+    // allocated on first write
+    private ByteBuffer data;
+    private ByteBuffer index;
+    private int mask;
+
+    private int head;
+    private int tail;
+    private volatile int used;
+    private volatile int count;
+
+    private Segment(final int capacity) {
+      this.capacity = capacity;
+    }
+
+    private Bytes get(final Bytes location, final long fingerprint, final Bytes32 nodeHash) {
+      lock.lock();
+      try {
+        if (data == null) {
+          return null;
+        }
+        final int slot = find(location, fingerprint);
+        if (slot < 0) {
+          return null;
+        }
+        final int offset = offsetAt(slot);
+        final int keyLength = location.size();
+        if (!hashEquals(offset, keyLength, nodeHash)) {
+          // the node at this location changed, the stale one is reclaimed with the ring
+          removeSlot(slot);
+          return null;
+        }
+        index.putInt(slot * SLOT_SIZE + Long.BYTES + Integer.BYTES, 1);
+        final int nodeOffset = offset + ENTRY_OVERHEAD + keyLength;
+        final byte[] node = new byte[data.getInt(offset) - ENTRY_OVERHEAD - keyLength];
+        data.get(nodeOffset, node);
+        return Bytes.wrap(node);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void put(
+        final Bytes location, final long fingerprint, final Bytes32 nodeHash, final Bytes node) {
+      final int keyLength = location.size();
+      final int size = ENTRY_OVERHEAD + keyLength + node.size();
+      if (size > capacity / MAX_ENTRY_FRACTION) {
+        return;
+      }
+      lock.lock();
+      try {
+        if (data == null) {
+          data = ByteBuffer.allocateDirect(capacity);
+          resizeIndex(Math.max(MIN_SLOTS, Integer.highestOneBit(capacity / 256) * 2));
+        }
+        final int existing = find(location, fingerprint);
+        if (existing >= 0) {
+          if (hashEquals(offsetAt(existing), keyLength, nodeHash)) {
+            return;
+          }
+          removeSlot(existing);
+        }
+        final int offset = reserve(size);
+        data.putInt(offset, size);
+        data.putShort(offset + Integer.BYTES, (short) keyLength);
+        data.put(offset + KEY_OFFSET, location.toArrayUnsafe(), 0, keyLength);
+        data.put(offset + KEY_OFFSET + keyLength, nodeHash.toArrayUnsafe(), 0, Bytes32.SIZE);
+        data.put(offset + ENTRY_OVERHEAD + keyLength, node.toArrayUnsafe(), 0, node.size());
+        head = offset + size;
+        used += size;
+        insert(fingerprint, offset);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    /** Frees enough contiguous bytes at the head of the ring, and returns their offset. */
+    private int reserve(final int size) {
+      int secondChances = 0;
+      while (true) {
+        if (used == 0) {
+          head = 0;
+          tail = 0;
+        }
+        if (used == 0 || tail < head) {
+          // the free bytes are after the head, and before the tail once the ring wraps
+          if (capacity - head >= size) {
+            return head;
+          }
+          if (capacity - head >= Integer.BYTES) {
+            data.putInt(head, WRAP);
+          }
+          used += capacity - head;
+          head = 0;
+        } else if (tail - head >= size) {
+          return head;
+        } else if (evictTail(secondChances < MAX_SECOND_CHANCES)) {
+          secondChances++;
+        }
+      }
+    }
+
+    /** Evicts the entry at the tail, returns true if it was given a second chance instead. */
+    private boolean evictTail(final boolean allowSecondChance) {
+      if (capacity - tail < Integer.BYTES || data.getInt(tail) == WRAP) {
+        used -= capacity - tail;
+        tail = 0;
+        return false;
+      }
+      final int size = data.getInt(tail);
+      final int keyLength = data.getShort(tail + Integer.BYTES);
+      final int slot = findOffset(fingerprint(data, tail + KEY_OFFSET, keyLength), tail);
+      final boolean secondChance = slot >= 0 && allowSecondChance && isReferenced(slot);
+      if (secondChance) {
+        index.putInt(slot * SLOT_SIZE + Long.BYTES + Integer.BYTES, 0);
+        if (head != tail) {
+          final byte[] entry = new byte[size];
+          data.get(tail, entry);
+          data.put(head, entry);
+        }
+        index.putInt(slot * SLOT_SIZE + Long.BYTES, head);
+        head += size;
+      } else {
+        if (slot >= 0) {
+          removeSlot(slot);
+          evictions.increment();
+        }
+        used -= size;
+      }
+      tail += size;
+      if (tail == capacity) {
+        tail = 0;
+      }
+      return secondChance;
+    }
+
+    private boolean hashEquals(final int offset, final int keyLength, final Bytes32 nodeHash) {
+      final int hashOffset = offset + KEY_OFFSET + keyLength;
+      for (int i = 0; i < Bytes32.SIZE; i += Long.BYTES) {
+        if (data.getLong(hashOffset + i) != nodeHash.getLong(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean keyEquals(final int offset, final Bytes location) {
+      final int keyLength = location.size();
+      if (data.getShort(offset + Integer.BYTES) != keyLength) {
+        return false;
+      }
+      for (int i = 0; i < keyLength; i++) {
+        if (data.get(offset + KEY_OFFSET + i) != location.get(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private int find(final Bytes location, final long fingerprint) {
+      int slot = (int) fingerprint & mask;
+      long slotFingerprint;
+      while ((slotFingerprint = fingerprintAt(slot)) != 0) {
+        if (slotFingerprint == fingerprint && keyEquals(offsetAt(slot), location)) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    private int findOffset(final long fingerprint, final int offset) {
+      int slot = (int) fingerprint & mask;
+      long slotFingerprint;
+      while ((slotFingerprint = fingerprintAt(slot)) != 0) {
+        if (slotFingerprint == fingerprint && offsetAt(slot) == offset) {
+          return slot;
+        }
+        slot = (slot + 1) & mask;
+      }
+      return -1;
+    }
+
+    private void insert(final long fingerprint, final int offset) {
+      if ((count + 1) * 4L > (mask + 1) * 3L) {
+        resizeIndex((mask + 1) * 2);
+      }
+      int slot = (int) fingerprint & mask;
+      while (fingerprintAt(slot) != 0) {
+        slot = (slot + 1) & mask;
+      }
+      writeSlot(slot, fingerprint, offset, 0);
+      count++;
+    }
+
+    /** Removes a slot, shifting back the following slots of its probe sequence. */
+    private void removeSlot(final int slot) {
+      int hole = slot;
+      int next = (hole + 1) & mask;
+      long nextFingerprint;
+      while ((nextFingerprint = fingerprintAt(next)) != 0) {
+        final int home = (int) nextFingerprint & mask;
+        if (((next - home) & mask) >= ((next - hole) & mask)) {
+          writeSlot(
+              hole,
+              nextFingerprint,
+              offsetAt(next),
+              index.getInt(next * SLOT_SIZE + Long.BYTES + Integer.BYTES));
+          hole = next;
+        }
+        next = (next + 1) & mask;
+      }
+      writeSlot(hole, 0, 0, 0);
+      count--;
+    }
+
+    private void resizeIndex(final int slots) {
+      final ByteBuffer previous = index;
+      final int previousSlots = previous == null ? 0 : mask + 1;
+      index = ByteBuffer.allocateDirect(slots * SLOT_SIZE);
+      mask = slots - 1;
+      for (int slot = 0; slot < previousSlots; slot++) {
+        final long fingerprint = previous.getLong(slot * SLOT_SIZE);
+        if (fingerprint != 0) {
+          int target = (int) fingerprint & mask;
+          while (fingerprintAt(target) != 0) {
+            target = (target + 1) & mask;
+          }
+          writeSlot(
+              target,
+              fingerprint,
+              previous.getInt(slot * SLOT_SIZE + Long.BYTES),
+              previous.getInt(slot * SLOT_SIZE + Long.BYTES + Integer.BYTES));
+        }
+      }
+    }
+
+    private long fingerprintAt(final int slot) {
+      return index.getLong(slot * SLOT_SIZE);
+    }
+
+    private int offsetAt(final int slot) {
+      return index.getInt(slot * SLOT_SIZE + Long.BYTES);
+    }
+
+    private boolean isReferenced(final int slot) {
+      return index.getInt(slot * SLOT_SIZE + Long.BYTES + Integer.BYTES) != 0;
+    }
+
+    private void writeSlot(
+        final int slot, final long fingerprint, final int offset, final int referenced) {
+      index.putLong(slot * SLOT_SIZE, fingerprint);
+      index.putInt(slot * SLOT_SIZE + Long.BYTES, offset);
+      index.putInt(slot * SLOT_SIZE + Long.BYTES + Integer.BYTES, referenced);
+    }
+  }
+}
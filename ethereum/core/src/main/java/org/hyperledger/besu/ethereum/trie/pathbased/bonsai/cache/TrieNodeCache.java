@@ -0,0 +1,65 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/** The trie nodes kept by the {@link BonsaiCachedMerkleTrieLoader}. */
+interface TrieNodeCache {
+
+  /**
+   * Gets a cached node.
+   *
+   * @param location the location of the node in the trie, prefixed by the account hash for
+   *     storage tries
+   * @param nodeHash the hash of the node
+   * @return the node, empty if it is not cached
+   */
+  Optional<Bytes> get(Bytes location, Bytes32 nodeHash);
+
+  /**
+   * Caches a node.
+   *
+   * @param location the location of the node in the trie, prefixed by the account hash for
+   *     storage tries
+   * @param nodeHash the hash of the node
+   * @param node the node
+   */
+  void put(Bytes location, Bytes32 nodeHash, Bytes node);
+
+  /**
+   * Wraps an on heap cache of nodes keyed by their hash, the location is not used.
+   *
+   * @param nodes the cache
+   * @return the trie node cache
+   */
+  static TrieNodeCache byHash(final Cache<Bytes, Bytes> nodes) {
+    return new TrieNodeCache() {
+      @Override
+      public Optional<Bytes> get(final Bytes location, final Bytes32 nodeHash) {
+        return Optional.ofNullable(nodes.getIfPresent(nodeHash));
+      }
+
+      @Override
+      public void put(final Bytes location, final Bytes32 nodeHash, final Bytes node) {
+        nodes.put(nodeHash, node);
+      }
+    };
+  }
+}
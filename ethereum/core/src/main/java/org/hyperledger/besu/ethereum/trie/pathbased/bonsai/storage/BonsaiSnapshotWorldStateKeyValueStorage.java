@@ -23,6 +23,7 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Supplier;
 
@@ -95,6 +96,13 @@ public class BonsaiSnapshotWorldStateKeyValueStorage extends BonsaiWorldStateKey
     return isClosedGet() ? Optional.empty() : super.getTrieNodeUnsafe(key);
   }
 
+  @Override
+  public List<Optional<Bytes>> getTrieNodesUnsafe(final List<Bytes> keys) {
+    return isClosedGet()
+        ? keys.stream().map(__ -> Optional.<Bytes>empty()).toList()
+        : super.getTrieNodesUnsafe(keys);
+  }
+
   @Override
   public Optional<Bytes> getAccountStorageTrieNode(
       final Hash accountHash, final Bytes location, final Bytes32 nodeHash) {
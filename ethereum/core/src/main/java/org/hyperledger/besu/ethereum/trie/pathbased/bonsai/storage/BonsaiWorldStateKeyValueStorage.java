@@ -130,6 +130,13 @@ public class BonsaiWorldStateKeyValueStorage extends PathBasedWorldStateKeyValue
     return composedWorldStateStorage.get(TRIE_BRANCH_STORAGE, key.toArrayUnsafe()).map(Bytes::wrap);
   }
 
+  public List<Optional<Bytes>> getTrieNodesUnsafe(final List<Bytes> keys) {
+    final List<byte[]> rawKeys = keys.stream().map(Bytes::toArrayUnsafe).toList();
+    final List<Optional<byte[]>> nodes =
+        composedWorldStateStorage.multiGet(TRIE_BRANCH_STORAGE, rawKeys);
+    return nodes.stream().map(node -> node.map(Bytes::wrap)).toList();
+  }
+
   public Optional<Bytes> getStorageValueByStorageSlotKey(
       final Hash accountHash, final StorageSlotKey storageSlotKey) {
     return getStorageValueByStorageSlotKey(
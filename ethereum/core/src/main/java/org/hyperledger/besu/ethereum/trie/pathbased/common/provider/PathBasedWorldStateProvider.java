@@ -91,6 +91,9 @@ public abstract class PathBasedWorldStateProvider implements WorldStateArchive {
         WorldStateConfig.newBuilder()
             .parallelStateRootComputationEnabled(
                 pathBasedExtraStorageConfiguration.getParallelStateRootComputationEnabled())
+            .statePrefetchEnabled(
+                pathBasedExtraStorageConfiguration.getUnstable().getStatePrefetchEnabled())
+            .blockStmEnabled(pathBasedExtraStorageConfiguration.getUnstable().getBlockStmEnabled())
             .build();
   }
 
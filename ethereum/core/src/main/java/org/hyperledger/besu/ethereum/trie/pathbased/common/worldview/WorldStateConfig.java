@@ -33,10 +33,25 @@ public class WorldStateConfig {
    */
   private boolean isParallelStateRootComputationEnabled;
 
+  /**
+   * Indicates whether the state a block is known to access is loaded in parallel before the block
+   * is executed. Default is false
+   */
+  private boolean isStatePrefetchEnabled;
+
+  /**
+   * Indicates whether the parallel transaction processing uses the Block-STM engine, which
+   * re-executes only the transactions that read a value written by a preceding transaction.
+   * Default is false
+   */
+  private boolean isBlockStmEnabled;
+
   private WorldStateConfig(final Builder builder) {
     this.isTrieDisabled = builder.isTrieDisabled;
     this.isStateful = builder.isStateful;
     this.isParallelStateRootComputationEnabled = builder.isParallelStateRootComputationEnabled;
+    this.isStatePrefetchEnabled = builder.isStatePrefetchEnabled;
+    this.isBlockStmEnabled = builder.isBlockStmEnabled;
   }
 
   public boolean isTrieDisabled() {
@@ -51,6 +66,14 @@ public class WorldStateConfig {
     return isParallelStateRootComputationEnabled;
   }
 
+  public boolean isStatePrefetchEnabled() {
+    return isStatePrefetchEnabled;
+  }
+
+  public boolean isBlockStmEnabled() {
+    return isBlockStmEnabled;
+  }
+
   public void setTrieDisabled(final boolean trieDisabled) {
     isTrieDisabled = trieDisabled;
   }
@@ -64,6 +87,14 @@ public class WorldStateConfig {
     isParallelStateRootComputationEnabled = parallelStateRootComputationEnabled;
   }
 
+  public void setStatePrefetchEnabled(final boolean statePrefetchEnabled) {
+    isStatePrefetchEnabled = statePrefetchEnabled;
+  }
+
+  public void setBlockStmEnabled(final boolean blockStmEnabled) {
+    isBlockStmEnabled = blockStmEnabled;
+  }
+
   /**
    * Merges this WorldStateConfig with another WorldStateConfig and returns a new instance.
    *
@@ -75,6 +106,8 @@ public class WorldStateConfig {
         .trieDisabled(other.isTrieDisabled)
         .stateful(other.isStateful)
         .parallelStateRootComputationEnabled(other.isParallelStateRootComputationEnabled)
+        .statePrefetchEnabled(other.isStatePrefetchEnabled)
+        .blockStmEnabled(other.isBlockStmEnabled)
         .build();
   }
 
@@ -98,6 +131,8 @@ public class WorldStateConfig {
     private boolean isStateful = true;
     private boolean isTrieDisabled = false;
     private boolean isParallelStateRootComputationEnabled = true;
+    private boolean isStatePrefetchEnabled = false;
+    private boolean isBlockStmEnabled = false;
 
     public Builder() {}
 
@@ -105,6 +140,8 @@ public class WorldStateConfig {
       this.isTrieDisabled = spec.isTrieDisabled();
       this.isStateful = spec.isStateful();
       this.isParallelStateRootComputationEnabled = spec.isParallelStateRootComputationEnabled();
+      this.isStatePrefetchEnabled = spec.isStatePrefetchEnabled();
+      this.isBlockStmEnabled = spec.isBlockStmEnabled();
     }
 
     public Builder trieDisabled(final boolean trieDisabled) {
@@ -123,6 +160,16 @@ public class WorldStateConfig {
       return this;
     }
 
+    public Builder statePrefetchEnabled(final boolean statePrefetchEnabled) {
+      this.isStatePrefetchEnabled = statePrefetchEnabled;
+      return this;
+    }
+
+    public Builder blockStmEnabled(final boolean blockStmEnabled) {
+      this.isBlockStmEnabled = blockStmEnabled;
+      return this;
+    }
+
     public WorldStateConfig build() {
       return new WorldStateConfig(this);
     }
@@ -223,6 +223,91 @@ public abstract class PathBasedWorldStateUpdateAccumulator<ACCOUNT extends PathB
     this.isAccumulatorStateChanged = true;
   }
 
+  /**
+   * Imports the state changes of a source whose reads have been validated against the current
+   * state. Unlike {@link #importStateChangesFromSource}, the prior values already known by the
+   * current state are kept, and only the updated values of the source are taken. This allows
+   * importing the changes of a transaction that was executed on top of the changes of other
+   * transactions of the block, whose prior values are not the ones of the parent state.
+   *
+   * <p>The source is expected to only contain values that the current state has already loaded
+   * while validating it, the prior value of the source is only used for the values that the
+   * current state does not know. The values that the source has only read are left untouched.
+   *
+   * @param source The source accumulator
+   */
+  public void importValidatedStateChangesFromSource(
+      final PathBasedWorldStateUpdateAccumulator<ACCOUNT> source) {
+    source
+        .getAccountsToUpdate()
+        .forEach(
+            (address, pathBasedValue) -> {
+              ACCOUNT copyUpdated =
+                  pathBasedValue.getUpdated() != null
+                      ? copyAccount(pathBasedValue.getUpdated(), this, true)
+                      : null;
+              final PathBasedValue<ACCOUNT> existing = accountsToUpdate.get(address);
+              if (existing == null) {
+                ACCOUNT copyPrior =
+                    pathBasedValue.getPrior() != null
+                        ? copyAccount(pathBasedValue.getPrior(), this, false)
+                        : null;
+                accountsToUpdate.put(
+                    address,
+                    new PathBasedValue<>(
+                        copyPrior, copyUpdated, pathBasedValue.isLastStepCleared()));
+              } else if (!pathBasedValue.isUnchanged()) {
+                existing.setUpdated(copyUpdated);
+              }
+            });
+    source
+        .getCodeToUpdate()
+        .forEach(
+            (address, pathBasedValue) -> {
+              final PathBasedValue<Bytes> existing = codeToUpdate.get(address);
+              if (existing == null) {
+                codeToUpdate.put(
+                    address,
+                    new PathBasedValue<>(
+                        pathBasedValue.getPrior(),
+                        pathBasedValue.getUpdated(),
+                        pathBasedValue.isLastStepCleared()));
+              } else if (!pathBasedValue.isUnchanged()) {
+                existing.setUpdated(pathBasedValue.getUpdated());
+              }
+            });
+    source
+        .getStorageToUpdate()
+        .forEach(
+            (address, slots) -> {
+              StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>> storageConsumingMap =
+                  storageToUpdate.computeIfAbsent(
+                      address,
+                      k ->
+                          new StorageConsumingMap<>(
+                              address, new ConcurrentHashMap<>(), storagePreloader));
+              slots.forEach(
+                  (storageSlotKey, uInt256PathBasedValue) -> {
+                    final PathBasedValue<UInt256> existing =
+                        storageConsumingMap.get(storageSlotKey);
+                    if (existing == null) {
+                      storageConsumingMap.put(
+                          storageSlotKey,
+                          new PathBasedValue<>(
+                              uInt256PathBasedValue.getPrior(),
+                              uInt256PathBasedValue.getUpdated(),
+                              uInt256PathBasedValue.isLastStepCleared()));
+                    } else if (!uInt256PathBasedValue.isUnchanged()) {
+                      existing.setUpdated(uInt256PathBasedValue.getUpdated());
+                    }
+                  });
+            });
+    storageToClear.addAll(source.storageToClear);
+    storageKeyHashLookup.putAll(source.storageKeyHashLookup);
+
+    this.isAccumulatorStateChanged = true;
+  }
+
   protected Consumer<PathBasedValue<ACCOUNT>> getAccountPreloader() {
     return accountPreloader;
   }
@@ -87,6 +87,9 @@ public interface PathBasedExtraStorageConfiguration {
 
     boolean DEFAULT_FULL_FLAT_DB_ENABLED = true;
     boolean DEFAULT_CODE_USING_CODE_HASH_ENABLED = true;
+    boolean DEFAULT_STATE_PREFETCH_ENABLED = false;
+    boolean DEFAULT_BLOCK_STM_ENABLED = false;
+    long DEFAULT_OFF_HEAP_TRIE_NODE_CACHE_SIZE_MB = 0;
 
     @Value.Default
     default boolean getFullFlatDbEnabled() {
@@ -97,5 +100,20 @@ public interface PathBasedExtraStorageConfiguration {
     default boolean getCodeStoredByCodeHashEnabled() {
       return DEFAULT_CODE_USING_CODE_HASH_ENABLED;
     }
+
+    @Value.Default
+    default boolean getStatePrefetchEnabled() {
+      return DEFAULT_STATE_PREFETCH_ENABLED;
+    }
+
+    @Value.Default
+    default boolean getBlockStmEnabled() {
+      return DEFAULT_BLOCK_STM_ENABLED;
+    }
+
+    @Value.Default
+    default long getOffHeapTrieNodeCacheSizeMb() {
+      return DEFAULT_OFF_HEAP_TRIE_NODE_CACHE_SIZE_MB;
+    }
   }
 }
@@ -0,0 +1,84 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
+import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class TransactionSenderRecoveryTest {
+
+  @Test
+  public void recoversTheSendersOfAllTheTransactions() {
+    final List<Address> senders = new ArrayList<>();
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < TransactionSenderRecovery.MIN_TRANSACTIONS_PER_TASK * 5 + 3; i++) {
+      final KeyPair keyPair = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+      final Transaction signed = new TransactionTestFixture().nonce(i).createTransaction(keyPair);
+      senders.add(signed.getSender());
+      transactions.add(withoutSender(signed));
+    }
+
+    TransactionSenderRecovery.recoverSenders(transactions);
+
+    assertThat(transactions).map(Transaction::getSender).containsExactlyElementsOf(senders);
+  }
+
+  @Test
+  public void recoversTheSendersInTheBackground() throws Exception {
+    final KeyPair keyPair = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+    final Transaction signed = new TransactionTestFixture().createTransaction(keyPair);
+    final Transaction transaction = withoutSender(signed);
+
+    TransactionSenderRecovery.recoverSendersAsync(List.of(transaction)).get(10, TimeUnit.SECONDS);
+
+    assertThat(transaction.getSender()).isEqualTo(signed.getSender());
+  }
+
+  @Test
+  public void ignoresTheTransactionsWhoseSenderCannotBeRecovered() {
+    final Transaction invalid = mock(Transaction.class);
+    when(invalid.getSender()).thenThrow(new IllegalStateException("invalid signature"));
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < TransactionSenderRecovery.MIN_TRANSACTIONS_PER_TASK * 2; i++) {
+      transactions.add(invalid);
+    }
+
+    TransactionSenderRecovery.recoverSenders(transactions);
+
+    verify(invalid, times(transactions.size())).getSender();
+  }
+
+  private static Transaction withoutSender(final Transaction transaction) {
+    return TransactionDecoder.decodeOpaqueBytes(
+        TransactionEncoder.encodeOpaqueBytes(transaction, EncodingContext.BLOCK_BODY),
+        EncodingContext.BLOCK_BODY);
+  }
+}
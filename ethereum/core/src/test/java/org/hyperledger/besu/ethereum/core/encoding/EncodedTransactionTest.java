@@ -0,0 +1,151 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core.encoding;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.util.TrustedSetupClassLoaderExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class EncodedTransactionTest extends TrustedSetupClassLoaderExtension {
+
+  private static final BlockDataGenerator GENERATOR = new BlockDataGenerator();
+
+  @ParameterizedTest
+  @EnumSource(
+      value = TransactionType.class,
+      names = {"FRONTIER", "ACCESS_LIST", "EIP1559", "BLOB", "DELEGATE_CODE"})
+  void hashIsComputedWithoutDecoding(final TransactionType type) {
+    final Transaction transaction = GENERATOR.transaction(type);
+
+    final EncodedTransaction encoded =
+        readSingle(encodeList(transaction, EncodingContext.BLOCK_BODY), EncodingContext.BLOCK_BODY);
+
+    assertThat(encoded.getHash()).isEqualTo(transaction.getHash());
+    assertThat(encoded.decode().getHash()).isEqualTo(transaction.getHash());
+    assertThat(encoded.decode().getNonce()).isEqualTo(transaction.getNonce());
+  }
+
+  @Test
+  void hashOfPooledBlobTransactionExcludesTheBlobs() throws IOException {
+    final Bytes opaqueBytes = readOpaqueBytes("blob2.txt");
+    final Transaction transaction =
+        TransactionDecoder.decodeOpaqueBytes(opaqueBytes, EncodingContext.POOLED_TRANSACTION);
+
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeBytes(opaqueBytes);
+    out.endList();
+    final EncodedTransaction encoded =
+        readSingle(out.encoded(), EncodingContext.POOLED_TRANSACTION);
+
+    assertThat(encoded.getHash()).isEqualTo(transaction.getHash());
+    assertThat(encoded.decode().getBlobsWithCommitments()).isPresent();
+  }
+
+  @Test
+  void readingKeepsASliceOfTheInput() {
+    final List<Transaction> transactions =
+        List.of(GENERATOR.transaction(), GENERATOR.transaction(TransactionType.EIP1559));
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.writeList(
+        transactions,
+        (transaction, rlpOutput) ->
+            TransactionEncoder.encodeRLP(transaction, rlpOutput, EncodingContext.BLOCK_BODY));
+
+    final List<EncodedTransaction> encoded =
+        RLP.input(out.encoded())
+            .readList(input -> EncodedTransaction.readFrom(input, EncodingContext.BLOCK_BODY));
+
+    assertThat(encoded).hasSize(2);
+    for (int i = 0; i < transactions.size(); i++) {
+      final BytesValueRLPOutput expected = new BytesValueRLPOutput();
+      TransactionEncoder.encodeRLP(transactions.get(i), expected, EncodingContext.BLOCK_BODY);
+      assertThat(encoded.get(i).getEncoded()).isEqualTo(expected.encoded());
+      assertThat(encoded.get(i).getHash()).isEqualTo(transactions.get(i).getHash());
+    }
+  }
+
+  @Test
+  void decodingIsDoneOnce() {
+    final Transaction transaction = GENERATOR.transaction();
+    final EncodedTransaction encoded =
+        readSingle(encodeList(transaction, EncodingContext.BLOCK_BODY), EncodingContext.BLOCK_BODY);
+
+    assertThat(encoded.decode()).isSameAs(encoded.decode());
+  }
+
+  @Test
+  void unsupportedTypeIsRejected() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeBytes(Bytes.fromHexString("0x7ec0"));
+    out.endList();
+    final EncodedTransaction encoded = readSingle(out.encoded(), EncodingContext.BLOCK_BODY);
+
+    assertThatThrownBy(encoded::getHash).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void emptyTypedTransactionIsRejected() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeBytes(Bytes.EMPTY);
+    out.endList();
+    final EncodedTransaction encoded = readSingle(out.encoded(), EncodingContext.BLOCK_BODY);
+
+    assertThatThrownBy(encoded::getHash).isInstanceOf(RLPException.class);
+  }
+
+  private static Bytes encodeList(final Transaction transaction, final EncodingContext context) {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    TransactionEncoder.encodeRLP(transaction, out, context);
+    out.endList();
+    return out.encoded();
+  }
+
+  private static EncodedTransaction readSingle(final Bytes list, final EncodingContext context) {
+    final RLPInput input = RLP.input(list);
+    input.enterList();
+    final EncodedTransaction encoded = EncodedTransaction.readFrom(input, context);
+    input.leaveList();
+    return encoded;
+  }
+
+  private static Bytes readOpaqueBytes(final String resource) throws IOException {
+    try (InputStream inputStream = EncodedTransactionTest.class.getResourceAsStream(resource)) {
+      return Bytes.fromHexString(
+          new String(inputStream.readAllBytes(), StandardCharsets.UTF_8).replaceAll("\\s", ""));
+    }
+  }
+}
@@ -42,7 +42,9 @@ import org.hyperledger.besu.ethereum.mainnet.parallelization.MainnetParallelBloc
 import org.hyperledger.besu.ethereum.mainnet.parallelization.ParallelTransactionPreprocessing;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiAccount;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BlockAccessListStateRootHashCalculator;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.provider.PathBasedWorldStateProvider;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
 
@@ -199,6 +201,74 @@ class AbstractBlockProcessorIntegrationTest {
     processSlotReadThenUpdateTx(blockProcessor);
   }
 
+  @ParameterizedTest(name = "{index}: {0}")
+  @MethodSource("blockProcessorProvider")
+  void testProcessConflictedSimpleTransfersWithCoinbaseWithStatePrefetch(
+      final String ignoredName, final BlockProcessor blockProcessor) {
+    final StubMetricsSystem metricsSystem = enableStatePrefetch(blockProcessor);
+    processConflictedSimpleTransfersWithCoinbase(blockProcessor);
+
+    // both senders, the recipient and the coinbase were prefetched, no storage was touched
+    assertStatePrefetchCompleted(metricsSystem);
+    assertThat(prefetchCounter(metricsSystem, "accounts", "hit", "late")).isEqualTo(4);
+    assertThat(prefetchCounter(metricsSystem, "accounts", "miss")).isZero();
+    assertThat(prefetchCounter(metricsSystem, "storage_slots", "hit", "late", "miss")).isZero();
+  }
+
+  @ParameterizedTest(name = "{index}: {0}")
+  @MethodSource("blockProcessorProvider")
+  void testProcessContractSlotUpdateThenReadTxWithStatePrefetch(
+      final String ignoredName, final BlockProcessor blockProcessor) {
+    final StubMetricsSystem metricsSystem = enableStatePrefetch(blockProcessor);
+    processContractSlotUpdateThenReadTx(blockProcessor);
+
+    // the transactions have no access list, so the three slots are only loaded by the execution
+    assertStatePrefetchCompleted(metricsSystem);
+    assertThat(prefetchCounter(metricsSystem, "accounts", "hit", "late")).isEqualTo(4);
+    assertThat(prefetchCounter(metricsSystem, "storage_slots", "hit", "late")).isZero();
+    assertThat(prefetchCounter(metricsSystem, "storage_slots", "miss")).isEqualTo(3);
+  }
+
+  @ParameterizedTest(name = "{index}: {0}")
+  @MethodSource("blockProcessorProvider")
+  void testProcessConflictedSimpleTransfersSameSenderWithBlockStm(
+      final String ignoredName, final BlockProcessor blockProcessor) {
+    enableBlockStm();
+    processConflictedSimpleTransfersSameSender(blockProcessor);
+  }
+
+  @ParameterizedTest(name = "{index}: {0}")
+  @MethodSource("blockProcessorProvider")
+  void testProcessConflictedSimpleTransfersWithCoinbaseWithBlockStm(
+      final String ignoredName, final BlockProcessor blockProcessor) {
+    enableBlockStm();
+    processConflictedSimpleTransfersWithCoinbase(blockProcessor);
+  }
+
+  @ParameterizedTest(name = "{index}: {0}")
+  @MethodSource("blockProcessorProvider")
+  void testProcessContractSlotUpdateThenReadTxWithBlockStm(
+      final String ignoredName, final BlockProcessor blockProcessor) {
+    enableBlockStm();
+    processContractSlotUpdateThenReadTx(blockProcessor);
+  }
+
+  @ParameterizedTest(name = "{index}: {0}")
+  @MethodSource("blockProcessorProvider")
+  void testProcessSlotReadThenUpdateTxWithBlockStm(
+      final String ignoredName, final BlockProcessor blockProcessor) {
+    enableBlockStm();
+    processSlotReadThenUpdateTx(blockProcessor);
+  }
+
+  @ParameterizedTest(name = "{index}: {0}")
+  @MethodSource("blockProcessorProvider")
+  void testProcessAccountUpdateThenReadTxWithBlockStm(
+      final String ignoredName, final BlockProcessor blockProcessor) {
+    enableBlockStm();
+    processAccountUpdateThenReadTx(blockProcessor);
+  }
+
   @ParameterizedTest(name = "{index}: {0}")
   @MethodSource("blockProcessorProviderWithoutRewards")
   void blockAccessListStateRootMatchesAccumulatorForSimpleTransfers(
@@ -388,6 +458,45 @@ class AbstractBlockProcessorIntegrationTest {
     assertNonceChange(parallelResult, Address.fromHexStringStrict(ACCOUNT_GENESIS_2), 1L);
   }
 
+  private StubMetricsSystem enableStatePrefetch(final BlockProcessor blockProcessor) {
+    ((PathBasedWorldStateProvider) worldStateArchive)
+        .getWorldStateSharedSpec()
+        .setStatePrefetchEnabled(true);
+    // load on the calling thread so the prefetch is always done before the first transaction
+    protocolContext =
+        new ProtocolContext.Builder()
+            .withBlockchain(blockchain)
+            .withWorldStateArchive(worldStateArchive)
+            .withStatePrefetchExecutor(Runnable::run)
+            .build();
+    final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+    ((AbstractBlockProcessor) blockProcessor)
+        .setBlockStatePrefetcher(new BlockStatePrefetcher(metricsSystem));
+    return metricsSystem;
+  }
+
+  private static void assertStatePrefetchCompleted(final StubMetricsSystem metricsSystem) {
+    assertThat(metricsSystem.getCounterValue("state_prefetch_blocks_total", "completed"))
+        .isEqualTo(1);
+    assertThat(metricsSystem.getCounterValue("state_prefetch_blocks_total", "unfinished"))
+        .isZero();
+  }
+
+  private static long prefetchCounter(
+      final StubMetricsSystem metricsSystem, final String kind, final String... results) {
+    long total = 0;
+    for (final String result : results) {
+      total += metricsSystem.getCounterValue("state_prefetch_" + kind + "_total", result);
+    }
+    return total;
+  }
+
+  private void enableBlockStm() {
+    ((PathBasedWorldStateProvider) worldStateArchive)
+        .getWorldStateSharedSpec()
+        .setBlockStmEnabled(true);
+  }
+
   private void processSimpleTransfers(final BlockProcessor blockProcessor) {
     // Create two non conflicted transactions
     Transaction transactionTransfer1 = // ACCOUNT_GENESIS_1 -> ACCOUNT_2
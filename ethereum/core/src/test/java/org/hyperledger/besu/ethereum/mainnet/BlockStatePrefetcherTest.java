@@ -0,0 +1,234 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.config.GenesisConfig;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithm;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.AccessListEntry;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.mainnet.BlockStatePrefetcher.Prefetch;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.DataStorageFormat;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BlockStatePrefetcherTest {
+
+  private static final String GENESIS_RESOURCE =
+      "/org/hyperledger/besu/ethereum/mainnet/genesis-bp-it.json";
+
+  private static final Address SENDER =
+      Address.fromHexStringStrict("0x627306090abab3a6e1400e9345bc60c78a8bef57");
+  private static final Address OTHER_GENESIS_ACCOUNT =
+      Address.fromHexStringStrict("0x7f2d653f56ea8de6ffa554c7a0cd4e03af79f3eb");
+  private static final Address RECIPIENT =
+      Address.fromHexStringStrict("0x0000000000000000000000000000000000000002");
+  private static final Address COINBASE =
+      Address.fromHexStringStrict("0x0000000000000000000000000000000000000003");
+  private static final Address CONTRACT =
+      Address.fromHexStringStrict("0x00000000000000000000000000000000000fffff");
+
+  private static final StorageSlotKey SLOT_0 = new StorageSlotKey(UInt256.ZERO);
+  private static final StorageSlotKey SLOT_1 = new StorageSlotKey(UInt256.ONE);
+  private static final StorageSlotKey SLOT_2 = new StorageSlotKey(UInt256.valueOf(2));
+
+  private static final KeyPair SENDER_KEYPAIR = generateKeyPair();
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final Queue<Runnable> pendingLoads = new ArrayDeque<>();
+  private final Executor queuingExecutor = pendingLoads::add;
+
+  private ProtocolContext protocolContext;
+  private BlockHeader blockHeader;
+  private BonsaiWorldStateUpdateAccumulator blockAccumulator;
+  private List<Transaction> transactions;
+
+  @BeforeEach
+  void setUp() {
+    final ExecutionContextTestFixture contextTestFixture =
+        ExecutionContextTestFixture.builder(GenesisConfig.fromResource(GENESIS_RESOURCE))
+            .dataStorageFormat(DataStorageFormat.BONSAI)
+            .build();
+    protocolContext = contextTestFixture.getProtocolContext();
+    blockHeader =
+        new BlockHeaderTestFixture()
+            .number(1L)
+            .parentHash(contextTestFixture.getGenesis().getHash())
+            .coinbase(COINBASE)
+            .buildHeader();
+    blockAccumulator =
+        (BonsaiWorldStateUpdateAccumulator)
+            contextTestFixture.getStateArchive().getWorldState().updater();
+    transactions =
+        List.of(
+            new TransactionTestFixture()
+                .type(TransactionType.ACCESS_LIST)
+                .to(Optional.of(RECIPIENT))
+                .accessList(List.of(new AccessListEntry(CONTRACT, List.of(slot(0), slot(2)))))
+                .createTransaction(SENDER_KEYPAIR));
+  }
+
+  @Test
+  void nothingIsPrefetchedWhenTheParentIsNotTheChainHead() {
+    final BlockHeader orphanHeader =
+        new BlockHeaderTestFixture().number(1L).parentHash(Hash.ZERO).buildHeader();
+
+    assertThat(start(orphanHeader, Runnable::run)).isEmpty();
+  }
+
+  @Test
+  void prefetchedStateIsImportedAndCountedAsHitLateOrMiss() {
+    final Prefetch prefetch = start(blockHeader, Runnable::run).orElseThrow();
+
+    // loaded by the execution before the prefetch is imported
+    blockAccumulator.get(RECIPIENT);
+    blockAccumulator.getStorageValueByStorageSlotKey(CONTRACT, SLOT_0);
+
+    prefetch.importIfDone(blockAccumulator);
+
+    assertThat(blockAccumulator.getAccountsToUpdate())
+        .containsOnlyKeys(SENDER, RECIPIENT, COINBASE, CONTRACT);
+    assertThat(blockAccumulator.getStorageToUpdate().get(CONTRACT))
+        .containsOnlyKeys(SLOT_0, SLOT_2);
+    assertThat(blockAccumulator.getStorageValueByStorageSlotKey(CONTRACT, SLOT_2))
+        .contains(UInt256.valueOf(0x7e));
+
+    // loaded by the execution without being prefetched
+    blockAccumulator.get(OTHER_GENESIS_ACCOUNT);
+    blockAccumulator.getStorageValueByStorageSlotKey(CONTRACT, SLOT_1);
+
+    prefetch.finish(blockAccumulator);
+
+    assertThat(blocksCounter("completed")).isEqualTo(1);
+    assertThat(blocksCounter("unfinished")).isZero();
+    assertThat(accountsCounter("hit")).isEqualTo(3);
+    assertThat(accountsCounter("late")).isEqualTo(1);
+    assertThat(accountsCounter("miss")).isEqualTo(1);
+    assertThat(slotsCounter("hit")).isEqualTo(1);
+    assertThat(slotsCounter("late")).isEqualTo(1);
+    assertThat(slotsCounter("miss")).isEqualTo(1);
+  }
+
+  @Test
+  void prefetchStillLoadingIsNotImported() {
+    final Prefetch prefetch = start(blockHeader, queuingExecutor).orElseThrow();
+
+    prefetch.importIfDone(blockAccumulator);
+    blockAccumulator.get(SENDER);
+    prefetch.finish(blockAccumulator);
+
+    assertThat(blockAccumulator.getAccountsToUpdate()).containsOnlyKeys(SENDER);
+    assertThat(blocksCounter("completed")).isZero();
+    assertThat(blocksCounter("unfinished")).isEqualTo(1);
+    assertThat(accountsCounter("hit")).isZero();
+    assertThat(accountsCounter("late")).isZero();
+    assertThat(accountsCounter("miss")).isZero();
+  }
+
+  @Test
+  void cancelledPrefetchStopsLoadingTheTransactionsState() {
+    final Prefetch prefetch = start(blockHeader, queuingExecutor).orElseThrow();
+
+    prefetch.cancel();
+    pendingLoads.forEach(Runnable::run);
+    prefetch.importIfDone(blockAccumulator);
+
+    // only the mining beneficiary, which is loaded on its own, was loaded
+    assertThat(blockAccumulator.getAccountsToUpdate()).containsOnlyKeys(COINBASE);
+    assertThat(blockAccumulator.getStorageToUpdate()).isEmpty();
+
+    prefetch.finish(blockAccumulator);
+
+    assertThat(blocksCounter("completed")).isEqualTo(1);
+    assertThat(accountsCounter("hit")).isEqualTo(1);
+  }
+
+  @Test
+  void nothingIsPrefetchedWithoutAnExecutor() {
+    assertThat(
+            new BlockStatePrefetcher(metricsSystem)
+                .start(protocolContext, blockHeader, transactions, COINBASE, Optional.empty()))
+        .isEmpty();
+  }
+
+  @Test
+  void nothingIsPrefetchedOnceTheExecutorIsShutDown() {
+    final Executor shutDownExecutor =
+        runnable -> {
+          throw new RejectedExecutionException();
+        };
+
+    assertThat(start(blockHeader, shutDownExecutor)).isEmpty();
+  }
+
+  private Optional<Prefetch> start(final BlockHeader header, final Executor executor) {
+    final ProtocolContext prefetchingContext =
+        new ProtocolContext.Builder()
+            .withBlockchain(protocolContext.getBlockchain())
+            .withWorldStateArchive(protocolContext.getWorldStateArchive())
+            .withStatePrefetchExecutor(executor)
+            .build();
+    return new BlockStatePrefetcher(metricsSystem)
+        .start(prefetchingContext, header, transactions, COINBASE, Optional.empty());
+  }
+
+  private long blocksCounter(final String result) {
+    return metricsSystem.getCounterValue("state_prefetch_blocks_total", result);
+  }
+
+  private long accountsCounter(final String result) {
+    return metricsSystem.getCounterValue("state_prefetch_accounts_total", result);
+  }
+
+  private long slotsCounter(final String result) {
+    return metricsSystem.getCounterValue("state_prefetch_storage_slots_total", result);
+  }
+
+  private static Bytes32 slot(final long slot) {
+    return UInt256.valueOf(slot);
+  }
+
+  private static KeyPair generateKeyPair() {
+    final SignatureAlgorithm signatureAlgorithm = SignatureAlgorithmFactory.getInstance();
+    return signatureAlgorithm.createKeyPair(
+        signatureAlgorithm.createPrivateKey(
+            Bytes32.fromHexString(
+                "c87509a1c067bbde78beb793e6fa76530b6382a4c0241e5e4a9ec0a0f44dc0d3")));
+  }
+}
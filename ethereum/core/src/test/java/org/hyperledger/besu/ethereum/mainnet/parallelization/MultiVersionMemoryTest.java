@@ -0,0 +1,181 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.parallelization;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.ReadWriteSet;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.SlotKey;
+import org.hyperledger.besu.ethereum.mainnet.parallelization.MultiVersionMemory.Version;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.BonsaiAccount;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache.CodeCache;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.PathBasedValue;
+import org.hyperledger.besu.ethereum.trie.pathbased.common.worldview.accumulator.preload.StorageConsumingMap;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MultiVersionMemoryTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x1");
+  private static final Address OTHER_ADDRESS = Address.fromHexString("0x2");
+  private static final StorageSlotKey SLOT = new StorageSlotKey(UInt256.ONE);
+
+  @Mock BonsaiWorldState worldState;
+  private MultiVersionMemory multiVersionMemory;
+
+  @BeforeEach
+  public void setUp() {
+    multiVersionMemory = new MultiVersionMemory();
+  }
+
+  @Test
+  void readsTheValueWrittenByTheClosestPrecedingTransaction() {
+    record(1, Optional.empty(), accumulatorWritingBalance(ADDRESS, Wei.of(10)));
+    record(3, Optional.empty(), accumulatorWritingBalance(ADDRESS, Wei.of(30)));
+
+    assertThat(multiVersionMemory.readAccount(ADDRESS, 1)).isEmpty();
+    assertThat(balanceRead(2)).isEqualTo(Wei.of(10));
+    assertThat(balanceRead(3)).isEqualTo(Wei.of(10));
+    assertThat(balanceRead(4)).isEqualTo(Wei.of(30));
+    assertThat(multiVersionMemory.readAccount(OTHER_ADDRESS, 4)).isEmpty();
+  }
+
+  @Test
+  void readOnlyValuesAreNotWritten() {
+    final BonsaiWorldStateUpdateAccumulator accumulator = createAccumulator();
+    final BonsaiAccount account = createAccount(ADDRESS, Wei.ONE);
+    accumulator.getAccountsToUpdate().put(ADDRESS, new PathBasedValue<>(account, account));
+    storage(accumulator, ADDRESS).put(SLOT, new PathBasedValue<>(UInt256.ONE, UInt256.ONE));
+
+    final ReadWriteSet readWriteSet = record(0, Optional.empty(), accumulator);
+
+    assertThat(readWriteSet.readAccounts()).containsExactly(ADDRESS);
+    assertThat(readWriteSet.readSlots()).containsExactly(new SlotKey(ADDRESS, SLOT));
+    assertThat(readWriteSet.writtenAccounts()).isEmpty();
+    assertThat(readWriteSet.writtenSlots()).isEmpty();
+    assertThat(multiVersionMemory.readAccount(ADDRESS, 1)).isEmpty();
+    assertThat(multiVersionMemory.readSlot(ADDRESS, SLOT, 1)).isEmpty();
+  }
+
+  @Test
+  void storageWritesAreVersionedPerSlot() {
+    final BonsaiWorldStateUpdateAccumulator accumulator = createAccumulator();
+    storage(accumulator, ADDRESS).put(SLOT, new PathBasedValue<>(UInt256.ZERO, UInt256.MAX_VALUE));
+
+    record(0, Optional.empty(), accumulator);
+
+    assertThat(multiVersionMemory.readSlot(ADDRESS, SLOT, 1))
+        .map(Version::value)
+        .contains(UInt256.MAX_VALUE);
+    assertThat(multiVersionMemory.readSlot(ADDRESS, new StorageSlotKey(UInt256.ZERO), 1)).isEmpty();
+    assertThat(multiVersionMemory.readSlot(OTHER_ADDRESS, SLOT, 1)).isEmpty();
+  }
+
+  @Test
+  void valuesNoLongerWrittenByANewExecutionAreRemoved() {
+    final ReadWriteSet first =
+        record(0, Optional.empty(), accumulatorWritingBalance(ADDRESS, Wei.of(10)));
+    record(0, Optional.of(first), accumulatorWritingBalance(OTHER_ADDRESS, Wei.of(20)));
+
+    assertThat(multiVersionMemory.readAccount(ADDRESS, 1)).isEmpty();
+    assertThat(multiVersionMemory.readAccount(OTHER_ADDRESS, 1))
+        .map(version -> version.value().getBalance())
+        .contains(Wei.of(20));
+  }
+
+  @Test
+  void writtenKeysAreComparedWithReadKeys() {
+    final ReadWriteSet writer =
+        ReadWriteSet.from(accumulatorWritingBalance(ADDRESS, Wei.of(10)));
+
+    final BonsaiWorldStateUpdateAccumulator reader = createAccumulator();
+    final BonsaiAccount account = createAccount(ADDRESS, Wei.ONE);
+    reader.getAccountsToUpdate().put(ADDRESS, new PathBasedValue<>(account, account));
+    final BonsaiWorldStateUpdateAccumulator otherReader = createAccumulator();
+    final BonsaiAccount otherAccount = createAccount(OTHER_ADDRESS, Wei.ONE);
+    otherReader
+        .getAccountsToUpdate()
+        .put(OTHER_ADDRESS, new PathBasedValue<>(otherAccount, otherAccount));
+
+    assertThat(writer.writesReadBy(ReadWriteSet.from(reader))).isTrue();
+    assertThat(writer.writesReadBy(ReadWriteSet.from(otherReader))).isFalse();
+  }
+
+  private ReadWriteSet record(
+      final int txIndex,
+      final Optional<ReadWriteSet> previous,
+      final BonsaiWorldStateUpdateAccumulator accumulator) {
+    final ReadWriteSet readWriteSet = ReadWriteSet.from(accumulator);
+    multiVersionMemory.record(txIndex, previous, accumulator, readWriteSet);
+    return readWriteSet;
+  }
+
+  private Wei balanceRead(final int txIndex) {
+    return multiVersionMemory.readAccount(ADDRESS, txIndex).orElseThrow().value().getBalance();
+  }
+
+  private BonsaiWorldStateUpdateAccumulator accumulatorWritingBalance(
+      final Address address, final Wei balance) {
+    final BonsaiWorldStateUpdateAccumulator accumulator = createAccumulator();
+    final BonsaiAccount prior = createAccount(address, Wei.ONE);
+    final BonsaiAccount updated = new BonsaiAccount(prior, worldState, true);
+    updated.setBalance(balance);
+    accumulator.getAccountsToUpdate().put(address, new PathBasedValue<>(prior, updated));
+    return accumulator;
+  }
+
+  private BonsaiWorldStateUpdateAccumulator createAccumulator() {
+    return new BonsaiWorldStateUpdateAccumulator(
+        worldState, (__, ___) -> {}, (__, ___) -> {}, EvmConfiguration.DEFAULT, new CodeCache());
+  }
+
+  private static StorageConsumingMap<StorageSlotKey, PathBasedValue<UInt256>> storage(
+      final BonsaiWorldStateUpdateAccumulator accumulator, final Address address) {
+    return accumulator
+        .getStorageToUpdate()
+        .computeIfAbsent(
+            address,
+            __ -> new StorageConsumingMap<>(address, new ConcurrentHashMap<>(), (___, ____) -> {}));
+  }
+
+  private BonsaiAccount createAccount(final Address address, final Wei balance) {
+    return new BonsaiAccount(
+        worldState,
+        address,
+        address.addressHash(),
+        0,
+        balance,
+        Hash.EMPTY_TRIE_HASH,
+        Hash.EMPTY,
+        false,
+        new CodeCache());
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class SimulationWorldStateCacheTest {
+
+  private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
+  private final BlockHeader header = new BlockHeaderTestFixture().number(10L).buildHeader();
+
+  @Test
+  public void sharesTheWorldStateOfABlock() throws Exception {
+    final MutableWorldState worldState = mock(MutableWorldState.class);
+    when(worldStateArchive.getWorldState(any())).thenReturn(Optional.of(worldState));
+    final SimulationWorldStateCache cache = createCache(Duration.ofMinutes(1));
+
+    try (final SimulationWorldStateCache.Lease first = cache.acquire(header);
+        final SimulationWorldStateCache.Lease second = cache.acquire(header)) {
+      assertThat(first.getWorldState()).isSameAs(worldState);
+      assertThat(second.getWorldState()).isSameAs(worldState);
+    }
+    try (final SimulationWorldStateCache.Lease third = cache.acquire(header)) {
+      assertThat(third.getWorldState()).isSameAs(worldState);
+    }
+
+    verify(worldStateArchive, times(1)).getWorldState(any());
+    verify(worldState, never()).close();
+  }
+
+  @Test
+  public void closesExpiredWorldStateOnceNoLongerUsed() throws Exception {
+    final MutableWorldState worldState = mock(MutableWorldState.class);
+    final MutableWorldState nextWorldState = mock(MutableWorldState.class);
+    when(worldStateArchive.getWorldState(any()))
+        .thenReturn(Optional.of(worldState), Optional.of(nextWorldState));
+    final SimulationWorldStateCache cache = createCache(Duration.ofMillis(100));
+
+    final SimulationWorldStateCache.Lease lease = cache.acquire(header);
+    // once the world state expired, the next simulation builds it again
+    await()
+        .atMost(5, TimeUnit.SECONDS)
+        .until(
+            () -> {
+              try (final SimulationWorldStateCache.Lease nextLease = cache.acquire(header)) {
+                return nextLease.getWorldState() == nextWorldState;
+              }
+            });
+    verify(worldState, never()).close();
+
+    lease.close();
+    verify(worldState, timeout(1_000)).close();
+  }
+
+  @Test
+  public void failsWhenTheWorldStateIsNotAvailable() {
+    when(worldStateArchive.getWorldState(any())).thenReturn(Optional.empty());
+    final SimulationWorldStateCache cache = createCache(Duration.ofMinutes(1));
+
+    assertThatThrownBy(() -> cache.acquire(header))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("world state not available");
+  }
+
+  private SimulationWorldStateCache createCache(final Duration timeToLive) {
+    return new SimulationWorldStateCache(worldStateArchive, timeToLive, new NoOpMetricsSystem());
+  }
+}
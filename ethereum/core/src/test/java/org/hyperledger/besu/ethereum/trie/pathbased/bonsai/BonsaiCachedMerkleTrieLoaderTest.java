@@ -96,6 +96,31 @@ class BonsaiCachedMerkleTrieLoaderTest {
         .isEqualTo(trie.get(hashAccountZero.getBytes()));
   }
 
+  @Test
+  void shouldAddAccountNodesInOffHeapCacheDuringPreload() {
+    merkleTrieLoader = new BonsaiCachedMerkleTrieLoader(new NoOpMetricsSystem(), 64);
+    merkleTrieLoader.cacheAccountNodes(
+        inMemoryWorldState, Hash.wrap(trie.getRootHash()), accounts.get(0));
+
+    final BonsaiWorldStateKeyValueStorage emptyStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(),
+            new NoOpMetricsSystem(),
+            DataStorageConfiguration.DEFAULT_BONSAI_CONFIG);
+    StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie =
+        new StoredMerklePatriciaTrie<>(
+            (Bytes location, Bytes32 hash) ->
+                merkleTrieLoader.getAccountStateTrieNode(
+                    emptyStorage, location, Bytes32.wrap(hash)),
+            trie.getRootHash(),
+            Function.identity(),
+            Function.identity());
+
+    final Hash hashAccountZero = accounts.get(0).addressHash();
+    assertThat(cachedTrie.get(hashAccountZero.getBytes()))
+        .isEqualTo(trie.get(hashAccountZero.getBytes()));
+  }
+
   @Test
   void shouldAddStorageNodesInCacheDuringPreload() {
     final Hash hashAccountZero = accounts.get(0).addressHash();
@@ -0,0 +1,114 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.pathbased.bonsai.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+
+class OffHeapTrieNodeCacheTest {
+
+  // 4 KiB per segment
+  private static final long CAPACITY = 64 * 4096;
+
+  private final OffHeapTrieNodeCache cache = new OffHeapTrieNodeCache(CAPACITY);
+
+  @Test
+  void shouldGetCachedNode() {
+    final Bytes node = node(1);
+    cache.put(location(1), hash(node), node);
+
+    assertThat(cache.get(location(1), hash(node))).contains(node);
+    assertThat(cache.get(location(2), hash(node))).isEmpty();
+    assertThat(cache.hitCount()).isEqualTo(1);
+    assertThat(cache.missCount()).isEqualTo(1);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldMissAndDropNodeWithAnotherHash() {
+    final Bytes oldNode = node(1);
+    final Bytes newNode = node(2);
+    cache.put(location(1), hash(oldNode), oldNode);
+
+    assertThat(cache.get(location(1), hash(newNode))).isEmpty();
+    assertThat(cache.get(location(1), hash(oldNode))).isEmpty();
+    assertThat(cache.size()).isZero();
+
+    cache.put(location(1), hash(newNode), newNode);
+    assertThat(cache.get(location(1), hash(newNode))).contains(newNode);
+  }
+
+  @Test
+  void shouldReplaceNodeAtSameLocation() {
+    final Bytes oldNode = node(1);
+    final Bytes newNode = node(2);
+    cache.put(location(1), hash(oldNode), oldNode);
+    cache.put(location(1), hash(newNode), newNode);
+
+    assertThat(cache.get(location(1), hash(newNode))).contains(newNode);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldStayWithinCapacity() {
+    for (int i = 0; i < 40_000; i++) {
+      final Bytes node = node(i);
+      cache.put(location(i), hash(node), node);
+      assertThat(cache.usedBytes()).isLessThanOrEqualTo(CAPACITY);
+    }
+
+    assertThat(cache.evictionCount()).isPositive();
+    final Bytes lastNode = node(39_999);
+    assertThat(cache.get(location(39_999), hash(lastNode))).contains(lastNode);
+    assertThat(cache.get(location(0), hash(node(0)))).isEmpty();
+  }
+
+  @Test
+  void shouldKeepNodesReadSinceTheyWereCached() {
+    final Bytes hotNode = node(-1);
+    cache.put(location(-1), hash(hotNode), hotNode);
+    for (int i = 0; i < 40_000; i++) {
+      final Bytes node = node(i);
+      cache.put(location(i), hash(node), node);
+      assertThat(cache.get(location(-1), hash(hotNode))).contains(hotNode);
+    }
+  }
+
+  @Test
+  void shouldNotCacheOversizedNodes() {
+    final Bytes node = Bytes.wrap(new byte[4096]);
+    cache.put(location(1), hash(node), node);
+
+    assertThat(cache.get(location(1), hash(node))).isEmpty();
+    assertThat(cache.usedBytes()).isZero();
+  }
+
+  private static Bytes location(final int i) {
+    return Bytes.ofUnsignedInt(i & 0xffffffffL);
+  }
+
+  private static Bytes node(final int i) {
+    return Bytes.concatenate(Bytes.ofUnsignedInt(i & 0xffffffffL), Bytes.wrap(new byte[96]));
+  }
+
+  private static Bytes32 hash(final Bytes node) {
+    return Bytes32.wrap(Hash.hash(node).getBytes());
+  }
+}
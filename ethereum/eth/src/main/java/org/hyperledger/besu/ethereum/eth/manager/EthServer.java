@@ -40,7 +40,7 @@ import org.hyperledger.besu.ethereum.eth.messages.ReceiptsMessage;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.PooledRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
@@ -150,37 +150,38 @@ class EthServer {
 
     // Encode the first header
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
-    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
-    rlp.startList();
-    final Bytes firstEncodedHeader = RLP.encode(firstHeader::writeTo);
-    if (responseSizeEstimate + firstEncodedHeader.size() > maxMessageSize) {
-      return BlockHeadersMessage.create(Collections.emptyList());
-    }
-    responseSizeEstimate += firstEncodedHeader.size();
-    rlp.writeRaw(firstEncodedHeader);
-    // Collect and encode the remaining headers
-    final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
-    for (int i = 1; i < maxHeaders; i++) {
-      final long blockNumber = firstHeader.getNumber() + i * numberDelta;
-      if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
-        break;
-      }
-      final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
-      if (maybeHeader.isEmpty()) {
-        break;
+    try (PooledRLPOutput rlp = PooledRLPOutput.acquire()) {
+      rlp.startList();
+      rlp.mark();
+      firstHeader.writeTo(rlp);
+      if (responseSizeEstimate + rlp.sizeSinceMark() > maxMessageSize) {
+        return BlockHeadersMessage.create(Collections.emptyList());
       }
-      final BytesValueRLPOutput headerRlp = new BytesValueRLPOutput();
-      maybeHeader.get().writeTo(headerRlp);
-      final int encodedSize = headerRlp.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
-        break;
+      responseSizeEstimate += rlp.sizeSinceMark();
+      // Collect and encode the remaining headers
+      final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
+      for (int i = 1; i < maxHeaders; i++) {
+        final long blockNumber = firstHeader.getNumber() + i * numberDelta;
+        if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
+          break;
+        }
+        final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
+        if (maybeHeader.isEmpty()) {
+          break;
+        }
+        rlp.mark();
+        maybeHeader.get().writeTo(rlp);
+        final int encodedSize = rlp.sizeSinceMark();
+        if (responseSizeEstimate + encodedSize > maxMessageSize) {
+          rlp.resetToMark();
+          break;
+        }
+        responseSizeEstimate += encodedSize;
       }
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(headerRlp.encoded());
-    }
-    rlp.endList();
+      rlp.endList();
 
-    return BlockHeadersMessage.createUnsafe(rlp.encoded());
+      return BlockHeadersMessage.createUnsafe(rlp.encoded());
+    }
   }
 
   static MessageData constructGetBodiesResponse(
@@ -192,31 +193,32 @@ class EthServer {
     final Iterable<Hash> hashes = getBlockBodiesMessage.hashes();
 
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
-    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
-    rlp.startList();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
+    try (PooledRLPOutput rlp = PooledRLPOutput.acquire()) {
+      rlp.startList();
+      int count = 0;
+      for (final Hash hash : hashes) {
+        if (count >= requestLimit) {
+          break;
+        }
+        count++;
+        final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
+        if (maybeBody.isEmpty()) {
+          continue;
+        }
+
+        final BlockBody body = maybeBody.get();
+        rlp.mark();
+        body.writeWrappedBodyTo(rlp);
+        final int encodedSize = rlp.sizeSinceMark();
+        if (responseSizeEstimate + encodedSize > maxMessageSize) {
+          rlp.resetToMark();
+          break;
+        }
+        responseSizeEstimate += encodedSize;
       }
-      count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (maybeBody.isEmpty()) {
-        continue;
-      }
-
-      final BlockBody body = maybeBody.get();
-      final BytesValueRLPOutput bodyOutput = new BytesValueRLPOutput();
-      body.writeWrappedBodyTo(bodyOutput);
-      final int encodedSize = bodyOutput.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
-        break;
-      }
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(bodyOutput.encoded());
+      rlp.endList();
+      return BlockBodiesMessage.createUnsafe(rlp.encoded());
     }
-    rlp.endList();
-    return BlockBodiesMessage.createUnsafe(rlp.encoded());
   }
 
   static MessageData constructGetReceiptsResponse(
@@ -229,40 +231,40 @@ class EthServer {
     final Iterable<Hash> hashes = getReceipts.hashes();
 
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
-    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
-    rlp.startList();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
-      }
-      count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
-      if (maybeReceipts.isEmpty()) {
-        continue;
-      }
-      final BytesValueRLPOutput encodedReceipts = new BytesValueRLPOutput();
-      encodedReceipts.startList();
-      TransactionReceiptEncodingConfiguration encodingConfiguration =
-          EthProtocol.isEth69Compatible(cap)
-              ? TransactionReceiptEncodingConfiguration.ETH69_RECEIPT_CONFIGURATION
-              : TransactionReceiptEncodingConfiguration.DEFAULT_NETWORK_CONFIGURATION;
-      maybeReceipts
-          .get()
-          .forEach(
-              r -> TransactionReceiptEncoder.writeTo(r, encodedReceipts, encodingConfiguration));
-      encodedReceipts.endList();
-      final int encodedSize = encodedReceipts.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
-        break;
+    try (PooledRLPOutput rlp = PooledRLPOutput.acquire()) {
+      rlp.startList();
+      int count = 0;
+      for (final Hash hash : hashes) {
+        if (count >= requestLimit) {
+          break;
+        }
+        count++;
+        final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
+        if (maybeReceipts.isEmpty()) {
+          continue;
+        }
+        rlp.mark();
+        rlp.startList();
+        TransactionReceiptEncodingConfiguration encodingConfiguration =
+            EthProtocol.isEth69Compatible(cap)
+                ? TransactionReceiptEncodingConfiguration.ETH69_RECEIPT_CONFIGURATION
+                : TransactionReceiptEncodingConfiguration.DEFAULT_NETWORK_CONFIGURATION;
+        maybeReceipts
+            .get()
+            .forEach(r -> TransactionReceiptEncoder.writeTo(r, rlp, encodingConfiguration));
+        rlp.endList();
+        final int encodedSize = rlp.sizeSinceMark();
+        if (responseSizeEstimate + encodedSize > maxMessageSize) {
+          rlp.resetToMark();
+          break;
+        }
+
+        responseSizeEstimate += encodedSize;
       }
+      rlp.endList();
 
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(encodedReceipts.encoded());
+      return ReceiptsMessage.createUnsafe(rlp.encoded());
     }
-    rlp.endList();
-
-    return ReceiptsMessage.createUnsafe(rlp.encoded());
   }
 
   static MessageData constructGetPooledTransactionsResponse(
@@ -280,40 +282,41 @@ class EthServer {
     final List<Hash> returnedHashes = new ArrayList<>(hashes.size());
 
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
-    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
-    rlp.startList();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
-      }
-      count++;
-      final Optional<Transaction> maybeTx = transactionPool.getTransactionByHash(hash);
-      if (maybeTx.isEmpty()) {
-        continue;
+    try (PooledRLPOutput rlp = PooledRLPOutput.acquire()) {
+      rlp.startList();
+      int count = 0;
+      for (final Hash hash : hashes) {
+        if (count >= requestLimit) {
+          break;
+        }
+        count++;
+        final Optional<Transaction> maybeTx = transactionPool.getTransactionByHash(hash);
+        if (maybeTx.isEmpty()) {
+          continue;
+        }
+
+        rlp.mark();
+        TransactionEncoder.encodeRLP(maybeTx.get(), rlp, EncodingContext.POOLED_TRANSACTION);
+        final int encodedSize = rlp.sizeSinceMark();
+        if (responseSizeEstimate + encodedSize > maxMessageSize) {
+          rlp.resetToMark();
+          break;
+        }
+
+        responseSizeEstimate += encodedSize;
+        returnedHashes.add(hash);
       }
+      rlp.endList();
 
-      final BytesValueRLPOutput txRlp = new BytesValueRLPOutput();
-      TransactionEncoder.encodeRLP(maybeTx.get(), txRlp, EncodingContext.POOLED_TRANSACTION);
-      final int encodedSize = txRlp.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
-        break;
-      }
+      LOG.atTrace()
+          .setMessage("Sending pooled transactions: peer={}, returned hashes={}, notFoundCount={}")
+          .addArgument(peer)
+          .addArgument(returnedHashes)
+          .addArgument(() -> hashes.size() - returnedHashes.size())
+          .log();
 
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(txRlp.encoded());
-      returnedHashes.add(hash);
+      return PooledTransactionsMessage.createUnsafe(rlp.encoded());
     }
-    rlp.endList();
-
-    LOG.atTrace()
-        .setMessage("Sending pooled transactions: peer={}, returned hashes={}, notFoundCount={}")
-        .addArgument(peer)
-        .addArgument(returnedHashes)
-        .addArgument(() -> hashes.size() - returnedHashes.size())
-        .log();
-
-    return PooledTransactionsMessage.createUnsafe(rlp.encoded());
   }
 
   static MessageData constructGetNodeDataResponse(
@@ -325,32 +328,33 @@ class EthServer {
     final Iterable<Hash> hashes = getNodeDataMessage.hashes();
 
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
-    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
-    rlp.startList();
-    int count = 0;
-    for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
-        break;
+    try (PooledRLPOutput rlp = PooledRLPOutput.acquire()) {
+      rlp.startList();
+      int count = 0;
+      for (final Hash hash : hashes) {
+        if (count >= requestLimit) {
+          break;
+        }
+        count++;
+
+        final Optional<Bytes> maybeNodeData = worldStateArchive.getNodeData(hash);
+        if (maybeNodeData.isEmpty()) {
+          continue;
+        }
+
+        rlp.mark();
+        rlp.writeBytes(maybeNodeData.get());
+        final int encodedSize = rlp.sizeSinceMark();
+        if (responseSizeEstimate + encodedSize > maxMessageSize) {
+          rlp.resetToMark();
+          break;
+        }
+
+        responseSizeEstimate += encodedSize;
       }
-      count++;
+      rlp.endList();
 
-      final Optional<Bytes> maybeNodeData = worldStateArchive.getNodeData(hash);
-      if (maybeNodeData.isEmpty()) {
-        continue;
-      }
-
-      final BytesValueRLPOutput rlpNodeData = new BytesValueRLPOutput();
-      rlpNodeData.writeBytes(maybeNodeData.get());
-      final int encodedSize = rlpNodeData.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
-        break;
-      }
-
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(rlpNodeData.encoded());
+      return NodeDataMessage.createUnsafe(rlp.encoded());
     }
-    rlp.endList();
-
-    return NodeDataMessage.createUnsafe(rlp.encoded());
   }
 }
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.eth.manager.peertask.task;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodedTransaction;
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeerImmutableAttributes;
 import org.hyperledger.besu.ethereum.eth.manager.peertask.InvalidPeerTaskResponseException;
@@ -52,12 +53,13 @@ public class GetPooledTransactionsFromPeerTask implements PeerTask<List<Transact
       throws InvalidPeerTaskResponseException {
     final PooledTransactionsMessage pooledTransactionsMessage =
         PooledTransactionsMessage.readFrom(messageData);
-    final List<Transaction> responseTransactions = pooledTransactionsMessage.transactions();
+    final List<EncodedTransaction> responseTransactions =
+        pooledTransactionsMessage.encodedTransactions();
     if (responseTransactions.size() > hashes.size()) {
       throw new InvalidPeerTaskResponseException(
           "Response transaction count does not match request hash count");
     }
-    return responseTransactions;
+    return responseTransactions.stream().map(EncodedTransaction::decode).toList();
   }
 
   @Override
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.eth.messages;
 
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodedTransaction;
 import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
 import org.hyperledger.besu.ethereum.core.encoding.TransactionDecoder;
 import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
@@ -84,4 +85,15 @@ public final class PooledTransactionsMessage extends AbstractMessageData {
     }
     return pooledTransactions;
   }
+
+  /**
+   * Reads the transactions without decoding them, so that the transactions already known can be
+   * skipped before paying for their decoding, which for blob transactions includes their blobs.
+   *
+   * @return the encoded transactions, in the order of the message
+   */
+  public List<EncodedTransaction> encodedTransactions() {
+    return new BytesValueRLPInput(getData(), false)
+        .readList(input -> EncodedTransaction.readFrom(input, EncodingContext.POOLED_TRANSACTION));
+  }
 }
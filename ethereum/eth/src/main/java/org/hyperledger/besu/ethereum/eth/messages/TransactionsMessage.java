@@ -15,6 +15,8 @@
 package org.hyperledger.besu.ethereum.eth.messages;
 
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodedTransaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
@@ -60,4 +62,15 @@ public class TransactionsMessage extends AbstractMessageData {
   public List<Transaction> transactions() {
     return new BytesValueRLPInput(data, false).readList(Transaction::readFrom);
   }
+
+  /**
+   * Reads the transactions without decoding them, so that the transactions already known can be
+   * skipped before paying for their decoding.
+   *
+   * @return the encoded transactions, in the order of the message
+   */
+  public List<EncodedTransaction> encodedTransactions() {
+    return new BytesValueRLPInput(data, false)
+        .readList(input -> EncodedTransaction.readFrom(input, EncodingContext.BLOCK_BODY));
+  }
 }
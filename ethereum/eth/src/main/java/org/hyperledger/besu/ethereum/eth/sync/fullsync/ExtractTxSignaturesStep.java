@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.eth.sync.fullsync;
 
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionSenderRecovery;
 
 import java.util.List;
 import java.util.function.Function;
@@ -25,11 +26,10 @@ public class ExtractTxSignaturesStep implements Function<List<Block>, Stream<Blo
 
   @Override
   public Stream<Block> apply(final List<Block> blocks) {
-    return blocks.stream().map(this::extractSignatures);
-  }
-
-  private Block extractSignatures(final Block block) {
-    block.getBody().getTransactions().forEach(Transaction::getSender);
-    return block;
+    // recover the senders of all the blocks at once, to spread large blocks across all the cores
+    final List<Transaction> transactions =
+        blocks.stream().flatMap(block -> block.getBody().getTransactions().stream()).toList();
+    TransactionSenderRecovery.recoverSenders(transactions);
+    return blocks.stream();
   }
 }
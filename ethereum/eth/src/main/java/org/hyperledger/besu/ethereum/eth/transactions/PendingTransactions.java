@@ -23,10 +23,12 @@ import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.SequencedMap;
 
 public interface PendingTransactions {
 
@@ -41,6 +43,23 @@ public interface PendingTransactions {
   TransactionAddedResult addTransaction(
       PendingTransaction transaction, Optional<Account> maybeSenderAccount);
 
+  /**
+   * Add the transactions in iteration order, as {@link #addTransaction} would do one by one, but
+   * allowing implementations to do it in a single pass.
+   *
+   * @param transactions the transactions to add, with the account of their sender
+   * @return the result of the add for each transaction, in iteration order
+   */
+  default SequencedMap<PendingTransaction, TransactionAddedResult> addTransactions(
+      final SequencedMap<PendingTransaction, Optional<Account>> transactions) {
+    final SequencedMap<PendingTransaction, TransactionAddedResult> results =
+        new LinkedHashMap<>(transactions.size());
+    transactions.forEach(
+        (transaction, maybeSenderAccount) ->
+            results.put(transaction, addTransaction(transaction, maybeSenderAccount)));
+    return results;
+  }
+
   void selectTransactions(PendingTransactionsSelector selector);
 
   long maxSize();
@@ -53,6 +72,16 @@ public interface PendingTransactions {
 
   Collection<PendingTransaction> getPendingTransactions();
 
+  /**
+   * Return the pending transactions grouped by layer, from the first layer, for implementations
+   * that organize them in layers, otherwise all the pending transactions as a single layer.
+   *
+   * @return the pending transactions of each layer
+   */
+  default List<List<PendingTransaction>> getPendingTransactionsByLayer() {
+    return List.of(List.copyOf(getPendingTransactions()));
+  }
+
   long subscribePendingTransactions(PendingTransactionAddedListener listener);
 
   void unsubscribePendingTransactions(long id);
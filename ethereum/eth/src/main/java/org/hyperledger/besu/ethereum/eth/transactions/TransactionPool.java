@@ -35,7 +35,7 @@ import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
-import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.core.TransactionSenderRecovery;
 import org.hyperledger.besu.ethereum.core.kzg.BlobProofBundle;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
@@ -46,8 +46,6 @@ import org.hyperledger.besu.ethereum.mainnet.TransactionValidator;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.transactionpool.TransactionPoolPreProcessor;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
-import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.pathbased.bonsai.worldview.BonsaiWorldState;
@@ -56,34 +54,31 @@ import org.hyperledger.besu.evm.fluent.SimpleAccount;
 import org.hyperledger.besu.plugin.data.AddedBlockContext.EventType;
 import org.hyperledger.besu.util.Subscribers;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.SequencedMap;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -91,7 +86,6 @@ import java.util.stream.Stream;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimaps;
-import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -148,6 +142,8 @@ public class TransactionPool implements BlockAddedObserver {
     subscribeDroppedTransactions(
         (transaction, reason) -> unmapBlobsOnTransactionDropped(transaction));
     subscribeDroppedTransactions(transactionBroadcaster);
+    subscribePendingTransactions(transaction -> saveRestoreManager.onPoolChanged());
+    subscribeDroppedTransactions((transaction, reason) -> saveRestoreManager.onPoolChanged());
   }
 
   @VisibleForTesting
@@ -176,6 +172,8 @@ public class TransactionPool implements BlockAddedObserver {
     final int initialCount = transactions.size();
     final List<Transaction> addedTransactions = new ArrayList<>(initialCount);
     LOG.trace("Adding {} remote transactions", initialCount);
+    // the senders are needed to sort the transactions, recover them in parallel beforehand
+    TransactionSenderRecovery.recoverSenders(List.copyOf(transactions));
 
     final var validationResults =
         sortedBySenderAndNonce(transactions)
@@ -218,6 +216,28 @@ public class TransactionPool implements BlockAddedObserver {
       final boolean hasPriority,
       final byte score) {
 
+    final CheckedTransaction checkedTransaction =
+        checkTransaction(baseTransaction, isLocal, hasPriority, score);
+    if (!checkedTransaction.result().isValid()) {
+      return checkedTransaction.result();
+    }
+
+    final TransactionAddedResult status =
+        pendingTransactions.addTransaction(
+            checkedTransaction.pendingTransaction(), checkedTransaction.maybeSenderAccount());
+    return handleAddedResult(checkedTransaction.pendingTransaction(), status);
+  }
+
+  /**
+   * Do all the checks needed before adding a transaction to the pending transactions, that do not
+   * depend on the other transactions being added, so they can be done in parallel for a batch.
+   */
+  private CheckedTransaction checkTransaction(
+      final Transaction baseTransaction,
+      final boolean isLocal,
+      final boolean hasPriority,
+      final byte score) {
+
     if (pendingTransactions.containsTransaction(baseTransaction)) {
       LOG.atTrace()
           .setMessage("Discard already present transaction {}")
@@ -225,7 +245,7 @@ public class TransactionPool implements BlockAddedObserver {
           .log();
       // We already have this transaction, don't even validate it.
       metrics.incrementRejected(isLocal, hasPriority, TRANSACTION_ALREADY_KNOWN, "txpool");
-      return ValidationResult.invalid(TRANSACTION_ALREADY_KNOWN);
+      return CheckedTransaction.invalid(ValidationResult.invalid(TRANSACTION_ALREADY_KNOWN));
     }
 
     // Apply any necessary fork related pre-processing before submitting the transaction to the pool
@@ -237,35 +257,7 @@ public class TransactionPool implements BlockAddedObserver {
     final ValidationResultAndAccount validationResult =
         validateTransaction(transaction, isLocal, hasPriority);
 
-    if (validationResult.result.isValid()) {
-      final TransactionAddedResult status =
-          pendingTransactions.addTransaction(
-              PendingTransaction.newPendingTransaction(transaction, isLocal, hasPriority, score),
-              validationResult.maybeAccount);
-      if (status.isSuccess()) {
-        LOG.atTrace()
-            .setMessage("Added {} transaction {}")
-            .addArgument(() -> isLocal ? "local" : "remote")
-            .addArgument(transaction::toTraceLog)
-            .log();
-      } else {
-        final var rejectReason =
-            status
-                .maybeInvalidReason()
-                .orElseGet(
-                    () -> {
-                      LOG.warn("Missing invalid reason for status {}", status);
-                      return INTERNAL_ERROR;
-                    });
-        LOG.atTrace()
-            .setMessage("Transaction {} rejected reason {}")
-            .addArgument(transaction::toTraceLog)
-            .addArgument(rejectReason)
-            .log();
-        metrics.incrementRejected(isLocal, hasPriority, rejectReason, "txpool");
-        return ValidationResult.invalid(rejectReason);
-      }
-    } else {
+    if (!validationResult.result.isValid()) {
       LOG.atTrace()
           .setMessage("Discard invalid transaction {}, reason {}, because {}")
           .addArgument(transaction::toTraceLog)
@@ -274,9 +266,46 @@ public class TransactionPool implements BlockAddedObserver {
           .log();
       metrics.incrementRejected(
           isLocal, hasPriority, validationResult.result.getInvalidReason(), "txpool");
+      return CheckedTransaction.invalid(validationResult.result);
     }
 
-    return validationResult.result;
+    return new CheckedTransaction(
+        validationResult.result,
+        PendingTransaction.newPendingTransaction(transaction, isLocal, hasPriority, score),
+        validationResult.maybeAccount);
+  }
+
+  private ValidationResult<TransactionInvalidReason> handleAddedResult(
+      final PendingTransaction pendingTransaction, final TransactionAddedResult status) {
+    final Transaction transaction = pendingTransaction.getTransaction();
+    if (status.isSuccess()) {
+      LOG.atTrace()
+          .setMessage("Added {} transaction {}")
+          .addArgument(() -> pendingTransaction.isReceivedFromLocalSource() ? "local" : "remote")
+          .addArgument(transaction::toTraceLog)
+          .log();
+      return ValidationResult.valid();
+    }
+
+    final var rejectReason =
+        status
+            .maybeInvalidReason()
+            .orElseGet(
+                () -> {
+                  LOG.warn("Missing invalid reason for status {}", status);
+                  return INTERNAL_ERROR;
+                });
+    LOG.atTrace()
+        .setMessage("Transaction {} rejected reason {}")
+        .addArgument(transaction::toTraceLog)
+        .addArgument(rejectReason)
+        .log();
+    metrics.incrementRejected(
+        pendingTransaction.isReceivedFromLocalSource(),
+        pendingTransaction.hasPriority(),
+        rejectReason,
+        "txpool");
+    return ValidationResult.invalid(rejectReason);
   }
 
   private Optional<Wei> getMaxGasPrice(final Transaction transaction) {
@@ -586,6 +615,20 @@ public class TransactionPool implements BlockAddedObserver {
     void onTransactionsAdded(Collection<Transaction> transactions);
   }
 
+  /**
+   * The outcome of the checks done before adding a transaction to the pending transactions. The
+   * pending transaction to add is null if the transaction is not valid.
+   */
+  private record CheckedTransaction(
+      ValidationResult<TransactionInvalidReason> result,
+      PendingTransaction pendingTransaction,
+      Optional<Account> maybeSenderAccount) {
+
+    static CheckedTransaction invalid(final ValidationResult<TransactionInvalidReason> result) {
+      return new CheckedTransaction(result, null, Optional.empty());
+    }
+  }
+
   private static class ValidationResultAndAccount {
     final ValidationResult<TransactionInvalidReason> result;
     final Optional<Account> maybeAccount;
@@ -622,13 +665,18 @@ public class TransactionPool implements BlockAddedObserver {
       isPoolEnabled.set(true);
       subscribeConnectId =
           OptionalLong.of(ethContext.getEthPeers().subscribeConnect(this::handleConnect));
-      return saveRestoreManager
-          .loadFromDisk()
-          .exceptionally(
-              t -> {
-                LOG.error("Error while restoring transaction pool from disk", t);
-                return null;
-              });
+      final CompletableFuture<Void> loadOperation =
+          saveRestoreManager
+              .loadFromDisk()
+              .exceptionally(
+                  t -> {
+                    LOG.error("Error while restoring transaction pool from disk", t);
+                    return null;
+                  });
+      // scheduled after the load has taken the disk access lock, so no checkpoint could overwrite
+      // the save file before it is restored
+      saveRestoreManager.scheduleCheckpoints();
+      return loadOperation;
     }
     return CompletableFuture.completedFuture(null);
   }
@@ -642,7 +690,8 @@ public class TransactionPool implements BlockAddedObserver {
    *   <li>Marks the pool as disabled and unsubscribes listeners/events.
    *   <li>Clears the blob map to prevent stale or duplicate entries (blobs are restored from disk
    *       when the pool is re-enabled).
-   *   <li>Persists current pending transactions to disk asynchronously.
+   *   <li>Stops the periodic checkpoints and persists current pending transactions to disk
+   *       asynchronously.
    *   <li>Replaces the pending transactions with a disabled placeholder.
    * </ul>
    *
@@ -654,6 +703,7 @@ public class TransactionPool implements BlockAddedObserver {
       subscribeConnectId.ifPresent(ethContext.getEthPeers()::unsubscribeConnect);
       pendingTransactionsListenersProxy.unsubscribe();
       mapOfBlobsInTransactionPool.clear();
+      saveRestoreManager.cancelCheckpoints();
       final CompletableFuture<Void> saveOperation =
           saveRestoreManager
               .saveToDisk(pendingTransactions)
@@ -748,18 +798,77 @@ public class TransactionPool implements BlockAddedObserver {
     }
   }
 
+  private record SavedTransaction(TransactionPoolSaveFile.Entry entry, Transaction transaction) {}
+
   class SaveRestoreManager {
+    // large enough to validate in parallel, small enough to check often if the restore is cancelled
+    private static final int RESTORE_BATCH_SIZE = 256;
+
     private final Semaphore diskAccessLock = new Semaphore(1, true);
     private final AtomicReference<CompletableFuture<Void>> writeInProgress =
         new AtomicReference<>(CompletableFuture.completedFuture(null));
     private final AtomicReference<CompletableFuture<Void>> readInProgress =
         new AtomicReference<>(CompletableFuture.completedFuture(null));
     private final AtomicBoolean isCancelled = new AtomicBoolean(false);
+    private final AtomicLong changesSinceSave = new AtomicLong();
+    private volatile Optional<ScheduledFuture<?>> checkpointTask = Optional.empty();
+    // only accessed holding the disk access lock
+    private List<TransactionPoolSaveFile.Entry> notRestoredEntries = List.of();
 
     CompletableFuture<Void> saveToDisk(final PendingTransactions pendingTransactionsToSave) {
       cancelInProgressReadOperation();
       return serializeAndDedupOperation(
-          () -> executeSaveToDisk(pendingTransactionsToSave), writeInProgress);
+          () -> executeSaveToDisk(pendingTransactionsToSave, false), writeInProgress);
+    }
+
+    void onPoolChanged() {
+      changesSinceSave.incrementAndGet();
+    }
+
+    /**
+     * Periodically save the content of the txpool while it is enabled, so it is not lost in case of
+     * a crash. Each checkpoint replaces the save file, and is skipped if there were no changes
+     * since the last save.
+     */
+    void scheduleCheckpoints() {
+      if (checkpointsEnabled()) {
+        final Duration saveInterval = configuration.getSaveInterval();
+        checkpointTask =
+            Optional.of(
+                ethContext
+                    .getScheduler()
+                    .scheduleFutureTaskWithFixedDelay(
+                        this::checkpoint, saveInterval, saveInterval));
+      }
+    }
+
+    void cancelCheckpoints() {
+      checkpointTask.ifPresent(task -> task.cancel(false));
+      checkpointTask = Optional.empty();
+    }
+
+    private boolean checkpointsEnabled() {
+      return configuration.getEnableSaveRestore() && configuration.getSaveInterval().isPositive();
+    }
+
+    private void checkpoint() {
+      // skip if there is nothing new to save, or if a restore or a save is in progress
+      if (changesSinceSave.get() == 0 || !diskAccessLock.tryAcquire()) {
+        return;
+      }
+      CompletableFuture.runAsync(
+              () -> {
+                if (isEnabled()) {
+                  executeSaveToDisk(pendingTransactions, true);
+                }
+              })
+          .whenComplete(
+              (res, err) -> {
+                diskAccessLock.release();
+                if (err != null) {
+                  LOG.warn("Error while saving a checkpoint of the transaction pool", err);
+                }
+              });
     }
 
     CompletableFuture<Void> loadFromDisk() {
@@ -808,55 +917,33 @@ public class TransactionPool implements BlockAddedObserver {
       return CompletableFuture.completedFuture(null);
     }
 
-    private void executeSaveToDisk(final PendingTransactions pendingTransactionsToSave) {
+    private void executeSaveToDisk(
+        final PendingTransactions pendingTransactionsToSave, final boolean isCheckpoint) {
       final File saveFile = configuration.getSaveFile();
-      final boolean appending = saveFile.exists();
-      try (final BufferedWriter bw =
-          new BufferedWriter(new FileWriter(saveFile, StandardCharsets.US_ASCII, appending))) {
-        final var allTxs = pendingTransactionsToSave.getPendingTransactions();
-        LOG.info(
-            "{} {} transactions to file {}",
-            appending ? "Appending" : "Saving",
-            allTxs.size(),
-            saveFile);
-
-        final long processedTxCount =
-            allTxs.parallelStream()
-                .takeWhile(unused -> !isCancelled.get())
-                .map(
-                    ptx -> {
-                      final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
-                      ptx.getTransaction().writeTo(rlp, EncodingContext.POOLED_TRANSACTION);
-                      return ptx.getScore()
-                          + (ptx.isReceivedFromLocalSource() ? "l" : "r")
-                          + rlp.encoded().toBase64String();
-                    })
-                .mapToInt(
-                    line -> {
-                      synchronized (bw) {
-                        try {
-                          bw.write(line);
-                          bw.newLine();
-                        } catch (IOException e) {
-                          throw new RuntimeException(e);
-                        }
-                      }
-                      return 1;
-                    })
-                .sum();
-
-        if (isCancelled.get()) {
-          LOG.info(
-              "{} {} transactions to file {}, before operation was cancelled",
-              appending ? "Appended" : "Saved",
-              processedTxCount,
-              saveFile);
+      changesSinceSave.set(0);
+      final List<List<PendingTransaction>> txsByLayer =
+          pendingTransactionsToSave.getPendingTransactionsByLayer();
+
+      final List<TransactionPoolSaveFile.Entry> entries = new ArrayList<>();
+      for (int layer = 0; layer < txsByLayer.size(); layer++) {
+        final int layerIndex = layer;
+        entries.addAll(
+            txsByLayer.get(layer).parallelStream()
+                .map(ptx -> TransactionPoolSaveFile.Entry.of(ptx, layerIndex))
+                .toList());
+      }
+      final int pooledCount = entries.size();
+      // keep what was not restored from the previous file, since this one replaces it
+      entries.addAll(notRestoredEntries);
+
+      try {
+        TransactionPoolSaveFile.write(saveFile.toPath(), entries);
+        notRestoredEntries = List.of();
+        final String message = "Saved {} transactions to file {}, of which {} not yet restored";
+        if (isCheckpoint) {
+          LOG.debug(message, entries.size(), saveFile, entries.size() - pooledCount);
         } else {
-          LOG.info(
-              "{} {} transactions to file {}",
-              appending ? "Appended" : "Saved",
-              processedTxCount,
-              saveFile);
+          LOG.info(message, entries.size(), saveFile, entries.size() - pooledCount);
         }
       } catch (IOException e) {
         LOG.error("Error while saving txpool content to disk", e);
@@ -868,49 +955,47 @@ public class TransactionPool implements BlockAddedObserver {
         final File saveFile = configuration.getSaveFile();
         if (saveFile.exists()) {
           LOG.info("Loading transaction pool content from file {}", saveFile);
-          try (final BufferedReader br =
-              new BufferedReader(new FileReader(saveFile, StandardCharsets.US_ASCII))) {
-            final Map<String, Long> stats =
-                br.lines()
-                    .takeWhile(unused -> !isCancelled.get())
-                    .map(
-                        line -> {
-                          final var scoreStr = parseScore(line);
-                          final byte score =
-                              scoreStr.isEmpty() ? MAX_SCORE : Byte.parseByte(scoreStr);
-                          final boolean isLocal = line.charAt(scoreStr.length()) == 'l';
-                          final Transaction tx =
-                              Transaction.readFrom(
-                                  RLP.input(
-                                      Bytes.fromBase64String(
-                                          line.substring(scoreStr.length() + 1))),
-                                  EncodingContext.POOLED_TRANSACTION);
-                          final boolean hasPriority = isPriorityTransaction(tx, isLocal);
-                          final ValidationResult<TransactionInvalidReason> result =
-                              addTransaction(tx, isLocal, hasPriority, score);
-                          return result.isValid() ? "OK" : result.getInvalidReason().name();
-                        })
-                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
-
-            br.close();
+          try {
+            final List<SavedTransaction> savedTxs =
+                decodeAndSort(TransactionPoolSaveFile.read(saveFile.toPath()));
+
+            final Map<String, Long> stats = new HashMap<>();
+            int processedCount = 0;
+            while (processedCount < savedTxs.size() && !isCancelled.get()) {
+              final List<SavedTransaction> batch =
+                  savedTxs.subList(
+                      processedCount,
+                      Math.min(processedCount + RESTORE_BATCH_SIZE, savedTxs.size()));
+              restoreBatch(batch).forEach(outcome -> stats.merge(outcome, 1L, Long::sum));
+              processedCount += batch.size();
+            }
 
             final var added = stats.getOrDefault("OK", 0L);
-            final var processedLines = stats.values().stream().mapToLong(Long::longValue).sum();
 
             LOG.debug("Restored transactions stats {}", stats);
 
-            if (isCancelled.get()) {
+            if (processedCount < savedTxs.size()) {
+              notRestoredEntries =
+                  savedTxs.subList(processedCount, savedTxs.size()).stream()
+                      .map(SavedTransaction::entry)
+                      .toList();
               LOG.info(
                   "Added {} transactions of {} loaded from file {}, before operation was cancelled",
                   added,
-                  processedLines,
+                  processedCount,
+                  saveFile);
+            } else if (checkpointsEnabled()) {
+              // kept until the first checkpoint replaces it, in case of a crash before
+              LOG.info(
+                  "Added {} transactions of {} loaded from file {}",
+                  added,
+                  processedCount,
                   saveFile);
-              removeProcessedLines(saveFile, processedLines);
             } else {
               LOG.info(
                   "Added {} transactions of {} loaded from file {}, deleting file",
                   added,
-                  processedLines,
+                  processedCount,
                   saveFile);
               saveFile.delete();
             }
@@ -921,43 +1006,82 @@ public class TransactionPool implements BlockAddedObserver {
       }
     }
 
-    private String parseScore(final String line) {
-      int i = 0;
-      final var sbScore = new StringBuilder();
-      while ("1234567890-".indexOf(line.charAt(i)) >= 0) {
-        sbScore.append(line.charAt(i++));
+    /**
+     * Decode the saved transactions in parallel, and sort them in the order they are restored: by
+     * layer, keeping the order they were saved, that is by priority then nonce for the senders of
+     * the same layer. The text format does not save the layers nor the senders, so in this case the
+     * senders are recovered, and the transactions are sorted by sender and nonce.
+     */
+    private List<SavedTransaction> decodeAndSort(
+        final List<TransactionPoolSaveFile.Entry> entries) {
+      final List<SavedTransaction> savedTxs =
+          new ArrayList<>(
+              entries.parallelStream().map(this::decode).flatMap(Optional::stream).toList());
+
+      final List<Transaction> txsWithoutSender =
+          savedTxs.stream()
+              .filter(savedTx -> savedTx.entry().sender().isEmpty())
+              .map(SavedTransaction::transaction)
+              .toList();
+      if (txsWithoutSender.isEmpty()) {
+        savedTxs.sort(Comparator.comparingInt(savedTx -> savedTx.entry().layer()));
+      } else {
+        TransactionSenderRecovery.recoverSenders(txsWithoutSender);
+        savedTxs.sort(
+            Comparator.comparing(
+                    (SavedTransaction savedTx) -> savedTx.transaction().getSender().getBytes())
+                .thenComparing(savedTx -> savedTx.transaction().getNonce()));
       }
-      return sbScore.toString();
-    }
-
-    private void removeProcessedLines(final File saveFile, final long processedLines)
-        throws IOException {
-
-      LOG.debug("Removing processed lines from save file");
-
-      // Create temporary file with default secure permissions
-      final var tmp =
-          Files.createTempFile(saveFile.getParentFile().toPath(), saveFile.getName(), ".tmp");
-
-      try (final BufferedReader reader =
-              Files.newBufferedReader(saveFile.toPath(), StandardCharsets.US_ASCII);
-          final BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.US_ASCII)) {
-        reader
-            .lines()
-            .skip(processedLines)
-            .forEach(
-                line -> {
-                  try {
-                    writer.write(line);
-                    writer.newLine();
-                  } catch (IOException e) {
-                    throw new RuntimeException(e);
-                  }
-                });
+      return savedTxs;
+    }
+
+    private Optional<SavedTransaction> decode(final TransactionPoolSaveFile.Entry entry) {
+      try {
+        return Optional.of(new SavedTransaction(entry, entry.decode()));
+      } catch (final RuntimeException e) {
+        LOG.debug("Skipping saved transaction that cannot be decoded", e);
+        return Optional.empty();
       }
+    }
 
-      saveFile.delete();
-      Files.move(tmp, saveFile.toPath());
+    /**
+     * Restore a batch of saved transactions, validating them in parallel against the chain head,
+     * then adding the valid ones to the pending transactions in a single call.
+     *
+     * @return the outcome of the restore of each transaction
+     */
+    private List<String> restoreBatch(final List<SavedTransaction> batch) {
+      final List<CheckedTransaction> checkedTxs =
+          batch.parallelStream()
+              .map(
+                  savedTx -> {
+                    final Transaction tx = savedTx.transaction();
+                    final boolean isLocal = savedTx.entry().isLocal();
+                    return checkTransaction(
+                        tx, isLocal, isPriorityTransaction(tx, isLocal), savedTx.entry().score());
+                  })
+              .toList();
+
+      final SequencedMap<PendingTransaction, Optional<Account>> validTxs =
+          new LinkedHashMap<>(checkedTxs.size());
+      checkedTxs.stream()
+          .filter(checkedTx -> checkedTx.result().isValid())
+          .forEach(
+              checkedTx ->
+                  validTxs.put(checkedTx.pendingTransaction(), checkedTx.maybeSenderAccount()));
+      final Map<PendingTransaction, TransactionAddedResult> addedResults =
+          pendingTransactions.addTransactions(validTxs);
+
+      return checkedTxs.stream()
+          .map(
+              checkedTx ->
+                  checkedTx.result().isValid()
+                      ? handleAddedResult(
+                          checkedTx.pendingTransaction(),
+                          addedResults.get(checkedTx.pendingTransaction()))
+                      : checkedTx.result())
+          .map(result -> result.isValid() ? "OK" : result.getInvalidReason().name())
+          .toList();
     }
   }
 }
@@ -84,6 +84,7 @@ public interface TransactionPoolConfiguration {
   boolean DEFAULT_NO_LOCAL_PRIORITY = false;
   boolean DEFAULT_ENABLE_SAVE_RESTORE = false;
   File DEFAULT_SAVE_FILE = new File(DEFAULT_SAVE_FILE_NAME);
+  Duration DEFAULT_SAVE_INTERVAL = Duration.ofSeconds(60);
   long DEFAULT_PENDING_TRANSACTIONS_LAYER_MAX_CAPACITY_BYTES = 25_000_000L;
   int DEFAULT_MAX_PRIORITIZED_TRANSACTIONS = 4000;
   EnumMap<TransactionType, Integer> DEFAULT_MAX_PRIORITIZED_TRANSACTIONS_BY_TYPE =
@@ -152,6 +153,17 @@ public interface TransactionPoolConfiguration {
     return DEFAULT_SAVE_FILE;
   }
 
+  /**
+   * How often the content of the txpool is saved to the save file while running, when save and
+   * restore is enabled, so it survives a crash. Zero means that it is only saved on shutdown.
+   *
+   * @return the interval between two saves
+   */
+  @Value.Default
+  default Duration getSaveInterval() {
+    return DEFAULT_SAVE_INTERVAL;
+  }
+
   @Value.Default
   default Implementation getTxPoolImplementation() {
     return DEFAULT_TX_POOL_IMPLEMENTATION;
@@ -48,6 +48,7 @@ public class TransactionPoolMetrics {
   private final LabelledMetric<Counter> rejectedCounter;
   private final LabelledMetric<Counter> penalizedCounter;
   private final LabelledSuppliedMetric spaceUsed;
+  private final LabelledSuppliedMetric indexSpaceUsed;
   private final LabelledSuppliedMetric transactionCount;
   private final LabelledSuppliedMetric transactionCountByType;
   private final LabelledSuppliedMetric uniqueSenderCount;
@@ -55,6 +56,7 @@ public class TransactionPoolMetrics {
   private final Map<String, RunnableCounter> expiredMessagesRunnableCounters = new HashMap<>();
   private final LabelledMetric<Counter> alreadySeenTransactionsCounter;
   private final Map<String, ReplaceableDoubleSupplier> spaceUsedSuppliers = new HashMap<>();
+  private final Map<String, ReplaceableDoubleSupplier> indexSpaceUsedSuppliers = new HashMap<>();
   private final Map<String, ReplaceableDoubleSupplier> transactionCountSuppliers = new HashMap<>();
   private final Map<Pair<String, TransactionType>, ReplaceableDoubleSupplier>
       transactionCountByTypeSuppliers = new HashMap<>();
@@ -109,6 +111,13 @@ public class TransactionPoolMetrics {
             "The amount of space used by the transactions in the layer",
             "layer");
 
+    indexSpaceUsed =
+        metricsSystem.createLabelledSuppliedGauge(
+            BesuMetricCategory.TRANSACTION_POOL,
+            "index_space_used",
+            "The estimated amount of space used by the indexes of the transactions in the layer",
+            "layer");
+
     transactionCount =
         metricsSystem.createLabelledSuppliedGauge(
             BesuMetricCategory.TRANSACTION_POOL,
@@ -163,6 +172,19 @@ public class TransactionPoolMetrics {
         });
   }
 
+  public void initIndexSpaceUsed(final DoubleSupplier indexSpaceUsedSupplier, final String layer) {
+    indexSpaceUsedSuppliers.compute(
+        layer,
+        (unused, existingSupplier) -> {
+          if (existingSupplier == null) {
+            final var newSupplier = new ReplaceableDoubleSupplier(indexSpaceUsedSupplier);
+            indexSpaceUsed.labels(newSupplier, layer);
+            return newSupplier;
+          }
+          return existingSupplier.replaceDoubleSupplier(indexSpaceUsedSupplier);
+        });
+  }
+
   public void initTransactionCountByType(
       final DoubleSupplier spaceUsedSupplier, final String layer, final TransactionType type) {
     transactionCountByTypeSuppliers.compute(
@@ -0,0 +1,266 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction.MAX_SCORE;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The file where the content of the transaction pool is saved, to be restored on the next start.
+ *
+ * <p>The file starts with a magic and a version, followed by a record for each transaction, with
+ * its origin, score, layer, recovered sender and pooled encoding, and a checksum of the record. The
+ * file is always written and synced to a temporary file then moved in place, so a crash while
+ * writing leaves the previous file intact.
+ *
+ * <p>For compatibility, the text format of the previous versions, with a line per transaction, is
+ * still read.
+ */
+final class TransactionPoolSaveFile {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionPoolSaveFile.class);
+
+  /** The layer of the transactions whose layer is unknown, since saved in the text format */
+  static final int UNKNOWN_LAYER = 0xFF;
+
+  private static final byte[] MAGIC = {0x00, 'T', 'X', 'P'};
+  private static final int VERSION = 1;
+  private static final int LOCAL_FLAG = 0x01;
+  private static final int SENDER_FLAG = 0x02;
+  // far above the size of any pooled transaction, to detect corrupted records
+  private static final int MAX_ENCODED_SIZE = 16 * 1024 * 1024;
+
+  private TransactionPoolSaveFile() {}
+
+  /**
+   * A saved transaction
+   *
+   * @param encodedTransaction the pooled encoding of the transaction
+   * @param sender the recovered sender, if saved
+   * @param score the score of the transaction
+   * @param isLocal whether the transaction was received from a local source
+   * @param layer the index of the layer of the transaction, starting from 0 for the first layer
+   */
+  record Entry(
+      Bytes encodedTransaction, Optional<Address> sender, byte score, boolean isLocal, int layer) {
+
+    static Entry of(final PendingTransaction pendingTransaction, final int layer) {
+      final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
+      pendingTransaction.getTransaction().writeTo(rlp, EncodingContext.POOLED_TRANSACTION);
+      return new Entry(
+          rlp.encoded(),
+          Optional.of(pendingTransaction.getSender()),
+          pendingTransaction.getScore(),
+          pendingTransaction.isReceivedFromLocalSource(),
+          layer);
+    }
+
+    /**
+     * Decode the transaction, setting its saved sender, so it is not recovered again from the
+     * signature.
+     *
+     * @return the decoded transaction
+     */
+    Transaction decode() {
+      final Transaction transaction =
+          Transaction.readFrom(RLP.input(encodedTransaction), EncodingContext.POOLED_TRANSACTION);
+      return sender
+          .map(address -> Transaction.builder().copiedFrom(transaction).sender(address).build())
+          .orElse(transaction);
+    }
+  }
+
+  /**
+   * Write the entries to the file, replacing it.
+   *
+   * @param file the file
+   * @param entries the entries to write
+   * @throws IOException if the file could not be written
+   */
+  static void write(final Path file, final List<Entry> entries) throws IOException {
+    final Path absoluteFile = file.toAbsolutePath();
+    final Path tmp =
+        Files.createTempFile(
+            absoluteFile.getParent(), absoluteFile.getFileName().toString(), ".tmp");
+    try {
+      try (final FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+        final DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        out.write(MAGIC);
+        out.writeByte(VERSION);
+
+        final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        final DataOutputStream record = new DataOutputStream(recordBytes);
+        final CRC32 checksum = new CRC32();
+        for (final Entry entry : entries) {
+          recordBytes.reset();
+          record.writeByte(
+              (entry.isLocal() ? LOCAL_FLAG : 0) | (entry.sender().isPresent() ? SENDER_FLAG : 0));
+          record.writeByte(entry.score());
+          record.writeByte(entry.layer());
+          if (entry.sender().isPresent()) {
+            record.write(entry.sender().get().getBytes().toArrayUnsafe());
+          }
+          record.writeInt(entry.encodedTransaction().size());
+          record.write(entry.encodedTransaction().toArrayUnsafe());
+
+          checksum.reset();
+          checksum.update(recordBytes.toByteArray());
+          recordBytes.writeTo(out);
+          out.writeInt((int) checksum.getValue());
+        }
+        out.flush();
+        // the content must be on disk before the move makes it the saved file
+        channel.force(true);
+      }
+      Files.move(
+          tmp, absoluteFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(tmp);
+    }
+  }
+
+  /**
+   * Read the entries of the file, in the order they were written. If the file is truncated or
+   * corrupted, only the entries before the first invalid one are returned.
+   *
+   * @param file the file
+   * @return the entries of the file
+   * @throws IOException if the file could not be read
+   */
+  static List<Entry> read(final Path file) throws IOException {
+    try (final InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+      in.mark(MAGIC.length);
+      final byte[] magic = in.readNBytes(MAGIC.length);
+      if (Arrays.equals(magic, MAGIC)) {
+        return readRecords(file, in);
+      }
+      in.reset();
+      return readLines(in);
+    }
+  }
+
+  private static List<Entry> readRecords(final Path file, final InputStream in)
+      throws IOException {
+    final CRC32 checksum = new CRC32();
+    final DataInputStream data = new DataInputStream(new CheckedInputStream(in, checksum));
+    final int version = data.readUnsignedByte();
+    if (version != VERSION) {
+      LOG.warn("Unsupported version {} of transaction pool save file {}", version, file);
+      return List.of();
+    }
+
+    final List<Entry> entries = new ArrayList<>();
+    while (true) {
+      checksum.reset();
+      final int flags = data.read();
+      if (flags < 0) {
+        return entries;
+      }
+      try {
+        final byte score = data.readByte();
+        final int layer = data.readUnsignedByte();
+        final Optional<Address> sender;
+        if ((flags & SENDER_FLAG) != 0) {
+          final byte[] senderBytes = new byte[Address.SIZE];
+          data.readFully(senderBytes);
+          sender = Optional.of(Address.wrap(Bytes.wrap(senderBytes)));
+        } else {
+          sender = Optional.empty();
+        }
+        final int size = data.readInt();
+        if (size < 0 || size > MAX_ENCODED_SIZE) {
+          LOG.warn("Invalid record in transaction pool save file {}, skipping the rest", file);
+          return entries;
+        }
+        final byte[] encodedTransaction = new byte[size];
+        data.readFully(encodedTransaction);
+        final int expectedChecksum = (int) checksum.getValue();
+        if (data.readInt() != expectedChecksum) {
+          LOG.warn("Corrupted record in transaction pool save file {}, skipping the rest", file);
+          return entries;
+        }
+        entries.add(
+            new Entry(
+                Bytes.wrap(encodedTransaction), sender, score, (flags & LOCAL_FLAG) != 0, layer));
+      } catch (final EOFException e) {
+        LOG.warn("Truncated transaction pool save file {}, skipping the last record", file);
+        return entries;
+      }
+    }
+  }
+
+  private static List<Entry> readLines(final InputStream in) throws IOException {
+    final String content = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+    if (content.isBlank()) {
+      return List.of();
+    }
+    return content
+        .lines()
+        .filter(line -> !line.isBlank())
+        .map(
+            line -> {
+              final String scoreStr = parseScore(line);
+              final byte score = scoreStr.isEmpty() ? MAX_SCORE : Byte.parseByte(scoreStr);
+              final boolean isLocal = line.charAt(scoreStr.length()) == 'l';
+              return new Entry(
+                  Bytes.fromBase64String(line.substring(scoreStr.length() + 1)),
+                  Optional.empty(),
+                  score,
+                  isLocal,
+                  UNKNOWN_LAYER);
+            })
+        .toList();
+  }
+
+  private static String parseScore(final String line) {
+    int i = 0;
+    final var sbScore = new StringBuilder();
+    while ("1234567890-".indexOf(line.charAt(i)) >= 0) {
+      sbScore.append(line.charAt(i++));
+    }
+    return sbScore.toString();
+  }
+}
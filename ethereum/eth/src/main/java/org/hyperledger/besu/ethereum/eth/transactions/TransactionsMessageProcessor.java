@@ -17,7 +17,9 @@ package org.hyperledger.besu.ethereum.eth.transactions;
 import static java.time.Instant.now;
 import static org.hyperledger.besu.ethereum.core.Transaction.toHashList;
 
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.EncodedTransaction;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.messages.TransactionsMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
@@ -25,7 +27,6 @@ import org.hyperledger.besu.ethereum.rlp.RLPException;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collection;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -66,7 +67,11 @@ class TransactionsMessageProcessor {
           .addArgument(latency)
           .addArgument(queueAt)
           .addArgument(keepAlive)
-          .addArgument(() -> toHashList(transactionsMessage.transactions()))
+          .addArgument(
+              () ->
+                  transactionsMessage.encodedTransactions().stream()
+                      .map(EncodedTransaction::getHash)
+                      .toList())
           .log();
       metrics.incrementExpiredMessages(METRIC_LABEL);
     }
@@ -75,17 +80,21 @@ class TransactionsMessageProcessor {
   private void processTransactionsMessage(
       final EthPeer peer, final TransactionsMessage transactionsMessage) {
     try {
-      final List<Transaction> incomingTransactions = transactionsMessage.transactions();
-      final Collection<Transaction> freshTransactions = skipSeenTransactions(incomingTransactions);
+      final List<EncodedTransaction> incomingTransactions =
+          transactionsMessage.encodedTransactions();
+      final List<Hash> incomingHashes =
+          incomingTransactions.stream().map(EncodedTransaction::getHash).toList();
+      // only the transactions not seen before are decoded
+      final List<Transaction> freshTransactions = decodeUnseenTransactions(incomingTransactions);
 
-      transactionTracker.markTransactionsAsSeen(peer, incomingTransactions);
+      transactionTracker.markTransactionHashesAsSeen(peer, incomingHashes);
 
       metrics.incrementAlreadySeenTransactions(
           METRIC_LABEL, incomingTransactions.size() - freshTransactions.size());
       LOG.atTrace()
           .setMessage("Received transactions message: peer={} incoming hashes={}, fresh hashes={}")
           .addArgument(peer)
-          .addArgument(() -> toHashList(incomingTransactions))
+          .addArgument(incomingHashes)
           .addArgument(() -> toHashList(freshTransactions))
           .log();
 
@@ -102,9 +111,11 @@ class TransactionsMessageProcessor {
     }
   }
 
-  private Collection<Transaction> skipSeenTransactions(final List<Transaction> inTransactions) {
+  private List<Transaction> decodeUnseenTransactions(
+      final List<EncodedTransaction> inTransactions) {
     return inTransactions.stream()
         .filter(tx -> !transactionTracker.hasSeenTransaction(tx.getHash()))
+        .map(EncodedTransaction::decode)
         .toList();
   }
 }
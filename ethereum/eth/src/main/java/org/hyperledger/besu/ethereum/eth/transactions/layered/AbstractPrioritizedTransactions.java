@@ -96,10 +96,15 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
 
   @Override
   protected void internalAdd(
-      final NavigableMap<Long, PendingTransaction> senderTxs, final PendingTransaction addedTx) {
+      final SenderTransactions senderTxs, final PendingTransaction addedTx) {
     orderByFee.add(addedTx);
   }
 
+  @Override
+  protected long getLayerIndexSpaceUsed() {
+    return super.getLayerIndexSpaceUsed() + (long) orderByFee.size() * TREE_MAP_ENTRY_SIZE;
+  }
+
   @Override
   protected void internalReplaced(final PendingTransaction replacedTx) {
     orderByFee.remove(replacedTx);
@@ -141,7 +146,7 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
 
   @Override
   protected void internalRemove(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final PendingTransaction removedTx,
       final LayeredRemovalReason removalReason) {
     orderByFee.remove(removedTx);
@@ -243,15 +248,15 @@ public abstract class AbstractPrioritizedTransactions extends AbstractSequential
   }
 
   private Map<Byte, List<PendingTransaction>> splitByScore(
-      final NavigableMap<Long, PendingTransaction> txsBySender) {
+      final SenderTransactions txsBySender) {
     final var splitByScore = new HashMap<Byte, List<PendingTransaction>>();
-    byte currScore = txsBySender.firstEntry().getValue().getScore();
-    for (final var entry : txsBySender.entrySet()) {
-      if (entry.getValue().getScore() < currScore) {
+    byte currScore = txsBySender.first().getScore();
+    for (final var pendingTransaction : txsBySender.values()) {
+      if (pendingTransaction.getScore() < currScore) {
         // score decreased, we need to start a new split
-        currScore = entry.getValue().getScore();
+        currScore = pendingTransaction.getScore();
       }
-      splitByScore.computeIfAbsent(currScore, k -> new ArrayList<>()).add(entry.getValue());
+      splitByScore.computeIfAbsent(currScore, k -> new ArrayList<>()).add(pendingTransaction);
     }
     return splitByScore;
   }
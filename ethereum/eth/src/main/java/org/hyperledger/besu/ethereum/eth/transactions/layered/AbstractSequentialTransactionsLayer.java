@@ -26,10 +26,10 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfigurati
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolMetrics;
 import org.hyperledger.besu.ethereum.eth.transactions.layered.LayeredRemovalReason.PoolRemovalReason;
 
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.OptionalLong;
-import java.util.Set;
 import java.util.function.BiFunction;
 
 public abstract class AbstractSequentialTransactionsLayer extends AbstractTransactionsLayer {
@@ -51,7 +51,7 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
 
     final var senderTxs = txsBySender.get(invalidatedTx.getSender());
     final long invalidNonce = invalidatedTx.getNonce();
-    if (senderTxs != null && Long.compareUnsigned(invalidNonce, senderTxs.lastKey()) <= 0) {
+    if (senderTxs != null && Long.compareUnsigned(invalidNonce, senderTxs.lastNonce()) <= 0) {
       // on sequential layers we need to push to next layer all the txs following the invalid one,
       // even if it belongs to a previous layer
 
@@ -70,10 +70,8 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
   }
 
   private void pushDown(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
-      final long afterNonce,
-      final int gap) {
-    senderTxs.tailMap(afterNonce, false).values().stream().toList().stream()
+      final SenderTransactions senderTxs, final long afterNonce, final int gap) {
+    senderTxs.copyAfter(afterNonce).stream()
         .peek(
             txToRemove -> {
               senderTxs.remove(txToRemove.getNonce());
@@ -89,7 +87,7 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
 
   @Override
   protected void internalConfirmed(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final Address sender,
       final long maxConfirmedNonce,
       final PendingTransaction highestNonceRemovedTx) {
@@ -98,7 +96,7 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
 
   @Override
   protected void internalEvict(
-      final NavigableMap<Long, PendingTransaction> senderTxs, final PendingTransaction evictedTx) {
+      final SenderTransactions senderTxs, final PendingTransaction evictedTx) {
     internalRemove(senderTxs, evictedTx, EVICTED);
   }
 
@@ -108,7 +106,7 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
     if (nextLayerRes.isEmpty()) {
       final var senderTxs = txsBySender.get(sender);
       if (senderTxs != null) {
-        return OptionalLong.of(senderTxs.lastKey() + 1);
+        return OptionalLong.of(senderTxs.lastNonce() + 1);
       }
     }
     return nextLayerRes;
@@ -118,20 +116,19 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
   public OptionalLong getCurrentNonceFor(final Address sender) {
     final var senderTxs = txsBySender.get(sender);
     if (senderTxs != null) {
-      return OptionalLong.of(senderTxs.firstKey());
+      return OptionalLong.of(senderTxs.firstNonce());
     }
     return nextLayer.getCurrentNonceFor(sender);
   }
 
   @Override
   protected void internalNotifyAdded(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
-      final PendingTransaction pendingTransaction) {
+      final SenderTransactions senderTxs, final PendingTransaction pendingTransaction) {
     // no-op
   }
 
   protected boolean hasExpectedNonce(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final PendingTransaction pendingTransaction,
       final long gap) {
     if (senderTxs == null) {
@@ -139,8 +136,8 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
     }
 
     // true if prepend or append
-    return (senderTxs.lastKey() + 1) == pendingTransaction.getNonce()
-        || (senderTxs.firstKey() - 1) == pendingTransaction.getNonce();
+    return (senderTxs.lastNonce() + 1) == pendingTransaction.getNonce()
+        || (senderTxs.firstNonce() - 1) == pendingTransaction.getNonce();
   }
 
   @Override
@@ -148,11 +145,11 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
       final Map<Address, NavigableMap<Long, PendingTransaction>> prevLayerTxsBySender) {
     txsBySender.values().stream()
         .filter(senderTxs -> senderTxs.size() > 1)
-        .map(NavigableMap::entrySet)
-        .map(Set::iterator)
+        .map(SenderTransactions::values)
+        .map(List::iterator)
         .forEach(
             itNonce -> {
-              PendingTransaction firstTx = itNonce.next().getValue();
+              PendingTransaction firstTx = itNonce.next();
 
               prevLayerTxsBySender.computeIfPresent(
                   firstTx.getSender(),
@@ -165,7 +162,7 @@ public abstract class AbstractSequentialTransactionsLayer extends AbstractTransa
               long prevNonce = firstTx.getNonce();
 
               while (itNonce.hasNext()) {
-                final long currNonce = itNonce.next().getKey();
+                final long currNonce = itNonce.next().getNonce();
                 assert prevNonce + 1 == currNonce : "non sequential nonce";
                 prevNonce = currNonce;
               }
@@ -68,7 +68,11 @@ import org.slf4j.LoggerFactory;
 
 public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractTransactionsLayer.class);
-  private static final NavigableMap<Long, PendingTransaction> EMPTY_SENDER_TXS = new TreeMap<>();
+  private static final SenderTransactions EMPTY_SENDER_TXS = new SenderTransactions();
+  // estimated memory size of a hash map entry, including its slot in the table
+  protected static final int HASH_MAP_ENTRY_SIZE = 40;
+  // estimated memory size of a tree map entry, that also backs the tree sets
+  protected static final int TREE_MAP_ENTRY_SIZE = 40;
   private static final int[] UNLIMITED_PROMOTIONS_PER_TYPE =
       new int[TransactionType.values().length];
 
@@ -82,8 +86,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
       transactionReplacementTester;
   protected final TransactionPoolMetrics metrics;
   protected final Map<Hash, PendingTransaction> pendingTransactions = new HashMap<>();
-  protected final Map<Address, NavigableMap<Long, PendingTransaction>> txsBySender =
-      new HashMap<>();
+  protected final Map<Address, SenderTransactions> txsBySender = new HashMap<>();
   private final Subscribers<PendingTransactionAddedListener> onAddedListeners =
       Subscribers.create();
   private final Subscribers<PendingTransactionDroppedListener> onDroppedListeners =
@@ -109,6 +112,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
     this.transactionReplacementTester = transactionReplacementTester;
     this.metrics = metrics;
     metrics.initSpaceUsed(this::getLayerSpaceUsed, name());
+    metrics.initIndexSpaceUsed(this::getLayerIndexSpaceUsed, name());
     metrics.initTransactionCount(pendingTransactions::size, name());
     metrics.initUniqueSenderCount(txsBySender::size, name());
     Arrays.stream(TransactionType.values())
@@ -172,6 +176,17 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
     return spaceUsed;
   }
 
+  /**
+   * Return an estimate of the memory used by the indexes of this layer, not counting the pending
+   * transactions themselves, that are accounted by {@link #getLayerSpaceUsed()}
+   *
+   * @return the estimated memory used by the indexes of this layer
+   */
+  protected long getLayerIndexSpaceUsed() {
+    return (long) pendingTransactions.size() * (HASH_MAP_ENTRY_SIZE + SenderTransactions.SLOT_SIZE)
+        + (long) txsBySender.size() * (HASH_MAP_ENTRY_SIZE + SenderTransactions.SHALLOW_SIZE);
+  }
+
   protected abstract TransactionAddedResult canAdd(
       final PendingTransaction pendingTransaction, final int gap);
 
@@ -265,13 +280,13 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
     final Address sender = pendingTransaction.getSender();
     final var senderTxs = txsBySender.get(sender);
     if (senderTxs != null) {
-      if (senderTxs.firstKey() < pendingTransaction.getNonce()) {
+      if (senderTxs.firstNonce() < pendingTransaction.getNonce()) {
         // in the case the world state has been updated but the confirmed txs have not yet been
         // processed
         confirmed(sender, pendingTransaction.getNonce());
-      } else if (senderTxs.firstKey() == pendingTransaction.getNonce()) {
+      } else if (senderTxs.firstNonce() == pendingTransaction.getNonce()) {
         // it is a cross layer replacement, namely added to a previous layer
-        final PendingTransaction replacedTx = senderTxs.pollFirstEntry().getValue();
+        final PendingTransaction replacedTx = senderTxs.pollFirst();
         processRemove(senderTxs, replacedTx.getTransaction(), CROSS_LAYER_REPLACED);
 
         if (senderTxs.isEmpty()) {
@@ -285,8 +300,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   }
 
   protected abstract void internalNotifyAdded(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
-      final PendingTransaction pendingTransaction);
+      final SenderTransactions senderTxs, final PendingTransaction pendingTransaction);
 
   @Override
   public PendingTransaction promoteFor(
@@ -294,12 +308,12 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
     final var senderTxs = txsBySender.get(sender);
     if (senderTxs != null) {
       long expectedNonce = nonce + 1;
-      if (senderTxs.firstKey() == expectedNonce) {
-        final var candidateTx = senderTxs.firstEntry().getValue();
+      if (senderTxs.firstNonce() == expectedNonce) {
+        final var candidateTx = senderTxs.first();
         final var txType = candidateTx.getTransaction().getType();
 
         if (remainingPromotionsPerType[txType.ordinal()] > 0) {
-          senderTxs.pollFirstEntry();
+          senderTxs.pollFirst();
           processRemove(
               senderTxs,
               candidateTx.getTransaction(),
@@ -328,7 +342,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   }
 
   protected TransactionAddedResult addToNextLayer(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final PendingTransaction pendingTransaction,
       final int distance,
       final AddReason addReason) {
@@ -336,15 +350,16 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
     if (senderTxs.isEmpty()) {
       nextLayerDistance = distance;
     } else {
-      nextLayerDistance = (int) (pendingTransaction.getNonce() - (senderTxs.lastKey() + 1));
+      nextLayerDistance = (int) (pendingTransaction.getNonce() - (senderTxs.lastNonce() + 1));
     }
     return nextLayer.add(pendingTransaction, nextLayerDistance, addReason);
   }
 
   private void processAdded(final PendingTransaction addedTx, final AddReason addReason) {
     pendingTransactions.put(addedTx.getHash(), addedTx);
-    final var senderTxs = txsBySender.computeIfAbsent(addedTx.getSender(), s -> new TreeMap<>());
-    senderTxs.put(addedTx.getNonce(), addedTx);
+    final var senderTxs =
+        txsBySender.computeIfAbsent(addedTx.getSender(), s -> new SenderTransactions());
+    senderTxs.put(addedTx);
     increaseCounters(addedTx);
     metrics.incrementAdded(addedTx, addReason, name());
     internalAdd(senderTxs, addedTx);
@@ -357,7 +372,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   }
 
   protected abstract void internalAdd(
-      final NavigableMap<Long, PendingTransaction> senderTxs, final PendingTransaction addedTx);
+      final SenderTransactions senderTxs, final PendingTransaction addedTx);
 
   protected abstract int maxTransactionsNumber();
 
@@ -373,7 +388,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
       // lastTx must never be null, because the sender have at least the lessReadyTx
       while ((evictedSize < spaceToFree || txsToEvict > evictedCount)
           && !lessReadySenderTxs.isEmpty()) {
-        lastTx = lessReadySenderTxs.pollLastEntry().getValue();
+        lastTx = lessReadySenderTxs.pollLast();
         processEvict(lessReadySenderTxs, lastTx, EVICTED);
         ++evictedCount;
         evictedSize += lastTx.memorySize();
@@ -427,7 +442,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   }
 
   protected PendingTransaction processRemove(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final Transaction transaction,
       final LayeredRemovalReason removalReason) {
     final PendingTransaction removedTx = pendingTransactions.remove(transaction.getHash());
@@ -447,7 +462,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   }
 
   protected PendingTransaction processEvict(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final PendingTransaction evictedTx,
       final LayeredRemovalReason reason) {
     final PendingTransaction removedTx = pendingTransactions.remove(evictedTx.getHash());
@@ -460,8 +475,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   }
 
   protected abstract void internalEvict(
-      final NavigableMap<Long, PendingTransaction> lessReadySenderTxs,
-      final PendingTransaction evictedTx);
+      final SenderTransactions lessReadySenderTxs, final PendingTransaction evictedTx);
 
   @Override
   public final void blockAdded(
@@ -528,14 +542,11 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
     final var senderTxs = txsBySender.get(sender);
 
     if (senderTxs != null) {
-      final var confirmedTxs = senderTxs.headMap(maxConfirmedNonce, true);
-      final var highestNonceRemovedTx =
-          confirmedTxs.isEmpty() ? null : confirmedTxs.lastEntry().getValue();
-
-      final var itConfirmedTxs = confirmedTxs.values().iterator();
-      while (itConfirmedTxs.hasNext()) {
-        final var confirmedTx = itConfirmedTxs.next();
-        itConfirmedTxs.remove();
+      PendingTransaction highestNonceRemovedTx = null;
+
+      while (!senderTxs.isEmpty() && senderTxs.firstNonce() <= maxConfirmedNonce) {
+        final var confirmedTx = senderTxs.pollFirst();
+        highestNonceRemovedTx = confirmedTx;
         if (confirmedTx.getTransaction().getBlobsWithCommitments().isPresent()) {
           this.blobCache.cacheBlobs(confirmedTx.getTransaction());
         }
@@ -557,13 +568,13 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
   }
 
   protected abstract void internalConfirmed(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final Address sender,
       final long maxConfirmedNonce,
       final PendingTransaction highestNonceRemovedTx);
 
   protected abstract void internalRemove(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final PendingTransaction pendingTransaction,
       final LayeredRemovalReason removalReason);
 
@@ -666,7 +677,7 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
     final var senderTxs = txsBySender.get(sender);
     return name()
         + "["
-        + (Objects.isNull(senderTxs) ? "Empty" : senderTxs.keySet())
+        + (Objects.isNull(senderTxs) ? "Empty" : senderTxs.nonces())
         + "] "
         + nextLayer.logSender(sender);
   }
@@ -684,13 +695,20 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
             .collect(
                 Collectors.groupingBy(
                     PendingTransaction::getSender,
-                    Collectors.toMap(
-                        PendingTransaction::getNonce,
-                        Function.identity(),
-                        noMergeExpected,
-                        TreeMap::new)));
+                    Collectors.collectingAndThen(
+                        Collectors.toMap(
+                            PendingTransaction::getNonce,
+                            Function.identity(),
+                            noMergeExpected,
+                            TreeMap::new),
+                        txsByNonce -> List.copyOf(txsByNonce.values()))));
+    final var currentTxsBySender =
+        txsBySender.entrySet().stream()
+            .collect(
+                Collectors.toMap(
+                    Map.Entry::getKey, entry -> List.copyOf(entry.getValue().values())));
 
-    assert txsBySender.equals(controlTxsBySender)
+    assert currentTxsBySender.equals(controlTxsBySender)
         : "pendingTransactions and txsBySender do not contain the same txs";
 
     assert pendingTransactions.values().stream().mapToInt(PendingTransaction::memorySize).sum()
@@ -701,10 +719,11 @@ public abstract class AbstractTransactionsLayer implements TransactionsLayer {
 
     if (nextLayer instanceof AbstractTransactionsLayer) {
       txsBySender.forEach(
-          (sender, txsByNonce) ->
-              prevLayerTxsBySender
-                  .computeIfAbsent(sender, s -> new TreeMap<>())
-                  .putAll(txsByNonce));
+          (sender, senderTxs) -> {
+            final var txsByNonce =
+                prevLayerTxsBySender.computeIfAbsent(sender, s -> new TreeMap<>());
+            senderTxs.values().forEach(tx -> txsByNonce.put(tx.getNonce(), tx));
+          });
       return ((AbstractTransactionsLayer) nextLayer).consistencyCheck(prevLayerTxsBySender);
     }
     return true;
@@ -111,15 +111,14 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
 
       Optional<Long> maybeFirstDemotedNonce = Optional.empty();
 
-      for (final var e : senderTxs.entrySet()) {
-        final PendingTransaction tx = e.getValue();
+      for (final PendingTransaction tx : senderTxs.values()) {
         // it must pass the promotion filter to be prioritized
         if (promotionFilter(tx)) {
           orderByFee.add(tx);
         } else {
           // otherwise sender txs starting from this nonce need to be demoted to next layer,
           // and we can go to next sender
-          maybeFirstDemotedNonce = Optional.of(e.getKey());
+          maybeFirstDemotedNonce = Optional.of(tx.getNonce());
           break;
         }
       }
@@ -129,9 +128,8 @@ public class BaseFeePrioritizedTransactions extends AbstractPrioritizedTransacti
             // demote all txs after the first demoted to the next layer, because none of them is
             // executable now, and we can avoid sorting them until they are candidate for execution
             // again
-            final var demoteTxs = senderTxs.tailMap(nonce, true);
-            while (!demoteTxs.isEmpty()) {
-              final PendingTransaction demoteTx = demoteTxs.pollLastEntry().getValue();
+            while (!senderTxs.isEmpty() && senderTxs.lastNonce() >= nonce) {
+              final PendingTransaction demoteTx = senderTxs.pollLast();
               LOG.atTrace()
                   .setMessage(
                       "Demoting tx {} since it does not respect anymore the requisites to stay in this layer."
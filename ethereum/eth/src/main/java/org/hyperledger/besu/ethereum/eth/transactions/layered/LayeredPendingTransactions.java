@@ -44,23 +44,33 @@ import org.hyperledger.besu.evm.account.AccountState;
 import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.SequencedMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+/**
+ * The layers are only modified by one thread at a time, holding the lock of this object, since an
+ * update for a sender can evict, promote or demote the transactions of other senders across the
+ * layers. The queries which only look the transactions up are served without this lock from an
+ * index of all the transactions in the pool, updated by the thread modifying the layers.
+ */
 public class LayeredPendingTransactions implements PendingTransactions {
   private static final Logger LOG = LoggerFactory.getLogger(LayeredPendingTransactions.class);
   private static final Marker INVALID_TX_REMOVED = MarkerFactory.getMarker("INVALID_TX_REMOVED");
   private final TransactionPoolConfiguration poolConfig;
   private final AbstractPrioritizedTransactions prioritizedTransactions;
   private final EthScheduler ethScheduler;
+  private final Map<Hash, PendingTransaction> pooledTransactionsByHash = new ConcurrentHashMap<>();
 
   public LayeredPendingTransactions(
       final TransactionPoolConfiguration poolConfig,
@@ -69,11 +79,15 @@ public class LayeredPendingTransactions implements PendingTransactions {
     this.poolConfig = poolConfig;
     this.prioritizedTransactions = prioritizedTransactions;
     this.ethScheduler = ethScheduler;
+    // the dropped listeners are notified synchronously by the thread modifying the layers
+    prioritizedTransactions.subscribeToDropped(
+        (transaction, reason) -> pooledTransactionsByHash.remove(transaction.getHash()));
   }
 
   @Override
   public synchronized void reset() {
     prioritizedTransactions.reset();
+    pooledTransactionsByHash.clear();
   }
 
   @Override
@@ -94,12 +108,41 @@ public class LayeredPendingTransactions implements PendingTransactions {
       return nonceChecksResult;
     }
 
+    TransactionAddedResult result;
     try {
-      return prioritizedTransactions.add(pendingTransaction, (int) nonceDistance, NEW);
+      result = prioritizedTransactions.add(pendingTransaction, (int) nonceDistance, NEW);
     } catch (final Throwable throwable) {
-      return reconcileAndRetryAdd(
-          pendingTransaction, stateSenderNonce, (int) nonceDistance, throwable);
+      result =
+          reconcileAndRetryAdd(
+              pendingTransaction, stateSenderNonce, (int) nonceDistance, throwable);
+    }
+    if (result.isSuccess()) {
+      indexIfPooled(pendingTransaction.getHash());
     }
+    return result;
+  }
+
+  /**
+   * Add the transactions holding the lock once for the whole batch, instead of once per
+   * transaction, so a large batch, like the one of a restore from disk, is not slowed down by the
+   * contention with the other users of the pool.
+   */
+  @Override
+  public synchronized SequencedMap<PendingTransaction, TransactionAddedResult> addTransactions(
+      final SequencedMap<PendingTransaction, Optional<Account>> transactions) {
+    return PendingTransactions.super.addTransactions(transactions);
+  }
+
+  /**
+   * Index a transaction just added to the layers, unless it was dropped meanwhile. The layers could
+   * hold a copy of the added transaction, so it is looked up to index the instance of the layers.
+   *
+   * @param transactionHash the hash of the added transaction
+   */
+  private void indexIfPooled(final Hash transactionHash) {
+    prioritizedTransactions
+        .getByHash(transactionHash)
+        .ifPresent(pooledTx -> pooledTransactionsByHash.put(transactionHash, pooledTx));
   }
 
   private TransactionAddedResult reconcileAndRetryAdd(
@@ -206,6 +249,8 @@ public class LayeredPendingTransactions implements PendingTransactions {
       final int newNonceDistance = (int) Math.max(0, lowestNonce - stateSenderNonce);
 
       reAddTxs.forEach(ptx -> prioritizedTransactions.add(ptx, newNonceDistance, NEW_RECONCILED));
+      // the removal to reconcile dropped them from the index
+      reAddTxs.forEach(ptx -> indexIfPooled(ptx.getHash()));
     }
 
     LOG.atDebug()
@@ -260,13 +305,19 @@ public class LayeredPendingTransactions implements PendingTransactions {
   public void evictOldTransactions() {}
 
   @Override
-  public synchronized List<Transaction> getLocalTransactions() {
-    return prioritizedTransactions.getAllLocal();
+  public List<Transaction> getLocalTransactions() {
+    return pooledTransactionsByHash.values().stream()
+        .filter(PendingTransaction::isReceivedFromLocalSource)
+        .map(PendingTransaction::getTransaction)
+        .toList();
   }
 
   @Override
-  public synchronized List<Transaction> getPriorityTransactions() {
-    return prioritizedTransactions.getAllPriority();
+  public List<Transaction> getPriorityTransactions() {
+    return pooledTransactionsByHash.values().stream()
+        .filter(PendingTransaction::hasPriority)
+        .map(PendingTransaction::getTransaction)
+        .toList();
   }
 
   @Override
@@ -325,25 +376,38 @@ public class LayeredPendingTransactions implements PendingTransactions {
   }
 
   @Override
-  public synchronized int size() {
-    return prioritizedTransactions.count();
+  public int size() {
+    return pooledTransactionsByHash.size();
   }
 
   @Override
-  public synchronized boolean containsTransaction(final Transaction transaction) {
-    return prioritizedTransactions.contains(transaction);
+  public boolean containsTransaction(final Transaction transaction) {
+    return pooledTransactionsByHash.containsKey(transaction.getHash());
   }
 
   @Override
-  public synchronized Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
-    return prioritizedTransactions
-        .getByHash(transactionHash)
+  public Optional<Transaction> getTransactionByHash(final Hash transactionHash) {
+    return Optional.ofNullable(pooledTransactionsByHash.get(transactionHash))
         .map(PendingTransaction::getTransaction);
   }
 
   @Override
-  public synchronized List<PendingTransaction> getPendingTransactions() {
-    return prioritizedTransactions.getAll();
+  public List<PendingTransaction> getPendingTransactions() {
+    return List.copyOf(pooledTransactionsByHash.values());
+  }
+
+  @Override
+  public synchronized List<List<PendingTransaction>> getPendingTransactionsByLayer() {
+    final List<List<PendingTransaction>> byLayer = new ArrayList<>();
+    TransactionsLayer layer = prioritizedTransactions;
+    while (layer instanceof AbstractTransactionsLayer abstractLayer) {
+      byLayer.add(
+          abstractLayer.getBySender().stream()
+              .flatMap(senderTxs -> senderTxs.pendingTransactions().stream())
+              .toList());
+      layer = abstractLayer.nextLayer;
+    }
+    return byLayer;
   }
 
   @Override
@@ -74,6 +74,11 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
     return poolConfig.getPendingTransactionsLayerMaxCapacityBytes() - getLayerSpaceUsed();
   }
 
+  @Override
+  protected long getLayerIndexSpaceUsed() {
+    return super.getLayerIndexSpaceUsed() + (long) orderByMaxFee.size() * TREE_MAP_ENTRY_SIZE;
+  }
+
   @Override
   protected TransactionAddedResult canAdd(
       final PendingTransaction pendingTransaction, final int gap) {
@@ -88,9 +93,8 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
 
   @Override
   protected void internalAdd(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
-      final PendingTransaction pendingTransaction) {
-    if (senderTxs.firstKey() == pendingTransaction.getNonce()) {
+      final SenderTransactions senderTxs, final PendingTransaction pendingTransaction) {
+    if (senderTxs.firstNonce() == pendingTransaction.getNonce()) {
       // replace previous if exists
       if (senderTxs.size() > 1) {
         final PendingTransaction secondTx = senderTxs.get(pendingTransaction.getNonce() + 1);
@@ -107,19 +111,19 @@ public class ReadyTransactions extends AbstractSequentialTransactionsLayer {
 
   @Override
   protected void internalRemove(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final PendingTransaction removedTx,
       final LayeredRemovalReason removalReason) {
     orderByMaxFee.remove(removedTx);
     if (!senderTxs.isEmpty()) {
-      orderByMaxFee.add(senderTxs.firstEntry().getValue());
+      orderByMaxFee.add(senderTxs.first());
     }
   }
 
   @Override
   protected void internalPenalize(final PendingTransaction penalizedTx) {
     final var senderTxs = txsBySender.get(penalizedTx.getSender());
-    if (senderTxs.firstKey() == penalizedTx.getNonce()) {
+    if (senderTxs.firstNonce() == penalizedTx.getNonce()) {
       // since we only sort the first tx of sender, we only need to re-sort in this case
       orderByMaxFee.remove(penalizedTx);
       penalizedTx.decrementScore();
@@ -0,0 +1,271 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * The pending transactions of a sender in a layer, ordered by nonce asc.
+ *
+ * <p>The transactions are kept in an array, sorted by nonce, and found by binary search, since a
+ * sender has few transactions in a layer and they are mostly added at the end and removed from the
+ * start. Compared to a {@code TreeMap<Long, PendingTransaction>} there is no entry object nor boxed
+ * nonce for each transaction.
+ *
+ * <p>Not thread safe, as the layers holding it.
+ */
+final class SenderTransactions {
+  /**
+   * Estimated memory size of an instance, with its array of the initial capacity, in a 64-bit JVM
+   * with compressed references
+   */
+  static final int SHALLOW_SIZE = 56;
+
+  /** Estimated memory size of a transaction slot, counting the unused slots of the array */
+  static final int SLOT_SIZE = 8;
+
+  private static final int INITIAL_CAPACITY = 4;
+
+  private PendingTransaction[] txs = new PendingTransaction[INITIAL_CAPACITY];
+  // the transactions are in txs[start, start + size)
+  private int start = 0;
+  private int size = 0;
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  PendingTransaction first() {
+    checkNotEmpty();
+    return txs[start];
+  }
+
+  PendingTransaction last() {
+    checkNotEmpty();
+    return txs[start + size - 1];
+  }
+
+  long firstNonce() {
+    return first().getNonce();
+  }
+
+  long lastNonce() {
+    return last().getNonce();
+  }
+
+  PendingTransaction get(final long nonce) {
+    final int index = indexOf(nonce);
+    return index >= 0 ? txs[index] : null;
+  }
+
+  boolean contains(final long nonce) {
+    return indexOf(nonce) >= 0;
+  }
+
+  /**
+   * Add a transaction, replacing the one with the same nonce if present.
+   *
+   * @param pendingTransaction the transaction to add
+   * @return the replaced transaction or null
+   */
+  PendingTransaction put(final PendingTransaction pendingTransaction) {
+    final int index = indexOf(pendingTransaction.getNonce());
+    if (index >= 0) {
+      final PendingTransaction replaced = txs[index];
+      txs[index] = pendingTransaction;
+      return replaced;
+    }
+    insert(-(index + 1), pendingTransaction);
+    return null;
+  }
+
+  /**
+   * Remove the transaction with the specified nonce.
+   *
+   * @param nonce the nonce
+   * @return the removed transaction or null if there is no transaction with this nonce
+   */
+  PendingTransaction remove(final long nonce) {
+    final int index = indexOf(nonce);
+    if (index < 0) {
+      return null;
+    }
+    final PendingTransaction removed = txs[index];
+    final int end = start + size;
+    if (index == start) {
+      txs[start++] = null;
+    } else {
+      System.arraycopy(txs, index + 1, txs, index, end - index - 1);
+      txs[end - 1] = null;
+    }
+    afterRemove();
+    return removed;
+  }
+
+  PendingTransaction pollFirst() {
+    checkNotEmpty();
+    final PendingTransaction first = txs[start];
+    txs[start++] = null;
+    afterRemove();
+    return first;
+  }
+
+  PendingTransaction pollLast() {
+    checkNotEmpty();
+    final int lastIndex = start + size - 1;
+    final PendingTransaction last = txs[lastIndex];
+    txs[lastIndex] = null;
+    afterRemove();
+    return last;
+  }
+
+  /**
+   * Return the transactions ordered by nonce asc. The returned list is a view that must not be used
+   * after this instance is modified.
+   *
+   * @return a view of the transactions
+   */
+  List<PendingTransaction> values() {
+    return new ValuesView(start, start + size);
+  }
+
+  /**
+   * Return the transactions with a nonce greater than the specified one, ordered by nonce asc.
+   *
+   * @param nonce the exclusive lower bound
+   * @return a copy of the transactions after the nonce
+   */
+  List<PendingTransaction> copyAfter(final long nonce) {
+    final int index = indexOf(nonce);
+    final int from = index >= 0 ? index + 1 : -(index + 1);
+    return List.of(Arrays.copyOfRange(txs, from, start + size));
+  }
+
+  List<Long> nonces() {
+    return values().stream().map(PendingTransaction::getNonce).toList();
+  }
+
+  private int indexOf(final long nonce) {
+    int low = start;
+    int high = start + size - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final long midNonce = txs[mid].getNonce();
+      if (midNonce < nonce) {
+        low = mid + 1;
+      } else if (midNonce > nonce) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  private void insert(final int index, final PendingTransaction pendingTransaction) {
+    int insertAt = index;
+    if (start + size == txs.length) {
+      // no room at the end, grow the array if full, otherwise move the txs to its start
+      insertAt -= start;
+      if (size == txs.length) {
+        resize(txs.length * 2);
+      } else {
+        System.arraycopy(txs, start, txs, 0, size);
+        Arrays.fill(txs, size, start + size, null);
+        start = 0;
+      }
+    }
+    final int end = start + size;
+    System.arraycopy(txs, insertAt, txs, insertAt + 1, end - insertAt);
+    txs[insertAt] = pendingTransaction;
+    ++size;
+  }
+
+  private void afterRemove() {
+    if (--size == 0) {
+      start = 0;
+    }
+    if (txs.length > INITIAL_CAPACITY && size <= txs.length / 4) {
+      resize(txs.length / 2);
+    }
+  }
+
+  private void resize(final int capacity) {
+    final PendingTransaction[] resized = new PendingTransaction[capacity];
+    System.arraycopy(txs, start, resized, 0, size);
+    txs = resized;
+    start = 0;
+  }
+
+  private void checkNotEmpty() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof SenderTransactions that)) {
+      return false;
+    }
+    return values().equals(that.values());
+  }
+
+  @Override
+  public int hashCode() {
+    return values().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return nonces().toString();
+  }
+
+  private class ValuesView extends AbstractList<PendingTransaction> implements RandomAccess {
+    private final int from;
+    private final int to;
+
+    ValuesView(final int from, final int to) {
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    public PendingTransaction get(final int index) {
+      if (index < 0 || index >= to - from) {
+        throw new IndexOutOfBoundsException(index);
+      }
+      return txs[from + index];
+    }
+
+    @Override
+    public int size() {
+      return to - from;
+    }
+  }
+}
@@ -103,6 +103,11 @@ public class SparseTransactions extends AbstractTransactionsLayer {
     orderByGap.forEach(SendersByPriority::clear);
   }
 
+  @Override
+  protected long getLayerIndexSpaceUsed() {
+    return super.getLayerIndexSpaceUsed() + (long) sparseEvictionOrder.size() * TREE_MAP_ENTRY_SIZE;
+  }
+
   @Override
   protected TransactionAddedResult canAdd(
       final PendingTransaction pendingTransaction, final int gap) {
@@ -114,7 +119,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
             return gap;
           }
           if (Long.compareUnsigned(
-                  pendingTransaction.getNonce(), txsBySender.get(sender).firstKey())
+                  pendingTransaction.getNonce(), txsBySender.get(sender).firstNonce())
               < 0) {
             orderByGap.get(currGap).remove(sender);
             orderByGap.get(gap).add(pendingTransaction);
@@ -128,7 +133,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
 
   @Override
   protected void internalAdd(
-      final NavigableMap<Long, PendingTransaction> senderTxs, final PendingTransaction addedTx) {
+      final SenderTransactions senderTxs, final PendingTransaction addedTx) {
     sparseEvictionOrder.add(addedTx);
   }
 
@@ -170,7 +175,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
     for (final var sender : zeroGapSenders) {
       final var senderSeqTxs = getSequentialSubset(txsBySender.get(sender));
 
-      for (final var candidateTx : senderSeqTxs.values()) {
+      for (final var candidateTx : senderSeqTxs) {
         final var txType = candidateTx.getTransaction().getType();
         if (promotionFilter.test(candidateTx) && remainingPromotionsPerType[txType.ordinal()] > 0) {
           accumulatedSpace += candidateTx.memorySize();
@@ -200,7 +205,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
             orderByGap.get(0).remove(sender);
             gapBySender.remove(sender);
           } else {
-            final long firstNonce = senderTxs.firstKey();
+            final long firstNonce = senderTxs.firstNonce();
             final int newGap = (int) (firstNonce - (promotedTx.getNonce() + 1));
             if (newGap != 0) {
               updateGap(sender, 0, newGap);
@@ -216,17 +221,16 @@ public class SparseTransactions extends AbstractTransactionsLayer {
     return promotedTxs;
   }
 
-  private NavigableMap<Long, PendingTransaction> getSequentialSubset(
-      final NavigableMap<Long, PendingTransaction> senderTxs) {
-    long lastSequentialNonce = senderTxs.firstKey();
-    for (final long nonce : senderTxs.tailMap(lastSequentialNonce, false).keySet()) {
-      if (nonce == lastSequentialNonce + 1) {
-        ++lastSequentialNonce;
-      } else {
-        break;
-      }
+  private List<PendingTransaction> getSequentialSubset(final SenderTransactions senderTxs) {
+    final var txs = senderTxs.values();
+    long lastSequentialNonce = senderTxs.firstNonce();
+    int sequentialCount = 1;
+    while (sequentialCount < txs.size()
+        && txs.get(sequentialCount).getNonce() == lastSequentialNonce + 1) {
+      ++lastSequentialNonce;
+      ++sequentialCount;
     }
-    return senderTxs.headMap(lastSequentialNonce, true);
+    return txs.subList(0, sequentialCount);
   }
 
   @Override
@@ -234,7 +238,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
       final PendingTransaction invalidatedTx, final PoolRemovalReason reason) {
 
     final var senderTxs = txsBySender.get(invalidatedTx.getSender());
-    if (senderTxs != null && senderTxs.containsKey(invalidatedTx.getNonce())) {
+    if (senderTxs != null && senderTxs.contains(invalidatedTx.getNonce())) {
       // gaps are allowed here then just remove
       senderTxs.remove(invalidatedTx.getNonce());
       processRemove(senderTxs, invalidatedTx.getTransaction(), reason);
@@ -248,20 +252,20 @@ public class SparseTransactions extends AbstractTransactionsLayer {
 
   @Override
   protected void internalConfirmed(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final Address sender,
       final long maxConfirmedNonce,
       final PendingTransaction highestNonceRemovedTx) {
 
     if (highestNonceRemovedTx != null) {
       final int currGap = gapBySender.get(sender);
-      final int newGap = (int) (senderTxs.firstKey() - (highestNonceRemovedTx.getNonce() + 1));
+      final int newGap = (int) (senderTxs.firstNonce() - (highestNonceRemovedTx.getNonce() + 1));
       if (currGap != newGap) {
         updateGap(sender, currGap, newGap);
       }
     } else {
       final int currGap = gapBySender.get(sender);
-      final int newGap = (int) (senderTxs.firstKey() - (maxConfirmedNonce + 1));
+      final int newGap = (int) (senderTxs.firstNonce() - (maxConfirmedNonce + 1));
       if (newGap < currGap) {
         updateGap(sender, currGap, newGap);
       }
@@ -270,8 +274,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
 
   @Override
   protected void internalEvict(
-      final NavigableMap<Long, PendingTransaction> lessReadySenderTxs,
-      final PendingTransaction evictedTx) {
+      final SenderTransactions lessReadySenderTxs, final PendingTransaction evictedTx) {
     sparseEvictionOrder.remove(evictedTx);
 
     if (lessReadySenderTxs.isEmpty()) {
@@ -281,7 +284,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
 
   @Override
   protected void internalRemove(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
+      final SenderTransactions senderTxs,
       final PendingTransaction removedTx,
       final LayeredRemovalReason removalReason) {
 
@@ -290,7 +293,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
     final Address sender = removedTx.getSender();
 
     if (senderTxs != null && !senderTxs.isEmpty()) {
-      final int deltaGap = (int) (senderTxs.firstKey() - removedTx.getNonce());
+      final int deltaGap = (int) (senderTxs.firstNonce() - removedTx.getNonce());
       if (deltaGap > 0) {
         final int currGap = gapBySender.get(sender);
         final int newGap;
@@ -356,8 +359,9 @@ public class SparseTransactions extends AbstractTransactionsLayer {
     final Integer gap = gapBySender.get(sender);
     if (gap != null && gap == 0) {
       final var senderTxs = txsBySender.get(sender);
-      var currNonce = senderTxs.firstKey();
-      for (final var nextNonce : senderTxs.keySet()) {
+      var currNonce = senderTxs.firstNonce();
+      for (final var nextTx : senderTxs.values()) {
+        final long nextNonce = nextTx.getNonce();
         if (nextNonce > currNonce + 1) {
           break;
         }
@@ -373,19 +377,18 @@ public class SparseTransactions extends AbstractTransactionsLayer {
     final var senderTxs = txsBySender.get(sender);
     if (senderTxs != null) {
       final var gap = gapBySender.get(sender);
-      return OptionalLong.of(senderTxs.firstKey() - gap);
+      return OptionalLong.of(senderTxs.firstNonce() - gap);
     }
     return nextLayer.getCurrentNonceFor(sender);
   }
 
   @Override
   protected void internalNotifyAdded(
-      final NavigableMap<Long, PendingTransaction> senderTxs,
-      final PendingTransaction pendingTransaction) {
+      final SenderTransactions senderTxs, final PendingTransaction pendingTransaction) {
     final Address sender = pendingTransaction.getSender();
     final Integer currGap = gapBySender.get(sender);
     if (currGap != null) {
-      final int newGap = (int) (senderTxs.firstKey() - (pendingTransaction.getNonce() + 1));
+      final int newGap = (int) (senderTxs.firstNonce() - (pendingTransaction.getNonce() + 1));
       if (newGap < currGap) {
         updateGap(sender, currGap, newGap);
       }
@@ -399,7 +402,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
         + "["
         + (Objects.isNull(senderTxs)
             ? "Empty"
-            : "gap(" + gapBySender.get(sender) + ") " + senderTxs.keySet())
+            : "gap(" + gapBySender.get(sender) + ") " + senderTxs.nonces())
         + "] "
         + nextLayer.logSender(sender);
   }
@@ -446,11 +449,11 @@ public class SparseTransactions extends AbstractTransactionsLayer {
       final Map<Address, NavigableMap<Long, PendingTransaction>> prevLayerTxsBySender) {
     txsBySender.values().stream()
         .filter(senderTxs -> senderTxs.size() > 1)
-        .map(NavigableMap::entrySet)
-        .map(Set::iterator)
+        .map(SenderTransactions::values)
+        .map(List::iterator)
         .forEach(
             itNonce -> {
-              PendingTransaction firstTx = itNonce.next().getValue();
+              PendingTransaction firstTx = itNonce.next();
 
               prevLayerTxsBySender.computeIfPresent(
                   firstTx.getSender(),
@@ -470,7 +473,7 @@ public class SparseTransactions extends AbstractTransactionsLayer {
               long prevNonce = firstTx.getNonce();
 
               while (itNonce.hasNext()) {
-                final long currNonce = itNonce.next().getKey();
+                final long currNonce = itNonce.next().getNonce();
                 assert Long.compareUnsigned(prevNonce, currNonce) < 0 : "non incremental nonce";
                 prevNonce = currNonce;
               }
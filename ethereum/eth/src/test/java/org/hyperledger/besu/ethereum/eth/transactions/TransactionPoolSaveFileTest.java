@@ -0,0 +1,146 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolSaveFile.Entry;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TransactionPoolSaveFileTest {
+  private static final KeyPair KEYS = SignatureAlgorithmFactory.getInstance().generateKeyPair();
+
+  @TempDir Path tempDir;
+
+  @Test
+  public void entriesAreReadAsWritten() throws IOException {
+    final Path saveFile = tempDir.resolve("txpool.dump");
+    final List<Entry> entries = List.of(entry(0, true, 0), entry(1, false, 1), entry(5, false, 2));
+
+    TransactionPoolSaveFile.write(saveFile, entries);
+
+    assertThat(TransactionPoolSaveFile.read(saveFile)).isEqualTo(entries);
+  }
+
+  @Test
+  public void savedFileIsReplaced() throws IOException {
+    final Path saveFile = tempDir.resolve("txpool.dump");
+    TransactionPoolSaveFile.write(saveFile, List.of(entry(0, true, 0), entry(1, true, 0)));
+
+    final List<Entry> entries = List.of(entry(2, false, 1));
+    TransactionPoolSaveFile.write(saveFile, entries);
+
+    assertThat(TransactionPoolSaveFile.read(saveFile)).isEqualTo(entries);
+    try (final var files = Files.list(tempDir)) {
+      assertThat(files).containsExactly(saveFile);
+    }
+  }
+
+  @Test
+  public void savedSenderIsNotRecoveredAgain() {
+    final Entry entry = entry(0, false, 0);
+    final Entry withOtherSender =
+        new Entry(
+            entry.encodedTransaction(),
+            Optional.of(Address.ZERO),
+            entry.score(),
+            entry.isLocal(),
+            entry.layer());
+
+    assertThat(entry.decode().getSender()).isEqualTo(entry.sender().orElseThrow());
+    assertThat(withOtherSender.decode().getSender()).isEqualTo(Address.ZERO);
+  }
+
+  @Test
+  public void entriesBeforeACorruptedOneAreRead() throws IOException {
+    final Path saveFile = tempDir.resolve("txpool.dump");
+    final List<Entry> entries = List.of(entry(0, true, 0), entry(1, false, 1), entry(2, false, 1));
+    TransactionPoolSaveFile.write(saveFile, entries);
+
+    // flip a byte of the encoded transaction of the last entry
+    final byte[] content = Files.readAllBytes(saveFile);
+    content[content.length - 10] ^= 0x01;
+    Files.write(saveFile, content);
+
+    assertThat(TransactionPoolSaveFile.read(saveFile)).isEqualTo(entries.subList(0, 2));
+  }
+
+  @Test
+  public void entriesBeforeATruncatedOneAreRead() throws IOException {
+    final Path saveFile = tempDir.resolve("txpool.dump");
+    final List<Entry> entries = List.of(entry(0, true, 0), entry(1, false, 1), entry(2, false, 1));
+    TransactionPoolSaveFile.write(saveFile, entries);
+
+    final byte[] content = Files.readAllBytes(saveFile);
+    Files.write(saveFile, Arrays.copyOf(content, content.length - 3));
+
+    assertThat(TransactionPoolSaveFile.read(saveFile)).isEqualTo(entries.subList(0, 2));
+  }
+
+  @Test
+  public void textFormatIsRead() throws IOException {
+    final Path saveFile = tempDir.resolve("txpool.dump");
+    final Entry local = entry(0, true, 0);
+    final Entry remote = entry(1, false, 0);
+    Files.writeString(
+        saveFile,
+        "127l"
+            + local.encodedTransaction().toBase64String()
+            + "\n-5r"
+            + remote.encodedTransaction().toBase64String()
+            + "\n");
+
+    final List<Entry> entries = TransactionPoolSaveFile.read(saveFile);
+
+    assertThat(entries)
+        .containsExactly(
+            new Entry(
+                local.encodedTransaction(),
+                Optional.empty(),
+                Byte.MAX_VALUE,
+                true,
+                TransactionPoolSaveFile.UNKNOWN_LAYER),
+            new Entry(
+                remote.encodedTransaction(),
+                Optional.empty(),
+                (byte) -5,
+                false,
+                TransactionPoolSaveFile.UNKNOWN_LAYER));
+    assertThat(entries.get(1).decode().getSender()).isEqualTo(remote.sender().orElseThrow());
+  }
+
+  private static Entry entry(final long nonce, final boolean isLocal, final int layer) {
+    final Transaction transaction =
+        new TransactionTestFixture().nonce(nonce).createTransaction(KEYS);
+    return Entry.of(
+        PendingTransaction.newPendingTransaction(
+            transaction, isLocal, false, (byte) (Byte.MAX_VALUE - nonce)),
+        layer);
+  }
+}
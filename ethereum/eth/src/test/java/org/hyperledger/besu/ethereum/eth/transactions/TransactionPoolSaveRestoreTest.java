@@ -16,6 +16,11 @@ package org.hyperledger.besu.ethereum.eth.transactions;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -25,8 +30,7 @@ import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
 import org.hyperledger.besu.ethereum.core.MiningConfiguration;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionTestFixture;
-import org.hyperledger.besu.ethereum.core.encoding.EncodingContext;
-import org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder;
+import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.transactions.layered.BaseFeePrioritizedTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.layered.EndLayer;
 import org.hyperledger.besu.ethereum.eth.transactions.layered.LayeredPendingTransactions;
@@ -34,14 +38,14 @@ import org.hyperledger.besu.ethereum.eth.transactions.layered.ReadyTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.layered.SparseTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.layered.TransactionsLayer;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiFunction;
@@ -53,6 +57,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -188,11 +193,15 @@ public class TransactionPoolSaveRestoreTest extends AbstractTransactionPoolTestB
     // after being disabled the blob map size must be zero
     assertThat(transactionPool.getBlobMapSize()).isEqualTo(0);
 
-    final var savedContent = Files.readString(saveFilePath, StandardCharsets.US_ASCII);
+    final var savedEntries = TransactionPoolSaveFile.read(saveFilePath);
 
-    assertThat(savedContent)
-        .isEqualToIgnoringNewLines(
-            "127" + ((isLocal) ? "l" : "r") + transaction2Base64(transaction));
+    assertThat(savedEntries).hasSize(1);
+    final var savedEntry = savedEntries.getFirst();
+    assertThat(savedEntry.score()).isEqualTo(Byte.MAX_VALUE);
+    assertThat(savedEntry.isLocal()).isEqualTo(isLocal);
+    assertThat(savedEntry.sender()).contains(transaction.getSender());
+    assertThat(savedEntry.layer()).isNotEqualTo(TransactionPoolSaveFile.UNKNOWN_LAYER);
+    assertThat(savedEntry.decode()).isEqualTo(transaction);
 
     // re-enabling the txpool restores from file
     transactionPool.setEnabled().get(10, TimeUnit.SECONDS);
@@ -265,9 +274,65 @@ public class TransactionPoolSaveRestoreTest extends AbstractTransactionPoolTestB
         .isEqualTo(false);
   }
 
-  private String transaction2Base64(final Transaction transaction) {
-    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
-    TransactionEncoder.encodeRLP(transaction, rlp, EncodingContext.POOLED_TRANSACTION);
-    return rlp.encoded().toBase64String();
+  @Test
+  public void saveFileIsDeletedAfterRestoreIfNotPeriodicallySaved() throws IOException {
+
+    // create a save file with one local and one remote tx, both without score
+    final var noScoreContent =
+        """
+        luFoC+FcBgIID6IITiIcf////////gASAwAGga1337/7O7cp7jaMTu9X230+6mLJciebaO5nrsgDRp1CgA5MCvzfmS4H3NqF0DIxJGl8atRTkKmFwLMZgPpkVTqQ=
+        ruFoC+FcBgIID6IITiIcf////////gASAwAGglm0VMcNQmOS0aE5CJP1Lm7eBbFQIRvmwgUcfEka9sVagYWy/2d2tJHojo2smAIJgwLbud9Dr+f1lbxo1dSOBfmE=
+        """;
+
+    Files.writeString(saveFilePath, noScoreContent);
+
+    givenAllTransactionsAreValid();
+
+    // create a txpool with save and restore enabled, but only saving on shutdown
+    this.transactionPool =
+        createTransactionPool(
+            b ->
+                b.enableSaveRestore(true)
+                    .saveFile(saveFilePath.toFile())
+                    .saveInterval(Duration.ZERO));
+
+    await().until(() -> transactionPool.getPendingTransactions().size() == 2);
+    await().until(() -> !Files.exists(saveFilePath));
+  }
+
+  @Test
+  public void poolContentIsPeriodicallySaved() throws IOException {
+    final EthScheduler ethScheduler = ethContext.getScheduler();
+    final ArgumentCaptor<Runnable> checkpointCaptor = ArgumentCaptor.forClass(Runnable.class);
+    doReturn(mock(ScheduledFuture.class))
+        .when(ethScheduler)
+        .scheduleFutureTaskWithFixedDelay(checkpointCaptor.capture(), any(), any());
+
+    this.transactionPool =
+        createTransactionPool(
+            b ->
+                b.enableSaveRestore(true)
+                    .saveFile(saveFilePath.toFile())
+                    .saveInterval(Duration.ofSeconds(1)));
+
+    verify(ethScheduler).scheduleFutureTaskWithFixedDelay(any(), eq(Duration.ofSeconds(1)), any());
+
+    final Transaction transaction = createTransaction(0);
+    givenTransactionIsValid(transaction);
+    addAndAssertRemoteTransactionsValid(transaction);
+
+    // the checkpoint is skipped while the restore of the empty pool is in progress
+    await()
+        .untilAsserted(
+            () -> {
+              checkpointCaptor.getValue().run();
+              assertThat(saveFilePath).exists();
+            });
+
+    // the pool is saved while it is still enabled
+    assertThat(transactionPool.isEnabled()).isTrue();
+    assertThat(TransactionPoolSaveFile.read(saveFilePath))
+        .map(TransactionPoolSaveFile.Entry::decode)
+        .containsExactly(transaction);
   }
 }
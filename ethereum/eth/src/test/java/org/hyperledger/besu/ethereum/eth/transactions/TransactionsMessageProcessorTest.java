@@ -21,6 +21,7 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -67,7 +68,8 @@ public class TransactionsMessageProcessorTest {
         ofMinutes(1));
 
     verify(transactionTracker)
-        .markTransactionsAsSeen(peer1, asList(transaction1, transaction2, transaction3));
+        .markTransactionHashesAsSeen(
+            peer1, asList(transaction1.getHash(), transaction2.getHash(), transaction3.getHash()));
   }
 
   @Test
@@ -80,6 +82,22 @@ public class TransactionsMessageProcessorTest {
     verify(transactionPool).addRemoteTransactions(asList(transaction1, transaction2, transaction3));
   }
 
+  @Test
+  public void shouldOnlyAddTransactionsNotSeenBeforeToTransactionPool() {
+    when(transactionTracker.hasSeenTransaction(transaction2.getHash())).thenReturn(true);
+
+    messageHandler.processTransactionsMessage(
+        peer1,
+        TransactionsMessage.create(asList(transaction1, transaction2, transaction3)),
+        now(),
+        ofMinutes(1));
+
+    verify(transactionPool).addRemoteTransactions(asList(transaction1, transaction3));
+    verify(transactionTracker)
+        .markTransactionHashesAsSeen(
+            peer1, asList(transaction1.getHash(), transaction2.getHash(), transaction3.getHash()));
+  }
+
   @Test
   public void shouldNotMarkReceivedExpiredTransactionsAsSeen() {
     messageHandler.processTransactionsMessage(
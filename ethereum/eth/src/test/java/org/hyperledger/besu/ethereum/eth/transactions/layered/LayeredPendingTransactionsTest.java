@@ -314,6 +314,35 @@ public class LayeredPendingTransactionsTest extends BaseTransactionPoolTest {
     verifyNoInteractions(droppedListener);
   }
 
+  @Test
+  public void lookupsFollowTheTransactionsAcrossTheLayers() {
+    final List<Transaction> txs = new ArrayList<>(MAX_TRANSACTIONS + 1);
+    for (int i = 0; i < MAX_TRANSACTIONS + 1; i++) {
+      final Account sender = mock(Account.class);
+      when(sender.getNonce()).thenReturn((long) i);
+      final var tx =
+          createTransaction(
+              i, DEFAULT_BASE_FEE.add(i), SIGNATURE_ALGORITHM.get().generateKeyPair());
+      pendingTransactions.addTransaction(createRemotePendingTransaction(tx), Optional.of(sender));
+      txs.add(tx);
+    }
+
+    // the first tx moved to the ready layer, but is still in the pool
+    assertThat(layers.readyTransactions.contains(txs.get(0))).isTrue();
+    assertTransactionPending(pendingTransactions, txs.get(0));
+    assertThat(pendingTransactions.getPendingTransactions())
+        .containsExactlyInAnyOrderElementsOf(layers.prioritizedTransactions.getAll());
+
+    final var invalidTx = layers.prioritizedTransactions.getByHash(txs.get(1).getHash()).get();
+    layers.prioritizedTransactions.remove(invalidTx, INVALIDATED);
+
+    assertTransactionNotPending(pendingTransactions, txs.get(1));
+    assertThat(pendingTransactions.containsTransaction(txs.get(1))).isFalse();
+    assertThat(pendingTransactions.size()).isEqualTo(layers.prioritizedTransactions.count());
+    assertThat(pendingTransactions.getPendingTransactions())
+        .containsExactlyInAnyOrderElementsOf(layers.prioritizedTransactions.getAll());
+  }
+
   @Test
   public void addTransactionForMultipleSenders() {
     final var transactionSenderA = createTransaction(0, KEYS1);
@@ -0,0 +1,128 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.transactions.layered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.eth.transactions.PendingTransaction;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+public class SenderTransactionsTest {
+
+  private final SenderTransactions senderTxs = new SenderTransactions();
+
+  @Test
+  public void keepsTheTransactionsOrderedByNonce() {
+    putAll(3, 1, 0, 2, 5);
+
+    assertThat(senderTxs.nonces()).containsExactly(0L, 1L, 2L, 3L, 5L);
+    assertThat(senderTxs.size()).isEqualTo(5);
+    assertThat(senderTxs.firstNonce()).isZero();
+    assertThat(senderTxs.lastNonce()).isEqualTo(5);
+    assertThat(senderTxs.contains(4)).isFalse();
+    assertThat(senderTxs.get(4)).isNull();
+    assertThat(senderTxs.get(2).getNonce()).isEqualTo(2);
+  }
+
+  @Test
+  public void replacesTheTransactionWithTheSameNonce() {
+    final PendingTransaction original = pendingTransaction(1);
+    senderTxs.put(pendingTransaction(0));
+    senderTxs.put(original);
+
+    final PendingTransaction replacement = pendingTransaction(1);
+
+    assertThat(senderTxs.put(replacement)).isSameAs(original);
+    assertThat(senderTxs.get(1)).isSameAs(replacement);
+    assertThat(senderTxs.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void removesFromAnyPosition() {
+    putAll(0, 1, 2, 3, 4);
+
+    assertThat(senderTxs.remove(2).getNonce()).isEqualTo(2);
+    assertThat(senderTxs.remove(0).getNonce()).isEqualTo(0);
+    assertThat(senderTxs.remove(4).getNonce()).isEqualTo(4);
+    assertThat(senderTxs.remove(7)).isNull();
+
+    assertThat(senderTxs.nonces()).containsExactly(1L, 3L);
+  }
+
+  @Test
+  public void pollsFromBothEnds() {
+    putAll(0, 1, 2);
+
+    assertThat(senderTxs.pollFirst().getNonce()).isEqualTo(0);
+    assertThat(senderTxs.pollLast().getNonce()).isEqualTo(2);
+    assertThat(senderTxs.pollFirst().getNonce()).isEqualTo(1);
+    assertThat(senderTxs.isEmpty()).isTrue();
+    assertThatThrownBy(senderTxs::pollFirst).isInstanceOf(NoSuchElementException.class);
+    assertThatThrownBy(senderTxs::lastNonce).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  public void growsAndShrinksKeepingTheOrder() {
+    LongStream.range(0, 100).forEach(nonce -> senderTxs.put(pendingTransaction(nonce)));
+
+    // consume from the start and append at the end, as when txs are confirmed and new ones arrive
+    for (long nonce = 100; nonce < 200; nonce++) {
+      assertThat(senderTxs.pollFirst().getNonce()).isEqualTo(nonce - 100);
+      senderTxs.put(pendingTransaction(nonce));
+    }
+    assertThat(senderTxs.nonces())
+        .containsExactlyElementsOf(LongStream.range(100, 200).boxed().toList());
+
+    while (senderTxs.size() > 2) {
+      senderTxs.pollLast();
+    }
+    senderTxs.put(pendingTransaction(50));
+
+    assertThat(senderTxs.nonces()).containsExactly(50L, 100L, 101L);
+  }
+
+  @Test
+  public void copiesTheTransactionsAfterANonce() {
+    putAll(0, 1, 3, 4);
+
+    final List<PendingTransaction> afterOne = senderTxs.copyAfter(1);
+    final List<PendingTransaction> afterTwo = senderTxs.copyAfter(2);
+    senderTxs.remove(3);
+
+    assertThat(afterOne).map(PendingTransaction::getNonce).containsExactly(3L, 4L);
+    assertThat(afterTwo).map(PendingTransaction::getNonce).containsExactly(3L, 4L);
+    assertThat(senderTxs.copyAfter(4)).isEmpty();
+  }
+
+  private void putAll(final long... nonces) {
+    for (final long nonce : nonces) {
+      senderTxs.put(pendingTransaction(nonce));
+    }
+  }
+
+  private static PendingTransaction pendingTransaction(final long nonce) {
+    final PendingTransaction pendingTransaction = mock(PendingTransaction.class);
+    when(pendingTransaction.getNonce()).thenReturn(nonce);
+    return pendingTransaction;
+  }
+}
@@ -507,6 +507,7 @@ public class EvmToolCommand implements Runnable {
             createTransaction ? Address.contractAddress(receiver, 0) : receiver;
         MessageFrame initialMessageFrame =
             MessageFrame.builder()
+                .longLimbStack(evm.getEvmConfiguration().enableLongLimbStack())
                 .type(
                     createTransaction
                         ? MessageFrame.Type.CONTRACT_CREATION
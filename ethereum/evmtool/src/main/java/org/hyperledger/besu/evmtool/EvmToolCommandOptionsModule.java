@@ -142,11 +142,42 @@ public class EvmToolCommandOptionsModule {
       arity = "1")
   private boolean enableOptimizedOpcodes = true;
 
+  @CommandLine.Option(
+      names = {"--Xevm-long-limb-stack"},
+      description = "Keep the EVM operand stack as primitive long limbs instead of byte arrays",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "0..1")
+  private boolean enableLongLimbStack = false;
+
+  @CommandLine.Option(
+      names = {"--Xevm-analyzed-code-cache-weight-kb"},
+      description =
+          "size in kilobytes to allow the cache of pre-decoded contract code to grow to, "
+              + "0 runs the EVM directly over the bytecode",
+      fallbackValue = "64000",
+      hidden = true,
+      arity = "0..1")
+  private Long analyzedCodeCacheWeightKilobytes = 0L;
+
+  @CommandLine.Option(
+      names = {"--Xevm-memory-pool"},
+      description = "Reuse the memory of completed EVM message frames for the following frames",
+      fallbackValue = "true",
+      hidden = true,
+      arity = "0..1")
+  private boolean enableMemoryPool = false;
+
   @Provides
   @Singleton
   EvmConfiguration provideEvmConfiguration() {
     return new EvmConfiguration(
-        jumpDestCacheWeightKilobytes, worldstateUpdateMode, enableOptimizedOpcodes);
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        enableLongLimbStack,
+        analyzedCodeCacheWeightKilobytes,
+        enableMemoryPool);
   }
 
   /** Default constructor for the EvmToolCommandOptionsModule class. */
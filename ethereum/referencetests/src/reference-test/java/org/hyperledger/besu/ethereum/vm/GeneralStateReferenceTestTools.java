@@ -46,6 +46,8 @@ import org.hyperledger.besu.ethereum.referencetests.ReferenceTestProtocolSchedul
 import org.hyperledger.besu.ethereum.referencetests.ReferenceTestWorldState;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.internal.EvmConfiguration.WorldUpdaterMode;
 import org.hyperledger.besu.datatypes.Log;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.testutil.JsonTestParameters;
@@ -73,7 +75,12 @@ public class GeneralStateReferenceTestTools {
             "Frontier,Homestead,EIP150,EIP158,Byzantium,Constantinople,ConstantinopleFix,Istanbul,Berlin,"
                 + "London,Merge,Paris,Shanghai,Cancun,Prague,Osaka,Amsterdam,Bogota,Polis,Bangkok");
     EIPS_TO_RUN = Arrays.asList(eips.split(","));
-    PROTOCOL_SCHEDULES = ReferenceTestProtocolSchedules.create();
+    // -Dtest.ethereum.evm.longLimbStack=true replays the suite on the long limb operand stack
+    PROTOCOL_SCHEDULES =
+        Boolean.getBoolean("test.ethereum.evm.longLimbStack")
+            ? ReferenceTestProtocolSchedules.create(
+                new EvmConfiguration(32_000L, WorldUpdaterMode.STACKED, true, true))
+            : ReferenceTestProtocolSchedules.create();
   }
 
   private static final JsonTestParameters<?, ?> params =
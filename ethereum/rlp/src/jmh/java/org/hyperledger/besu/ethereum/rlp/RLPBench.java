@@ -77,4 +77,57 @@ public class RLPBench {
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
   }
+
+  @Benchmark
+  public Bytes getBenchmarkPooledEncoding() {
+    try (PooledRLPOutput out = PooledRLPOutput.acquire()) {
+      write(toEncode, out);
+      return out.encoded();
+    }
+  }
+
+  /** Encodes every item of the top list separately before appending it, as wire responses do. */
+  @Benchmark
+  public Bytes getBenchmarkItemByItemEncoding() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    for (final Object item : items(toEncode)) {
+      final BytesValueRLPOutput itemOut = new BytesValueRLPOutput();
+      write(item, itemOut);
+      itemOut.encodedSize();
+      out.writeRaw(itemOut.encoded());
+    }
+    out.endList();
+    return out.encoded();
+  }
+
+  @Benchmark
+  public Bytes getBenchmarkPooledItemByItemEncoding() {
+    try (PooledRLPOutput out = PooledRLPOutput.acquire()) {
+      out.startList();
+      for (final Object item : items(toEncode)) {
+        out.mark();
+        write(item, out);
+        out.sizeSinceMark();
+      }
+      out.endList();
+      return out.encoded();
+    }
+  }
+
+  private static List<?> items(final Object value) {
+    return value instanceof List<?> list ? list : List.of(value);
+  }
+
+  private static void write(final Object value, final RLPOutput out) {
+    if (value instanceof Bytes bytes) {
+      out.writeBytes(bytes);
+    } else {
+      out.startList();
+      for (final Object item : (List<?>) value) {
+        write(item, out);
+      }
+      out.endList();
+    }
+  }
 }
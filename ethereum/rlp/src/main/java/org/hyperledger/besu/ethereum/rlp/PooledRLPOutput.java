@@ -0,0 +1,311 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.MutableBytes;
+
+/**
+ * An {@link RLPOutput} that writes RLP encoded data to a {@link Bytes}, and that is reused across
+ * encodings instead of being allocated for each of them.
+ *
+ * <p>It encodes in two passes like {@link BytesValueRLPOutput}: the written items and the payload
+ * size of every list are recorded first, then {@link #encoded()} writes the whole encoding at once
+ * into an output of the exact size. The items are recorded in flat arrays that are kept for the
+ * next encoding, and scalars are recorded as primitive longs, so that an encoding only allocates
+ * its result.
+ *
+ * <p>An output is obtained with {@link #acquire()} and must be given back with {@link #close()}
+ * once its encoding has been retrieved, typically with a try-with-resources statement. Outputs are
+ * pooled per thread, and nested encodings each get their own output.
+ *
+ * <p>A {@link #mark()} can be set before writing an item, to measure the encoded size of that item
+ * with {@link #sizeSinceMark()} and drop it with {@link #resetToMark()}, for instance when it would
+ * make a message exceed its maximum size. This replaces encoding the item in a separate output and
+ * copying its encoding.
+ */
+public final class PooledRLPOutput implements RLPOutput, AutoCloseable {
+
+  private static final int MAX_POOLED_PER_THREAD = 16;
+  private static final int INITIAL_CAPACITY = 32;
+  // an output that grew past this is shrunk when given back, so that it does not keep alive the
+  // arrays, and the values, of a large encoding
+  private static final int MAX_RETAINED_CAPACITY = 4096;
+
+  private static final byte ELEMENT = 0;
+  private static final byte RAW = 1;
+  private static final byte LIST = 2;
+  private static final byte SCALAR = 3;
+
+  private static final ThreadLocal<Pool> POOL = ThreadLocal.withInitial(Pool::new);
+
+  // For every item i, kinds[i] tells whether it is an element, an already encoded item, the start
+  // of a list or a scalar. values[i] holds the bytes of elements and encoded items, scalars[i] the
+  // value of scalars.
+  private byte[] kinds;
+  private Bytes[] values;
+  private long[] scalars;
+  private int count;
+
+  // Same as in BytesValueRLPOutput: the first element is the total size, the following ones the
+  // payload size of the ith list.
+  private int[] payloadSizes;
+  private int listsCount = 1;
+
+  private int[] parentListStack;
+  private int stackSize = 1;
+
+  private int markCount = -1;
+  private int markListsCount;
+  private int markStackSize;
+  private int markPayloadSize;
+
+  private boolean pooled;
+
+  private PooledRLPOutput() {
+    allocate();
+  }
+
+  /**
+   * Gets an empty output from the pool of the current thread.
+   *
+   * @return the output
+   */
+  public static PooledRLPOutput acquire() {
+    return POOL.get().acquire();
+  }
+
+  /** Gives the output back to the pool of the current thread. It must not be used afterwards. */
+  @Override
+  public void close() {
+    if (pooled) {
+      return;
+    }
+    reset();
+    POOL.get().release(this);
+  }
+
+  private void allocate() {
+    kinds = new byte[INITIAL_CAPACITY];
+    values = new Bytes[INITIAL_CAPACITY];
+    scalars = new long[INITIAL_CAPACITY];
+    payloadSizes = new int[8];
+    parentListStack = new int[4];
+  }
+
+  private void reset() {
+    if (kinds.length > MAX_RETAINED_CAPACITY || payloadSizes.length > MAX_RETAINED_CAPACITY) {
+      allocate();
+    } else {
+      Arrays.fill(values, 0, count, null);
+    }
+    count = 0;
+    payloadSizes[0] = 0;
+    listsCount = 1;
+    stackSize = 1;
+    markCount = -1;
+  }
+
+  private int currentList() {
+    return parentListStack[stackSize - 1];
+  }
+
+  private void add(final byte kind, final Bytes value, final long scalar) {
+    if (count == kinds.length) {
+      final int capacity = (kinds.length * 3) / 2;
+      kinds = Arrays.copyOf(kinds, capacity);
+      values = Arrays.copyOf(values, capacity);
+      scalars = Arrays.copyOf(scalars, capacity);
+    }
+    kinds[count] = kind;
+    values[count] = value;
+    scalars[count] = scalar;
+    count++;
+  }
+
+  private void checkNotTerminated() {
+    checkState(stackSize > 1 || count == 0, "Terminated RLP output, cannot add more elements");
+  }
+
+  @Override
+  public void writeBytes(final Bytes v) {
+    checkNotTerminated();
+    add(ELEMENT, v, 0);
+    payloadSizes[currentList()] += RLPEncodingHelpers.elementSize(v);
+  }
+
+  @Override
+  public void writeRaw(final Bytes v) {
+    checkNotTerminated();
+    add(RAW, v, 0);
+    payloadSizes[currentList()] += v.size();
+  }
+
+  @Override
+  public void writeLongScalar(final long v) {
+    checkNotTerminated();
+    add(SCALAR, null, v);
+    payloadSizes[currentList()] += RLPEncodingHelpers.scalarSize(v);
+  }
+
+  @Override
+  public void startList() {
+    add(LIST, null, 0);
+    ++listsCount;
+    ++stackSize;
+
+    if (listsCount > payloadSizes.length) {
+      payloadSizes = Arrays.copyOf(payloadSizes, (payloadSizes.length * 3) / 2);
+    }
+    if (stackSize > parentListStack.length) {
+      parentListStack = Arrays.copyOf(parentListStack, (parentListStack.length * 3) / 2);
+    }
+
+    // the arrays are reused, so the size of the new list has to be cleared
+    payloadSizes[listsCount - 1] = 0;
+    parentListStack[stackSize - 1] = listsCount - 1;
+  }
+
+  @Override
+  public void endList() {
+    checkState(stackSize > 1, "LeaveList() called with no prior matching startList()");
+
+    final int finishedListSize = RLPEncodingHelpers.listSize(payloadSizes[currentList()]);
+    --stackSize;
+    payloadSizes[currentList()] += finishedListSize;
+  }
+
+  /** Marks the current position, to measure or drop the items written after it. */
+  public void mark() {
+    markCount = count;
+    markListsCount = listsCount;
+    markStackSize = stackSize;
+    markPayloadSize = payloadSizes[currentList()];
+  }
+
+  /**
+   * The encoded size of the items written since the last {@link #mark()}. The lists started since
+   * the mark must have been ended.
+   *
+   * @return the encoded size, in bytes
+   */
+  public int sizeSinceMark() {
+    checkMark();
+    return payloadSizes[currentList()] - markPayloadSize;
+  }
+
+  /**
+   * Drops the items written since the last {@link #mark()}. The lists started since the mark must
+   * have been ended.
+   */
+  public void resetToMark() {
+    checkMark();
+    Arrays.fill(values, markCount, count, null);
+    count = markCount;
+    listsCount = markListsCount;
+    payloadSizes[currentList()] = markPayloadSize;
+  }
+
+  private void checkMark() {
+    checkState(markCount >= 0, "No mark set");
+    checkState(stackSize == markStackSize, "A list started after the mark has not been ended");
+  }
+
+  /**
+   * Computes the final encoded data size.
+   *
+   * @return The size of the RLP-encoded data written to this output.
+   * @throws IllegalStateException if some opened list haven't been closed (the output is not valid
+   *     as is).
+   */
+  public int encodedSize() {
+    checkState(stackSize == 1, "A list has been entered (startList()) but not left (endList())");
+    return payloadSizes[0];
+  }
+
+  /**
+   * Write the rlp encoded value to the provided {@link MutableBytes}
+   *
+   * @param mutableBytes the value to which the rlp-data will be written
+   */
+  public void writeEncoded(final MutableBytes mutableBytes) {
+    int offset = 0;
+    int listIdx = 0;
+    for (int i = 0; i < count; i++) {
+      switch (kinds[i]) {
+        case LIST -> {
+          listIdx++;
+          offset = RLPEncodingHelpers.writeListHeader(payloadSizes[listIdx], mutableBytes, offset);
+        }
+        case RAW -> {
+          values[i].copyTo(mutableBytes, offset);
+          offset += values[i].size();
+        }
+        case SCALAR -> offset = RLPEncodingHelpers.writeScalar(scalars[i], mutableBytes, offset);
+        default -> offset = RLPEncodingHelpers.writeElement(values[i], mutableBytes, offset);
+      }
+    }
+
+    checkState(
+        offset == mutableBytes.size(),
+        "Expected RLP encoding to be of size %s but was of size %s.",
+        mutableBytes.size(),
+        offset);
+  }
+
+  /**
+   * Computes the final encoded data.
+   *
+   * @return A value containing the data written to this output RLP-encoded.
+   */
+  public Bytes encoded() {
+    final int size = encodedSize();
+    if (size == 0) {
+      return Bytes.EMPTY;
+    }
+
+    final MutableBytes output = MutableBytes.create(size);
+    writeEncoded(output);
+    return output;
+  }
+
+  private static final class Pool {
+    private final PooledRLPOutput[] free = new PooledRLPOutput[MAX_POOLED_PER_THREAD];
+    private int size;
+
+    private PooledRLPOutput acquire() {
+      final PooledRLPOutput output;
+      if (size == 0) {
+        output = new PooledRLPOutput();
+      } else {
+        output = free[--size];
+        free[size] = null;
+      }
+      output.pooled = false;
+      return output;
+    }
+
+    private void release(final PooledRLPOutput output) {
+      output.pooled = true;
+      if (size < free.length) {
+        free[size++] = output;
+      }
+    }
+  }
+}
@@ -86,9 +86,10 @@ public abstract class RLP {
    * @return The RLP encoding of the data written by {@code writer}.
    */
   public static Bytes encode(final Consumer<RLPOutput> writer) {
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    writer.accept(out);
-    return out.encoded();
+    try (PooledRLPOutput out = PooledRLPOutput.acquire()) {
+      writer.accept(out);
+      return out.encoded();
+    }
   }
 
   /**
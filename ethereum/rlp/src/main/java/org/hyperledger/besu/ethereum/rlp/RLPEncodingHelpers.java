@@ -74,6 +74,42 @@ class RLPEncodingHelpers {
     return offset + size;
   }
 
+  /** The encoded size of the provided scalar, written with no leading zeros. */
+  static int scalarSize(final long value) {
+    if (value >= 0 && value < 0x80) return 1;
+
+    return 1 + scalarLength(value);
+  }
+
+  /**
+   * Writes the result of encoding the provided scalar, with no leading zeros, to the provided
+   * destination (which must be big enough).
+   */
+  static int writeScalar(final long value, final MutableBytes dest, final int destOffset) {
+    if (value == 0) {
+      dest.set(destOffset, (byte) 0x80);
+      return destOffset + 1;
+    }
+
+    if (value > 0 && value < 0x80) {
+      dest.set(destOffset, (byte) value);
+      return destOffset + 1;
+    }
+
+    final int length = scalarLength(value);
+    dest.set(destOffset, (byte) (0x80 + length));
+    int shift = 0;
+    for (int i = 0; i < length; i++) {
+      dest.set(destOffset + length - i, (byte) (value >>> shift));
+      shift += 8;
+    }
+    return destOffset + 1 + length;
+  }
+
+  private static int scalarLength(final long value) {
+    return 8 - (Long.numberOfLeadingZeros(value) / 8);
+  }
+
   /**
    * Writes the encoded header of a list provided its encoded payload size to the provided
    * destination (which must be big enough).
@@ -0,0 +1,156 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.function.Consumer;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class PooledRLPOutputTest {
+
+  private static final long[] SCALARS = {
+    0, 1, 0x7f, 0x80, 0xff, 0x100, 0xffff, 0x10000, Integer.MAX_VALUE, Long.MAX_VALUE, -1
+  };
+
+  @Test
+  public void scalarsAreEncodedLikeBytesValueRLPOutput() {
+    for (final long scalar : SCALARS) {
+      assertEncodedLikeBytesValueRLPOutput(out -> out.writeLongScalar(scalar));
+      assertEncodedLikeBytesValueRLPOutput(
+          out -> {
+            out.startList();
+            out.writeLongScalar(scalar);
+            out.writeIntScalar((int) scalar);
+            out.endList();
+          });
+    }
+  }
+
+  @Test
+  public void nestedListsAreEncodedLikeBytesValueRLPOutput() {
+    final Bytes longValue = Bytes.wrap(new byte[100]);
+    assertEncodedLikeBytesValueRLPOutput(
+        out -> {
+          out.startList();
+          out.writeBytes(Bytes.of(1));
+          out.startList();
+          for (int i = 0; i < 50; i++) {
+            out.writeBytes(longValue);
+            out.writeEmptyList();
+          }
+          out.endList();
+          out.writeRaw(RLP.NULL);
+          out.writeNull();
+          out.endList();
+        });
+  }
+
+  @Test
+  public void resetToMarkDropsTheItemsWrittenSinceTheMark() {
+    final Bytes expected =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeBytes(Bytes.of(1, 2));
+              out.endList();
+            });
+
+    try (PooledRLPOutput out = PooledRLPOutput.acquire()) {
+      out.startList();
+      out.writeBytes(Bytes.of(1, 2));
+      out.mark();
+      out.startList();
+      out.writeBytes(Bytes.wrap(new byte[50]));
+      out.endList();
+      assertThat(out.sizeSinceMark()).isEqualTo(52);
+      out.resetToMark();
+      assertThat(out.sizeSinceMark()).isZero();
+      out.endList();
+
+      assertThat(out.encoded()).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void sizeSinceMarkRequiresTheListsStartedSinceTheMarkToBeEnded() {
+    try (PooledRLPOutput out = PooledRLPOutput.acquire()) {
+      out.startList();
+      out.mark();
+      out.startList();
+
+      assertThatThrownBy(out::sizeSinceMark).isInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(out::resetToMark).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  public void reusedOutputStartsEmpty() {
+    final PooledRLPOutput first = PooledRLPOutput.acquire();
+    first.startList();
+    first.startList();
+    first.writeBytes(Bytes.wrap(new byte[70]));
+    first.endList();
+    first.endList();
+    first.close();
+
+    try (PooledRLPOutput second = PooledRLPOutput.acquire()) {
+      assertThat(second).isSameAs(first);
+      assertThat(second.encoded()).isEqualTo(Bytes.EMPTY);
+      second.startList();
+      second.startList();
+      second.endList();
+      second.endList();
+
+      assertThat(second.encoded()).isEqualTo(Bytes.fromHexString("0xc1c0"));
+    }
+  }
+
+  @Test
+  public void nestedOutputsAreDistinct() {
+    try (PooledRLPOutput outer = PooledRLPOutput.acquire()) {
+      outer.startList();
+      outer.writeRaw(RLP.encode(inner -> inner.writeLongScalar(0x400)));
+      outer.endList();
+
+      assertThat(outer.encoded()).isEqualTo(Bytes.fromHexString("0xc3820400"));
+    }
+  }
+
+  @Test
+  public void closingTwiceDoesNotPoolTheOutputTwice() {
+    final PooledRLPOutput output = PooledRLPOutput.acquire();
+    output.close();
+    output.close();
+
+    try (PooledRLPOutput first = PooledRLPOutput.acquire();
+        PooledRLPOutput second = PooledRLPOutput.acquire()) {
+      assertThat(first).isNotSameAs(second);
+    }
+  }
+
+  private static void assertEncodedLikeBytesValueRLPOutput(final Consumer<RLPOutput> writer) {
+    final BytesValueRLPOutput expected = new BytesValueRLPOutput();
+    writer.accept(expected);
+    try (PooledRLPOutput out = PooledRLPOutput.acquire()) {
+      writer.accept(out);
+      assertThat(out.encodedSize()).isEqualTo(expected.encodedSize());
+      assertThat(out.encoded()).isEqualTo(expected.encoded());
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import org.hyperledger.besu.ethereum.trie.Node;
+import org.hyperledger.besu.ethereum.trie.Proof;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Reads from a persisted trie. Each operation walks a fresh view of the trie, so every node on the
+ * path is loaded from the storage and decoded, as when the world state is read during block
+ * processing.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class MerklePatriciaTrieReadBenchmark {
+
+  private static final int PROOFS = 1024;
+
+  @Param({"memory", "rocksdb"})
+  public String storage;
+
+  @Param({"hashed", "unhashed"})
+  public String keyDistribution;
+
+  @Param({"10000", "1000000"})
+  public int entries;
+
+  private TrieBenchmarkHelper helper;
+  private Bytes32 rootHash;
+  private Bytes32[] keys;
+  private Bytes32[] missingKeys;
+  private List<List<Bytes>> proofs;
+  private int index;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    helper = TrieBenchmarkHelper.create(storage);
+    final Bytes32[] orderedKeys = TrieBenchmarkHelper.keys(keyDistribution, 0, entries);
+    rootHash = helper.populate(orderedKeys, TrieBenchmarkHelper.values(entries, 0));
+    keys = TrieBenchmarkHelper.shuffle(orderedKeys);
+    missingKeys = TrieBenchmarkHelper.keys(keyDistribution, entries, entries);
+    proofs = new ArrayList<>(PROOFS);
+    for (int i = 0; i < PROOFS; i++) {
+      proofs.add(helper.createTrie(rootHash).getValueWithProof(keys[i]).getProofRelatedNodes());
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    helper.cleanUp();
+  }
+
+  @Benchmark
+  public Optional<Bytes> get() {
+    return helper.createTrie(rootHash).get(keys[nextIndex()]);
+  }
+
+  @Benchmark
+  public Optional<Bytes> getMissing() {
+    return helper.createTrie(rootHash).get(missingKeys[nextIndex()]);
+  }
+
+  @Benchmark
+  public Proof<Bytes> getValueWithProof() {
+    return helper.createTrie(rootHash).getValueWithProof(keys[nextIndex()]);
+  }
+
+  @Benchmark
+  public List<Node<Bytes>> decodeProofNodes() {
+    final List<Node<Bytes>> nodes = new ArrayList<>();
+    for (final Bytes node : proofs.get(nextIndex() % PROOFS)) {
+      nodes.addAll(TrieNodeDecoder.decodeNodes(Bytes.EMPTY, node));
+    }
+    return nodes;
+  }
+
+  private int nextIndex() {
+    final int next = index;
+    index = next + 1 == entries ? 0 : next + 1;
+    return next;
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import org.hyperledger.besu.ethereum.trie.MerkleStorage;
+import org.hyperledger.besu.ethereum.trie.MerkleTrie;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Applies a batch of updates to a persisted trie, then computes its root hash or commits it, as
+ * when the world state is updated at the end of a block. Half of the updates change existing
+ * entries and half insert new ones.
+ *
+ * <p>Each operation starts from a fresh view of the same persisted trie, so the nodes on the
+ * updated paths are loaded from the storage. The committed nodes are persisted, so the storage
+ * grows during the {@code commit} benchmark, while the starting trie stays the same.
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@OutputTimeUnit(value = TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class MerklePatriciaTrieWriteBenchmark {
+
+  @Param({"memory", "rocksdb"})
+  public String storage;
+
+  @Param({"hashed", "unhashed"})
+  public String keyDistribution;
+
+  @Param({"stored", "parallel"})
+  public String trieImplementation;
+
+  @Param({"100000"})
+  public int entries;
+
+  @Param({"100", "2000"})
+  public int updates;
+
+  private TrieBenchmarkHelper helper;
+  private Bytes32 rootHash;
+  private Bytes32[] keys;
+  private Bytes32[] newKeys;
+  private Bytes[] newValues;
+  private int offset;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    helper = TrieBenchmarkHelper.create(storage);
+    final Bytes32[] orderedKeys = TrieBenchmarkHelper.keys(keyDistribution, 0, entries);
+    rootHash = helper.populate(orderedKeys, TrieBenchmarkHelper.values(entries, 0));
+    keys = TrieBenchmarkHelper.shuffle(orderedKeys);
+    newKeys =
+        TrieBenchmarkHelper.shuffle(TrieBenchmarkHelper.keys(keyDistribution, entries, entries));
+    newValues = TrieBenchmarkHelper.values(updates, 1);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    helper.cleanUp();
+  }
+
+  @Benchmark
+  public Bytes32 putAndRootHash() {
+    final MerkleTrie<Bytes, Bytes> trie = createTrie();
+    put(trie);
+    return trie.getRootHash();
+  }
+
+  @Benchmark
+  public Bytes32 removeAndRootHash() {
+    final MerkleTrie<Bytes, Bytes> trie = createTrie();
+    final int from = nextOffset();
+    for (int i = 0; i < updates; i++) {
+      trie.remove(keys[(from + i) % entries]);
+    }
+    return trie.getRootHash();
+  }
+
+  @Benchmark
+  public Bytes32 putAndCommit() {
+    final MerkleTrie<Bytes, Bytes> trie = createTrie();
+    put(trie);
+    final MerkleStorage merkleStorage = helper.getMerkleStorage();
+    trie.commit(merkleStorage::put);
+    merkleStorage.commit();
+    return trie.getRootHash();
+  }
+
+  private MerkleTrie<Bytes, Bytes> createTrie() {
+    return switch (trieImplementation) {
+      case "stored" -> helper.createTrie(rootHash);
+      case "parallel" -> helper.createParallelTrie(rootHash);
+      default -> throw new IllegalArgumentException("Unknown trie " + trieImplementation);
+    };
+  }
+
+  private void put(final MerkleTrie<Bytes, Bytes> trie) {
+    final int from = nextOffset();
+    for (int i = 0; i < updates; i++) {
+      final Bytes32 key = i % 2 == 0 ? keys[(from + i) % entries] : newKeys[(from + i) % entries];
+      trie.put(key, newValues[i]);
+    }
+  }
+
+  private int nextOffset() {
+    final int from = offset;
+    offset = (from + updates) % entries;
+    return from;
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright contributors to Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie.patricia;
+
+import static java.util.Collections.emptyList;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.ethereum.trie.KeyValueMerkleStorage;
+import org.hyperledger.besu.ethereum.trie.MerkleStorage;
+import org.hyperledger.besu.ethereum.trie.MerkleTrie;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetricsFactory;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksDBConfigurationBuilder;
+import org.hyperledger.besu.plugin.services.storage.rocksdb.segmented.OptimisticRocksDBColumnarKeyValueStorage;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.services.kvstore.SegmentedKeyValueStorageAdapter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Creates the storage and the data of the trie benchmarks.
+ *
+ * <p>The storage is either {@code memory} or {@code rocksdb}. The keys are either {@code hashed},
+ * spread uniformly like the account and slot hashes of the world state, or {@code unhashed}, the
+ * big endian index of the key, sharing long prefixes like the raw keys of the transaction and
+ * receipt tries.
+ */
+public class TrieBenchmarkHelper {
+
+  private static final long SEED = 42;
+
+  private final Optional<Path> storageDirectory;
+  private final KeyValueStorage keyValueStorage;
+  private final MerkleStorage merkleStorage;
+
+  private TrieBenchmarkHelper(
+      final Optional<Path> storageDirectory, final KeyValueStorage keyValueStorage) {
+    this.storageDirectory = storageDirectory;
+    this.keyValueStorage = keyValueStorage;
+    this.merkleStorage = new KeyValueMerkleStorage(keyValueStorage);
+  }
+
+  public static TrieBenchmarkHelper create(final String storage) throws IOException {
+    return switch (storage) {
+      case "memory" -> new TrieBenchmarkHelper(Optional.empty(), new InMemoryKeyValueStorage());
+      case "rocksdb" -> {
+        final Path storageDirectory = Files.createTempDirectory("trie-benchmark");
+        final OptimisticRocksDBColumnarKeyValueStorage rocksDBStorage =
+            new OptimisticRocksDBColumnarKeyValueStorage(
+                new RocksDBConfigurationBuilder().databaseDir(storageDirectory).build(),
+                List.of(TrieSegment.TRIE),
+                emptyList(),
+                new NoOpMetricsSystem(),
+                RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS);
+        yield new TrieBenchmarkHelper(
+            Optional.of(storageDirectory),
+            new SegmentedKeyValueStorageAdapter(TrieSegment.TRIE, rocksDBStorage));
+      }
+      default -> throw new IllegalArgumentException("Unknown storage " + storage);
+    };
+  }
+
+  public MerkleStorage getMerkleStorage() {
+    return merkleStorage;
+  }
+
+  public MerkleTrie<Bytes, Bytes> createTrie(final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(
+        merkleStorage::get, rootHash, Function.identity(), Function.identity());
+  }
+
+  public MerkleTrie<Bytes, Bytes> createParallelTrie(final Bytes32 rootHash) {
+    return new ParallelStoredMerklePatriciaTrie<>(
+        merkleStorage::get, rootHash, Function.identity(), Function.identity());
+  }
+
+  /**
+   * Puts the entries in an empty trie and persists it.
+   *
+   * @param keys the keys
+   * @param values the values
+   * @return the root hash of the trie
+   */
+  public Bytes32 populate(final Bytes32[] keys, final Bytes[] values) {
+    final MerkleTrie<Bytes, Bytes> trie = createTrie(MerkleTrie.EMPTY_TRIE_NODE_HASH);
+    for (int i = 0; i < keys.length; i++) {
+      trie.put(keys[i], values[i]);
+    }
+    trie.commit(merkleStorage::put);
+    merkleStorage.commit();
+    return trie.getRootHash();
+  }
+
+  public void cleanUp() throws IOException {
+    keyValueStorage.close();
+    if (storageDirectory.isPresent()) {
+      MoreFiles.deleteRecursively(storageDirectory.get(), RecursiveDeleteOption.ALLOW_INSECURE);
+    }
+  }
+
+  /**
+   * Generates keys.
+   *
+   * @param distribution {@code hashed} or {@code unhashed}
+   * @param from the index of the first key
+   * @param count the number of keys
+   * @return the keys
+   */
+  public static Bytes32[] keys(final String distribution, final int from, final int count) {
+    final Bytes32[] keys = new Bytes32[count];
+    for (int i = 0; i < count; i++) {
+      final Bytes32 index = Bytes32.leftPad(Bytes.ofUnsignedInt(from + i));
+      keys[i] =
+          switch (distribution) {
+            case "hashed" -> Hash.keccak256(index);
+            case "unhashed" -> index;
+            default -> throw new IllegalArgumentException("Unknown distribution " + distribution);
+          };
+    }
+    return keys;
+  }
+
+  /**
+   * Generates values of 32 to 112 bytes, the size range of slot values and encoded accounts.
+   *
+   * @param count the number of values
+   * @param seed a seed, so that values generated with different seeds differ
+   * @return the values
+   */
+  public static Bytes[] values(final int count, final int seed) {
+    final Random random = new Random(SEED + seed);
+    final Bytes[] values = new Bytes[count];
+    for (int i = 0; i < count; i++) {
+      final byte[] value = new byte[32 + random.nextInt(81)];
+      random.nextBytes(value);
+      values[i] = Bytes.wrap(value);
+    }
+    return values;
+  }
+
+  /**
+   * Shuffles the keys, so that the benchmarks do not walk the trie in key order.
+   *
+   * @param keys the keys
+   * @return the shuffled keys
+   */
+  public static Bytes32[] shuffle(final Bytes32[] keys) {
+    final Random random = new Random(SEED);
+    final Bytes32[] shuffled = keys.clone();
+    for (int i = shuffled.length - 1; i > 0; i--) {
+      final int j = random.nextInt(i + 1);
+      final Bytes32 key = shuffled[i];
+      shuffled[i] = shuffled[j];
+      shuffled[j] = key;
+    }
+    return shuffled;
+  }
+
+  private enum TrieSegment implements SegmentIdentifier {
+    TRIE(new byte[] {1});
+
+    private final byte[] id;
+
+    TrieSegment(final byte[] id) {
+      this.id = id;
+    }
+
+    @Override
+    public String getName() {
+      return new String(id, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public byte[] getId() {
+      return id;
+    }
+
+    @Override
+    public boolean containsStaticData() {
+      return false;
+    }
+
+    @Override
+    public boolean isEligibleToHighSpecFlag() {
+      return false;
+    }
+  }
+}
@@ -16,7 +16,7 @@ package org.hyperledger.besu.ethereum.trie.patricia;
 
 import static org.hyperledger.besu.crypto.Hash.keccak256;
 
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.PooledRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.LocationNodeVisitor;
@@ -116,12 +116,14 @@ public class ExtensionNode<V> implements Node<V> {
         return encoded;
       }
     }
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    out.writeBytes(CompactEncoding.encode(path));
-    out.writeRaw(child.getEncodedBytesRef());
-    out.endList();
-    final Bytes encoded = out.encoded();
+    final Bytes encoded;
+    try (PooledRLPOutput out = PooledRLPOutput.acquire()) {
+      out.startList();
+      out.writeBytes(CompactEncoding.encode(path));
+      out.writeRaw(child.getEncodedBytesRef());
+      out.endList();
+      encoded = out.encoded();
+    }
     rlp = new WeakReference<>(encoded);
     return encoded;
   }
@@ -16,7 +16,7 @@ package org.hyperledger.besu.ethereum.trie.patricia;
 
 import static org.hyperledger.besu.crypto.Hash.keccak256;
 
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.PooledRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.LocationNodeVisitor;
@@ -114,12 +114,14 @@ public class LeafNode<V> implements Node<V> {
       }
     }
 
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    out.writeBytes(CompactEncoding.encode(path));
-    out.writeBytes(valueSerializer.apply(value));
-    out.endList();
-    final Bytes encoded = out.encoded();
+    final Bytes encoded;
+    try (PooledRLPOutput out = PooledRLPOutput.acquire()) {
+      out.startList();
+      out.writeBytes(CompactEncoding.encode(path));
+      out.writeBytes(valueSerializer.apply(value));
+      out.endList();
+      encoded = out.encoded();
+    }
     encodedBytes = new WeakReference<>(encoded);
     return encoded;
   }
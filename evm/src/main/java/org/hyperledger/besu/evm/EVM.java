@@ -23,8 +23,11 @@ import org.hyperledger.besu.evm.frame.ExceptionalHaltReason;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.frame.MessageFrame.State;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.internal.AnalyzedCode;
+import org.hyperledger.besu.evm.internal.AnalyzedCodeCache;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.evm.internal.JumpDestOnlyCodeCache;
+import org.hyperledger.besu.evm.internal.LongLimbOperandStack;
 import org.hyperledger.besu.evm.internal.OverflowException;
 import org.hyperledger.besu.evm.internal.UnderflowException;
 import org.hyperledger.besu.evm.operation.AddModOperation;
@@ -39,6 +42,7 @@ import org.hyperledger.besu.evm.operation.CountLeadingZerosOperation;
 import org.hyperledger.besu.evm.operation.DivOperation;
 import org.hyperledger.besu.evm.operation.DupNOperation;
 import org.hyperledger.besu.evm.operation.DupOperation;
+import org.hyperledger.besu.evm.operation.EqOperation;
 import org.hyperledger.besu.evm.operation.ExchangeOperation;
 import org.hyperledger.besu.evm.operation.ExpOperation;
 import org.hyperledger.besu.evm.operation.GtOperation;
@@ -47,6 +51,7 @@ import org.hyperledger.besu.evm.operation.IsZeroOperation;
 import org.hyperledger.besu.evm.operation.JumpDestOperation;
 import org.hyperledger.besu.evm.operation.JumpOperation;
 import org.hyperledger.besu.evm.operation.JumpiOperation;
+import org.hyperledger.besu.evm.operation.LongLimbStackOperations;
 import org.hyperledger.besu.evm.operation.LtOperation;
 import org.hyperledger.besu.evm.operation.ModOperation;
 import org.hyperledger.besu.evm.operation.ModOperationOptimized;
@@ -96,6 +101,12 @@ public class EVM {
   protected static final OperationResult UNDERFLOW_RESPONSE =
       new OperationResult(0L, ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS);
 
+  // Results of instructions executed from pre-decoded code. Fixed cost instructions are charged
+  // with the run they belong to, superinstructions carry the gas of their second instruction.
+  private static final OperationResult PREPAID_SUCCESS = new OperationResult(0L, null);
+  private static final OperationResult FUSED_JUMP_RESPONSE = new OperationResult(8L, null, 0);
+  private static final OperationResult FUSED_JUMPI_RESPONSE = new OperationResult(10L, null, 0);
+
   private final OperationRegistry operations;
   private final GasCalculator gasCalculator;
   private final Operation endOfScriptStop;
@@ -103,11 +114,13 @@ public class EVM {
   private final EvmSpecVersion evmSpecVersion;
 
   // Optimized operation flags
+  private final boolean enableConstantinople;
   private final boolean enableShanghai;
   private final boolean enableAmsterdam;
   private final boolean enableOsaka;
 
   private final JumpDestOnlyCodeCache jumpDestOnlyCodeCache;
+  private final AnalyzedCodeCache analyzedCodeCache;
 
   /**
    * Instantiates a new Evm.
@@ -128,7 +141,12 @@ public class EVM {
     this.evmConfiguration = evmConfiguration;
     this.evmSpecVersion = evmSpecVersion;
     this.jumpDestOnlyCodeCache = new JumpDestOnlyCodeCache(evmConfiguration);
+    this.analyzedCodeCache =
+        evmConfiguration.analyzedCodeCacheWeightKB() > 0
+            ? new AnalyzedCodeCache(evmConfiguration, gasCalculator)
+            : null;
 
+    enableConstantinople = EvmSpecVersion.CONSTANTINOPLE.ordinal() <= evmSpecVersion.ordinal();
     enableShanghai = EvmSpecVersion.SHANGHAI.ordinal() <= evmSpecVersion.ordinal();
     enableAmsterdam = EvmSpecVersion.AMSTERDAM.ordinal() <= evmSpecVersion.ordinal();
     enableOsaka = EvmSpecVersion.OSAKA.ordinal() <= evmSpecVersion.ordinal();
@@ -207,9 +225,16 @@ public class EVM {
   public void runToHalt(final MessageFrame frame, final OperationTracer tracing) {
     evmSpecVersion.maybeWarnVersion();
 
-    var operationTracer = tracing == OperationTracer.NO_TRACING ? null : tracing;
+    var operationTracer = tracing == null || tracing.isNoTracing() ? null : tracing;
     byte[] code = frame.getCode().getBytes().toArrayUnsafe();
     Operation[] operationArray = operations.getOperations();
+    final LongLimbOperandStack longLimbStack = frame.getLongLimbStack();
+    if (analyzedCodeCache != null
+        && operationTracer == null
+        && frame.getType() == MessageFrame.Type.MESSAGE_CALL
+        && code.length > 0) {
+      runAnalyzed(frame, analyzedCodeCache.getOrAnalyze(frame.getCode()), code, longLimbStack);
+    }
     while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
       Operation currentOperation;
       int opcode;
@@ -227,7 +252,17 @@ public class EVM {
       }
 
       OperationResult result;
+      // the long limb stack executes the opcodes it supports in place, the others fall through
+      dispatch:
       try {
+        if (longLimbStack != null) {
+          result =
+              LongLimbStackOperations.execute(
+                  frame, longLimbStack, code, pc, opcode, enableConstantinople);
+          if (result != null) {
+            break dispatch;
+          }
+        }
         result =
             switch (opcode) {
               case 0x00 -> StopOperation.staticOperation(frame);
@@ -401,6 +436,245 @@ public class EVM {
     }
   }
 
+  /**
+   * Runs the frame over the pre-decoded instructions of its code, until it halts, suspends or
+   * reaches a program counter that is not the start of a decoded instruction. In the latter case
+   * the caller continues from the program counter of the frame.
+   *
+   * <p>Only used without a tracer: the gas of a run of fixed cost instructions is checked and
+   * charged once when entering the run, and superinstructions execute two instructions in one
+   * step. Whenever the preconditions of a superinstruction do not hold its first instruction is
+   * executed alone, so stack and gas failures surface on the same instruction as in {@link
+   * #runToHalt}.
+   */
+  private void runAnalyzed(
+      final MessageFrame frame,
+      final AnalyzedCode analyzedCode,
+      final byte[] code,
+      final LongLimbOperandStack longLimbStack) {
+    final int[] pcToIndex = analyzedCode.pcToIndexUnsafe();
+    final int[] instructionPc = analyzedCode.instructionPcUnsafe();
+    final byte[] fusion = analyzedCode.fusionUnsafe();
+    final long[] fusedOperand = analyzedCode.fusedOperandUnsafe();
+    final Bytes[] immediates = analyzedCode.immediatesUnsafe();
+    final long[] staticRunGas = analyzedCode.staticRunGasUnsafe();
+    final int[] staticRunEnd = analyzedCode.staticRunEndUnsafe();
+    final Operation[] operationArray = operations.getOperations();
+    final int stopIndex = analyzedCode.getInstructionCount();
+
+    int index = instructionIndex(pcToIndex, frame.getPC(), stopIndex);
+    // instructions below this index have been paid for with the run they belong to
+    int prepaidUntil = 0;
+    while (index >= 0 && frame.getState() == State.CODE_EXECUTING) {
+      final int pc = instructionPc[index];
+      final int opcode;
+      final Operation currentOperation;
+      if (index == stopIndex) {
+        opcode = 0;
+        currentOperation = endOfScriptStop;
+      } else {
+        opcode = code[pc] & 0xff;
+        currentOperation = operationArray[opcode];
+      }
+      frame.setCurrentOperation(currentOperation);
+
+      if (index >= prepaidUntil) {
+        final long runGas = staticRunGas[index];
+        if (runGas > 0 && frame.getRemainingGas() >= runGas) {
+          frame.decrementRemainingGas(runGas);
+          prepaidUntil = staticRunEnd[index];
+        } else {
+          prepaidUntil = 0;
+        }
+      }
+
+      OperationResult result = null;
+      boolean charge = true;
+      int next = index + 1;
+      try {
+        if (index < prepaidUntil) {
+          charge = false;
+          final int stackSize = frame.stackSize();
+          final boolean canPush = stackSize < frame.getMaxStackSize();
+          switch (fusion[index]) {
+            case AnalyzedCode.PUSH_JUMP -> {
+              if (canPush) {
+                result = FUSED_JUMP_RESPONSE;
+                charge = true;
+                next = pcToIndex[(int) fusedOperand[index]];
+                prepaidUntil = 0;
+              }
+            }
+            case AnalyzedCode.PUSH_JUMPI -> {
+              if (canPush && stackSize > 0) {
+                result = FUSED_JUMPI_RESPONSE;
+                charge = true;
+                if (!frame.popStackItem().isZero()) {
+                  next = pcToIndex[(int) fusedOperand[index]];
+                } else {
+                  next = index + 2;
+                }
+                prepaidUntil = 0;
+              }
+            }
+            case AnalyzedCode.PUSH_MSTORE -> {
+              if (canPush && stackSize > 0) {
+                result = fusedMStore(frame, fusedOperand[index]);
+                charge = true;
+                next = index + 2;
+              }
+            }
+            case AnalyzedCode.DUP_SWAP -> {
+              final int dupIndex = opcode - DupOperation.DUP_BASE;
+              final int swapIndex = (code[instructionPc[index + 1]] & 0xff) - SWAP_BASE;
+              if (canPush && stackSize >= dupIndex && stackSize >= swapIndex) {
+                DupOperation.staticOperation(frame, dupIndex);
+                result = SwapOperation.staticOperation(frame, swapIndex);
+                next = index + 2;
+              }
+            }
+            default -> {
+              // not the start of a superinstruction
+            }
+          }
+          if (result == null) {
+            result = executePrepaid(frame, code, pc, opcode, immediates[index], longLimbStack);
+          }
+        } else {
+          result =
+              longLimbStack == null
+                  ? null
+                  : LongLimbStackOperations.execute(
+                      frame, longLimbStack, code, pc, opcode, enableConstantinople);
+          if (result == null) {
+            result = currentOperation.execute(frame, this);
+          }
+          next = -1;
+        }
+      } catch (final OverflowException oe) {
+        result = OVERFLOW_RESPONSE;
+      } catch (final UnderflowException ue) {
+        result = UNDERFLOW_RESPONSE;
+      }
+      final ExceptionalHaltReason haltReason = result.getHaltReason();
+      if (haltReason != null) {
+        LOG.trace("MessageFrame evaluation halted because of {}", haltReason);
+        frame.setExceptionalHaltReason(Optional.of(haltReason));
+        frame.setState(State.EXCEPTIONAL_HALT);
+      } else if (charge && frame.decrementRemainingGas(result.getGasCost()) < 0) {
+        frame.setExceptionalHaltReason(Optional.of(ExceptionalHaltReason.INSUFFICIENT_GAS));
+        frame.setState(State.EXCEPTIONAL_HALT);
+      }
+      if (frame.getState() == State.CODE_EXECUTING) {
+        if (next < 0) {
+          final int nextPc = frame.getPC() + result.getPcIncrement();
+          frame.setPC(nextPc);
+          next = instructionIndex(pcToIndex, nextPc, stopIndex);
+          prepaidUntil = 0;
+        } else {
+          frame.setPC(instructionPc[next]);
+        }
+      }
+      index = next;
+    }
+  }
+
+  private static int instructionIndex(final int[] pcToIndex, final int pc, final int stopIndex) {
+    if (pc >= pcToIndex.length - 1) {
+      return stopIndex;
+    }
+    return pc < 0 ? -1 : pcToIndex[pc];
+  }
+
+  private OperationResult executePrepaid(
+      final MessageFrame frame,
+      final byte[] code,
+      final int pc,
+      final int opcode,
+      final Bytes immediate,
+      final LongLimbOperandStack longLimbStack) {
+    if (longLimbStack != null) {
+      final OperationResult result =
+          LongLimbStackOperations.execute(
+              frame, longLimbStack, code, pc, opcode, enableConstantinople);
+      if (result != null) {
+        return result;
+      }
+    }
+    final boolean optimized = evmConfiguration.enableOptimizedOpcodes();
+    return switch (opcode) {
+      case 0x01 ->
+          optimized
+              ? AddOperationOptimized.staticOperation(frame)
+              : AddOperation.staticOperation(frame);
+      case 0x02 -> MulOperation.staticOperation(frame);
+      case 0x03 -> SubOperation.staticOperation(frame);
+      case 0x04 -> DivOperation.staticOperation(frame);
+      case 0x05 -> SDivOperation.staticOperation(frame);
+      case 0x06 ->
+          optimized
+              ? ModOperationOptimized.staticOperation(frame)
+              : ModOperation.staticOperation(frame);
+      case 0x07 ->
+          optimized
+              ? SModOperationOptimized.staticOperation(frame)
+              : SModOperation.staticOperation(frame);
+      case 0x08 ->
+          optimized
+              ? AddModOperationOptimized.staticOperation(frame)
+              : AddModOperation.staticOperation(frame);
+      case 0x09 ->
+          optimized
+              ? MulModOperationOptimized.staticOperation(frame)
+              : MulModOperation.staticOperation(frame);
+      case 0x0b -> SignExtendOperation.staticOperation(frame);
+      case 0x10 -> LtOperation.staticOperation(frame);
+      case 0x11 -> GtOperation.staticOperation(frame);
+      case 0x12 -> SLtOperation.staticOperation(frame);
+      case 0x13 -> SGtOperation.staticOperation(frame);
+      case 0x14 -> EqOperation.staticOperation(frame);
+      case 0x15 -> IsZeroOperation.staticOperation(frame);
+      case 0x16 ->
+          optimized
+              ? AndOperationOptimized.staticOperation(frame)
+              : AndOperation.staticOperation(frame);
+      case 0x17 ->
+          optimized
+              ? OrOperationOptimized.staticOperation(frame)
+              : OrOperation.staticOperation(frame);
+      case 0x18 ->
+          optimized
+              ? XorOperationOptimized.staticOperation(frame)
+              : XorOperation.staticOperation(frame);
+      case 0x19 ->
+          optimized
+              ? NotOperationOptimized.staticOperation(frame)
+              : NotOperation.staticOperation(frame);
+      case 0x1a -> ByteOperation.staticOperation(frame);
+      case 0x50 -> PopOperation.staticOperation(frame);
+      default -> {
+        if (opcode <= PushOperation.PUSH_MAX) {
+          frame.pushStackItem(immediate);
+          yield PREPAID_SUCCESS;
+        } else if (opcode <= SWAP_BASE) {
+          yield DupOperation.staticOperation(frame, opcode - DupOperation.DUP_BASE);
+        } else {
+          yield SwapOperation.staticOperation(frame, opcode - SWAP_BASE);
+        }
+      }
+    };
+  }
+
+  private OperationResult fusedMStore(final MessageFrame frame, final long location) {
+    final Bytes value = frame.popStackItem();
+    final long cost = gasCalculator.mStoreOperationGasCost(frame, location);
+    if (frame.getRemainingGas() < cost) {
+      return new OperationResult(cost, ExceptionalHaltReason.INSUFFICIENT_GAS);
+    }
+    frame.writeMemoryRightAligned(location, 32, value, true);
+    return new OperationResult(cost, null);
+  }
+
   /**
    * Get Operations (unsafe)
    *
@@ -422,7 +696,7 @@ public class EVM {
 
     Code result = jumpDestOnlyCodeCache.getIfPresent(codeHash);
     if (result == null) {
-      result = new Code(codeBytes);
+      result = new Code(codeBytes, codeHash);
       jumpDestOnlyCodeCache.put(codeHash, result);
     }
 
@@ -140,6 +140,7 @@ public class EVMExecutor {
     final ContractCreationProcessor ccp = thisContractCreationProcessor();
     final MessageFrame initialMessageFrame =
         MessageFrame.builder()
+            .longLimbStack(evmSpec.getEvm().getEvmConfiguration().enableLongLimbStack())
             .type(messageFrameType)
             .worldUpdater(worldUpdater.updater())
             .initialGas(gas)
@@ -44,8 +44,21 @@ public class Memory {
 
   private int activeWords;
 
+  /** Where the backing array comes from and goes back to, or null to allocate it on the heap. */
+  private final MemoryArena arena;
+
   /** Instantiates a new Memory. */
   public Memory() {
+    this(null);
+  }
+
+  /**
+   * Instantiates a new Memory taking its backing array from an arena.
+   *
+   * @param arena the arena, or null to allocate the backing array on the heap
+   */
+  public Memory(final MemoryArena arena) {
+    this.arena = arena;
     memBytes = new byte[0];
   }
 
@@ -133,7 +146,16 @@ public class Memory {
     if (activeWords >= newActiveWords) return;
 
     int neededSize = newActiveWords * Bytes32.SIZE;
-    if (neededSize > memBytes.length) {
+    if (arena != null) {
+      if (neededSize > memBytes.length) {
+        // The previous array is left to the GC rather than given back: bytes handed out by
+        // getMutableBytes, such as the input data of a child frame, may still point into it.
+        byte[] newMem = arena.acquire(neededSize);
+        System.arraycopy(memBytes, 0, newMem, 0, getActiveBytes());
+        memBytes = newMem;
+      }
+      arena.expanded((long) (newActiveWords - activeWords) * Bytes32.SIZE);
+    } else if (neededSize > memBytes.length) {
       int newSize = Math.max(neededSize, memBytes.length * 2);
       byte[] newMem = new byte[newSize];
       System.arraycopy(memBytes, 0, newMem, 0, memBytes.length);
@@ -142,6 +164,21 @@ public class Memory {
     activeWords = newActiveWords;
   }
 
+  /**
+   * Gives the backing array back to the arena, if any, once the frame owning this memory has
+   * completed. The memory is empty afterwards.
+   */
+  void release() {
+    if (arena == null) {
+      return;
+    }
+    final int activeBytes = getActiveBytes();
+    arena.released(activeBytes);
+    arena.release(memBytes, activeBytes);
+    memBytes = new byte[0];
+    activeWords = 0;
+  }
+
   /**
    * Returns true if the object is equal to this memory instance; otherwise false.
    *
@@ -0,0 +1,169 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import java.util.Arrays;
+
+/**
+ * Hands out and reclaims the backing arrays of {@link Memory} for the message frames of a
+ * transaction.
+ *
+ * <p>Arrays are sized in power of two size classes, starting at {@link #MIN_CAPACITY}, so that most
+ * memory expansions fit in the array a frame already holds and do not copy. When a frame completes
+ * its array is zeroed over the range the frame used and kept for the next frame asking for the same
+ * size class, so reused memory reads as zero exactly like a freshly allocated array. Arrays larger
+ * than {@link #MAX_POOLED_CAPACITY} are never kept.
+ *
+ * <p>The arena also tracks the memory held by the live frames of the current transaction, and its
+ * peak.
+ *
+ * <p>An arena is not thread safe, it is meant to be confined to the thread executing the
+ * transaction, and to be reused by the following transactions executed on that thread.
+ */
+public final class MemoryArena {
+
+  /** The capacity of the smallest array handed out, in bytes. */
+  public static final int MIN_CAPACITY = 1024;
+
+  /** The capacity of the largest array kept for reuse, in bytes. */
+  public static final int MAX_POOLED_CAPACITY = 4 * 1024 * 1024;
+
+  private static final int MIN_CAPACITY_SHIFT = Integer.numberOfTrailingZeros(MIN_CAPACITY);
+  private static final int SIZE_CLASSES =
+      Integer.numberOfTrailingZeros(MAX_POOLED_CAPACITY) - MIN_CAPACITY_SHIFT + 1;
+  private static final int MAX_ARRAYS_PER_SIZE_CLASS = 8;
+
+  private final byte[][][] freeArrays = new byte[SIZE_CLASSES][MAX_ARRAYS_PER_SIZE_CLASS][];
+  private final int[] freeCounts = new int[SIZE_CLASSES];
+
+  private long activeBytes;
+  private long peakActiveBytes;
+  private long reusedArrays;
+
+  /** Instantiates a new, empty, memory arena. */
+  public MemoryArena() {
+    // arrays are only allocated when frames ask for memory
+  }
+
+  /**
+   * Resets the per transaction statistics. Arrays kept from previous transactions stay available.
+   */
+  public void startTransaction() {
+    activeBytes = 0;
+    peakActiveBytes = 0;
+    reusedArrays = 0;
+  }
+
+  /**
+   * The largest amount of memory held at once by the frames of the current transaction.
+   *
+   * @return the peak active memory, in bytes
+   */
+  public long getPeakActiveBytes() {
+    return peakActiveBytes;
+  }
+
+  /**
+   * The memory currently held by the live frames of the current transaction.
+   *
+   * @return the active memory, in bytes
+   */
+  public long getActiveBytes() {
+    return activeBytes;
+  }
+
+  /**
+   * The number of arrays handed out again instead of being allocated during the current
+   * transaction.
+   *
+   * @return the number of reused arrays
+   */
+  public long getReusedArrays() {
+    return reusedArrays;
+  }
+
+  /**
+   * Hands out a zeroed array of at least the requested capacity.
+   *
+   * @param minCapacity the minimum capacity, in bytes
+   * @return the array
+   */
+  byte[] acquire(final int minCapacity) {
+    if (minCapacity > MAX_POOLED_CAPACITY) {
+      return new byte[minCapacity];
+    }
+    final int sizeClass = sizeClass(minCapacity);
+    final int freeCount = freeCounts[sizeClass];
+    if (freeCount > 0) {
+      final byte[] array = freeArrays[sizeClass][freeCount - 1];
+      freeArrays[sizeClass][freeCount - 1] = null;
+      freeCounts[sizeClass] = freeCount - 1;
+      reusedArrays++;
+      return array;
+    }
+    return new byte[MIN_CAPACITY << sizeClass];
+  }
+
+  /**
+   * Takes back an array that is no longer referenced by its frame.
+   *
+   * @param array the array
+   * @param usedBytes the number of leading bytes that may have been written
+   */
+  void release(final byte[] array, final int usedBytes) {
+    final int capacity = array.length;
+    if (capacity < MIN_CAPACITY
+        || capacity > MAX_POOLED_CAPACITY
+        || Integer.bitCount(capacity) != 1) {
+      return;
+    }
+    final int sizeClass = sizeClass(capacity);
+    final int freeCount = freeCounts[sizeClass];
+    if (freeCount == MAX_ARRAYS_PER_SIZE_CLASS) {
+      return;
+    }
+    Arrays.fill(array, 0, Math.min(usedBytes, capacity), (byte) 0);
+    freeArrays[sizeClass][freeCount] = array;
+    freeCounts[sizeClass] = freeCount + 1;
+  }
+
+  /**
+   * Records memory expansion of a frame.
+   *
+   * @param bytes the number of bytes the frame memory grew by
+   */
+  void expanded(final long bytes) {
+    activeBytes += bytes;
+    if (activeBytes > peakActiveBytes) {
+      peakActiveBytes = activeBytes;
+    }
+  }
+
+  /**
+   * Records that a frame gave its memory back.
+   *
+   * @param bytes the number of bytes the frame held
+   */
+  void released(final long bytes) {
+    activeBytes -= bytes;
+  }
+
+  private static int sizeClass(final int capacity) {
+    if (capacity <= MIN_CAPACITY) {
+      return 0;
+    }
+    return 32 - Integer.numberOfLeadingZeros(capacity - 1) - MIN_CAPACITY_SHIFT;
+  }
+}
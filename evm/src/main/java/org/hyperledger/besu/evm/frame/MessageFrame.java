@@ -26,6 +26,7 @@ import org.hyperledger.besu.datatypes.VersionedHash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.evm.Code;
 import org.hyperledger.besu.evm.blockhash.BlockHashLookup;
+import org.hyperledger.besu.evm.internal.LongLimbOperandStack;
 import org.hyperledger.besu.evm.internal.MemoryEntry;
 import org.hyperledger.besu.evm.internal.OperandStack;
 import org.hyperledger.besu.evm.internal.StorageEntry;
@@ -206,8 +207,9 @@ public class MessageFrame {
   // Machine state fields.
   private long gasRemaining;
   private int pc;
-  private final Memory memory = new Memory();
+  private final Memory memory;
   private final OperandStack stack;
+  private final LongLimbOperandStack longLimbStack;
   private Bytes output = Bytes.EMPTY;
   private Bytes returnData = Bytes.EMPTY;
   private Code createdCode = null;
@@ -274,7 +276,14 @@ public class MessageFrame {
     this.type = type;
     this.worldUpdater = worldUpdater;
     this.gasRemaining = initialGas;
-    this.stack = new OperandStack(txValues.maxStackSize());
+    this.memory = new Memory(txValues.memoryArena());
+    if (txValues.longLimbStack()) {
+      this.longLimbStack = new LongLimbOperandStack(txValues.maxStackSize());
+      this.stack = longLimbStack;
+    } else {
+      this.longLimbStack = null;
+      this.stack = new OperandStack(txValues.maxStackSize());
+    }
     this.pc = 0;
     this.recipient = recipient;
     this.contract = contract;
@@ -475,6 +484,25 @@ public class MessageFrame {
     return stack.size();
   }
 
+  /**
+   * Returns the operand stack as primitive long limbs, for operations that work on stack slots in
+   * place.
+   *
+   * @return the long limb operand stack, or null if this frame uses the Bytes operand stack
+   */
+  public LongLimbOperandStack getLongLimbStack() {
+    return longLimbStack;
+  }
+
+  /**
+   * Gives the memory of a completed frame back to the memory arena of the transaction, if any. The
+   * memory of the frame is empty afterwards, so this must not be called while a tracer may still
+   * look at it.
+   */
+  public void releaseMemory() {
+    memory.release();
+  }
+
   /**
    * Returns whether the message frame is static or not.
    *
@@ -1291,6 +1319,8 @@ public class MessageFrame {
     private Code code;
     private BlockValues blockValues;
     private int maxStackSize = DEFAULT_MAX_STACK_SIZE;
+    private boolean longLimbStack = false;
+    private MemoryArena memoryArena = null;
     private boolean isStatic = false;
     private Consumer<MessageFrame> completer;
     private Address miningBeneficiary;
@@ -1496,6 +1526,28 @@ public class MessageFrame {
       return this;
     }
 
+    /**
+     * Sets whether frames of this transaction keep their operand stack as primitive long limbs.
+     *
+     * @param longLimbStack true to use the long limb operand stack
+     * @return the builder
+     */
+    public Builder longLimbStack(final boolean longLimbStack) {
+      this.longLimbStack = longLimbStack;
+      return this;
+    }
+
+    /**
+     * Sets the arena the frames of this transaction take their memory from.
+     *
+     * @param memoryArena the memory arena, or null to allocate frame memory on the heap
+     * @return the builder
+     */
+    public Builder memoryArena(final MemoryArena memoryArena) {
+      this.memoryArena = memoryArena;
+      return this;
+    }
+
     /**
      * Sets Completer.
      *
@@ -1637,6 +1689,8 @@ public class MessageFrame {
             new TxValues(
                 blockHashLookup,
                 maxStackSize,
+                longLimbStack,
+                memoryArena,
                 UndoSet.of(warmedUpAddresses),
                 UndoTable.of(HashBasedTable.create()),
                 originator,
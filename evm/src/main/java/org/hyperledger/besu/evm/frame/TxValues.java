@@ -35,6 +35,8 @@ import org.apache.tuweni.bytes.Bytes32;
  *
  * @param blockHashLookup The block hash lookup function
  * @param maxStackSize The maximum stack size
+ * @param longLimbStack Whether frames keep their operand stack as primitive long limbs
+ * @param memoryArena The arena frame memory is taken from and given back to, or null
  * @param warmedUpAddresses The warmed-up addresses
  * @param warmedUpStorage The warmed-up storage
  * @param originator The originator address
@@ -52,6 +54,8 @@ import org.apache.tuweni.bytes.Bytes32;
 public record TxValues(
     BlockHashLookup blockHashLookup,
     int maxStackSize,
+    boolean longLimbStack,
+    MemoryArena memoryArena,
     UndoSet<Address> warmedUpAddresses,
     UndoTable<Address, Bytes32, Boolean> warmedUpStorage,
     Address originator,
@@ -0,0 +1,303 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.hyperledger.besu.evm.internal.Words.clampedToLong;
+
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Legacy bytecode decoded once into an instruction array.
+ *
+ * <p>Each instruction records its program counter, the pre-parsed immediate of PUSH opcodes, the
+ * superinstruction it starts (if any) and the static gas of the run of fixed cost, stack only
+ * instructions that starts at it. The interpreter uses the run gas to check and charge gas once for
+ * the whole run instead of once per instruction.
+ *
+ * <p>The arrays returned by the {@code *Unsafe} accessors are shared with every frame executing the
+ * code and must not be modified.
+ */
+public final class AnalyzedCode {
+
+  /** The instruction does not start a superinstruction. */
+  public static final byte NOT_FUSED = 0;
+
+  /** PUSH of a valid jump destination followed by JUMP. */
+  public static final byte PUSH_JUMP = 1;
+
+  /** PUSH of a valid jump destination followed by JUMPI. */
+  public static final byte PUSH_JUMPI = 2;
+
+  /** PUSH of a memory offset followed by MSTORE. */
+  public static final byte PUSH_MSTORE = 3;
+
+  /** DUP1-16 followed by SWAP1-16. */
+  public static final byte DUP_SWAP = 4;
+
+  private static final int PUSH1 = 0x60;
+  private static final int PUSH32 = 0x7f;
+  private static final int DUP1 = 0x80;
+  private static final int DUP16 = 0x8f;
+  private static final int SWAP1 = 0x90;
+  private static final int SWAP16 = 0x9f;
+  private static final int MSTORE = 0x52;
+  private static final int JUMP = 0x56;
+  private static final int JUMPI = 0x57;
+
+  private final int[] pcToIndex;
+  private final int[] instructionPc;
+  private final byte[] fusion;
+  private final long[] fusedOperand;
+  private final Bytes[] immediates;
+  private final long[] staticRunGas;
+  private final int[] staticRunEnd;
+  private final int weight;
+
+  private AnalyzedCode(
+      final int[] pcToIndex,
+      final int[] instructionPc,
+      final byte[] fusion,
+      final long[] fusedOperand,
+      final Bytes[] immediates,
+      final long[] staticRunGas,
+      final int[] staticRunEnd,
+      final int weight) {
+    this.pcToIndex = pcToIndex;
+    this.instructionPc = instructionPc;
+    this.fusion = fusion;
+    this.fusedOperand = fusedOperand;
+    this.immediates = immediates;
+    this.staticRunGas = staticRunGas;
+    this.staticRunEnd = staticRunEnd;
+    this.weight = weight;
+  }
+
+  /**
+   * Builds the static gas of the opcodes that are always valid and never touch anything but the
+   * stack, using the tier costs of the gas calculator their operations are priced with. Zero marks
+   * every other opcode.
+   *
+   * @param gasCalculator the gas calculator of the EVM executing the analyzed code
+   * @return the static gas of each opcode
+   */
+  public static long[] staticGasTable(final GasCalculator gasCalculator) {
+    final long[] staticGas = new long[256];
+    final long veryLow = gasCalculator.getVeryLowTierGasCost();
+    for (final int opcode : new int[] {0x01, 0x03, 0x10, 0x11, 0x12, 0x13, 0x14, 0x15}) {
+      staticGas[opcode] = veryLow;
+    }
+    for (int opcode = 0x16; opcode <= 0x1a; opcode++) {
+      staticGas[opcode] = veryLow;
+    }
+    for (final int opcode : new int[] {0x02, 0x04, 0x05, 0x06, 0x07, 0x0b}) {
+      staticGas[opcode] = gasCalculator.getLowTierGasCost();
+    }
+    staticGas[0x08] = gasCalculator.getMidTierGasCost();
+    staticGas[0x09] = gasCalculator.getMidTierGasCost();
+    staticGas[0x50] = gasCalculator.getBaseTierGasCost();
+    for (int opcode = PUSH1; opcode <= SWAP16; opcode++) {
+      staticGas[opcode] = veryLow;
+    }
+    return staticGas;
+  }
+
+  /**
+   * Decodes the code into its instruction array.
+   *
+   * @param code the code to analyze
+   * @param staticGas the static gas of each opcode, as built by {@link #staticGasTable}
+   * @return the analyzed code
+   */
+  public static AnalyzedCode analyze(final Code code, final long[] staticGas) {
+    final byte[] bytes = code.getBytes().toArrayUnsafe();
+    final int codeLength = bytes.length;
+
+    final int[] pcToIndex = new int[codeLength + 1];
+    final int[] pcs = new int[codeLength + 1];
+    int count = 0;
+    int pc = 0;
+    while (pc < codeLength) {
+      pcToIndex[pc] = count;
+      pcs[count++] = pc;
+      final int opcode = bytes[pc] & 0xff;
+      final int next = opcode >= PUSH1 && opcode <= PUSH32 ? pc + 2 + opcode - PUSH1 : pc + 1;
+      for (int immediate = pc + 1; immediate < next && immediate < codeLength; immediate++) {
+        pcToIndex[immediate] = -1;
+      }
+      pc = next;
+    }
+    // the instruction past the last one stands for the implicit STOP at the end of the code
+    pcToIndex[codeLength] = count;
+    pcs[count] = codeLength;
+
+    final int[] instructionPc = new int[count + 1];
+    System.arraycopy(pcs, 0, instructionPc, 0, count + 1);
+    final byte[] fusion = new byte[count + 1];
+    final long[] fusedOperand = new long[count + 1];
+    final Bytes[] immediates = new Bytes[count + 1];
+    final long[] staticRunGas = new long[count + 1];
+    final int[] staticRunEnd = new int[count + 1];
+
+    int immediateCount = 0;
+    for (int i = count - 1; i >= 0; i--) {
+      final int opcode = bytes[instructionPc[i]] & 0xff;
+      final int nextOpcode = i + 1 < count ? bytes[instructionPc[i + 1]] & 0xff : -1;
+      if (opcode >= PUSH1 && opcode <= PUSH32) {
+        immediates[i] = pushImmediate(bytes, instructionPc[i], opcode - PUSH1 + 1);
+        immediateCount++;
+        if (nextOpcode == JUMP || nextOpcode == JUMPI) {
+          final Bytes dest = immediates[i].trimLeadingZeros();
+          if (dest.size() <= 4 && !code.isJumpDestInvalid(dest.toInt())) {
+            fusion[i] = nextOpcode == JUMP ? PUSH_JUMP : PUSH_JUMPI;
+            fusedOperand[i] = dest.toInt();
+          }
+        } else if (nextOpcode == MSTORE) {
+          fusion[i] = PUSH_MSTORE;
+          fusedOperand[i] = clampedToLong(immediates[i]);
+        }
+      } else if (opcode >= DUP1 && opcode <= DUP16 && nextOpcode >= SWAP1 && nextOpcode <= SWAP16) {
+        fusion[i] = DUP_SWAP;
+      }
+
+      final long gas = staticGas[opcode];
+      if (gas == 0) {
+        staticRunEnd[i] = i;
+      } else if (staticRunGas[i + 1] > 0) {
+        staticRunGas[i] = gas + staticRunGas[i + 1];
+        staticRunEnd[i] = staticRunEnd[i + 1];
+      } else {
+        staticRunGas[i] = gas;
+        staticRunEnd[i] = i + 1;
+      }
+    }
+    staticRunEnd[count] = count;
+
+    // arrays, object headers and the wrappers of the pre-parsed immediates
+    final long weight =
+        4L * (codeLength + 1) + (4L + 1 + 8 + 4 + 8 + 4) * (count + 1) + 48L * immediateCount + 128;
+    return new AnalyzedCode(
+        pcToIndex,
+        instructionPc,
+        fusion,
+        fusedOperand,
+        immediates,
+        staticRunGas,
+        staticRunEnd,
+        (int) Math.min(weight, Integer.MAX_VALUE));
+  }
+
+  private static Bytes pushImmediate(final byte[] code, final int pc, final int pushSize) {
+    final int copyStart = pc + 1;
+    if (code.length <= copyStart) {
+      return Bytes.EMPTY;
+    }
+    final int copyLength = Math.min(pushSize, code.length - copyStart);
+    if (copyLength == pushSize) {
+      return Bytes.wrap(code, copyStart, copyLength);
+    }
+    final byte[] padded = new byte[pushSize];
+    System.arraycopy(code, copyStart, padded, 0, copyLength);
+    return Bytes.wrap(padded);
+  }
+
+  /**
+   * Maps a program counter to its instruction index. The index of the implicit STOP is returned for
+   * program counters at or past the end of the code, and -1 for program counters inside a PUSH
+   * immediate.
+   *
+   * @return the program counter to instruction index table
+   */
+  public int[] pcToIndexUnsafe() {
+    return pcToIndex;
+  }
+
+  /**
+   * The program counter of each instruction, the last entry being the implicit STOP.
+   *
+   * @return the program counters
+   */
+  public int[] instructionPcUnsafe() {
+    return instructionPc;
+  }
+
+  /**
+   * The superinstruction each instruction starts, {@link #NOT_FUSED} when it starts none.
+   *
+   * @return the superinstruction kinds
+   */
+  public byte[] fusionUnsafe() {
+    return fusion;
+  }
+
+  /**
+   * The operand of each superinstruction: the jump destination of {@link #PUSH_JUMP} and {@link
+   * #PUSH_JUMPI}, or the clamped memory offset of {@link #PUSH_MSTORE}.
+   *
+   * @return the superinstruction operands
+   */
+  public long[] fusedOperandUnsafe() {
+    return fusedOperand;
+  }
+
+  /**
+   * The right padded immediate of each PUSH1-32 instruction, null for other instructions.
+   *
+   * @return the pre-parsed immediates
+   */
+  public Bytes[] immediatesUnsafe() {
+    return immediates;
+  }
+
+  /**
+   * The static gas of the run of fixed cost instructions starting at each instruction, zero for
+   * instructions that are not fixed cost.
+   *
+   * @return the static run gas
+   */
+  public long[] staticRunGasUnsafe() {
+    return staticRunGas;
+  }
+
+  /**
+   * The index of the first instruction after the run of fixed cost instructions starting at each
+   * instruction.
+   *
+   * @return the static run ends
+   */
+  public int[] staticRunEndUnsafe() {
+    return staticRunEnd;
+  }
+
+  /**
+   * Number of decoded instructions, not counting the implicit STOP.
+   *
+   * @return the instruction count
+   */
+  public int getInstructionCount() {
+    return instructionPc.length - 1;
+  }
+
+  /**
+   * Approximate retained size of the analysis, in bytes.
+   *
+   * @return the weight
+   */
+  public int getWeight() {
+    return weight;
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * A cache of pre-decoded code, keyed by code hash.
+ *
+ * <p>Like the {@link JumpDestOnlyCodeCache} the cache is limited by weight, so that the analysis of
+ * hot contracts is kept while large, rarely executed code is evicted first.
+ */
+public class AnalyzedCodeCache {
+
+  private final Cache<Hash, AnalyzedCode> cache;
+  private final long[] staticGas;
+
+  /**
+   * Instantiates a new analyzed code cache.
+   *
+   * @param config the config
+   * @param gasCalculator the gas calculator of the EVM executing the analyzed code
+   */
+  public AnalyzedCodeCache(final EvmConfiguration config, final GasCalculator gasCalculator) {
+    this.staticGas = AnalyzedCode.staticGasTable(gasCalculator);
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(config.getAnalyzedCodeCacheWeightBytes())
+            .weigher((Hash key, AnalyzedCode value) -> value.getWeight() + key.getBytes().size())
+            .build();
+  }
+
+  /**
+   * Gets the analysis of the code, decoding and caching it on first use.
+   *
+   * @param code the code
+   * @return the analyzed code
+   */
+  public AnalyzedCode getOrAnalyze(final Code code) {
+    return cache.get(code.getCodeHash(), hash -> AnalyzedCode.analyze(code, staticGas));
+  }
+
+  /**
+   * Gets if present.
+   *
+   * @param codeHash the code hash
+   * @return if present, null otherwise
+   */
+  public AnalyzedCode getIfPresent(final Hash codeHash) {
+    return cache.getIfPresent(codeHash);
+  }
+}
@@ -25,6 +25,10 @@ import java.util.OptionalInt;
  * @param jumpDestCacheWeightKB the jump destination cache weight in kb
  * @param worldUpdaterMode the world updater mode
  * @param enableOptimizedOpcodes enable optimized implementation of certain opcodes in the EVM
+ * @param enableLongLimbStack keep the operand stack as primitive long limbs instead of Bytes
+ * @param analyzedCodeCacheWeightKB the weight in kb of the cache of pre-decoded code, zero disables
+ *     the pre-decoded interpreter loop
+ * @param enableMemoryPool reuse the memory of completed message frames for the following frames
  * @param evmStackSize the maximum evm stack size
  * @param maxCodeSizeOverride An optional override of the maximum code size set by the EVM fork
  * @param maxInitcodeSizeOverride An optional override of the maximum initcode size set by the EVM
@@ -34,6 +38,9 @@ public record EvmConfiguration(
     long jumpDestCacheWeightKB,
     WorldUpdaterMode worldUpdaterMode,
     boolean enableOptimizedOpcodes,
+    boolean enableLongLimbStack,
+    long analyzedCodeCacheWeightKB,
+    boolean enableMemoryPool,
     Integer evmStackSize,
     Optional<Integer> maxCodeSizeOverride,
     Optional<Integer> maxInitcodeSizeOverride) {
@@ -63,10 +70,80 @@ public record EvmConfiguration(
       final Long jumpDestCacheWeightKilobytes,
       final WorldUpdaterMode worldstateUpdateMode,
       final boolean enableOptimizedOpcodes) {
+    this(jumpDestCacheWeightKilobytes, worldstateUpdateMode, enableOptimizedOpcodes, false);
+  }
+
+  /**
+   * Create an EVM Configuration without any overrides
+   *
+   * @param jumpDestCacheWeightKilobytes the jump dest cache weight (in kibibytes)
+   * @param worldstateUpdateMode the world update mode
+   * @param enableOptimizedOpcodes enabled opcode optimizations
+   * @param enableLongLimbStack enable the primitive long limb operand stack
+   */
+  public EvmConfiguration(
+      final Long jumpDestCacheWeightKilobytes,
+      final WorldUpdaterMode worldstateUpdateMode,
+      final boolean enableOptimizedOpcodes,
+      final boolean enableLongLimbStack) {
     this(
         jumpDestCacheWeightKilobytes,
         worldstateUpdateMode,
         enableOptimizedOpcodes,
+        enableLongLimbStack,
+        0L);
+  }
+
+  /**
+   * Create an EVM Configuration without any overrides
+   *
+   * @param jumpDestCacheWeightKilobytes the jump dest cache weight (in kibibytes)
+   * @param worldstateUpdateMode the world update mode
+   * @param enableOptimizedOpcodes enabled opcode optimizations
+   * @param enableLongLimbStack enable the primitive long limb operand stack
+   * @param analyzedCodeCacheWeightKilobytes the pre-decoded code cache weight (in kibibytes), zero
+   *     disables the pre-decoded interpreter loop
+   */
+  public EvmConfiguration(
+      final Long jumpDestCacheWeightKilobytes,
+      final WorldUpdaterMode worldstateUpdateMode,
+      final boolean enableOptimizedOpcodes,
+      final boolean enableLongLimbStack,
+      final long analyzedCodeCacheWeightKilobytes) {
+    this(
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        enableLongLimbStack,
+        analyzedCodeCacheWeightKilobytes,
+        false);
+  }
+
+  /**
+   * Create an EVM Configuration without any overrides
+   *
+   * @param jumpDestCacheWeightKilobytes the jump dest cache weight (in kibibytes)
+   * @param worldstateUpdateMode the world update mode
+   * @param enableOptimizedOpcodes enabled opcode optimizations
+   * @param enableLongLimbStack enable the primitive long limb operand stack
+   * @param analyzedCodeCacheWeightKilobytes the pre-decoded code cache weight (in kibibytes), zero
+   *     disables the pre-decoded interpreter loop
+   * @param enableMemoryPool reuse the memory of completed message frames
+   */
+  public EvmConfiguration(
+      final Long jumpDestCacheWeightKilobytes,
+      final WorldUpdaterMode worldstateUpdateMode,
+      final boolean enableOptimizedOpcodes,
+      final boolean enableLongLimbStack,
+      final long analyzedCodeCacheWeightKilobytes,
+      final boolean enableMemoryPool) {
+    this(
+        jumpDestCacheWeightKilobytes,
+        worldstateUpdateMode,
+        enableOptimizedOpcodes,
+        enableLongLimbStack,
+        analyzedCodeCacheWeightKilobytes,
+        enableMemoryPool,
         MessageFrame.DEFAULT_MAX_STACK_SIZE,
         Optional.empty(),
         Optional.empty());
@@ -81,6 +158,15 @@ public record EvmConfiguration(
     return jumpDestCacheWeightKB * 1024L;
   }
 
+  /**
+   * Gets the pre-decoded code cache weight bytes.
+   *
+   * @return the pre-decoded code cache weight bytes
+   */
+  public long getAnalyzedCodeCacheWeightBytes() {
+    return analyzedCodeCacheWeightKB * 1024L;
+  }
+
   /**
    * Update the configuration with new overrides, or clearing the overrides with {@link
    * Optional#empty}
@@ -98,6 +184,9 @@ public record EvmConfiguration(
         jumpDestCacheWeightKB,
         worldUpdaterMode,
         enableOptimizedOpcodes,
+        enableLongLimbStack,
+        analyzedCodeCacheWeightKB,
+        enableMemoryPool,
         newEvmStackSize.orElse(MessageFrame.DEFAULT_MAX_STACK_SIZE),
         newMaxCodeSize.isPresent() ? Optional.of(newMaxCodeSize.getAsInt()) : Optional.empty(),
         newMaxInitcodeSize.isPresent()
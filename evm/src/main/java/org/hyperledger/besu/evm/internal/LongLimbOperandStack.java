@@ -0,0 +1,645 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Arrays;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * An operand stack that keeps every 256-bit word as four primitive {@code long} limbs in one flat
+ * array instead of as {@link Bytes} objects.
+ *
+ * <p>Slot {@code i} occupies {@code limbs[4 * i]} to {@code limbs[4 * i + 3]}, most significant
+ * limb first. Operands pushed or popped through the {@link FlexStack} API are converted at the
+ * boundary, so operations that are not limb aware keep working unchanged. The hot arithmetic,
+ * comparison, bitwise and stack manipulation opcodes use the dedicated methods below, which work on
+ * the slots in place and allocate nothing.
+ *
+ * <p>All binary operations read the top of the stack as their first operand and the item below it
+ * as their second, mirroring the pop order of the corresponding opcodes.
+ */
+public class LongLimbOperandStack extends OperandStack {
+
+  private static final int LIMBS = 4;
+  private static final int WORD_BYTES = 32;
+
+  private final int maxSize;
+  private long[] limbs;
+  private int capacity;
+  private int top;
+
+  // scratch space for multiplication, avoids an allocation per MUL
+  private final long[] product = new long[LIMBS];
+
+  /**
+   * Instantiates a new long limb operand stack.
+   *
+   * @param maxSize the max size
+   */
+  public LongLimbOperandStack(final int maxSize) {
+    super(maxSize, 1);
+    this.maxSize = maxSize;
+    this.capacity = Math.min(INITIAL_SIZE, maxSize);
+    this.limbs = new long[capacity * LIMBS];
+    this.top = -1;
+  }
+
+  // region FlexStack API
+  // --------------------------------------------------------------------------
+
+  @Override
+  public Bytes get(final int offset) {
+    if (offset < 0 || offset >= size()) {
+      throw new UnderflowException();
+    }
+    return toBytes(top - offset);
+  }
+
+  @Override
+  public Bytes pop() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    return toBytes(top--);
+  }
+
+  @Override
+  public Bytes peek() {
+    return top < 0 ? null : toBytes(top);
+  }
+
+  @Override
+  public void bulkPop(final int items) {
+    checkArgument(items > 0, "number of items to pop must be greater than 0");
+    if (items > size()) {
+      throw new UnderflowException();
+    }
+    top -= items;
+  }
+
+  @Override
+  public void preserveTop(final int cutPoint, final int itemsToKeep) {
+    checkArgument(cutPoint >= 0, "cutPoint must be positive");
+    checkArgument(itemsToKeep >= 0, "itemsToKeep must be positive");
+    if (itemsToKeep == 0) {
+      if (cutPoint < size()) {
+        bulkPop(top - cutPoint);
+      }
+    } else {
+      final int targetSize = cutPoint + itemsToKeep;
+      final int currentSize = size();
+      if (targetSize > currentSize) {
+        throw new UnderflowException();
+      } else if (targetSize < currentSize) {
+        System.arraycopy(
+            limbs,
+            (currentSize - itemsToKeep) * LIMBS,
+            limbs,
+            cutPoint * LIMBS,
+            itemsToKeep * LIMBS);
+        top = targetSize - 1;
+      }
+    }
+  }
+
+  @Override
+  public void push(final Bytes operand) {
+    writeBytes(nextSlot(), operand);
+  }
+
+  @Override
+  public void set(final int offset, final Bytes operand) {
+    if (offset < 0) {
+      throw new UnderflowException();
+    } else if (offset > top) {
+      throw new OverflowException();
+    }
+    writeBytes(top - offset, operand);
+  }
+
+  @Override
+  public int size() {
+    return top + 1;
+  }
+
+  @Override
+  public boolean isFull() {
+    return top + 1 >= maxSize;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return top < 0;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i <= top; ++i) {
+      builder.append(String.format("%n0x%04X ", i)).append(toBytes(i));
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public int hashCode() {
+    int result = 1;
+    for (int i = 0; i < size() * LIMBS; i++) {
+      result = 31 * result + Long.hashCode(limbs[i]);
+    }
+    return result;
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (!(other instanceof LongLimbOperandStack that)) {
+      return false;
+    }
+    return this.top == that.top
+        && Arrays.equals(this.limbs, 0, size() * LIMBS, that.limbs, 0, size() * LIMBS);
+  }
+
+  // --------------------------------------------------------------------------
+  // endregion
+
+  // region Stack manipulation
+  // --------------------------------------------------------------------------
+
+  /**
+   * Pushes the immediate of a PUSH instruction straight from the code. An immediate truncated by
+   * the end of the code is right padded with zeros.
+   *
+   * @param code the code
+   * @param start the offset of the first immediate byte
+   * @param pushSize the size of the immediate, 1 to 32
+   */
+  public void pushImmediate(final byte[] code, final int start, final int pushSize) {
+    final int base = nextSlot() * LIMBS;
+    if (pushSize == WORD_BYTES && start + WORD_BYTES <= code.length) {
+      writeWord(base, code, start);
+      return;
+    }
+    clear(base);
+    final int available = Math.min(pushSize, code.length - start);
+    final int firstByte = WORD_BYTES - pushSize;
+    for (int i = 0; i < available; i++) {
+      orByte(base, firstByte + i, code[start + i]);
+    }
+  }
+
+  /**
+   * Duplicates the item at {@code index - 1} onto the top of the stack.
+   *
+   * @param index the DUP index, 1 based
+   */
+  public void dup(final int index) {
+    if (index < 1 || index > size()) {
+      throw new UnderflowException();
+    }
+    final int source = (top - index + 1) * LIMBS;
+    final int base = nextSlot() * LIMBS;
+    System.arraycopy(limbs, source, limbs, base, LIMBS);
+  }
+
+  /**
+   * Swaps the top of the stack with the item at {@code index}.
+   *
+   * @param index the SWAP index, 1 based
+   */
+  public void swap(final int index) {
+    if (index < 1 || index >= size()) {
+      throw new UnderflowException();
+    }
+    final int a = top * LIMBS;
+    final int b = (top - index) * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      final long tmp = limbs[a + i];
+      limbs[a + i] = limbs[b + i];
+      limbs[b + i] = tmp;
+    }
+  }
+
+  // --------------------------------------------------------------------------
+  // endregion
+
+  // region Arithmetic
+  // --------------------------------------------------------------------------
+
+  /** Replaces the top two items with their sum modulo 2^256. */
+  public void add() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    long carry = 0;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final long x = limbs[a + i];
+      final long partial = x + limbs[b + i];
+      final long sum = partial + carry;
+      carry =
+          (Long.compareUnsigned(partial, x) < 0 ? 1L : 0L)
+              | (Long.compareUnsigned(sum, partial) < 0 ? 1L : 0L);
+      limbs[b + i] = sum;
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with the top minus the second, modulo 2^256. */
+  public void sub() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    long borrow = 0;
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final long x = limbs[a + i];
+      final long y = limbs[b + i];
+      final long partial = x - y;
+      final long difference = partial - borrow;
+      borrow =
+          (Long.compareUnsigned(x, y) < 0 ? 1L : 0L)
+              | (Long.compareUnsigned(partial, borrow) < 0 ? 1L : 0L);
+      limbs[b + i] = difference;
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with their product modulo 2^256. */
+  public void mul() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    Arrays.fill(product, 0L);
+    // product is indexed least significant limb first
+    for (int i = 0; i < LIMBS; i++) {
+      final long x = limbs[a + LIMBS - 1 - i];
+      if (x == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; i + j < LIMBS; j++) {
+        final long y = limbs[b + LIMBS - 1 - j];
+        final long lo = x * y;
+        final long hi = Math.unsignedMultiplyHigh(x, y);
+        final long partial = product[i + j] + lo;
+        long overflow = Long.compareUnsigned(partial, lo) < 0 ? 1L : 0L;
+        final long sum = partial + carry;
+        overflow += Long.compareUnsigned(sum, partial) < 0 ? 1L : 0L;
+        product[i + j] = sum;
+        carry = hi + overflow;
+      }
+    }
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] = product[LIMBS - 1 - i];
+    }
+    top--;
+  }
+
+  // --------------------------------------------------------------------------
+  // endregion
+
+  // region Comparisons
+  // --------------------------------------------------------------------------
+
+  /** Replaces the top two items with 1 if the top is less than the second (unsigned), else 0. */
+  public void lt() {
+    final int a = binaryOperands();
+    setBoolean(a - LIMBS, compareUnsigned(a, a - LIMBS) < 0);
+    top--;
+  }
+
+  /** Replaces the top two items with 1 if the top is greater than the second (unsigned), else 0. */
+  public void gt() {
+    final int a = binaryOperands();
+    setBoolean(a - LIMBS, compareUnsigned(a, a - LIMBS) > 0);
+    top--;
+  }
+
+  /** Replaces the top two items with 1 if the top is less than the second (signed), else 0. */
+  public void slt() {
+    final int a = binaryOperands();
+    setBoolean(a - LIMBS, compareSigned(a, a - LIMBS) < 0);
+    top--;
+  }
+
+  /** Replaces the top two items with 1 if the top is greater than the second (signed), else 0. */
+  public void sgt() {
+    final int a = binaryOperands();
+    setBoolean(a - LIMBS, compareSigned(a, a - LIMBS) > 0);
+    top--;
+  }
+
+  /** Replaces the top two items with 1 if they are equal, else 0. */
+  public void eq() {
+    final int a = binaryOperands();
+    setBoolean(a - LIMBS, compareUnsigned(a, a - LIMBS) == 0);
+    top--;
+  }
+
+  /** Replaces the top item with 1 if it is zero, else 0. */
+  public void isZero() {
+    final int a = unaryOperand();
+    setBoolean(a, (limbs[a] | limbs[a + 1] | limbs[a + 2] | limbs[a + 3]) == 0);
+  }
+
+  // --------------------------------------------------------------------------
+  // endregion
+
+  // region Bitwise
+  // --------------------------------------------------------------------------
+
+  /** Replaces the top two items with their bitwise and. */
+  public void and() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] &= limbs[a + i];
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with their bitwise or. */
+  public void or() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] |= limbs[a + i];
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with their bitwise xor. */
+  public void xor() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[b + i] ^= limbs[a + i];
+    }
+    top--;
+  }
+
+  /** Replaces the top item with its bitwise complement. */
+  public void not() {
+    final int a = unaryOperand();
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[a + i] = ~limbs[a + i];
+    }
+  }
+
+  /**
+   * Replaces the top two items with the byte of the second item indexed by the top item, counting
+   * from the most significant byte, or 0 if the index is out of range.
+   */
+  public void byteAt() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final int index = smallValue(a, WORD_BYTES);
+    final long value =
+        index < WORD_BYTES
+            ? (limbs[b + (index >>> 3)] >>> ((7 - (index & 7)) << 3)) & 0xFFL
+            : 0L;
+    clear(b);
+    limbs[b + LIMBS - 1] = value;
+    top--;
+  }
+
+  /** Replaces the top two items with the second item shifted left by the top item. */
+  public void shl() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final int shift = smallValue(a, 256);
+    final long v0 = limbs[b + 3];
+    final long v1 = limbs[b + 2];
+    final long v2 = limbs[b + 1];
+    final long v3 = limbs[b];
+    for (int k = 0; k < LIMBS; k++) {
+      limbs[b + LIMBS - 1 - k] = shiftLeftLimb(v0, v1, v2, v3, k, shift);
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with the second item logically shifted right by the top item. */
+  public void shr() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final int shift = smallValue(a, 256);
+    final long v0 = limbs[b + 3];
+    final long v1 = limbs[b + 2];
+    final long v2 = limbs[b + 1];
+    final long v3 = limbs[b];
+    for (int k = 0; k < LIMBS; k++) {
+      limbs[b + LIMBS - 1 - k] = shiftRightLimb(v0, v1, v2, v3, k, shift, 0L);
+    }
+    top--;
+  }
+
+  /** Replaces the top two items with the second item arithmetically shifted right by the top item. */
+  public void sar() {
+    final int a = binaryOperands();
+    final int b = a - LIMBS;
+    final int shift = smallValue(a, 256);
+    final long v0 = limbs[b + 3];
+    final long v1 = limbs[b + 2];
+    final long v2 = limbs[b + 1];
+    final long v3 = limbs[b];
+    final long fill = v3 < 0 ? -1L : 0L;
+    for (int k = 0; k < LIMBS; k++) {
+      limbs[b + LIMBS - 1 - k] = shiftRightLimb(v0, v1, v2, v3, k, shift, fill);
+    }
+    top--;
+  }
+
+  // --------------------------------------------------------------------------
+  // endregion
+
+  // region Internals
+  // --------------------------------------------------------------------------
+
+  private int nextSlot() {
+    final int nextTop = top + 1;
+    if (nextTop >= maxSize) {
+      throw new OverflowException();
+    }
+    if (nextTop >= capacity) {
+      final int newCapacity = Math.min(capacity + Math.max(1, capacity >> 1), maxSize);
+      limbs = Arrays.copyOf(limbs, newCapacity * LIMBS);
+      capacity = newCapacity;
+    }
+    top = nextTop;
+    return nextTop;
+  }
+
+  private int unaryOperand() {
+    if (top < 0) {
+      throw new UnderflowException();
+    }
+    return top * LIMBS;
+  }
+
+  private int binaryOperands() {
+    if (top < 1) {
+      throw new UnderflowException();
+    }
+    return top * LIMBS;
+  }
+
+  private void clear(final int base) {
+    limbs[base] = 0L;
+    limbs[base + 1] = 0L;
+    limbs[base + 2] = 0L;
+    limbs[base + 3] = 0L;
+  }
+
+  private void setBoolean(final int base, final boolean value) {
+    clear(base);
+    limbs[base + LIMBS - 1] = value ? 1L : 0L;
+  }
+
+  // byteIndex counts from the most significant byte of the word
+  private void orByte(final int base, final int byteIndex, final byte value) {
+    limbs[base + (byteIndex >>> 3)] |= (value & 0xFFL) << ((7 - (byteIndex & 7)) << 3);
+  }
+
+  // returns the value of the slot, or the limit if it is equal to or larger than the limit
+  private int smallValue(final int base, final int limit) {
+    if ((limbs[base] | limbs[base + 1] | limbs[base + 2]) != 0
+        || Long.compareUnsigned(limbs[base + 3], limit) >= 0) {
+      return limit;
+    }
+    return (int) limbs[base + 3];
+  }
+
+  private int compareUnsigned(final int a, final int b) {
+    for (int i = 0; i < LIMBS; i++) {
+      final int cmp = Long.compareUnsigned(limbs[a + i], limbs[b + i]);
+      if (cmp != 0) {
+        return cmp;
+      }
+    }
+    return 0;
+  }
+
+  private int compareSigned(final int a, final int b) {
+    final int cmp = Long.compare(limbs[a], limbs[b]);
+    if (cmp != 0) {
+      return cmp;
+    }
+    for (int i = 1; i < LIMBS; i++) {
+      final int rest = Long.compareUnsigned(limbs[a + i], limbs[b + i]);
+      if (rest != 0) {
+        return rest;
+      }
+    }
+    return 0;
+  }
+
+  // v0..v3 are least significant first, k is the index of the result limb, least significant first
+  private static long limb(
+      final long v0, final long v1, final long v2, final long v3, final int k, final long fill) {
+    return switch (k) {
+      case 0 -> v0;
+      case 1 -> v1;
+      case 2 -> v2;
+      case 3 -> v3;
+      default -> fill;
+    };
+  }
+
+  private static long shiftLeftLimb(
+      final long v0, final long v1, final long v2, final long v3, final int k, final int shift) {
+    if (shift >= 256) {
+      return 0L;
+    }
+    final int limbShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    final int source = k - limbShift;
+    if (source < 0) {
+      return 0L;
+    }
+    final long high = limb(v0, v1, v2, v3, source, 0L) << bitShift;
+    if (bitShift == 0 || source == 0) {
+      return high;
+    }
+    return high | (limb(v0, v1, v2, v3, source - 1, 0L) >>> (64 - bitShift));
+  }
+
+  private static long shiftRightLimb(
+      final long v0,
+      final long v1,
+      final long v2,
+      final long v3,
+      final int k,
+      final int shift,
+      final long fill) {
+    if (shift >= 256) {
+      return fill;
+    }
+    final int limbShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    final int source = k + limbShift;
+    final long low = limb(v0, v1, v2, v3, source, fill);
+    if (bitShift == 0) {
+      return low;
+    }
+    return (low >>> bitShift) | (limb(v0, v1, v2, v3, source + 1, fill) << (64 - bitShift));
+  }
+
+  private Bytes toBytes(final int slot) {
+    final byte[] bytes = new byte[WORD_BYTES];
+    final int base = slot * LIMBS;
+    for (int i = 0; i < LIMBS; i++) {
+      final long limb = limbs[base + i];
+      for (int j = 0; j < 8; j++) {
+        bytes[(i << 3) + j] = (byte) (limb >>> ((7 - j) << 3));
+      }
+    }
+    return Bytes.wrap(bytes);
+  }
+
+  // fast path for a full 32 byte word, assembles each limb from 8 bytes at once
+  private void writeWord(final int base, final byte[] bytes, final int offset) {
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[base + i] = readLong(bytes, offset + (i << 3));
+    }
+  }
+
+  private static long readLong(final byte[] bytes, final int offset) {
+    return (bytes[offset] & 0xFFL) << 56
+        | (bytes[offset + 1] & 0xFFL) << 48
+        | (bytes[offset + 2] & 0xFFL) << 40
+        | (bytes[offset + 3] & 0xFFL) << 32
+        | (bytes[offset + 4] & 0xFFL) << 24
+        | (bytes[offset + 5] & 0xFFL) << 16
+        | (bytes[offset + 6] & 0xFFL) << 8
+        | (bytes[offset + 7] & 0xFFL);
+  }
+
+  private void writeBytes(final int slot, final Bytes operand) {
+    final int base = slot * LIMBS;
+    final byte[] bytes = operand.toArrayUnsafe();
+    if (bytes.length == WORD_BYTES) {
+      writeWord(base, bytes, 0);
+      return;
+    }
+    clear(base);
+    final int length = Math.min(bytes.length, WORD_BYTES);
+    final int skipped = bytes.length - length;
+    final int firstByte = WORD_BYTES - length;
+    for (int i = 0; i < length; i++) {
+      orByte(base, firstByte + i, bytes[skipped + i]);
+    }
+  }
+
+  // --------------------------------------------------------------------------
+  // endregion
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operation;
+
+import static org.hyperledger.besu.evm.operation.PushOperation.PUSH_BASE;
+import static org.hyperledger.besu.evm.operation.SwapOperation.SWAP_BASE;
+
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.LongLimbOperandStack;
+import org.hyperledger.besu.evm.operation.Operation.OperationResult;
+
+/**
+ * Allocation free implementations of the hot stack, arithmetic, comparison and bitwise opcodes,
+ * working in place on a {@link LongLimbOperandStack}. Gas costs and results are shared with the
+ * Bytes based implementations of the same opcodes.
+ */
+public final class LongLimbStackOperations {
+
+  private LongLimbStackOperations() {}
+
+  /**
+   * Executes the opcode against the long limb stack, if it has a limb aware implementation.
+   *
+   * @param frame the frame
+   * @param stack the long limb operand stack of the frame
+   * @param code the code being executed
+   * @param pc the current program counter
+   * @param opcode the opcode at the program counter
+   * @param enableConstantinople whether the shift opcodes are active
+   * @return the operation result, or null if the opcode must be executed through the Bytes API
+   */
+  public static OperationResult execute(
+      final MessageFrame frame,
+      final LongLimbOperandStack stack,
+      final byte[] code,
+      final int pc,
+      final int opcode,
+      final boolean enableConstantinople) {
+    switch (opcode) {
+      case 0x01 -> {
+        stack.add();
+        return AddOperation.addSuccess;
+      }
+      case 0x02 -> {
+        stack.mul();
+        return MulOperation.mulSuccess;
+      }
+      case 0x03 -> {
+        stack.sub();
+        return SubOperation.subSuccess;
+      }
+      case 0x10 -> {
+        stack.lt();
+        return LtOperation.ltSuccess;
+      }
+      case 0x11 -> {
+        stack.gt();
+        return GtOperation.gtSuccess;
+      }
+      case 0x12 -> {
+        stack.slt();
+        return SLtOperation.sltSuccess;
+      }
+      case 0x13 -> {
+        stack.sgt();
+        return SGtOperation.sgtSuccess;
+      }
+      case 0x14 -> {
+        stack.eq();
+        return EqOperation.eqSuccess;
+      }
+      case 0x15 -> {
+        stack.isZero();
+        return IsZeroOperation.isZeroSuccess;
+      }
+      case 0x16 -> {
+        stack.and();
+        return AndOperation.andSuccess;
+      }
+      case 0x17 -> {
+        stack.or();
+        return OrOperation.orSuccess;
+      }
+      case 0x18 -> {
+        stack.xor();
+        return XorOperation.xorSuccess;
+      }
+      case 0x19 -> {
+        stack.not();
+        return NotOperation.notSuccess;
+      }
+      case 0x1a -> {
+        stack.byteAt();
+        return ByteOperation.byteSuccess;
+      }
+      case 0x1b, 0x1c, 0x1d -> {
+        if (!enableConstantinople) {
+          return null;
+        }
+        return shift(stack, opcode);
+      }
+      case 0x50 -> {
+        stack.bulkPop(1);
+        return PopOperation.popSuccess;
+      }
+      default -> {
+        if (opcode > PUSH_BASE && opcode <= PushOperation.PUSH_MAX) {
+          final int pushSize = opcode - PUSH_BASE;
+          stack.pushImmediate(code, pc + 1, pushSize);
+          frame.setPC(pc + pushSize);
+          return PushOperation.pushSuccess;
+        } else if (opcode > DupOperation.DUP_BASE && opcode <= SWAP_BASE) {
+          stack.dup(opcode - DupOperation.DUP_BASE);
+          return DupOperation.dupSuccess;
+        } else if (opcode > SWAP_BASE && opcode <= SWAP_BASE + 16) {
+          stack.swap(opcode - SWAP_BASE);
+          return SwapOperation.swapSuccess;
+        }
+        return null;
+      }
+    }
+  }
+
+  private static OperationResult shift(final LongLimbOperandStack stack, final int opcode) {
+    switch (opcode) {
+      case 0x1b -> {
+        stack.shl();
+        return ShlOperation.shlSuccess;
+      }
+      case 0x1c -> {
+        stack.shr();
+        return ShrOperation.shrSuccess;
+      }
+      default -> {
+        stack.sar();
+        return SarOperation.sarSuccess;
+      }
+    }
+  }
+}
@@ -239,6 +239,13 @@ public abstract class AbstractMessageProcessor {
       }
       completedFailed(frame);
     }
+    if (frame.getState() == MessageFrame.State.COMPLETED_SUCCESS
+        || frame.getState() == MessageFrame.State.COMPLETED_FAILED) {
+      // tracers may keep views of memory, only untraced frames give their memory back
+      if (operationTracer == null || operationTracer.isNoTracing()) {
+        frame.releaseMemory();
+      }
+    }
   }
 
   /**
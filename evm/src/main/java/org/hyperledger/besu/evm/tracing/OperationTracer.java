@@ -33,7 +33,13 @@ import org.apache.tuweni.bytes.Bytes;
 public interface OperationTracer {
 
   /** The constant NO_TRACING. */
-  OperationTracer NO_TRACING = new OperationTracer() {};
+  OperationTracer NO_TRACING =
+      new OperationTracer() {
+        @Override
+        public boolean isNoTracing() {
+          return true;
+        }
+      };
 
   /**
    * Trace pre execution.
@@ -148,6 +154,16 @@ public interface OperationTracer {
     return false;
   }
 
+  /**
+   * Returns whether this tracer ignores every event. Frames executed with such a tracer skip the
+   * tracing hooks and may reuse their memory once completed.
+   *
+   * @return <code>true</code> if nothing is traced, <code>false</code> otherwise.
+   */
+  default boolean isNoTracing() {
+    return false;
+  }
+
   /**
    * Get the trace frames collected during execution. This is primarily used for debug tracing
    * operations.
@@ -0,0 +1,114 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.frame;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.bytes.MutableBytes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MemoryArenaTest {
+
+  private static final Bytes32 WORD =
+      Bytes32.fromHexString("0x0102030405060708091011121314151617181920212223242526272829303132");
+
+  private MemoryArena arena;
+
+  @BeforeEach
+  void setUp() {
+    arena = new MemoryArena();
+    arena.startTransaction();
+  }
+
+  @Test
+  void reusedMemoryReadsAsZero() {
+    final Memory first = new Memory(arena);
+    first.setWord(0, WORD);
+    first.setWord(480, WORD);
+    first.release();
+
+    final Memory second = new Memory(arena);
+    assertThat(second.getWord(0)).isEqualTo(Bytes32.ZERO);
+    assertThat(second.getWord(480)).isEqualTo(Bytes32.ZERO);
+    assertThat(arena.getReusedArrays()).isEqualTo(1);
+  }
+
+  @Test
+  void releasedMemoryIsEmpty() {
+    final Memory memory = new Memory(arena);
+    memory.setWord(64, WORD);
+    memory.release();
+
+    assertThat(memory.getActiveWords()).isZero();
+    assertThat(memory.getActiveBytes()).isZero();
+    assertThat(arena.getActiveBytes()).isZero();
+  }
+
+  @Test
+  void growthWithinCapacityKeepsTheBackingArray() {
+    final Memory memory = new Memory(arena);
+    final MutableBytes view = memory.getMutableBytes(0, 32);
+
+    // still within the smallest size class, so the view must keep pointing at the memory
+    memory.setWord(MemoryArena.MIN_CAPACITY - 32, WORD);
+    view.set(0, (byte) 0x42);
+
+    assertThat(memory.getBytes(0, 1)).isEqualTo(Bytes.of(0x42));
+    assertThat(memory.getWord(MemoryArena.MIN_CAPACITY - 32)).isEqualTo(WORD);
+  }
+
+  @Test
+  void growthPastCapacityKeepsTheContent() {
+    final Memory memory = new Memory(arena);
+    memory.setWord(0, WORD);
+    memory.setWord(MemoryArena.MIN_CAPACITY * 3L, WORD);
+
+    assertThat(memory.getWord(0)).isEqualTo(WORD);
+    assertThat(memory.getWord(MemoryArena.MIN_CAPACITY * 3L)).isEqualTo(WORD);
+    assertThat(memory.getWord(MemoryArena.MIN_CAPACITY)).isEqualTo(Bytes32.ZERO);
+  }
+
+  @Test
+  void tracksPeakMemoryOfLiveFrames() {
+    final Memory parent = new Memory(arena);
+    parent.setWord(0, WORD);
+    final Memory child = new Memory(arena);
+    child.setWord(96, WORD);
+
+    assertThat(arena.getActiveBytes()).isEqualTo(32 + 128);
+    child.release();
+    parent.setWord(32, WORD);
+
+    assertThat(arena.getActiveBytes()).isEqualTo(64);
+    assertThat(arena.getPeakActiveBytes()).isEqualTo(160);
+
+    arena.startTransaction();
+    assertThat(arena.getPeakActiveBytes()).isZero();
+    assertThat(arena.getReusedArrays()).isZero();
+  }
+
+  @Test
+  void doesNotPoolLargeArrays() {
+    final Memory memory = new Memory(arena);
+    memory.setWord(MemoryArena.MAX_POOLED_CAPACITY, WORD);
+    memory.release();
+
+    new Memory(arena).setWord(MemoryArena.MAX_POOLED_CAPACITY, WORD);
+    assertThat(arena.getReusedArrays()).isZero();
+  }
+}
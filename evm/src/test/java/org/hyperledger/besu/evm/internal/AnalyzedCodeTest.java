@@ -0,0 +1,184 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.evm.Code;
+import org.hyperledger.besu.evm.EVM;
+import org.hyperledger.besu.evm.MainnetEVMs;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.gascalculator.CancunGasCalculator;
+import org.hyperledger.besu.evm.gascalculator.GasCalculator;
+import org.hyperledger.besu.evm.testutils.TestMessageFrameBuilder;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class AnalyzedCodeTest {
+
+  // counts down from 10, storing the counter in memory on every iteration, then returns it
+  private static final Bytes COUNTDOWN =
+      Bytes.fromHexString("0x600a5b60019003806000528060025780905060206000f3");
+
+  private static final EVM PLAIN = MainnetEVMs.cancun(EvmConfiguration.DEFAULT);
+  private static final EVM ANALYZED =
+      MainnetEVMs.cancun(
+          new EvmConfiguration(
+              32_000L, EvmConfiguration.WorldUpdaterMode.STACKED, true, false, 1_000L));
+
+  private static final long[] STATIC_GAS =
+      AnalyzedCode.staticGasTable(ANALYZED.getGasCalculator());
+
+  @Test
+  void decodesInstructionsAndImmediates() {
+    final AnalyzedCode analyzed = AnalyzedCode.analyze(new Code(COUNTDOWN), STATIC_GAS);
+
+    assertThat(analyzed.getInstructionCount()).isEqualTo(17);
+    assertThat(analyzed.instructionPcUnsafe())
+        .startsWith(0, 2, 3, 5, 6, 7, 8, 10, 11, 12, 14)
+        .endsWith(COUNTDOWN.size());
+    assertThat(analyzed.pcToIndexUnsafe()[1]).isEqualTo(-1);
+    assertThat(analyzed.pcToIndexUnsafe()[12]).isEqualTo(9);
+    assertThat(analyzed.pcToIndexUnsafe()[COUNTDOWN.size()]).isEqualTo(17);
+    assertThat(analyzed.immediatesUnsafe()[0]).isEqualTo(Bytes.of(0x0a));
+    assertThat(analyzed.immediatesUnsafe()[1]).isNull();
+  }
+
+  @Test
+  void fusesSuperinstructions() {
+    final AnalyzedCode analyzed = AnalyzedCode.analyze(new Code(COUNTDOWN), STATIC_GAS);
+    final byte[] fusion = analyzed.fusionUnsafe();
+
+    assertThat(fusion[6]).isEqualTo(AnalyzedCode.PUSH_MSTORE);
+    assertThat(analyzed.fusedOperandUnsafe()[6]).isZero();
+    assertThat(fusion[9]).isEqualTo(AnalyzedCode.PUSH_JUMPI);
+    assertThat(analyzed.fusedOperandUnsafe()[9]).isEqualTo(2);
+    assertThat(fusion[11]).isEqualTo(AnalyzedCode.DUP_SWAP);
+    assertThat(fusion[0]).isEqualTo(AnalyzedCode.NOT_FUSED);
+  }
+
+  @Test
+  void doesNotFuseJumpsToInvalidDestinations() {
+    // PUSH1 4 JUMP PUSH1 0x5b: the destination is inside the immediate of the last PUSH
+    final AnalyzedCode analyzed =
+        AnalyzedCode.analyze(new Code(Bytes.fromHexString("0x600456605b")), STATIC_GAS);
+
+    assertThat(analyzed.fusionUnsafe()[0]).isEqualTo(AnalyzedCode.NOT_FUSED);
+  }
+
+  @Test
+  void sumsStaticGasOfRuns() {
+    final AnalyzedCode analyzed = AnalyzedCode.analyze(new Code(COUNTDOWN), STATIC_GAS);
+
+    // PUSH1 (3), then JUMPDEST ends the run
+    assertThat(analyzed.staticRunGasUnsafe()[0]).isEqualTo(3);
+    assertThat(analyzed.staticRunEndUnsafe()[0]).isEqualTo(1);
+    assertThat(analyzed.staticRunGasUnsafe()[1]).isZero();
+    // PUSH1 SWAP1 SUB DUP1 PUSH1 (5 * 3), then MSTORE ends the run
+    assertThat(analyzed.staticRunGasUnsafe()[2]).isEqualTo(15);
+    assertThat(analyzed.staticRunEndUnsafe()[2]).isEqualTo(7);
+    assertThat(analyzed.staticRunGasUnsafe()[5]).isEqualTo(6);
+  }
+
+  @Test
+  void takesStaticGasFromTheGasCalculator() {
+    final GasCalculator gasCalculator =
+        new CancunGasCalculator() {
+          @Override
+          public long getVeryLowTierGasCost() {
+            return 4L;
+          }
+        };
+    final AnalyzedCode analyzed =
+        AnalyzedCode.analyze(new Code(COUNTDOWN), AnalyzedCode.staticGasTable(gasCalculator));
+
+    // PUSH1 SWAP1 SUB DUP1 PUSH1 (5 * 4)
+    assertThat(analyzed.staticRunGasUnsafe()[2]).isEqualTo(20);
+  }
+
+  @Test
+  void analyzedLoopReturnsSameOutput() {
+    final MessageFrame expected = run(PLAIN, COUNTDOWN, 100_000L);
+    final MessageFrame actual = run(ANALYZED, COUNTDOWN, 100_000L);
+
+    assertThat(actual.getState()).isEqualTo(MessageFrame.State.CODE_SUCCESS);
+    assertThat(actual.getOutputData()).isEqualTo(Bytes.fromHexString("0x" + "00".repeat(32)));
+    assertSameOutcome(actual, expected);
+  }
+
+  @Test
+  void analyzedLoopRunsOutOfGasOnSameInstructions() {
+    for (long gas = 0; gas < 700; gas++) {
+      assertSameOutcome(run(ANALYZED, COUNTDOWN, gas), run(PLAIN, COUNTDOWN, gas));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        // DUP1 SWAP1 on an empty stack
+        "0x8090",
+        // PUSH1 1 DUP1 SWAP2: swap underflows after the dup
+        "0x60018091",
+        // PUSH1 4 JUMPI JUMPDEST with no condition on the stack
+        "0x6004575b",
+        // PUSH1 4 JUMP INVALID JUMPDEST PUSH1 0x20 MSTORE with no value on the stack
+        "0x600456fe5b602052",
+        // PUSH1 4 JUMP into push data
+        "0x600456605b00",
+        // PUSH32 truncated by the end of the code
+        "0x7f0102"
+      })
+  void analyzedLoopHaltsLikeThePlainLoop(final String code) {
+    final Bytes bytes = Bytes.fromHexString(code);
+    assertSameOutcome(run(ANALYZED, bytes, 100_000L), run(PLAIN, bytes, 100_000L));
+  }
+
+  private static MessageFrame run(final EVM evm, final Bytes code, final long gas) {
+    final MessageFrame frame =
+        new TestMessageFrameBuilder().code(new Code(code)).initialGas(gas).build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    return frame;
+  }
+
+  private static void assertSameOutcome(final MessageFrame actual, final MessageFrame expected) {
+    assertThat(actual.getState()).isEqualTo(expected.getState());
+    assertThat(actual.getExceptionalHaltReason()).isEqualTo(expected.getExceptionalHaltReason());
+    if (expected.getState() != MessageFrame.State.EXCEPTIONAL_HALT) {
+      // an exceptional halt consumes all gas, whatever was charged before it
+      assertThat(actual.getRemainingGas()).isEqualTo(expected.getRemainingGas());
+      assertThat(stack(actual)).isEqualTo(stack(expected));
+      assertThat(actual.readMemory(0, actual.memoryByteSize()))
+          .isEqualTo(expected.readMemory(0, expected.memoryByteSize()));
+      assertThat(actual.getOutputData()).isEqualTo(expected.getOutputData());
+    }
+  }
+
+  private static List<Bytes> stack(final MessageFrame frame) {
+    final List<Bytes> items = new ArrayList<>();
+    for (int i = 0; i < frame.stackSize(); i++) {
+      items.add(frame.getStackItem(i));
+    }
+    return items;
+  }
+}
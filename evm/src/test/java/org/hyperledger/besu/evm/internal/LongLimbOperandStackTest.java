@@ -0,0 +1,214 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LongLimbOperandStackTest {
+
+  @Test
+  void construction() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(1);
+    assertThat(stack.size()).isZero();
+    assertThat(stack.isEmpty()).isTrue();
+  }
+
+  @Test
+  void construction_NegativeMaximumSize() {
+    assertThatThrownBy(() -> new LongLimbOperandStack(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void push_StackOverflow() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(1);
+    stack.push(UInt256.fromHexString("0x01"));
+    final UInt256 operand = UInt256.fromHexString("0x02");
+    assertThatThrownBy(() -> stack.push(operand)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  void pop_StackUnderflow() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(1);
+    assertThatThrownBy(stack::pop).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void pushPopShortValues() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(4);
+    stack.push(Bytes.EMPTY);
+    stack.push(Bytes.fromHexString("0x0102"));
+    assertThat(stack.pop()).isEqualTo(Bytes32.fromHexString("0x0102"));
+    assertThat(stack.pop()).isEqualTo(Bytes32.ZERO);
+  }
+
+  @Test
+  void set_IndexGreaterThanSize() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(1);
+    stack.push(UInt256.fromHexString("0x01"));
+    final Bytes32 operand = Bytes32.fromHexString("0x01");
+    assertThatThrownBy(() -> stack.set(2, operand)).isInstanceOf(OverflowException.class);
+  }
+
+  @Test
+  void binaryOperation_StackUnderflow() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(4);
+    stack.push(UInt256.fromHexString("0x01"));
+    assertThatThrownBy(stack::add).isInstanceOf(UnderflowException.class);
+    assertThatThrownBy(() -> stack.swap(1)).isInstanceOf(UnderflowException.class);
+    assertThatThrownBy(() -> stack.dup(2)).isInstanceOf(UnderflowException.class);
+  }
+
+  @Test
+  void pushImmediate_RightPadsTruncatedCode() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(4);
+    final byte[] code = Bytes.fromHexString("0x62abcd").toArrayUnsafe();
+    stack.pushImmediate(code, 1, 3);
+    stack.pushImmediate(code, 4, 2);
+    assertThat(stack.pop()).isEqualTo(Bytes32.ZERO);
+    assertThat(stack.pop()).isEqualTo(Bytes32.fromHexString("0xabcd00"));
+  }
+
+  @Test
+  void pushFullWords() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(4);
+    final Bytes32 word =
+        Bytes32.fromHexString("0x0102030405060708f9fafbfcfdfeff00112233445566778899aabbccddeeff80");
+    final byte[] code = Bytes.concatenate(Bytes.of(0x7f), word).toArrayUnsafe();
+    stack.push(word);
+    stack.pushImmediate(code, 1, 32);
+    stack.pushImmediate(code, 2, 32);
+    assertThat(stack.pop()).isEqualTo(Bytes32.rightPad(word.slice(1)));
+    assertThat(stack.pop()).isEqualTo(word);
+    assertThat(stack.pop()).isEqualTo(word);
+  }
+
+  @Test
+  void arithmeticWraps() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(4);
+    stack.push(UInt256.ONE);
+    stack.push(UInt256.MAX_VALUE);
+    stack.add();
+    assertThat(stack.pop()).isEqualTo(Bytes32.ZERO);
+
+    stack.push(UInt256.ONE);
+    stack.push(UInt256.ZERO);
+    stack.sub();
+    assertThat(stack.pop()).isEqualTo(UInt256.MAX_VALUE);
+
+    stack.push(UInt256.MAX_VALUE);
+    stack.push(UInt256.MAX_VALUE);
+    stack.mul();
+    assertThat(stack.pop()).isEqualTo(UInt256.ONE);
+  }
+
+  @Test
+  void signedComparisons() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(4);
+    stack.push(UInt256.ONE);
+    stack.push(UInt256.MAX_VALUE); // -1
+    stack.slt();
+    assertThat(stack.pop()).isEqualTo(UInt256.ONE);
+
+    stack.push(UInt256.ONE);
+    stack.push(UInt256.MAX_VALUE);
+    stack.lt();
+    assertThat(stack.pop()).isEqualTo(UInt256.ZERO);
+  }
+
+  @Test
+  void shifts() {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(4);
+    stack.push(UInt256.MAX_VALUE);
+    stack.push(UInt256.valueOf(4));
+    stack.sar();
+    assertThat(stack.pop()).isEqualTo(UInt256.MAX_VALUE);
+
+    stack.push(UInt256.MAX_VALUE);
+    stack.push(UInt256.valueOf(252));
+    stack.shr();
+    assertThat(stack.pop()).isEqualTo(UInt256.valueOf(0xf));
+
+    stack.push(UInt256.ONE);
+    stack.push(UInt256.valueOf(256));
+    stack.shl();
+    assertThat(stack.pop()).isEqualTo(UInt256.ZERO);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {5, 31, 32, 33, 1023, 1024, 1025})
+  void largeOverflows(final int n) {
+    final LongLimbOperandStack stack = new LongLimbOperandStack(n);
+    for (int i = 0; i < n; i++) {
+      stack.push(UInt256.ONE);
+    }
+    assertThatThrownBy(() -> stack.push(UInt256.ONE)).isInstanceOf(OverflowException.class);
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 42, 1337})
+  void matchesOperandStack(final long seed) {
+    final Random random = new Random(seed);
+    final OperandStack expected = new OperandStack(1024);
+    final LongLimbOperandStack actual = new LongLimbOperandStack(1024);
+    for (int i = 0; i < 10_000; i++) {
+      final int size = expected.size();
+      switch (random.nextInt(5)) {
+        case 0, 1 -> {
+          if (size < 1024) {
+            final Bytes value = Bytes.random(random.nextInt(33), random);
+            expected.push(value);
+            actual.push(value);
+          }
+        }
+        case 2 -> {
+          if (size > 0) {
+            assertThat(actual.pop()).isEqualTo(Bytes32.leftPad(expected.pop()));
+          }
+        }
+        case 3 -> {
+          if (size > 0) {
+            final int offset = random.nextInt(size);
+            final Bytes value = Bytes.random(32, random);
+            expected.set(offset, value);
+            actual.set(offset, value);
+          }
+        }
+        default -> {
+          if (size > 2) {
+            final int cutPoint = random.nextInt(size - 1);
+            final int itemsToKeep = 1 + random.nextInt(size - cutPoint - 1);
+            expected.preserveTop(cutPoint, itemsToKeep);
+            actual.preserveTop(cutPoint, itemsToKeep);
+          }
+        }
+      }
+      assertThat(actual.size()).isEqualTo(expected.size());
+      for (int offset = 0; offset < Math.min(4, expected.size()); offset++) {
+        assertThat(actual.get(offset)).isEqualTo(Bytes32.leftPad(expected.get(offset)));
+      }
+    }
+  }
+}
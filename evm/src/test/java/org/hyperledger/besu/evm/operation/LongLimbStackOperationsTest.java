@@ -0,0 +1,136 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.evm.operation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.EvmSpecVersion;
+import org.hyperledger.besu.evm.fluent.EVMExecutor;
+import org.hyperledger.besu.evm.fluent.EvmSpec;
+import org.hyperledger.besu.evm.fluent.SimpleWorld;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.EvmConfiguration;
+import org.hyperledger.besu.evm.tracing.OperationTracer;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Differential test executing the same random programs on frames using the Bytes operand stack and
+ * frames using the long limb operand stack, comparing every intermediate step.
+ */
+class LongLimbStackOperationsTest {
+
+  // opcodes with a limb aware implementation, plus a few that go through the Bytes API
+  private static final int[] BINARY_OPCODES = {
+    0x01, 0x02, 0x03, 0x04, 0x06, 0x10, 0x11, 0x12, 0x13, 0x14, 0x16, 0x17, 0x18, 0x1a, 0x1b,
+    0x1c, 0x1d
+  };
+  private static final int[] UNARY_OPCODES = {0x15, 0x19};
+
+  private static final EvmConfiguration BYTES_STACK =
+      new EvmConfiguration(32_000L, EvmConfiguration.WorldUpdaterMode.STACKED, true, false);
+  private static final EvmConfiguration LONG_LIMB_STACK =
+      new EvmConfiguration(32_000L, EvmConfiguration.WorldUpdaterMode.STACKED, true, true);
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3, 5, 8, 13, 21, 34, 55, 89})
+  void longLimbStackMatchesBytesStack(final long seed) {
+    final Bytes code = randomProgram(new Random(seed));
+
+    final List<String> expected = trace(BYTES_STACK, code);
+    final List<String> actual = trace(LONG_LIMB_STACK, code);
+
+    assertThat(actual).isNotEmpty().containsExactlyElementsOf(expected);
+  }
+
+  private static List<String> trace(final EvmConfiguration configuration, final Bytes code) {
+    final List<String> steps = new ArrayList<>();
+    final SimpleWorld world = new SimpleWorld();
+    world.createAccount(Address.ZERO, 1, Wei.fromEth(1));
+    new EVMExecutor(EvmSpec.evmSpec(EvmSpecVersion.CANCUN, BigInteger.ONE, configuration))
+        .worldUpdater(world.updater())
+        .tracer(
+            new OperationTracer() {
+              @Override
+              public void tracePostExecution(
+                  final MessageFrame frame, final Operation.OperationResult operationResult) {
+                final StringBuilder step =
+                    new StringBuilder()
+                        .append(frame.getPC())
+                        .append(' ')
+                        .append(frame.getRemainingGas())
+                        .append(' ')
+                        .append(frame.getExceptionalHaltReason());
+                for (int i = 0; i < frame.stackSize(); i++) {
+                  step.append(' ').append(Bytes32.leftPad(frame.getStackItem(i)).toHexString());
+                }
+                steps.add(step.toString());
+              }
+            })
+        .execute(code, Bytes.EMPTY, Wei.ZERO, Address.ZERO);
+    return steps;
+  }
+
+  private static Bytes randomProgram(final Random random) {
+    final ByteArrayOutputStream code = new ByteArrayOutputStream();
+    int depth = 0;
+    for (int i = 0; i < 2_000; i++) {
+      final int choice = random.nextInt(10);
+      if (depth < 2 || choice < 3) {
+        final int pushSize = 1 + random.nextInt(32);
+        code.write(PushOperation.PUSH_BASE + pushSize);
+        final byte[] immediate = new byte[pushSize];
+        random.nextBytes(immediate);
+        if (random.nextBoolean()) {
+          // small values exercise the shift and byte index fast paths
+          immediate[0] = (byte) random.nextInt(2);
+        }
+        code.writeBytes(immediate);
+        depth++;
+      } else if (choice < 7) {
+        code.write(BINARY_OPCODES[random.nextInt(BINARY_OPCODES.length)]);
+        depth--;
+      } else if (choice == 7) {
+        code.write(UNARY_OPCODES[random.nextInt(UNARY_OPCODES.length)]);
+      } else if (choice == 8) {
+        final int index = 1 + random.nextInt(Math.min(depth, 16));
+        code.write(DupOperation.DUP_BASE + index);
+        depth++;
+      } else {
+        final int index = 1 + random.nextInt(Math.min(depth - 1, 16));
+        code.write(SwapOperation.SWAP_BASE + index);
+      }
+      if (depth > 1000) {
+        code.write(0x50);
+        depth--;
+      }
+    }
+    // end with a truncated PUSH32 to exercise right padding
+    code.write(PushOperation.PUSH_MAX);
+    code.write(0x42);
+    return Bytes.wrap(code.toByteArray());
+  }
+}
@@ -17,6 +17,8 @@ package org.hyperledger.besu.plugin.services.storage;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Predicate;
@@ -38,6 +40,26 @@ public interface SegmentedKeyValueStorage extends Closeable {
    */
   Optional<byte[]> get(SegmentIdentifier segment, byte[] key) throws StorageException;
 
+  /**
+   * Get the values of several keys from the associated segment. Implementations backed by a
+   * database may look all the keys up in a single batch, which is cheaper than one {@link
+   * #get(SegmentIdentifier, byte[])} per key.
+   *
+   * @param segment the segment
+   * @param keys Indexes into persistent data repository.
+   * @return The values persisted at the key indexes, in the order of the keys, empty for absent
+   *     keys.
+   * @throws StorageException the storage exception
+   */
+  default List<Optional<byte[]>> multiGet(final SegmentIdentifier segment, final List<byte[]> keys)
+      throws StorageException {
+    final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+    for (final byte[] key : keys) {
+      values.add(get(segment, key));
+    }
+    return values;
+  }
+
   /**
    * Finds the key and corresponding value that is "nearest before" the specified key. "Nearest
    * before" is defined as the closest key that is either exactly matching the supplied key or
@@ -32,7 +32,13 @@ public interface BlockAwareOperationTracer extends OperationTracer {
    * BlockAwareOperationTracer object with no tracing functionality. This serves as a default for
    * scenarios where no specific tracing operation is required.
    */
-  BlockAwareOperationTracer NO_TRACING = new BlockAwareOperationTracer() {};
+  BlockAwareOperationTracer NO_TRACING =
+      new BlockAwareOperationTracer() {
+        @Override
+        public boolean isNoTracing() {
+          return true;
+        }
+      };
 
   /**
    * Trace the start of a block.
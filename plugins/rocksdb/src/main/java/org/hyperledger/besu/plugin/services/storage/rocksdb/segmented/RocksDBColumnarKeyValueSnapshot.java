@@ -26,6 +26,8 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDBMetrics;
 import org.hyperledger.besu.plugin.services.storage.rocksdb.RocksDbIterator;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -115,6 +117,54 @@ public class RocksDBColumnarKeyValueSnapshot
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final SegmentIdentifier segment, final List<byte[]> keys)
+      throws StorageException {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      final ColumnFamilyHandle handle = columnFamilyMapper.apply(segment);
+      if (isReadCacheEnabledForSnapshots && segment.isEligibleToHighSpecFlag()) {
+        return multiGetFromCacheOrRead(segment.getId(), keys, handle, maybeCache.get());
+      } else {
+        final List<byte[]> values = snapshot.multiGet(handle, readOptions, keys);
+        return values.stream().map(Optional::ofNullable).toList();
+      }
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  private List<Optional<byte[]>> multiGetFromCacheOrRead(
+      final byte[] segmentId,
+      final List<byte[]> keys,
+      final ColumnFamilyHandle handle,
+      final Cache<Bytes, Optional<byte[]>> cache)
+      throws RocksDBException {
+    final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+    final List<Integer> missIndexes = new ArrayList<>();
+    final List<byte[]> missKeys = new ArrayList<>();
+    for (int i = 0; i < keys.size(); i++) {
+      final Optional<byte[]> cached = cache.getIfPresent(makeCacheKey(segmentId, keys.get(i)));
+      values.add(cached);
+      if (cached == null) {
+        missIndexes.add(i);
+        missKeys.add(keys.get(i));
+      }
+    }
+    if (!missKeys.isEmpty()) {
+      final List<byte[]> read = snapshot.multiGet(handle, readOptions, missKeys);
+      for (int i = 0; i < missKeys.size(); i++) {
+        final Optional<byte[]> value = Optional.ofNullable(read.get(i));
+        cache.put(makeCacheKey(segmentId, missKeys.get(i)), value);
+        values.set(missIndexes.get(i), value);
+      }
+    }
+    return values;
+  }
+
   private Optional<byte[]> getFromCacheOrRead(
       final byte[] segmentId,
       final byte[] key,
@@ -32,6 +32,7 @@ import org.hyperledger.besu.plugin.services.storage.rocksdb.configuration.RocksD
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -419,6 +420,24 @@ public abstract class RocksDBColumnarKeyValueStorage implements SegmentedKeyValu
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(final SegmentIdentifier segment, final List<byte[]> keys)
+      throws StorageException {
+    throwIfClosed();
+    if (keys.isEmpty()) {
+      return List.of();
+    }
+
+    try (final OperationTimer.TimingContext ignored = metrics.getReadLatency().startTimer()) {
+      final List<ColumnFamilyHandle> handles =
+          Collections.nCopies(keys.size(), safeColumnHandle(segment));
+      final List<byte[]> values = getDB().multiGetAsList(readOptions, handles, keys);
+      return values.stream().map(Optional::ofNullable).toList();
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
   @Override
   public Optional<NearestKeyValue> getNearestBefore(
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {
@@ -17,7 +17,10 @@ package org.hyperledger.besu.plugin.services.storage.rocksdb.segmented;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.plugin.services.storage.SegmentIdentifier;
@@ -174,6 +177,33 @@ public class LayeredKeyValueStorageTest {
     assertArrayEquals(value2, resultList.get(0).getValue());
   }
 
+  @Test
+  void shouldMultiGetKeysMissingFromLayerFromParentInOneBatch() {
+    byte[] key1 = {1};
+    byte[] value1 = {10};
+    byte[] key2 = {2};
+    byte[] key3 = {3};
+    byte[] value3 = {30};
+    byte[] key4 = {4};
+
+    var hashValueStore = createSegmentMap();
+    hashValueStore.get(segmentId).put(Bytes.wrap(key2), Optional.empty());
+    hashValueStore.get(segmentId).put(Bytes.wrap(key3), Optional.of(value3));
+    layeredKeyValueStorage = new LayeredKeyValueStorage(hashValueStore, parentStorage);
+
+    when(parentStorage.multiGet(segmentId, List.of(key1, key4)))
+        .thenReturn(List.of(Optional.of(value1), Optional.empty()));
+
+    var result = layeredKeyValueStorage.multiGet(segmentId, List.of(key1, key2, key3, key4));
+
+    assertEquals(4, result.size());
+    assertArrayEquals(value1, result.get(0).orElseThrow());
+    assertTrue(result.get(1).isEmpty());
+    assertArrayEquals(value3, result.get(2).orElseThrow());
+    assertTrue(result.get(3).isEmpty());
+    verify(parentStorage, never()).get(any(), any());
+  }
+
   /**
    * Tests that the stream method correctly handles multiple layers where the current layer
    * overrides the parent layers.
@@ -215,6 +245,33 @@ public class LayeredKeyValueStorageTest {
     assertArrayEquals(value3, resultList.get(1).getValue());
   }
 
+  @Test
+  void shouldMultiGetKeysMissingFromLayerFromParentInOneBatch() {
+    byte[] key1 = {1};
+    byte[] value1 = {10};
+    byte[] key2 = {2};
+    byte[] key3 = {3};
+    byte[] value3 = {30};
+    byte[] key4 = {4};
+
+    var hashValueStore = createSegmentMap();
+    hashValueStore.get(segmentId).put(Bytes.wrap(key2), Optional.empty());
+    hashValueStore.get(segmentId).put(Bytes.wrap(key3), Optional.of(value3));
+    layeredKeyValueStorage = new LayeredKeyValueStorage(hashValueStore, parentStorage);
+
+    when(parentStorage.multiGet(segmentId, List.of(key1, key4)))
+        .thenReturn(List.of(Optional.of(value1), Optional.empty()));
+
+    var result = layeredKeyValueStorage.multiGet(segmentId, List.of(key1, key2, key3, key4));
+
+    assertEquals(4, result.size());
+    assertArrayEquals(value1, result.get(0).orElseThrow());
+    assertTrue(result.get(1).isEmpty());
+    assertArrayEquals(value3, result.get(2).orElseThrow());
+    assertTrue(result.get(3).isEmpty());
+    verify(parentStorage, never()).get(any(), any());
+  }
+
   /**
    * Tests that the stream method correctly handles multiple layers where the current layer
    * overrides the parent layers with specific values.
@@ -258,6 +315,33 @@ public class LayeredKeyValueStorageTest {
     assertArrayEquals(value3, resultList.get(2).getValue());
   }
 
+  @Test
+  void shouldMultiGetKeysMissingFromLayerFromParentInOneBatch() {
+    byte[] key1 = {1};
+    byte[] value1 = {10};
+    byte[] key2 = {2};
+    byte[] key3 = {3};
+    byte[] value3 = {30};
+    byte[] key4 = {4};
+
+    var hashValueStore = createSegmentMap();
+    hashValueStore.get(segmentId).put(Bytes.wrap(key2), Optional.empty());
+    hashValueStore.get(segmentId).put(Bytes.wrap(key3), Optional.of(value3));
+    layeredKeyValueStorage = new LayeredKeyValueStorage(hashValueStore, parentStorage);
+
+    when(parentStorage.multiGet(segmentId, List.of(key1, key4)))
+        .thenReturn(List.of(Optional.of(value1), Optional.empty()));
+
+    var result = layeredKeyValueStorage.multiGet(segmentId, List.of(key1, key2, key3, key4));
+
+    assertEquals(4, result.size());
+    assertArrayEquals(value1, result.get(0).orElseThrow());
+    assertTrue(result.get(1).isEmpty());
+    assertArrayEquals(value3, result.get(2).orElseThrow());
+    assertTrue(result.get(3).isEmpty());
+    verify(parentStorage, never()).get(any(), any());
+  }
+
   /**
    * Tests that the stream method correctly handles multiple layers where the current layer
    * overrides the parent layers with empty values.
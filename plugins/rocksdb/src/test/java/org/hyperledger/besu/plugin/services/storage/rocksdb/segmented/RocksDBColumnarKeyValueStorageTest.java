@@ -111,6 +111,29 @@ public abstract class RocksDBColumnarKeyValueStorageTest extends AbstractKeyValu
     store.close();
   }
 
+  @Test
+  public void multiGetReturnsValuesInKeyOrder() throws Exception {
+    final SegmentedKeyValueStorage store = createSegmentedStore();
+
+    final SegmentedKeyValueStorageTransaction tx = store.startTransaction();
+    tx.put(TestSegment.FOO, bytesFromHexString("0001"), bytesFromHexString("0AAA"));
+    tx.put(TestSegment.FOO, bytesFromHexString("0003"), bytesFromHexString("0CCC"));
+    tx.put(TestSegment.BAR, bytesFromHexString("0002"), bytesFromHexString("0BBB"));
+    tx.commit();
+
+    final List<byte[]> keys =
+        List.of(bytesFromHexString("0003"), bytesFromHexString("0002"), bytesFromHexString("0001"));
+    final List<Optional<byte[]>> values = store.multiGet(TestSegment.FOO, keys);
+
+    assertThat(values).hasSize(3);
+    assertThat(values.get(0).orElse(null)).isEqualTo(bytesFromHexString("0CCC"));
+    assertThat(values.get(1)).isEmpty();
+    assertThat(values.get(2).orElse(null)).isEqualTo(bytesFromHexString("0AAA"));
+    assertThat(store.multiGet(TestSegment.FOO, List.of())).isEmpty();
+
+    store.close();
+  }
+
   @Test
   public void canRemoveThroughSegmentIteration() throws Exception {
     // we're looping this in order to catch intermittent failures when rocksdb objects are not close
@@ -25,6 +25,7 @@ import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.SnappedKeyValueStorage;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
@@ -148,6 +149,24 @@ public class SegmentedInMemoryKeyValueStorage
     }
   }
 
+  @Override
+  public List<Optional<byte[]>> multiGet(
+      final SegmentIdentifier segmentIdentifier, final List<byte[]> keys) throws StorageException {
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      final NavigableMap<Bytes, Optional<byte[]>> segment =
+          hashValueStore.computeIfAbsent(segmentIdentifier, s -> newSegmentMap());
+      final List<Optional<byte[]>> values = new ArrayList<>(keys.size());
+      for (final byte[] key : keys) {
+        values.add(segment.getOrDefault(Bytes.wrap(key), Optional.empty()));
+      }
+      return values;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public Optional<NearestKeyValue> getNearestBefore(
       final SegmentIdentifier segmentIdentifier, final Bytes key) throws StorageException {